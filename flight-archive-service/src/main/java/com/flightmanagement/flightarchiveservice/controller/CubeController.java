@@ -0,0 +1,48 @@
+package com.flightmanagement.flightarchiveservice.controller;
+
+import com.flightmanagement.flightarchiveservice.dto.request.CubeQueryRequest;
+import com.flightmanagement.flightarchiveservice.dto.response.CubeQueryResponse;
+import com.flightmanagement.flightarchiveservice.service.RouteCubeService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/cube")
+@RequiredArgsConstructor
+public class CubeController {
+
+    private final RouteCubeService routeCubeService;
+
+    /**
+     * Group-by / filtre / roll-up sorgusu, ör. ortalama gecikme: havayolu × kalkış × ay × saat
+     */
+    @PostMapping("/query")
+    public ResponseEntity<CubeQueryResponse> query(@Valid @RequestBody CubeQueryRequest request) {
+        return ResponseEntity.ok(routeCubeService.query(request));
+    }
+
+    @GetMapping("/dimensions")
+    public ResponseEntity<Map<String, List<String>>> getDimensions() {
+        return ResponseEntity.ok(routeCubeService.getDimensionValues());
+    }
+
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> rebuild() {
+        boolean started = routeCubeService.rebuildAsync();
+        return ResponseEntity.status(started ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT)
+                .body(routeCubeService.getStatus());
+    }
+
+    @GetMapping("/status")
+    public ResponseEntity<Map<String, Object>> getStatus() {
+        return ResponseEntity.ok(routeCubeService.getStatus());
+    }
+}
@@ -1,13 +1,18 @@
 package com.flightmanagement.flightarchiveservice.controller;
 
 import com.flightmanagement.flightarchiveservice.dto.response.KpiResponse;
+import com.flightmanagement.flightarchiveservice.dto.response.KpiSketchResponse;
 import com.flightmanagement.flightarchiveservice.service.KpiCalculationService;
+import com.flightmanagement.flightarchiveservice.service.KpiSketchService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/v1/kpi")
@@ -15,6 +20,7 @@ import java.time.LocalDate;
 public class KpiController {
 
     private final KpiCalculationService kpiCalculationService;
+    private final KpiSketchService kpiSketchService;
 
     @GetMapping("/{date}")
     public ResponseEntity<KpiResponse> getKpiForDate(
@@ -31,4 +37,26 @@ public class KpiController {
         KpiResponse kpi = kpiCalculationService.calculateKpisForDate(date);
         return ResponseEntity.ok(kpi);
     }
+
+    /**
+     * Tarih aralığı KPI'ları günlük sketch'lerin birleştirilmesiyle (flight_archives taranmadan)
+     */
+    @GetMapping("/sketches")
+    public ResponseEntity<KpiSketchResponse> getSketchKpis(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) List<Long> airlineIds,
+            @RequestParam(required = false) List<Long> originAirportIds) {
+
+        return ResponseEntity.ok(kpiSketchService.query(startDate, endDate, airlineIds, originAirportIds));
+    }
+
+    @PostMapping("/sketches/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> rebuildSketches(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+
+        return ResponseEntity.ok(kpiSketchService.rebuildRange(startDate, endDate));
+    }
 }
\ No newline at end of file
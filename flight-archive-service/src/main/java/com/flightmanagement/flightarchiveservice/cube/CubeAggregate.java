@@ -0,0 +1,96 @@
+package com.flightmanagement.flightarchiveservice.cube;
+
+/**
+ * Bir grubun toplanabilir (mergeable) ölçüleri; roll-up satırları detay gruplarının merge'üdür
+ */
+public final class CubeAggregate {
+
+    long flights;
+    long delayedFlights;
+    long cancelledFlights;
+    long delaySum;
+    long delayCount;
+    int maxDelay;
+    long blockSum;
+    long blockCount;
+    long passengers;
+    long cargo;
+
+    void add(byte flags, int delay, int block, int passengerCount, int cargoWeight) {
+        flights++;
+        if ((flags & FlightCube.CANCELLED) != 0) {
+            cancelledFlights++;
+        } else if (delay >= 0) {
+            // İptal edilen uçuşun gecikmesi ortalamayı bozmasın
+            delaySum += delay;
+            delayCount++;
+            maxDelay = Math.max(maxDelay, delay);
+        }
+        if ((flags & FlightCube.DELAYED) != 0) {
+            delayedFlights++;
+        }
+        if (block >= 0) {
+            blockSum += block;
+            blockCount++;
+        }
+        passengers += passengerCount;
+        cargo += cargoWeight;
+    }
+
+    public void merge(CubeAggregate other) {
+        flights += other.flights;
+        delayedFlights += other.delayedFlights;
+        cancelledFlights += other.cancelledFlights;
+        delaySum += other.delaySum;
+        delayCount += other.delayCount;
+        maxDelay = Math.max(maxDelay, other.maxDelay);
+        blockSum += other.blockSum;
+        blockCount += other.blockCount;
+        passengers += other.passengers;
+        cargo += other.cargo;
+    }
+
+    public long getFlights() {
+        return flights;
+    }
+
+    public long getDelayedFlights() {
+        return delayedFlights;
+    }
+
+    public long getCancelledFlights() {
+        return cancelledFlights;
+    }
+
+    public int getMaxDelayMinutes() {
+        return maxDelay;
+    }
+
+    public long getPassengers() {
+        return passengers;
+    }
+
+    public long getCargoWeight() {
+        return cargo;
+    }
+
+    public double getAvgDelayMinutes() {
+        return delayCount > 0 ? round((double) delaySum / delayCount) : 0.0;
+    }
+
+    public double getAvgBlockMinutes() {
+        return blockCount > 0 ? round((double) blockSum / blockCount) : 0.0;
+    }
+
+    public double getOnTimePercent() {
+        return flights > 0 ? round((flights - delayedFlights) * 100.0 / flights) : 0.0;
+    }
+
+    public double getCancellationRate() {
+        return flights > 0 ? round(cancelledFlights * 100.0 / flights) : 0.0;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
@@ -0,0 +1,49 @@
+package com.flightmanagement.flightarchiveservice.cube;
+
+import java.time.format.TextStyle;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Küpün dictionary-encoded boyutları. Zaman boyutları uçuş tarihi ve planlanan kalkıştan türetilir.
+ */
+public enum CubeDimension {
+    AIRLINE("airline", FlightFact::getAirline),
+    ORIGIN("origin", FlightFact::getOrigin),
+    DESTINATION("destination", FlightFact::getDestination),
+    AIRCRAFT_TYPE("aircraftType", FlightFact::getAircraftType),
+    FLIGHT_TYPE("flightType", FlightFact::getFlightType),
+    STATUS("status", FlightFact::getStatus),
+    YEAR("year", fact -> fact.getFlightDate() != null ? String.valueOf(fact.getFlightDate().getYear()) : null),
+    MONTH("month", fact -> fact.getFlightDate() != null ? fact.getFlightDate().toString().substring(0, 7) : null),
+    DAY_OF_WEEK("dayOfWeek", fact -> fact.getFlightDate() != null
+            ? fact.getFlightDate().getDayOfWeek().getDisplayName(TextStyle.SHORT, Locale.ENGLISH).toUpperCase() : null),
+    HOUR("hour", fact -> fact.getScheduledDeparture() != null
+            ? String.format("%02d", fact.getScheduledDeparture().getHour()) : null);
+
+    private final String apiName;
+    private final Function<FlightFact, String> extractor;
+
+    CubeDimension(String apiName, Function<FlightFact, String> extractor) {
+        this.apiName = apiName;
+        this.extractor = extractor;
+    }
+
+    public String getApiName() {
+        return apiName;
+    }
+
+    String valueOf(FlightFact fact) {
+        String value = extractor.apply(fact);
+        return value != null && !value.isBlank() ? value : FlightCube.UNKNOWN;
+    }
+
+    public static CubeDimension fromApiName(String name) {
+        for (CubeDimension dimension : values()) {
+            if (dimension.apiName.equalsIgnoreCase(name) || dimension.name().equalsIgnoreCase(name)) {
+                return dimension;
+            }
+        }
+        throw new IllegalArgumentException("Unknown cube dimension: " + name);
+    }
+}
@@ -0,0 +1,29 @@
+package com.flightmanagement.flightarchiveservice.cube;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Küp rebuild'i için flight_archives kolon projeksiyonu (payload okunmaz)
+ */
+public interface CubeSourceRow {
+    Long getFlightId();
+    String getEntityId();
+    String getEventType();
+    LocalDateTime getEventTime();
+    LocalDate getFlightDate();
+    String getAirlineIataCode();
+    Long getAirlineId();
+    String getOriginAirportIata();
+    String getDestinationAirportIata();
+    String getAircraftType();
+    String getFlightType();
+    String getStatus();
+    LocalDateTime getScheduledDeparture();
+    LocalDateTime getScheduledArrival();
+    LocalDateTime getActualDeparture();
+    LocalDateTime getActualArrival();
+    Integer getDelayMinutes();
+    Integer getPassengerCount();
+    Integer getCargoWeight();
+}
@@ -0,0 +1,308 @@
+package com.flightmanagement.flightarchiveservice.cube;
+
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Uçuş başına tek satırlık kolon bazlı küp: boyutlar dictionary-encoded int kolonlar, ölçüler primitive diziler.
+ *
+ * Aynı uçuşun yeni event'i satırı yerinde günceller (eventTime daha eskiyse yok sayılır), silinen uçuş
+ * DELETED bayrağıyla taranmaz. Thread-safe değildir; RouteCubeService read/write lock ile korur.
+ */
+public final class FlightCube {
+
+    public static final String UNKNOWN = "UNKNOWN";
+
+    static final byte CANCELLED = 1;
+    static final byte DELAYED = 2;
+    static final byte DELETED = 4;
+
+    private static final int NONE = -1;
+    private static final CubeDimension[] DIMENSIONS = CubeDimension.values();
+
+    private final Dictionary[] dictionaries = new Dictionary[DIMENSIONS.length];
+    private final Map<String, Integer> rowByFlight = new HashMap<>();
+
+    private int[][] dimensionColumns;
+    private int[] flightDays;          // epochDay
+    private long[] versions;           // eventTime epoch saniye
+    private int[] delays;              // NONE = bilinmiyor
+    private int[] blockMinutes;
+    private int[] passengers;
+    private int[] cargo;
+    private byte[] flags;
+    private int size;
+    private int deletedRows;
+
+    public FlightCube() {
+        this(1024);
+    }
+
+    public FlightCube(int initialCapacity) {
+        int capacity = Math.max(16, initialCapacity);
+        for (int d = 0; d < DIMENSIONS.length; d++) {
+            dictionaries[d] = new Dictionary();
+        }
+        dimensionColumns = new int[DIMENSIONS.length][capacity];
+        flightDays = new int[capacity];
+        versions = new long[capacity];
+        delays = new int[capacity];
+        blockMinutes = new int[capacity];
+        passengers = new int[capacity];
+        cargo = new int[capacity];
+        flags = new byte[capacity];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int liveRows() {
+        return size - deletedRows;
+    }
+
+    public Dictionary dictionary(CubeDimension dimension) {
+        return dictionaries[dimension.ordinal()];
+    }
+
+    /**
+     * Uçuşun son halini yazar. Daha eski bir event gelirse false döner.
+     */
+    public boolean upsert(FlightFact fact) {
+        if (fact.getFlightKey() == null) {
+            return false;
+        }
+        long version = fact.getEventTime() != null ? fact.getEventTime().toEpochSecond(ZoneOffset.UTC) : Long.MIN_VALUE;
+        Integer existing = rowByFlight.get(fact.getFlightKey());
+        int row;
+        if (existing != null) {
+            row = existing;
+            if (version < versions[row]) {
+                return false;
+            }
+            if ((flags[row] & DELETED) != 0) {
+                deletedRows--;
+            }
+        } else {
+            if (fact.isDeleted()) {
+                return false;       // Küpte hiç olmayan uçuşun silinmesi
+            }
+            ensureCapacity(size + 1);
+            row = size++;
+            rowByFlight.put(fact.getFlightKey(), row);
+        }
+
+        versions[row] = version;
+        if (fact.isDeleted()) {
+            flags[row] = DELETED;
+            deletedRows++;
+            return true;
+        }
+        for (int d = 0; d < DIMENSIONS.length; d++) {
+            dimensionColumns[d][row] = dictionaries[d].encode(DIMENSIONS[d].valueOf(fact));
+        }
+        flightDays[row] = fact.getFlightDate() != null ? (int) fact.getFlightDate().toEpochDay() : NONE;
+        delays[row] = fact.getDelayMinutes() != null ? Math.max(0, fact.getDelayMinutes()) : NONE;
+        blockMinutes[row] = fact.getBlockMinutes() != null && fact.getBlockMinutes() >= 0 ? fact.getBlockMinutes() : NONE;
+        passengers[row] = fact.getPassengerCount() != null ? fact.getPassengerCount() : 0;
+        cargo[row] = fact.getCargoWeight() != null ? fact.getCargoWeight() : 0;
+
+        byte rowFlags = 0;
+        if ("CANCELLED".equals(fact.getStatus())) {
+            rowFlags |= CANCELLED;
+        }
+        if ("DELAYED".equals(fact.getStatus()) || (fact.getDelayMinutes() != null && fact.getDelayMinutes() > 0)) {
+            rowFlags |= DELAYED;
+        }
+        flags[row] = rowFlags;
+        return true;
+    }
+
+    /**
+     * Başka bir küpün satırlarını upsert semantiğiyle ekler. Dictionary kodları boyut başına
+     * bir kez eşlenir, satır başına string lookup yapılmaz.
+     */
+    public void mergeFrom(FlightCube other) {
+        int[][] remap = new int[DIMENSIONS.length][];
+        for (int d = 0; d < DIMENSIONS.length; d++) {
+            Dictionary source = other.dictionaries[d];
+            remap[d] = new int[source.size()];
+            for (int code = 0; code < source.size(); code++) {
+                remap[d][code] = dictionaries[d].encode(source.decode(code));
+            }
+        }
+
+        ensureCapacity(size + other.size);
+        for (Map.Entry<String, Integer> entry : other.rowByFlight.entrySet()) {
+            int sourceRow = entry.getValue();
+            Integer existing = rowByFlight.get(entry.getKey());
+            int row;
+            if (existing != null) {
+                row = existing;
+                if (other.versions[sourceRow] < versions[row]) {
+                    continue;
+                }
+                if ((flags[row] & DELETED) != 0) {
+                    deletedRows--;
+                }
+            } else {
+                row = size++;
+                rowByFlight.put(entry.getKey(), row);
+            }
+            boolean deleted = (other.flags[sourceRow] & DELETED) != 0;
+            if (deleted) {
+                deletedRows++;
+            } else {
+                for (int d = 0; d < DIMENSIONS.length; d++) {
+                    dimensionColumns[d][row] = remap[d][other.dimensionColumns[d][sourceRow]];
+                }
+            }
+            flightDays[row] = other.flightDays[sourceRow];
+            versions[row] = other.versions[sourceRow];
+            delays[row] = other.delays[sourceRow];
+            blockMinutes[row] = other.blockMinutes[sourceRow];
+            passengers[row] = other.passengers[sourceRow];
+            cargo[row] = other.cargo[sourceRow];
+            flags[row] = other.flags[sourceRow];
+        }
+    }
+
+    /**
+     * Tek geçişte filtre + group-by. Grup anahtarı seçilen boyut kodlarının karışık tabanlı (mixed-radix)
+     * long kodlamasıdır; ilk boyut en anlamlı basamaktır, böylece roll-up için önek bölmeyle alınır.
+     *
+     * @param groupBy   gruplanacak boyutlar
+     * @param allowed   boyut ordinal'ine göre izinli kodlar (null = filtre yok)
+     * @param fromDay   dahil epochDay alt sınırı (Integer.MIN_VALUE = sınırsız)
+     * @param toDay     dahil epochDay üst sınırı
+     */
+    public Map<Long, CubeAggregate> aggregate(CubeDimension[] groupBy, boolean[][] allowed, int fromDay, int toDay) {
+        long[] radix = radices(groupBy);
+        int[][] groupColumns = new int[groupBy.length][];
+        for (int g = 0; g < groupBy.length; g++) {
+            groupColumns[g] = dimensionColumns[groupBy[g].ordinal()];
+        }
+        List<int[]> filterColumns = new ArrayList<>();
+        List<boolean[]> filterMasks = new ArrayList<>();
+        for (int d = 0; d < DIMENSIONS.length; d++) {
+            if (allowed[d] != null) {
+                filterColumns.add(dimensionColumns[d]);
+                filterMasks.add(allowed[d]);
+            }
+        }
+        int filterCount = filterColumns.size();
+        boolean dateFilter = fromDay != Integer.MIN_VALUE || toDay != Integer.MAX_VALUE;
+
+        Map<Long, CubeAggregate> groups = new HashMap<>();
+        rows:
+        for (int row = 0; row < size; row++) {
+            byte rowFlags = flags[row];
+            if ((rowFlags & DELETED) != 0) {
+                continue;
+            }
+            if (dateFilter && (flightDays[row] < fromDay || flightDays[row] > toDay)) {
+                continue;
+            }
+            for (int f = 0; f < filterCount; f++) {
+                int code = filterColumns.get(f)[row];
+                boolean[] mask = filterMasks.get(f);
+                if (code >= mask.length || !mask[code]) {
+                    continue rows;
+                }
+            }
+
+            long key = 0;
+            for (int g = 0; g < groupColumns.length; g++) {
+                key = key * radix[g] + groupColumns[g][row];
+            }
+            groups.computeIfAbsent(key, k -> new CubeAggregate())
+                    .add(rowFlags, delays[row], blockMinutes[row], passengers[row], cargo[row]);
+        }
+        return groups;
+    }
+
+    /**
+     * Grup anahtarı için basamak tabanları (dictionary boyutları)
+     */
+    public long[] radices(CubeDimension[] groupBy) {
+        long[] radix = new long[groupBy.length];
+        double capacity = 1;
+        for (int g = 0; g < groupBy.length; g++) {
+            radix[g] = Math.max(1, dictionaries[groupBy[g].ordinal()].size());
+            capacity *= radix[g];
+        }
+        if (capacity >= Long.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many group-by combinations: " + Arrays.toString(groupBy));
+        }
+        return radix;
+    }
+
+    /**
+     * Anahtarı boyut kodlarına geri açar
+     */
+    public int[] decodeKey(long key, long[] radix) {
+        int[] codes = new int[radix.length];
+        for (int g = radix.length - 1; g >= 0; g--) {
+            codes[g] = (int) (key % radix[g]);
+            key /= radix[g];
+        }
+        return codes;
+    }
+
+    private void ensureCapacity(int required) {
+        int capacity = flags.length;
+        if (required <= capacity) {
+            return;
+        }
+        int newCapacity = Math.max(required, capacity + (capacity >> 1));
+        for (int d = 0; d < DIMENSIONS.length; d++) {
+            dimensionColumns[d] = Arrays.copyOf(dimensionColumns[d], newCapacity);
+        }
+        flightDays = Arrays.copyOf(flightDays, newCapacity);
+        versions = Arrays.copyOf(versions, newCapacity);
+        delays = Arrays.copyOf(delays, newCapacity);
+        blockMinutes = Arrays.copyOf(blockMinutes, newCapacity);
+        passengers = Arrays.copyOf(passengers, newCapacity);
+        cargo = Arrays.copyOf(cargo, newCapacity);
+        flags = Arrays.copyOf(flags, newCapacity);
+    }
+
+    /**
+     * Boyut değeri <-> int kod eşlemesi. Kodlar ekleme sırasıyla verilir ve hiç geri alınmaz.
+     */
+    public static final class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int encode(String value) {
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = values.size();
+                codes.put(value, code);
+                values.add(value);
+            }
+            return code;
+        }
+
+        public int lookup(String value) {
+            Integer code = codes.get(value);
+            return code != null ? code : NONE;
+        }
+
+        public String decode(int code) {
+            return values.get(code);
+        }
+
+        public int size() {
+            return values.size();
+        }
+
+        public List<String> values() {
+            return List.copyOf(values);
+        }
+    }
+}
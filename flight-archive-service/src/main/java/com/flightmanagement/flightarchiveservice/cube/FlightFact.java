@@ -0,0 +1,84 @@
+package com.flightmanagement.flightarchiveservice.cube;
+
+import com.flightmanagement.flightarchiveservice.entity.FlightArchive;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Küpe yazılan uçuş durumu: arşiv event'inden (Kafka yolu) ya da kolon projeksiyonundan (rebuild yolu)
+ */
+@Getter
+@Builder
+public class FlightFact {
+    private final String flightKey;
+    private final LocalDateTime eventTime;
+    private final boolean deleted;
+    private final LocalDate flightDate;
+    private final String airline;
+    private final String origin;
+    private final String destination;
+    private final String aircraftType;
+    private final String flightType;
+    private final String status;
+    private final LocalDateTime scheduledDeparture;
+    private final Integer delayMinutes;
+    private final Integer blockMinutes;
+    private final Integer passengerCount;
+    private final Integer cargoWeight;
+
+    public static FlightFact from(FlightArchive archive) {
+        return of(archive.getFlightId(), archive.getEntityId(), archive.getEventType(), archive.getEventTime(),
+                archive.getFlightDate(), archive.getAirlineIataCode(), archive.getAirlineId(),
+                archive.getOriginAirportIata(), archive.getDestinationAirportIata(), archive.getAircraftType(),
+                archive.getFlightType(), archive.getStatus(), archive.getScheduledDeparture(),
+                archive.getScheduledArrival(), archive.getActualDeparture(), archive.getActualArrival(),
+                archive.getDelayMinutes(), archive.getPassengerCount(), archive.getCargoWeight());
+    }
+
+    public static FlightFact from(CubeSourceRow row) {
+        return of(row.getFlightId(), row.getEntityId(), row.getEventType(), row.getEventTime(),
+                row.getFlightDate(), row.getAirlineIataCode(), row.getAirlineId(),
+                row.getOriginAirportIata(), row.getDestinationAirportIata(), row.getAircraftType(),
+                row.getFlightType(), row.getStatus(), row.getScheduledDeparture(),
+                row.getScheduledArrival(), row.getActualDeparture(), row.getActualArrival(),
+                row.getDelayMinutes(), row.getPassengerCount(), row.getCargoWeight());
+    }
+
+    private static FlightFact of(Long flightId, String entityId, String eventType, LocalDateTime eventTime,
+                                 LocalDate flightDate, String airlineIata, Long airlineId,
+                                 String origin, String destination, String aircraftType,
+                                 String flightType, String status, LocalDateTime scheduledDeparture,
+                                 LocalDateTime scheduledArrival, LocalDateTime actualDeparture,
+                                 LocalDateTime actualArrival, Integer delayMinutes,
+                                 Integer passengerCount, Integer cargoWeight) {
+        // Blok süresi: gerçekleşen saatler varsa onlar, yoksa plan (FlightArchive.getFlightDuration ile aynı)
+        Integer blockMinutes = null;
+        if (actualDeparture != null && actualArrival != null) {
+            blockMinutes = (int) Duration.between(actualDeparture, actualArrival).toMinutes();
+        } else if (scheduledDeparture != null && scheduledArrival != null) {
+            blockMinutes = (int) Duration.between(scheduledDeparture, scheduledArrival).toMinutes();
+        }
+
+        return FlightFact.builder()
+                .flightKey(flightId != null ? flightId.toString() : entityId)
+                .eventTime(eventTime)
+                .deleted(eventType != null && eventType.endsWith("DELETED"))
+                .flightDate(flightDate)
+                .airline(airlineIata != null ? airlineIata : airlineId != null ? "#" + airlineId : null)
+                .origin(origin)
+                .destination(destination)
+                .aircraftType(aircraftType)
+                .flightType(flightType)
+                .status(status)
+                .scheduledDeparture(scheduledDeparture)
+                .delayMinutes(delayMinutes)
+                .blockMinutes(blockMinutes)
+                .passengerCount(passengerCount)
+                .cargoWeight(cargoWeight)
+                .build();
+    }
+}
@@ -0,0 +1,42 @@
+package com.flightmanagement.flightarchiveservice.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Route küpü sorgusu: ör. groupBy [airline, origin, month, hour], filters {"origin": ["IST","SAW"]}
+ */
+@Data
+public class CubeQueryRequest {
+
+    @Size(max = 6, message = "At most 6 group-by dimensions are supported")
+    private List<String> groupBy = new ArrayList<>();
+
+    private Map<String, List<String>> filters = new LinkedHashMap<>();
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate startDate;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate endDate;
+
+    // true: groupBy önekleri için ara toplamlar ve genel toplam da döner
+    private boolean rollup;
+
+    // flights, avgDelayMinutes, maxDelayMinutes, onTimePercent, cancellationRate, avgBlockMinutes, passengers, cargoWeight
+    private String orderBy = "flights";
+    private boolean ascending;
+
+    @Min(value = 1, message = "Limit must be at least 1")
+    @Max(value = 10000, message = "Limit cannot exceed 10000")
+    private Integer limit = 100;
+}
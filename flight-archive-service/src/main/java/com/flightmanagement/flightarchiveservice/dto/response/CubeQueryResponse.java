@@ -0,0 +1,45 @@
+package com.flightmanagement.flightarchiveservice.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Route küpü sorgu sonucu. Roll-up satırlarında toplanan boyutlar null, level toplanan boyut sayısıdır.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CubeQueryResponse {
+
+    private List<String> groupBy;
+    private Integer totalGroups;
+    private Long matchedFlights;
+    private Integer scannedRows;
+    private Long computeMillis;
+    private List<Row> rows;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Row {
+        private Map<String, String> dimensions;
+        private Integer level;
+        private Long flights;
+        private Long delayedFlights;
+        private Long cancelledFlights;
+        private Double onTimePercent;
+        private Double cancellationRate;
+        private Double avgDelayMinutes;       // İptal edilmeyen uçuşlar, gecikmesiz olanlar 0 ile
+        private Integer maxDelayMinutes;
+        private Double avgBlockMinutes;
+        private Long passengers;
+        private Long cargoWeight;
+    }
+}
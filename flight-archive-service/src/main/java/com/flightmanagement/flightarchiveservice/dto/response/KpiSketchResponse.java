@@ -0,0 +1,42 @@
+package com.flightmanagement.flightarchiveservice.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Günlük sketch'lerin birleştirilmesiyle hesaplanan aralık KPI'ları (yüzdelikler ve distinct sayılar yaklaşık)
+ */
+@Data
+public class KpiSketchResponse {
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate startDate;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate endDate;
+
+    private String dimension;
+    private List<String> dimensionKeys;
+    private Long daysCovered;
+    private Integer sketchesMerged;
+
+    private Long totalFlights;
+    private Long delayedFlights;
+    private Long cancelledFlights;
+    private Long completedFlights;
+    private Double onTimePerformance;  // Percentage
+    private Double averageDelay;       // Minutes, gecikmeli uçuşlar
+    private Double cancellationRate;   // Percentage
+
+    private Map<String, Double> delayPercentiles;      // p50, p90, p95, p99 - dakika
+    private Map<String, Double> blockTimePercentiles;  // p50, p90, p95, p99 - dakika
+
+    private Long distinctTails;
+    private Long distinctRoutes;
+    private Long distinctFlightNumbers;
+
+    private Long computeMillis;
+}
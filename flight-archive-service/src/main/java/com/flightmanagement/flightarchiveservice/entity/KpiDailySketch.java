@@ -0,0 +1,67 @@
+package com.flightmanagement.flightarchiveservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Gün x boyut (ALL, AIRLINE, ORIGIN) başına birleştirilebilir KPI sketch'leri.
+ * Sayaçlar toplanır, t-digest ve HyperLogLog alanları sorgu anında merge edilir.
+ */
+@Entity
+@Table(name = "kpi_daily_sketches")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KpiDailySketch {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate flightDate;
+
+    @Column(nullable = false)
+    private String dimension;
+
+    @Column(nullable = false)
+    private String dimensionKey;
+
+    @Column(nullable = false)
+    private Long flightCount;
+
+    @Column(nullable = false)
+    private Long delayedCount;
+
+    @Column(nullable = false)
+    private Long cancelledCount;
+
+    @Column(nullable = false)
+    private Long completedCount;
+
+    @Column(nullable = false)
+    private Long delayMinutesSum;
+
+    @Column(columnDefinition = "BYTEA")
+    private byte[] delayDigest;
+
+    @Column(columnDefinition = "BYTEA")
+    private byte[] blockTimeDigest;
+
+    @Column(columnDefinition = "BYTEA")
+    private byte[] tailsHll;
+
+    @Column(columnDefinition = "BYTEA")
+    private byte[] routesHll;
+
+    @Column(columnDefinition = "BYTEA")
+    private byte[] flightNumbersHll;
+
+    @CreationTimestamp
+    private LocalDateTime computedAt;
+}
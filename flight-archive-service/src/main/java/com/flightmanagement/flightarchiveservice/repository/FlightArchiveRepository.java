@@ -1,6 +1,8 @@
 package com.flightmanagement.flightarchiveservice.repository;
 
+import com.flightmanagement.flightarchiveservice.cube.CubeSourceRow;
 import com.flightmanagement.flightarchiveservice.entity.FlightArchive;
+import com.flightmanagement.flightarchiveservice.sketch.KpiSourceRow;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -10,6 +12,7 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -72,4 +75,36 @@ public interface FlightArchiveRepository extends JpaRepository<FlightArchive, Lo
 
     // Duplicate check
     boolean existsByEventId(String eventId);
+
+    // Route küpü rebuild'i: payload okunmadan kolon projeksiyonu
+    @Query("SELECT f.flightId AS flightId, f.entityId AS entityId, f.eventType AS eventType, f.eventTime AS eventTime, " +
+            "f.flightDate AS flightDate, f.airlineIataCode AS airlineIataCode, f.airlineId AS airlineId, " +
+            "f.originAirportIata AS originAirportIata, f.destinationAirportIata AS destinationAirportIata, " +
+            "f.aircraftType AS aircraftType, f.flightType AS flightType, f.status AS status, " +
+            "f.scheduledDeparture AS scheduledDeparture, f.scheduledArrival AS scheduledArrival, " +
+            "f.actualDeparture AS actualDeparture, f.actualArrival AS actualArrival, f.delayMinutes AS delayMinutes, " +
+            "f.passengerCount AS passengerCount, f.cargoWeight AS cargoWeight " +
+            "FROM FlightArchive f WHERE f.entityType = 'FLIGHT' AND f.flightDate BETWEEN :startDate AND :endDate")
+    List<CubeSourceRow> findCubeRows(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    // KPI sketch build'i: günün event'leri, payload okunmadan
+    @Query("SELECT f.flightId AS flightId, f.entityId AS entityId, f.eventType AS eventType, f.eventTime AS eventTime, " +
+            "f.flightDate AS flightDate, f.flightNumber AS flightNumber, f.airlineId AS airlineId, " +
+            "f.aircraftId AS aircraftId, f.aircraftRegistration AS aircraftRegistration, " +
+            "f.originAirportId AS originAirportId, f.destinationAirportId AS destinationAirportId, f.status AS status, " +
+            "f.scheduledDeparture AS scheduledDeparture, f.scheduledArrival AS scheduledArrival, " +
+            "f.actualDeparture AS actualDeparture, f.actualArrival AS actualArrival, f.delayMinutes AS delayMinutes " +
+            "FROM FlightArchive f WHERE f.entityType = 'FLIGHT' AND f.flightDate = :date")
+    List<KpiSourceRow> findKpiRows(@Param("date") LocalDate date);
+
+    // Uçuş başına tüm tarihlerdeki son event zamanı: [flightId, MAX(eventTime)]
+    @Query("SELECT f.flightId, MAX(f.eventTime) FROM FlightArchive f " +
+            "WHERE f.entityType = 'FLIGHT' AND f.flightId IN :flightIds GROUP BY f.flightId")
+    List<Object[]> findLatestEventTimes(@Param("flightIds") Collection<Long> flightIds);
+
+    @Query("SELECT MIN(f.flightDate) FROM FlightArchive f WHERE f.entityType = 'FLIGHT'")
+    LocalDate findMinFlightDate();
+
+    @Query("SELECT MAX(f.flightDate) FROM FlightArchive f WHERE f.entityType = 'FLIGHT'")
+    LocalDate findMaxFlightDate();
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.flightmanagement.flightarchiveservice.repository;
+
+import com.flightmanagement.flightarchiveservice.entity.KpiDailySketch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface KpiDailySketchRepository extends JpaRepository<KpiDailySketch, Long> {
+
+    List<KpiDailySketch> findByDimensionAndDimensionKeyInAndFlightDateBetween(
+            String dimension, Collection<String> dimensionKeys, LocalDate startDate, LocalDate endDate);
+
+    @Query("SELECT COUNT(DISTINCT s.flightDate) FROM KpiDailySketch s WHERE s.flightDate BETWEEN :startDate AND :endDate")
+    Long countSketchedDays(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    // Gün yeniden hesaplanırken eski sketch'ler tek sorguda silinir
+    @Modifying
+    @Query("DELETE FROM KpiDailySketch s WHERE s.flightDate = :date")
+    int deleteByFlightDate(@Param("date") LocalDate date);
+}
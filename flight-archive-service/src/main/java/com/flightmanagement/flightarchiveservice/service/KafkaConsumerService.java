@@ -1,5 +1,6 @@
 package com.flightmanagement.flightarchiveservice.service;
 
+import com.flightmanagement.flightarchiveservice.entity.FlightArchive;
 import com.flightmanagement.flightarchiveservice.event.FlightEvent;
 import com.flightmanagement.flightarchiveservice.event.ReferenceEvent;
 import lombok.RequiredArgsConstructor;
@@ -17,6 +18,7 @@ import org.springframework.stereotype.Service;
 public class KafkaConsumerService {
 
     private final FlightArchiveService flightArchiveService;
+    private final RouteCubeService routeCubeService;
 
     @KafkaListener(
             topics = "flight.events",
@@ -34,7 +36,8 @@ public class KafkaConsumerService {
                 flightEvent.getEventId(), flightEvent.getEventType(), flightEvent.getEntityId());
 
         try {
-            flightArchiveService.archiveFlightEvent(flightEvent);
+            FlightArchive archive = flightArchiveService.archiveFlightEvent(flightEvent);
+            routeCubeService.apply(archive);  // Duplicate event'te null, küp değişmez
             log.info("Flight event processed successfully: {} - {}",
                     flightEvent.getEventType(), flightEvent.getEventId());
             acknowledgment.acknowledge();
@@ -17,6 +17,7 @@ import java.util.Map;
 public class KpiCalculationService {
 
     private final FlightArchiveService flightArchiveService;
+    private final KpiSketchService kpiSketchService;
 
     @Scheduled(fixedRateString = "${archive.kpi.calculation.interval:3600000}") // 1 hour
     public void calculateDailyKpis() {
@@ -31,6 +32,15 @@ public class KpiCalculationService {
         } catch (Exception e) {
             log.error("Failed to calculate daily KPIs for {}", yesterday, e);
         }
+
+        // Dün geç gelen event'ler için tekrar, bugün gün içinde güncel kalsın diye hesaplanır
+        for (LocalDate date : new LocalDate[]{yesterday, today}) {
+            try {
+                kpiSketchService.buildDailySketches(date);
+            } catch (Exception e) {
+                log.error("Failed to build KPI sketches for {}", date, e);
+            }
+        }
     }
 
     public KpiResponse calculateKpisForDate(LocalDate date) {
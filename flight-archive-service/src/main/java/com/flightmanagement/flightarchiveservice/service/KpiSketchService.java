@@ -0,0 +1,306 @@
+package com.flightmanagement.flightarchiveservice.service;
+
+import com.flightmanagement.flightarchiveservice.dto.response.KpiSketchResponse;
+import com.flightmanagement.flightarchiveservice.entity.KpiDailySketch;
+import com.flightmanagement.flightarchiveservice.repository.FlightArchiveRepository;
+import com.flightmanagement.flightarchiveservice.repository.KpiDailySketchRepository;
+import com.flightmanagement.flightarchiveservice.sketch.HyperLogLog;
+import com.flightmanagement.flightarchiveservice.sketch.KpiSourceRow;
+import com.flightmanagement.flightarchiveservice.sketch.TDigest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Gün ve boyut başına birleştirilebilir KPI sketch'leri.
+ *
+ * Her gün için arşivdeki son uçuş durumlarından sayaçlar, gecikme/blok süresi t-digest'leri ve
+ * kuyruk, route, sefer numarası HyperLogLog'ları üretilip kpi_daily_sketches'e yazılır. Aralık ve
+ * çoklu havayolu sorguları flight_archives'i taramadan yalnızca bu satırları birleştirir.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class KpiSketchService {
+
+    public static final String DIMENSION_ALL = "ALL";
+    public static final String DIMENSION_AIRLINE = "AIRLINE";
+    public static final String DIMENSION_ORIGIN = "ORIGIN";
+
+    private static final double DIGEST_COMPRESSION = 100;
+    private static final int HLL_PRECISION = 12;
+    private static final int MAX_RANGE_DAYS = 366;
+    private static final double[] QUANTILES = {0.50, 0.90, 0.95, 0.99};
+    private static final int LATEST_EVENT_BATCH_SIZE = 1000;
+
+    private final FlightArchiveRepository flightArchiveRepository;
+    private final KpiDailySketchRepository kpiDailySketchRepository;
+
+    // ===============================
+    // BUILD
+    // ===============================
+
+    /**
+     * Günün sketch'lerini yeniden üretir; geç gelen event'ler için aynı gün tekrar hesaplanabilir
+     */
+    @Transactional
+    public int buildDailySketches(LocalDate date) {
+        long started = System.currentTimeMillis();
+
+        // Arşiv event log'u: uçuş başına en son event uçuşun son halidir
+        Map<String, KpiSourceRow> latest = new HashMap<>();
+        for (KpiSourceRow event : flightArchiveRepository.findKpiRows(date)) {
+            String key = event.getFlightId() != null ? event.getFlightId().toString() : event.getEntityId();
+            latest.merge(key, event, (current, candidate) ->
+                    candidate.getEventTime().isAfter(current.getEventTime()) ? candidate : current);
+        }
+        dropMovedFlights(latest);
+
+        Map<String, SketchAccumulator> accumulators = new LinkedHashMap<>();
+        for (KpiSourceRow flight : latest.values()) {
+            if (flight.getEventType() != null && flight.getEventType().endsWith("DELETED")) {
+                continue;
+            }
+            accumulator(accumulators, DIMENSION_ALL, DIMENSION_ALL).add(flight);
+            if (flight.getAirlineId() != null) {
+                accumulator(accumulators, DIMENSION_AIRLINE, flight.getAirlineId().toString()).add(flight);
+            }
+            if (flight.getOriginAirportId() != null) {
+                accumulator(accumulators, DIMENSION_ORIGIN, flight.getOriginAirportId().toString()).add(flight);
+            }
+        }
+
+        kpiDailySketchRepository.deleteByFlightDate(date);
+        List<KpiDailySketch> sketches = new ArrayList<>(accumulators.size());
+        for (SketchAccumulator accumulator : accumulators.values()) {
+            sketches.add(accumulator.toEntity(date));
+        }
+        kpiDailySketchRepository.saveAll(sketches);
+
+        log.info("Built {} KPI sketches for {} from {} flights in {} ms",
+                sketches.size(), date, latest.size(), System.currentTimeMillis() - started);
+        return sketches.size();
+    }
+
+    /**
+     * Route küpündeki gibi uçuşun son hali tüm tarihler üzerinden belirlenir: daha sonra başka bir güne
+     * taşınan uçuş bu günün sketch'lerine girmez (son event'i bu günde olan uçuş kalır)
+     */
+    private void dropMovedFlights(Map<String, KpiSourceRow> latest) {
+        List<Long> flightIds = new ArrayList<>();
+        for (KpiSourceRow row : latest.values()) {
+            if (row.getFlightId() != null) {
+                flightIds.add(row.getFlightId());
+            }
+        }
+        for (int from = 0; from < flightIds.size(); from += LATEST_EVENT_BATCH_SIZE) {
+            List<Long> batch = flightIds.subList(from, Math.min(from + LATEST_EVENT_BATCH_SIZE, flightIds.size()));
+            for (Object[] row : flightArchiveRepository.findLatestEventTimes(batch)) {
+                String key = row[0].toString();
+                LocalDateTime latestEventTime = (LocalDateTime) row[1];
+                KpiSourceRow onThisDay = latest.get(key);
+                if (onThisDay != null && latestEventTime != null && latestEventTime.isAfter(onThisDay.getEventTime())) {
+                    latest.remove(key);
+                }
+            }
+        }
+    }
+
+    @Transactional
+    public Map<String, Object> rebuildRange(LocalDate startDate, LocalDate endDate) {
+        validateRange(startDate, endDate);
+        int sketches = 0;
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            sketches += buildDailySketches(date);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("startDate", startDate);
+        result.put("endDate", endDate);
+        result.put("days", ChronoUnit.DAYS.between(startDate, endDate) + 1);
+        result.put("sketches", sketches);
+        return result;
+    }
+
+    private SketchAccumulator accumulator(Map<String, SketchAccumulator> accumulators, String dimension, String key) {
+        return accumulators.computeIfAbsent(dimension + "|" + key, k -> new SketchAccumulator(dimension, key));
+    }
+
+    // ===============================
+    // QUERY
+    // ===============================
+
+    /**
+     * Havayolu ya da kalkış havalimanı listesiyle (ikisi birden değil) filtrelenebilir; filtre yoksa tüm uçuşlar
+     */
+    @Transactional(readOnly = true)
+    public KpiSketchResponse query(LocalDate startDate, LocalDate endDate, List<Long> airlineIds, List<Long> originAirportIds) {
+        validateRange(startDate, endDate);
+        boolean byAirline = airlineIds != null && !airlineIds.isEmpty();
+        boolean byOrigin = originAirportIds != null && !originAirportIds.isEmpty();
+        if (byAirline && byOrigin) {
+            throw new IllegalArgumentException("Filter by airlines or by origin airports, not both");
+        }
+
+        long started = System.currentTimeMillis();
+        String dimension = byAirline ? DIMENSION_AIRLINE : byOrigin ? DIMENSION_ORIGIN : DIMENSION_ALL;
+        List<String> keys = byAirline ? toKeys(airlineIds) : byOrigin ? toKeys(originAirportIds) : List.of(DIMENSION_ALL);
+        List<KpiDailySketch> sketches = kpiDailySketchRepository
+                .findByDimensionAndDimensionKeyInAndFlightDateBetween(dimension, keys, startDate, endDate);
+
+        SketchAccumulator merged = new SketchAccumulator(dimension, String.join(",", keys));
+        Set<LocalDate> days = new HashSet<>();
+        for (KpiDailySketch sketch : sketches) {
+            merged.merge(sketch);
+            days.add(sketch.getFlightDate());
+        }
+
+        KpiSketchResponse response = new KpiSketchResponse();
+        response.setStartDate(startDate);
+        response.setEndDate(endDate);
+        response.setDimension(dimension);
+        response.setDimensionKeys(keys);
+        response.setDaysCovered((long) days.size());
+        response.setSketchesMerged(sketches.size());
+        response.setTotalFlights(merged.flightCount);
+        response.setDelayedFlights(merged.delayedCount);
+        response.setCancelledFlights(merged.cancelledCount);
+        response.setCompletedFlights(merged.completedCount);
+        response.setOnTimePerformance(merged.flightCount == 0 ? 0.0
+                : (double) (merged.flightCount - merged.delayedCount) / merged.flightCount * 100);
+        response.setAverageDelay(merged.delayedCount == 0 ? 0.0 : (double) merged.delayMinutesSum / merged.delayedCount);
+        response.setCancellationRate(merged.flightCount == 0 ? 0.0
+                : (double) merged.cancelledCount / merged.flightCount * 100);
+        response.setDelayPercentiles(percentiles(merged.delayDigest));
+        response.setBlockTimePercentiles(percentiles(merged.blockTimeDigest));
+        response.setDistinctTails(merged.tails.estimate());
+        response.setDistinctRoutes(merged.routes.estimate());
+        response.setDistinctFlightNumbers(merged.flightNumbers.estimate());
+        response.setComputeMillis(System.currentTimeMillis() - started);
+        return response;
+    }
+
+    private static Map<String, Double> percentiles(TDigest digest) {
+        Map<String, Double> result = new LinkedHashMap<>();
+        for (double quantile : QUANTILES) {
+            Double value = digest.quantile(quantile);
+            result.put("p" + Math.round(quantile * 100), value != null ? Math.round(value * 10) / 10.0 : null);
+        }
+        return result;
+    }
+
+    private static List<String> toKeys(List<Long> ids) {
+        return ids.stream().filter(Objects::nonNull).distinct().map(String::valueOf).toList();
+    }
+
+    private static void validateRange(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null || endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("Invalid date range: " + startDate + " - " + endDate);
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Date range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+    }
+
+    // ===============================
+    // ACCUMULATOR
+    // ===============================
+
+    private static final class SketchAccumulator {
+        final String dimension;
+        final String key;
+        long flightCount;
+        long delayedCount;
+        long cancelledCount;
+        long completedCount;
+        long delayMinutesSum;
+        final TDigest delayDigest = new TDigest(DIGEST_COMPRESSION);
+        final TDigest blockTimeDigest = new TDigest(DIGEST_COMPRESSION);
+        final HyperLogLog tails = new HyperLogLog(HLL_PRECISION);
+        final HyperLogLog routes = new HyperLogLog(HLL_PRECISION);
+        final HyperLogLog flightNumbers = new HyperLogLog(HLL_PRECISION);
+
+        SketchAccumulator(String dimension, String key) {
+            this.dimension = dimension;
+            this.key = key;
+        }
+
+        void add(KpiSourceRow flight) {
+            flightCount++;
+            if (flight.isCancelled()) {
+                cancelledCount++;
+            } else {
+                int delay = flight.getDelayMinutes() != null ? Math.max(0, flight.getDelayMinutes()) : 0;
+                delayDigest.add(delay);
+                if (flight.isDelayed()) {
+                    delayedCount++;
+                    delayMinutesSum += delay;
+                }
+                Integer blockTime = flight.getFlightDuration();
+                if (blockTime != null && blockTime > 0) {
+                    blockTimeDigest.add(blockTime);
+                }
+            }
+            if (flight.isCompleted()) {
+                completedCount++;
+            }
+
+            if (flight.getAircraftRegistration() != null) {
+                tails.add(flight.getAircraftRegistration());
+            } else if (flight.getAircraftId() != null) {
+                tails.add("#" + flight.getAircraftId());
+            }
+            if (flight.getOriginAirportId() != null && flight.getDestinationAirportId() != null) {
+                routes.add(flight.getOriginAirportId() + "-" + flight.getDestinationAirportId());
+            }
+            flightNumbers.add(flight.getFlightNumber());
+        }
+
+        void merge(KpiDailySketch sketch) {
+            flightCount += sketch.getFlightCount();
+            delayedCount += sketch.getDelayedCount();
+            cancelledCount += sketch.getCancelledCount();
+            completedCount += sketch.getCompletedCount();
+            delayMinutesSum += sketch.getDelayMinutesSum();
+            if (sketch.getDelayDigest() != null) {
+                delayDigest.merge(TDigest.fromBytes(sketch.getDelayDigest()));
+            }
+            if (sketch.getBlockTimeDigest() != null) {
+                blockTimeDigest.merge(TDigest.fromBytes(sketch.getBlockTimeDigest()));
+            }
+            if (sketch.getTailsHll() != null) {
+                tails.merge(HyperLogLog.fromBytes(sketch.getTailsHll()));
+            }
+            if (sketch.getRoutesHll() != null) {
+                routes.merge(HyperLogLog.fromBytes(sketch.getRoutesHll()));
+            }
+            if (sketch.getFlightNumbersHll() != null) {
+                flightNumbers.merge(HyperLogLog.fromBytes(sketch.getFlightNumbersHll()));
+            }
+        }
+
+        KpiDailySketch toEntity(LocalDate date) {
+            KpiDailySketch sketch = new KpiDailySketch();
+            sketch.setFlightDate(date);
+            sketch.setDimension(dimension);
+            sketch.setDimensionKey(key);
+            sketch.setFlightCount(flightCount);
+            sketch.setDelayedCount(delayedCount);
+            sketch.setCancelledCount(cancelledCount);
+            sketch.setCompletedCount(completedCount);
+            sketch.setDelayMinutesSum(delayMinutesSum);
+            sketch.setDelayDigest(delayDigest.toBytes());
+            sketch.setBlockTimeDigest(blockTimeDigest.toBytes());
+            sketch.setTailsHll(tails.toBytes());
+            sketch.setRoutesHll(routes.toBytes());
+            sketch.setFlightNumbersHll(flightNumbers.toBytes());
+            return sketch;
+        }
+    }
+}
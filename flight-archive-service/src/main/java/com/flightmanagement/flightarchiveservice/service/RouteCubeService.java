@@ -0,0 +1,431 @@
+package com.flightmanagement.flightarchiveservice.service;
+
+import com.flightmanagement.flightarchiveservice.cube.CubeAggregate;
+import com.flightmanagement.flightarchiveservice.cube.CubeDimension;
+import com.flightmanagement.flightarchiveservice.cube.CubeSourceRow;
+import com.flightmanagement.flightarchiveservice.cube.FlightCube;
+import com.flightmanagement.flightarchiveservice.cube.FlightFact;
+import com.flightmanagement.flightarchiveservice.dto.request.CubeQueryRequest;
+import com.flightmanagement.flightarchiveservice.dto.response.CubeQueryResponse;
+import com.flightmanagement.flightarchiveservice.entity.FlightArchive;
+import com.flightmanagement.flightarchiveservice.repository.FlightArchiveRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Arşivlenmiş uçuşlar üzerinde bellek içi route performans küpü
+ * (havayolu × kalkış × varış × uçak tipi × ay × saat ...).
+ *
+ * Başlangıçta flight_archives aylık parçalar halinde paralel okunur, her parça kendi segment küpünü
+ * kurar ve segmentler tek küpte birleştirilir. Sonrasında arşivlenen her event küpe anında yazılır;
+ * rebuild sırasında gelen event'ler tutulup yeni küpe tekrar uygulanır.
+ */
+@Service
+@Slf4j
+public class RouteCubeService {
+
+    public enum State { NOT_STARTED, BUILDING, READY, FAILED, DISABLED }
+
+    private static final Map<String, ToDoubleFunction<CubeQueryResponse.Row>> MEASURES = new LinkedHashMap<>();
+
+    static {
+        MEASURES.put("flights", row -> row.getFlights());
+        MEASURES.put("avgDelayMinutes", CubeQueryResponse.Row::getAvgDelayMinutes);
+        MEASURES.put("maxDelayMinutes", row -> row.getMaxDelayMinutes());
+        MEASURES.put("onTimePercent", CubeQueryResponse.Row::getOnTimePercent);
+        MEASURES.put("cancellationRate", CubeQueryResponse.Row::getCancellationRate);
+        MEASURES.put("avgBlockMinutes", CubeQueryResponse.Row::getAvgBlockMinutes);
+        MEASURES.put("passengers", row -> row.getPassengers());
+        MEASURES.put("cargoWeight", row -> row.getCargoWeight());
+    }
+
+    private final FlightArchiveRepository flightArchiveRepository;
+
+    @Value("${archive.cube.enabled:true}")
+    private boolean enabled;
+
+    @Value("${archive.cube.rebuild-parallelism:4}")
+    private int parallelism;
+
+    @Value("${archive.cube.chunk-months:1}")
+    private int chunkMonths;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    private FlightCube cube = new FlightCube();
+    private List<FlightFact> pendingDuringRebuild;   // lock altında, yalnızca rebuild sürerken dolu
+
+    private volatile State state = State.NOT_STARTED;
+    private volatile LocalDateTime lastBuiltAt;
+    private volatile long lastBuildMs;
+    private volatile int lastBuildChunks;
+    private volatile long lastBuildSourceRows;
+
+    public RouteCubeService(FlightArchiveRepository flightArchiveRepository) {
+        this.flightArchiveRepository = flightArchiveRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            state = State.DISABLED;
+            log.info("Route cube disabled");
+            return;
+        }
+        rebuildAsync();
+    }
+
+    /**
+     * Rebuild'i arka planda başlatır; zaten sürüyorsa false döner
+     */
+    public boolean rebuildAsync() {
+        if (!enabled || !rebuilding.compareAndSet(false, true)) {
+            return false;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                rebuild();
+            } finally {
+                rebuilding.set(false);
+            }
+        }, "route-cube-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    // ===============================
+    // BUILD
+    // ===============================
+
+    private void rebuild() {
+        long started = System.currentTimeMillis();
+        if (state != State.READY) {
+            state = State.BUILDING;     // Hazır küp rebuild bitene kadar sorgulara hizmet vermeye devam eder
+        }
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        ExecutorService executor = null;
+        try {
+            LocalDate min = flightArchiveRepository.findMinFlightDate();
+            LocalDate max = flightArchiveRepository.findMaxFlightDate();
+            List<LocalDate[]> chunks = chunks(min, max);
+
+            // Her parça bağımsız segment küp kurar; birleştirme sırası eventTime'dan bağımsızdır (upsert versiyonlu)
+            executor = Executors.newFixedThreadPool(Math.max(1, parallelism), daemonThreadFactory());
+            List<Future<FlightCube>> futures = new ArrayList<>(chunks.size());
+            AtomicInteger sourceRows = new AtomicInteger();
+            for (LocalDate[] chunk : chunks) {
+                futures.add(executor.submit(() -> {
+                    List<CubeSourceRow> rows = flightArchiveRepository.findCubeRows(chunk[0], chunk[1]);
+                    sourceRows.addAndGet(rows.size());
+                    FlightCube segment = new FlightCube(rows.size());
+                    for (CubeSourceRow row : rows) {
+                        segment.upsert(FlightFact.from(row));
+                    }
+                    return segment;
+                }));
+            }
+
+            List<FlightCube> segments = new ArrayList<>(futures.size());
+            int capacity = 0;
+            for (Future<FlightCube> future : futures) {
+                FlightCube segment = future.get();
+                segments.add(segment);
+                capacity += segment.size();
+            }
+            FlightCube fresh = new FlightCube(capacity);
+            for (FlightCube segment : segments) {
+                fresh.mergeFrom(segment);
+            }
+
+            lock.writeLock().lock();
+            try {
+                for (FlightFact fact : pendingDuringRebuild) {
+                    fresh.upsert(fact);
+                }
+                cube = fresh;
+                pendingDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            lastBuiltAt = LocalDateTime.now();
+            lastBuildMs = System.currentTimeMillis() - started;
+            lastBuildChunks = chunks.size();
+            lastBuildSourceRows = sourceRows.get();
+            state = State.READY;
+            log.info("Route cube built: {} flights from {} archive rows in {} chunks, {} ms",
+                    fresh.liveRows(), lastBuildSourceRows, lastBuildChunks, lastBuildMs);
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            lock.writeLock().lock();
+            try {
+                pendingDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            if (state != State.READY) {
+                state = State.FAILED;
+            }
+            log.error("Route cube rebuild failed", e);
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private List<LocalDate[]> chunks(LocalDate min, LocalDate max) {
+        List<LocalDate[]> chunks = new ArrayList<>();
+        if (min == null || max == null) {
+            return chunks;
+        }
+        int months = Math.max(1, chunkMonths);
+        LocalDate start = min.withDayOfMonth(1);
+        while (!start.isAfter(max)) {
+            LocalDate next = start.plusMonths(months);
+            chunks.add(new LocalDate[]{start, next.minusDays(1)});
+            start = next;
+        }
+        return chunks;
+    }
+
+    /**
+     * Arşivlenen event'i küpe yazar (KafkaConsumerService, kayıt başarılı olduktan sonra çağırır)
+     */
+    public void apply(FlightArchive archive) {
+        if (!enabled || archive == null || !"FLIGHT".equals(archive.getEntityType())) {
+            return;
+        }
+        FlightFact fact = FlightFact.from(archive);
+        lock.writeLock().lock();
+        try {
+            cube.upsert(fact);
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(fact);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ===============================
+    // QUERY
+    // ===============================
+
+    public CubeQueryResponse query(CubeQueryRequest request) {
+        long started = System.currentTimeMillis();
+        CubeDimension[] groupBy = parseGroupBy(request.getGroupBy());
+        ToDoubleFunction<CubeQueryResponse.Row> measure = MEASURES.get(
+                request.getOrderBy() != null ? request.getOrderBy() : "flights");
+        if (measure == null) {
+            throw new IllegalArgumentException("Unknown orderBy measure: " + request.getOrderBy()
+                    + " (supported: " + MEASURES.keySet() + ")");
+        }
+        if (request.getStartDate() != null && request.getEndDate() != null
+                && request.getEndDate().isBefore(request.getStartDate())) {
+            throw new IllegalArgumentException("End date must be after start date");
+        }
+        int fromDay = request.getStartDate() != null ? (int) request.getStartDate().toEpochDay() : Integer.MIN_VALUE;
+        int toDay = request.getEndDate() != null ? (int) request.getEndDate().toEpochDay() : Integer.MAX_VALUE;
+
+        List<CubeQueryResponse.Row> rows = new ArrayList<>();
+        int scanned;
+        long matched = 0;
+        lock.readLock().lock();
+        try {
+            scanned = cube.size();
+            Map<Long, CubeAggregate> groups = cube.aggregate(groupBy, filterMasks(request.getFilters()), fromDay, toDay);
+            long[] radix = cube.radices(groupBy);
+            for (Map.Entry<Long, CubeAggregate> group : groups.entrySet()) {
+                matched += group.getValue().getFlights();
+                rows.add(toRow(groupBy, cube.decodeKey(group.getKey(), radix), 0, group.getValue()));
+            }
+
+            // Roll-up: anahtar mixed-radix olduğundan j boyutlu önek = key / (radix[j] * ... * radix[n-1])
+            if (request.isRollup() && groupBy.length > 0) {
+                long divisor = 1;
+                for (int prefix = groupBy.length - 1; prefix >= 0; prefix--) {
+                    divisor *= radix[prefix];
+                    Map<Long, CubeAggregate> subtotals = new HashMap<>();
+                    for (Map.Entry<Long, CubeAggregate> group : groups.entrySet()) {
+                        subtotals.computeIfAbsent(group.getKey() / divisor, k -> new CubeAggregate())
+                                .merge(group.getValue());
+                    }
+                    long[] prefixRadix = Arrays.copyOf(radix, prefix);
+                    for (Map.Entry<Long, CubeAggregate> subtotal : subtotals.entrySet()) {
+                        rows.add(toRow(groupBy, cube.decodeKey(subtotal.getKey(), prefixRadix),
+                                groupBy.length - prefix, subtotal.getValue()));
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // Önce toplamlar (en yüksek level), sonra seçilen ölçüye göre
+        Comparator<CubeQueryResponse.Row> byMeasure = Comparator.comparingDouble(measure);
+        if (!request.isAscending()) {
+            byMeasure = byMeasure.reversed();
+        }
+        rows.sort(Comparator.comparing(CubeQueryResponse.Row::getLevel, Comparator.reverseOrder()).thenComparing(byMeasure));
+        int totalGroups = rows.size();
+        int limit = request.getLimit() != null ? request.getLimit() : 100;
+        if (rows.size() > limit) {
+            rows = new ArrayList<>(rows.subList(0, limit));
+        }
+
+        return CubeQueryResponse.builder()
+                .groupBy(Arrays.stream(groupBy).map(CubeDimension::getApiName).toList())
+                .totalGroups(totalGroups)
+                .matchedFlights(matched)
+                .scannedRows(scanned)
+                .computeMillis(System.currentTimeMillis() - started)
+                .rows(rows)
+                .build();
+    }
+
+    private CubeDimension[] parseGroupBy(List<String> names) {
+        if (names == null) {
+            return new CubeDimension[0];
+        }
+        LinkedHashSet<CubeDimension> dimensions = new LinkedHashSet<>();
+        for (String name : names) {
+            if (!dimensions.add(CubeDimension.fromApiName(name))) {
+                throw new IllegalArgumentException("Duplicate group-by dimension: " + name);
+            }
+        }
+        return dimensions.toArray(new CubeDimension[0]);
+    }
+
+    /**
+     * Filtre değerlerini dictionary kodlarına çevirir; küpte olmayan değer hiçbir satırla eşleşmez
+     */
+    private boolean[][] filterMasks(Map<String, List<String>> filters) {
+        boolean[][] masks = new boolean[CubeDimension.values().length][];
+        if (filters == null) {
+            return masks;
+        }
+        for (Map.Entry<String, List<String>> filter : filters.entrySet()) {
+            if (filter.getValue() == null || filter.getValue().isEmpty()) {
+                continue;
+            }
+            CubeDimension dimension = CubeDimension.fromApiName(filter.getKey());
+            FlightCube.Dictionary dictionary = cube.dictionary(dimension);
+            boolean[] mask = masks[dimension.ordinal()] != null
+                    ? masks[dimension.ordinal()] : new boolean[dictionary.size()];
+            for (String value : filter.getValue()) {
+                if (value == null) {
+                    continue;
+                }
+                int code = dictionary.lookup(value.trim());
+                if (code < 0) {
+                    code = dictionary.lookup(value.trim().toUpperCase());
+                }
+                if (code >= 0) {
+                    mask[code] = true;
+                }
+            }
+            masks[dimension.ordinal()] = mask;
+        }
+        return masks;
+    }
+
+    private CubeQueryResponse.Row toRow(CubeDimension[] groupBy, int[] codes, int level, CubeAggregate aggregate) {
+        Map<String, String> dimensions = new LinkedHashMap<>();
+        for (int g = 0; g < groupBy.length; g++) {
+            dimensions.put(groupBy[g].getApiName(),
+                    g < codes.length ? cube.dictionary(groupBy[g]).decode(codes[g]) : null);
+        }
+        return CubeQueryResponse.Row.builder()
+                .dimensions(dimensions)
+                .level(level)
+                .flights(aggregate.getFlights())
+                .delayedFlights(aggregate.getDelayedFlights())
+                .cancelledFlights(aggregate.getCancelledFlights())
+                .onTimePercent(aggregate.getOnTimePercent())
+                .cancellationRate(aggregate.getCancellationRate())
+                .avgDelayMinutes(aggregate.getAvgDelayMinutes())
+                .maxDelayMinutes(aggregate.getMaxDelayMinutes())
+                .avgBlockMinutes(aggregate.getAvgBlockMinutes())
+                .passengers(aggregate.getPassengers())
+                .cargoWeight(aggregate.getCargoWeight())
+                .build();
+    }
+
+    // ===============================
+    // STATUS
+    // ===============================
+
+    public Map<String, List<String>> getDimensionValues() {
+        Map<String, List<String>> values = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            for (CubeDimension dimension : CubeDimension.values()) {
+                List<String> sorted = new ArrayList<>(cube.dictionary(dimension).values());
+                Collections.sort(sorted);
+                values.put(dimension.getApiName(), sorted);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return values;
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("state", state);
+        status.put("rebuilding", rebuilding.get());
+        lock.readLock().lock();
+        try {
+            status.put("flights", cube.liveRows());
+            status.put("rows", cube.size());
+            Map<String, Integer> cardinality = new LinkedHashMap<>();
+            for (CubeDimension dimension : CubeDimension.values()) {
+                cardinality.put(dimension.getApiName(), cube.dictionary(dimension).size());
+            }
+            status.put("cardinality", cardinality);
+        } finally {
+            lock.readLock().unlock();
+        }
+        status.put("lastBuiltAt", lastBuiltAt);
+        status.put("lastBuildMs", lastBuildMs);
+        status.put("lastBuildChunks", lastBuildChunks);
+        status.put("lastBuildSourceRows", lastBuildSourceRows);
+        status.put("parallelism", parallelism);
+        return status;
+    }
+
+    private static ThreadFactory daemonThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "route-cube-loader-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,129 @@
+package com.flightmanagement.flightarchiveservice.sketch;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * HyperLogLog distinct sayacı. Birleşim register bazında max'tır, bu yüzden günlük sketch'ler
+ * kayıpsız toplanır. Küçük kardinalitelerde linear counting'e düşer; register'lar deflate ile
+ * saklanır (günlük sketch'lerin çoğu seyrek olduğu için birkaç yüz byte'a iner).
+ */
+public final class HyperLogLog {
+
+    private static final byte FORMAT_VERSION = 1;
+
+    private final int precision;
+    private final byte[] registers;
+
+    public HyperLogLog(int precision) {
+        if (precision < 4 || precision > 16) {
+            throw new IllegalArgumentException("HyperLogLog precision must be between 4 and 16");
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    public void add(String value) {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        long hash = hash(value);
+        int index = (int) (hash >>> (64 - precision));
+        int rank = Math.min(Long.numberOfLeadingZeros(hash << precision) + 1, 64 - precision + 1);
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    public void merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Cannot merge HyperLogLog sketches with different precision");
+        }
+        for (int i = 0; i < registers.length; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    public long estimate() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double alpha = m == 16 ? 0.673 : m == 32 ? 0.697 : m == 64 ? 0.709 : 0.7213 / (1 + 1.079 / m);
+        double estimate = alpha * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * FNV-1a 64 + splitmix64 sonlandırıcı; kısa kodlarda (TK123, TC-JFK) bitlerin dağılması için
+     */
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+        return hash ^ (hash >>> 31);
+    }
+
+    // ===============================
+    // SERIALIZATION
+    // ===============================
+
+    public byte[] toBytes() {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(registers);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(64);
+            out.write(FORMAT_VERSION);
+            out.write(precision);
+            byte[] chunk = new byte[512];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        if (bytes.length < 2 || bytes[0] != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported HyperLogLog format");
+        }
+        HyperLogLog sketch = new HyperLogLog(bytes[1]);
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes, 2, bytes.length - 2);
+            int read = 0;
+            while (read < sketch.registers.length && !inflater.finished()) {
+                int inflated = inflater.inflate(sketch.registers, read, sketch.registers.length - read);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalArgumentException("Truncated HyperLogLog sketch");
+                }
+                read += inflated;
+            }
+            return sketch;
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Corrupt HyperLogLog sketch", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
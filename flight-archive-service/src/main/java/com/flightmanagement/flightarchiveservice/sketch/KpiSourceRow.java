@@ -0,0 +1,50 @@
+package com.flightmanagement.flightarchiveservice.sketch;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * KPI sketch build'i için flight_archives kolon projeksiyonu (payload okunmaz).
+ * Durum yardımcıları FlightArchive'daki karşılıklarıyla aynı kuralları uygular.
+ */
+public interface KpiSourceRow {
+    Long getFlightId();
+    String getEntityId();
+    String getEventType();
+    LocalDateTime getEventTime();
+    LocalDate getFlightDate();
+    String getFlightNumber();
+    Long getAirlineId();
+    Long getAircraftId();
+    String getAircraftRegistration();
+    Long getOriginAirportId();
+    Long getDestinationAirportId();
+    String getStatus();
+    LocalDateTime getScheduledDeparture();
+    LocalDateTime getScheduledArrival();
+    LocalDateTime getActualDeparture();
+    LocalDateTime getActualArrival();
+    Integer getDelayMinutes();
+
+    default boolean isDelayed() {
+        return getDelayMinutes() != null && getDelayMinutes() > 0;
+    }
+
+    default boolean isCompleted() {
+        return "ARRIVED".equals(getStatus());
+    }
+
+    default boolean isCancelled() {
+        return "CANCELLED".equals(getStatus());
+    }
+
+    default Integer getFlightDuration() {
+        if (getActualDeparture() != null && getActualArrival() != null) {
+            return (int) Duration.between(getActualDeparture(), getActualArrival()).toMinutes();
+        } else if (getScheduledDeparture() != null && getScheduledArrival() != null) {
+            return (int) Duration.between(getScheduledDeparture(), getScheduledArrival()).toMinutes();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,208 @@
+package com.flightmanagement.flightarchiveservice.sketch;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Birleştirilebilir (merging) t-digest.
+ *
+ * Değerler bir tampona alınır; tampon dolunca centroid'lerle birlikte sıralanıp k1 ölçeğine göre
+ * sıkıştırılır (uçlarda küçük, ortada büyük centroid'ler). İki digest'in birleşimi centroid'lerin
+ * ağırlıklı olarak eklenmesidir; günlük digest'ler herhangi bir tarih aralığı için bu şekilde toplanır.
+ */
+public final class TDigest {
+
+    private static final byte FORMAT_VERSION = 1;
+
+    private final double compression;
+
+    private double[] means;
+    private double[] weights;
+    private int size;
+
+    private final double[] bufferMeans;
+    private final double[] bufferWeights;
+    private int buffered;
+
+    private double totalWeight;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public TDigest(double compression) {
+        this.compression = compression;
+        int capacity = (int) Math.ceil(compression) * 2 + 10;
+        this.means = new double[capacity];
+        this.weights = new double[capacity];
+        this.bufferMeans = new double[capacity * 5];
+        this.bufferWeights = new double[capacity * 5];
+    }
+
+    public void add(double value) {
+        add(value, 1);
+    }
+
+    public void add(double value, double weight) {
+        if (Double.isNaN(value) || weight <= 0) {
+            return;
+        }
+        if (buffered == bufferMeans.length) {
+            compress();
+        }
+        bufferMeans[buffered] = value;
+        bufferWeights[buffered] = weight;
+        buffered++;
+        totalWeight += weight;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    public void merge(TDigest other) {
+        other.compress();
+        for (int i = 0; i < other.size; i++) {
+            add(other.means[i], other.weights[i]);
+        }
+        // Tek centroid'li uçlar min/max'ı daraltmasın
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public long count() {
+        return Math.round(totalWeight);
+    }
+
+    /**
+     * Boş digest için null
+     */
+    public Double quantile(double q) {
+        compress();
+        if (size == 0) {
+            return null;
+        }
+        if (size == 1) {
+            return means[0];
+        }
+
+        double index = q * totalWeight;
+        if (index < weights[0] / 2) {
+            return interpolate(min, means[0], index / (weights[0] / 2));
+        }
+        double cumulative = weights[0] / 2;
+        for (int i = 0; i < size - 1; i++) {
+            double step = (weights[i] + weights[i + 1]) / 2;
+            if (cumulative + step > index) {
+                return interpolate(means[i], means[i + 1], (index - cumulative) / step);
+            }
+            cumulative += step;
+        }
+        double tail = weights[size - 1] / 2;
+        return interpolate(means[size - 1], max, Math.min(1, (index - cumulative) / tail));
+    }
+
+    private static double interpolate(double from, double to, double fraction) {
+        return from + (to - from) * fraction;
+    }
+
+    private void compress() {
+        if (buffered == 0) {
+            return;
+        }
+
+        int n = size + buffered;
+        double[] allMeans = new double[n];
+        double[] allWeights = new double[n];
+        System.arraycopy(means, 0, allMeans, 0, size);
+        System.arraycopy(weights, 0, allWeights, 0, size);
+        System.arraycopy(bufferMeans, 0, allMeans, size, buffered);
+        System.arraycopy(bufferWeights, 0, allWeights, size, buffered);
+        buffered = 0;
+
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(allMeans[a], allMeans[b]));
+
+        double[] newMeans = new double[Math.max(means.length, 16)];
+        double[] newWeights = new double[newMeans.length];
+        int newSize = 0;
+
+        double currentMean = allMeans[order[0]];
+        double currentWeight = allWeights[order[0]];
+        double before = 0;
+        for (int i = 1; i < n; i++) {
+            double mean = allMeans[order[i]];
+            double weight = allWeights[order[i]];
+            double proposed = currentWeight + weight;
+            double q = (before + proposed / 2) / totalWeight;
+            double limit = 4 * totalWeight * q * (1 - q) / compression;
+            if (proposed <= Math.max(1, limit)) {
+                currentMean += (mean - currentMean) * weight / proposed;
+                currentWeight = proposed;
+            } else {
+                if (newSize == newMeans.length) {
+                    newMeans = Arrays.copyOf(newMeans, newSize * 2);
+                    newWeights = Arrays.copyOf(newWeights, newSize * 2);
+                }
+                newMeans[newSize] = currentMean;
+                newWeights[newSize] = currentWeight;
+                newSize++;
+                before += currentWeight;
+                currentMean = mean;
+                currentWeight = weight;
+            }
+        }
+        if (newSize == newMeans.length) {
+            newMeans = Arrays.copyOf(newMeans, newSize + 1);
+            newWeights = Arrays.copyOf(newWeights, newSize + 1);
+        }
+        newMeans[newSize] = currentMean;
+        newWeights[newSize] = currentWeight;
+        newSize++;
+
+        means = newMeans;
+        weights = newWeights;
+        size = newSize;
+    }
+
+    // ===============================
+    // SERIALIZATION
+    // ===============================
+
+    public byte[] toBytes() {
+        compress();
+        ByteBuffer buffer = ByteBuffer.allocate(1 + 8 * 3 + 4 + size * 16);
+        buffer.put(FORMAT_VERSION);
+        buffer.putDouble(compression);
+        buffer.putDouble(min);
+        buffer.putDouble(max);
+        buffer.putInt(size);
+        for (int i = 0; i < size; i++) {
+            buffer.putDouble(means[i]);
+            buffer.putDouble(weights[i]);
+        }
+        return buffer.array();
+    }
+
+    public static TDigest fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        byte version = buffer.get();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported t-digest format version: " + version);
+        }
+        TDigest digest = new TDigest(buffer.getDouble());
+        double min = buffer.getDouble();
+        double max = buffer.getDouble();
+        int size = buffer.getInt();
+        digest.means = new double[Math.max(size, 16)];
+        digest.weights = new double[digest.means.length];
+        for (int i = 0; i < size; i++) {
+            digest.means[i] = buffer.getDouble();
+            digest.weights[i] = buffer.getDouble();
+            digest.totalWeight += digest.weights[i];
+        }
+        digest.size = size;
+        digest.min = min;
+        digest.max = max;
+        return digest;
+    }
+}
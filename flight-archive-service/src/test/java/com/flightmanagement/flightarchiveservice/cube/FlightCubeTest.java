@@ -0,0 +1,159 @@
+package com.flightmanagement.flightarchiveservice.cube;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FlightCubeTest {
+
+    private static final LocalDate DAY = LocalDate.of(2030, 1, 10);
+    private static final CubeDimension[] AIRLINE_ORIGIN_STATUS =
+            {CubeDimension.AIRLINE, CubeDimension.ORIGIN, CubeDimension.STATUS};
+    private static final int NO_DATE_FROM = Integer.MIN_VALUE;
+    private static final int NO_DATE_TO = Integer.MAX_VALUE;
+
+    @Test
+    void decodeKeyRestoresTheGroupedDimensionValues() {
+        FlightCube cube = new FlightCube(16);
+        cube.upsert(fact("1", "TK", "IST", "ARRIVED", 10, 0));
+        cube.upsert(fact("2", "TK", "IST", "ARRIVED", 30, 0));
+        cube.upsert(fact("3", "PC", "SAW", "CANCELLED", null, 0));
+        cube.upsert(fact("4", "TK", "ESB", "DELAYED", 45, 0));
+
+        Map<String, CubeAggregate> groups = decoded(cube, AIRLINE_ORIGIN_STATUS,
+                cube.aggregate(AIRLINE_ORIGIN_STATUS, noFilter(), NO_DATE_FROM, NO_DATE_TO));
+
+        assertThat(groups).containsOnlyKeys("TK|IST|ARRIVED", "PC|SAW|CANCELLED", "TK|ESB|DELAYED");
+        assertThat(groups.get("TK|IST|ARRIVED").getFlights()).isEqualTo(2);
+        assertThat(groups.get("TK|IST|ARRIVED").getAvgDelayMinutes()).isEqualTo(20.0);
+        assertThat(groups.get("PC|SAW|CANCELLED").getCancelledFlights()).isEqualTo(1);
+        assertThat(groups.get("TK|ESB|DELAYED").getDelayedFlights()).isEqualTo(1);
+    }
+
+    @Test
+    void prefixDivisionRollsDetailGroupsUpToSubtotalsAndGrandTotal() {
+        FlightCube cube = new FlightCube(16);
+        cube.upsert(fact("1", "TK", "IST", "ARRIVED", 10, 0));
+        cube.upsert(fact("2", "TK", "ESB", "ARRIVED", 0, 0));
+        cube.upsert(fact("3", "TK", "ESB", "DELAYED", 60, 0));
+        cube.upsert(fact("4", "PC", "SAW", "ARRIVED", 5, 0));
+        cube.upsert(fact("5", "PC", "IST", "CANCELLED", null, 0));
+
+        Map<Long, CubeAggregate> detail = cube.aggregate(AIRLINE_ORIGIN_STATUS, noFilter(), NO_DATE_FROM, NO_DATE_TO);
+        long[] radix = cube.radices(AIRLINE_ORIGIN_STATUS);
+
+        // RouteCubeService roll-up'ı: j boyutlu önek = key / (radix[j] * ... * radix[n-1])
+        Map<String, CubeAggregate> byAirlineOrigin = rollUp(cube, detail, radix, 2);
+        Map<String, CubeAggregate> byAirline = rollUp(cube, detail, radix, 1);
+        Map<String, CubeAggregate> total = rollUp(cube, detail, radix, 0);
+
+        assertThat(byAirlineOrigin.get("TK|ESB").getFlights()).isEqualTo(2);
+        assertThat(byAirlineOrigin.get("TK|ESB").getMaxDelayMinutes()).isEqualTo(60);
+        assertThat(byAirline.get("TK").getFlights()).isEqualTo(3);
+        assertThat(byAirline.get("PC").getFlights()).isEqualTo(2);
+        assertThat(byAirline.get("PC").getCancelledFlights()).isEqualTo(1);
+        assertThat(total).containsOnlyKeys("");
+        assertThat(total.get("").getFlights()).isEqualTo(5);
+        assertThat(total.get("").getPassengers()).isEqualTo(5 * 100);
+    }
+
+    @Test
+    void staleEventsAreIgnoredAndDeletedFlightsAreNotScanned() {
+        FlightCube cube = new FlightCube(16);
+        cube.upsert(fact("1", "TK", "IST", "DELAYED", 40, 10));
+        assertThat(cube.upsert(fact("1", "TK", "IST", "ARRIVED", 0, 5))).isFalse();
+        cube.upsert(fact("2", "PC", "SAW", "ARRIVED", 0, 0));
+        cube.upsert(deleted("2", 20));
+
+        Map<String, CubeAggregate> groups = decoded(cube, AIRLINE_ORIGIN_STATUS,
+                cube.aggregate(AIRLINE_ORIGIN_STATUS, noFilter(), NO_DATE_FROM, NO_DATE_TO));
+
+        assertThat(groups).containsOnlyKeys("TK|IST|DELAYED");
+        assertThat(cube.liveRows()).isEqualTo(1);
+    }
+
+    @Test
+    void mergeFromRemapsDictionaryCodesAndKeepsNewerRows() {
+        FlightCube target = new FlightCube(16);
+        target.upsert(fact("1", "TK", "IST", "ARRIVED", 0, 10));
+        FlightCube source = new FlightCube(16);
+        // Kaynak küpte kodlar farklı sırayla verilir
+        source.upsert(fact("2", "PC", "SAW", "ARRIVED", 0, 0));
+        source.upsert(fact("1", "TK", "IST", "DELAYED", 25, 20));
+
+        target.mergeFrom(source);
+
+        Map<String, CubeAggregate> groups = decoded(target, AIRLINE_ORIGIN_STATUS,
+                target.aggregate(AIRLINE_ORIGIN_STATUS, noFilter(), NO_DATE_FROM, NO_DATE_TO));
+        assertThat(groups).containsOnlyKeys("TK|IST|DELAYED", "PC|SAW|ARRIVED");
+        assertThat(target.liveRows()).isEqualTo(2);
+    }
+
+    private static Map<String, CubeAggregate> rollUp(FlightCube cube, Map<Long, CubeAggregate> detail,
+                                                     long[] radix, int prefix) {
+        long divisor = 1;
+        for (int g = radix.length - 1; g >= prefix; g--) {
+            divisor *= radix[g];
+        }
+        Map<Long, CubeAggregate> subtotals = new HashMap<>();
+        for (Map.Entry<Long, CubeAggregate> group : detail.entrySet()) {
+            subtotals.computeIfAbsent(group.getKey() / divisor, k -> new CubeAggregate()).merge(group.getValue());
+        }
+        CubeDimension[] dimensions = Arrays.copyOf(AIRLINE_ORIGIN_STATUS, prefix);
+        long[] prefixRadix = Arrays.copyOf(radix, prefix);
+        Map<String, CubeAggregate> decoded = new HashMap<>();
+        subtotals.forEach((key, aggregate) -> decoded.put(label(cube, dimensions, cube.decodeKey(key, prefixRadix)), aggregate));
+        return decoded;
+    }
+
+    private static Map<String, CubeAggregate> decoded(FlightCube cube, CubeDimension[] groupBy,
+                                                      Map<Long, CubeAggregate> groups) {
+        long[] radix = cube.radices(groupBy);
+        Map<String, CubeAggregate> decoded = new HashMap<>();
+        groups.forEach((key, aggregate) -> decoded.put(label(cube, groupBy, cube.decodeKey(key, radix)), aggregate));
+        return decoded;
+    }
+
+    private static String label(FlightCube cube, CubeDimension[] dimensions, int[] codes) {
+        String[] values = new String[codes.length];
+        for (int g = 0; g < codes.length; g++) {
+            values[g] = cube.dictionary(dimensions[g]).decode(codes[g]);
+        }
+        return String.join("|", values);
+    }
+
+    private static boolean[][] noFilter() {
+        return new boolean[CubeDimension.values().length][];
+    }
+
+    private static FlightFact fact(String key, String airline, String origin, String status, Integer delay, int minute) {
+        return FlightFact.builder()
+                .flightKey(key)
+                .eventTime(LocalDateTime.of(DAY, LocalTime.NOON).plusMinutes(minute))
+                .flightDate(DAY)
+                .airline(airline)
+                .origin(origin)
+                .destination("AYT")
+                .status(status)
+                .scheduledDeparture(DAY.atTime(9, 0))
+                .delayMinutes(delay)
+                .blockMinutes(90)
+                .passengerCount(100)
+                .build();
+    }
+
+    private static FlightFact deleted(String key, int minute) {
+        return FlightFact.builder()
+                .flightKey(key)
+                .eventTime(LocalDateTime.of(DAY, LocalTime.NOON).plusMinutes(minute))
+                .deleted(true)
+                .build();
+    }
+}
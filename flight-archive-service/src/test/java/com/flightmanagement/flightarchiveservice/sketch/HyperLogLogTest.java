@@ -0,0 +1,50 @@
+package com.flightmanagement.flightarchiveservice.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.withinPercentage;
+
+class HyperLogLogTest {
+
+    private static final int PRECISION = 12;
+
+    @Test
+    void mergeOfOverlappingDailySketchesEstimatesTheUnion() {
+        // 30 gün, her gün 5000 kuyruk; ardışık günler 4000'ini paylaşır => birleşimde 5000 + 29 * 1000 distinct
+        HyperLogLog merged = new HyperLogLog(PRECISION);
+        for (int day = 0; day < 30; day++) {
+            HyperLogLog daily = new HyperLogLog(PRECISION);
+            for (int tail = day * 1_000; tail < day * 1_000 + 5_000; tail++) {
+                daily.add("TC-" + tail);
+            }
+            merged.merge(HyperLogLog.fromBytes(daily.toBytes()));
+        }
+
+        // p=12 için standart hata ~%1.6
+        assertThat(merged.estimate()).isCloseTo(34_000L, withinPercentage(5));
+    }
+
+    @Test
+    void mergeIsIdempotentAndSmallCardinalitiesUseLinearCounting() {
+        HyperLogLog left = new HyperLogLog(PRECISION);
+        HyperLogLog right = new HyperLogLog(PRECISION);
+        for (int i = 0; i < 100; i++) {
+            left.add("route-" + i);
+            right.add("route-" + (i + 50));
+        }
+        left.merge(right);
+        long estimate = left.estimate();
+        left.merge(right);
+
+        assertThat(estimate).isCloseTo(150L, withinPercentage(3));
+        assertThat(left.estimate()).isEqualTo(estimate);
+    }
+
+    @Test
+    void sketchesWithDifferentPrecisionCannotBeMerged() {
+        assertThatThrownBy(() -> new HyperLogLog(PRECISION).merge(new HyperLogLog(PRECISION + 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,64 @@
+package com.flightmanagement.flightarchiveservice.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class TDigestTest {
+
+    private static final double COMPRESSION = 100;
+    private static final double[] QUANTILES = {0.01, 0.1, 0.5, 0.9, 0.95, 0.99};
+
+    @Test
+    void mergedDailyDigestsStayWithinRankErrorOfExactQuantiles() {
+        Random random = new Random(42);
+        int days = 30;
+        int perDay = 2_000;
+        double[] all = new double[days * perDay];
+
+        // Günlük digest'ler, KpiSketchService'in tarih aralığı sorgusundaki gibi birleştirilir
+        TDigest merged = new TDigest(COMPRESSION);
+        for (int day = 0; day < days; day++) {
+            TDigest daily = new TDigest(COMPRESSION);
+            for (int i = 0; i < perDay; i++) {
+                // Gecikme benzeri çarpık dağılım: çoğu küçük, uzun kuyruk
+                double value = -Math.log(1 - random.nextDouble()) * (10 + day);
+                daily.add(value);
+                all[day * perDay + i] = value;
+            }
+            merged.merge(TDigest.fromBytes(daily.toBytes()));
+        }
+        Arrays.sort(all);
+
+        assertThat(merged.count()).isEqualTo(all.length);
+        for (double q : QUANTILES) {
+            assertThat(rankOf(all, merged.quantile(q))).as("rank of p%s", q * 100).isCloseTo(q, within(0.01));
+        }
+    }
+
+    @Test
+    void mergeKeepsExtremesAndEmptyDigestHasNoQuantile() {
+        TDigest left = new TDigest(COMPRESSION);
+        TDigest right = new TDigest(COMPRESSION);
+        for (int i = 1; i <= 100; i++) {
+            left.add(i);
+            right.add(1_000 + i);
+        }
+        left.merge(right);
+
+        assertThat(left.quantile(0)).isEqualTo(1.0);
+        assertThat(left.quantile(1)).isEqualTo(1_100.0);
+        assertThat(left.quantile(0.5)).isBetween(90.0, 1_010.0);
+        assertThat(new TDigest(COMPRESSION).quantile(0.5)).isNull();
+    }
+
+    private static double rankOf(double[] sorted, double value) {
+        int index = Arrays.binarySearch(sorted, value);
+        int below = index >= 0 ? index : -index - 1;
+        return (double) below / sorted.length;
+    }
+}
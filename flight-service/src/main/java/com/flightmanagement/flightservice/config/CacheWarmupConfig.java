@@ -0,0 +1,28 @@
+package com.flightmanagement.flightservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class CacheWarmupConfig {
+
+    /**
+     * Warm-up koordinatörü + paralel yükleme görevleri için havuz.
+     * Warm-up bitince thread'ler boşta kalmaz, context kapanırken Spring kapatır.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor cacheWarmupExecutor(@Value("${cache.warmup.parallelism:4}") int parallelism) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        // +1: koordinatör görevleri beklerken bir işçi slotunu tutmasın
+        executor.setCorePoolSize(Math.max(1, parallelism) + 1);
+        executor.setMaxPoolSize(Math.max(1, parallelism) + 1);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setKeepAliveSeconds(30);
+        executor.setDaemon(true);
+        executor.setThreadNamePrefix("cache-warmup-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+}
@@ -0,0 +1,436 @@
+package com.flightmanagement.flightservice.config;
+
+import com.flightmanagement.flightservice.dto.cache.AircraftCache;
+import com.flightmanagement.flightservice.dto.cache.AirlineCache;
+import com.flightmanagement.flightservice.dto.cache.AirportCache;
+import com.flightmanagement.flightservice.dto.cache.RouteCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Reference cache DTO'ları için şemaya göre yazılan binary codec.
+ * Değer başına sınıf adı taşımaz; alanlar sabit sırada, null'lar tek byte ile kodlanır.
+ *
+ * Format: [MAGIC][FORMAT_VERSION][TYPE][FLAGS][body]
+ * - TYPE her DTO için sabit id, body o tipin şema versiyonuyla başlar
+ * - FLAGS bit 0: body Deflater ile sıkıştırılmış
+ *
+ * MAGIC ile başlamayan değerler (eski JSON kayıtları) ve bilinmeyen tipler JSON serializer'a devredilir,
+ * böylece rolling upgrade sırasında iki format birlikte okunabilir.
+ */
+@Slf4j
+public class CompactCacheValueSerializer implements RedisSerializer<Object> {
+
+    static final byte MAGIC = (byte) 0xCB;
+    static final byte FORMAT_VERSION = 1;
+
+    private static final byte TYPE_AIRLINE = 1;
+    private static final byte TYPE_AIRPORT = 2;
+    private static final byte TYPE_AIRCRAFT = 3;
+    private static final byte TYPE_ROUTE = 4;
+
+    // Tip bazında şema versiyonları - alan eklenirse artırılır, okuyucu eski versiyonları da çözer
+    private static final int AIRLINE_SCHEMA = 1;
+    private static final int AIRPORT_SCHEMA = 1;
+    private static final int AIRCRAFT_SCHEMA = 1;
+    private static final int ROUTE_SCHEMA = 1;
+
+    private static final byte FLAG_DEFLATED = 0x01;
+    private static final int HEADER_SIZE = 4;
+
+    private final RedisSerializer<Object> fallback;
+    private final boolean writeCompact;
+    private final int compressionThreshold;
+
+    /**
+     * @param fallback             eski JSON değerleri ve desteklenmeyen tipler için serializer
+     * @param writeCompact         false ise sadece okunur, yazma JSON ile devam eder (rolling upgrade'in ilk adımı)
+     * @param compressionThreshold bu boyutu aşan body'ler sıkıştırılır, 0 ya da negatif ise kapalı
+     */
+    public CompactCacheValueSerializer(RedisSerializer<Object> fallback, boolean writeCompact, int compressionThreshold) {
+        this.fallback = fallback;
+        this.writeCompact = writeCompact;
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return null;
+        }
+        byte type = typeOf(value);
+        if (!writeCompact || type == 0) {
+            return fallback.serialize(value);
+        }
+
+        try {
+            ByteArrayOutputStream body = new ByteArrayOutputStream(128);
+            DataOutputStream out = new DataOutputStream(body);
+            switch (type) {
+                case TYPE_AIRLINE -> writeAirline(out, (AirlineCache) value);
+                case TYPE_AIRPORT -> writeAirport(out, (AirportCache) value);
+                case TYPE_AIRCRAFT -> writeAircraft(out, (AircraftCache) value);
+                default -> writeRoute(out, (RouteCache) value);
+            }
+            out.flush();
+
+            byte[] raw = body.toByteArray();
+            byte flags = 0;
+            if (compressionThreshold > 0 && raw.length > compressionThreshold) {
+                byte[] deflated = deflate(raw);
+                if (deflated.length < raw.length) {
+                    raw = deflated;
+                    flags |= FLAG_DEFLATED;
+                }
+            }
+
+            byte[] result = new byte[HEADER_SIZE + raw.length];
+            result[0] = MAGIC;
+            result[1] = FORMAT_VERSION;
+            result[2] = type;
+            result[3] = flags;
+            System.arraycopy(raw, 0, result, HEADER_SIZE, raw.length);
+            return result;
+
+        } catch (IOException e) {
+            throw new SerializationException("Could not write compact cache value for " + value.getClass().getSimpleName(), e);
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC || bytes.length < HEADER_SIZE) {
+            return fallback.deserialize(bytes);
+        }
+        if (bytes[1] > FORMAT_VERSION) {
+            // Daha yeni bir instance'ın yazdığı format - cache miss gibi davran
+            log.debug("Skipping cache value with unsupported format version {}", bytes[1]);
+            return null;
+        }
+
+        try {
+            InputStream body = new ByteArrayInputStream(bytes, HEADER_SIZE, bytes.length - HEADER_SIZE);
+            if ((bytes[3] & FLAG_DEFLATED) != 0) {
+                body = new InflaterInputStream(body);
+            }
+            DataInputStream in = new DataInputStream(body);
+            return switch (bytes[2]) {
+                case TYPE_AIRLINE -> readAirline(in);
+                case TYPE_AIRPORT -> readAirport(in);
+                case TYPE_AIRCRAFT -> readAircraft(in);
+                case TYPE_ROUTE -> readRoute(in);
+                default -> null;
+            };
+        } catch (IOException e) {
+            log.debug("Unreadable compact cache value, treating as miss: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static byte typeOf(Object value) {
+        Class<?> type = value.getClass();
+        if (type == AirlineCache.class) return TYPE_AIRLINE;
+        if (type == AirportCache.class) return TYPE_AIRPORT;
+        if (type == AircraftCache.class) return TYPE_AIRCRAFT;
+        if (type == RouteCache.class) return TYPE_ROUTE;
+        return 0;
+    }
+
+    // ===============================
+    // SCHEMAS
+    // ===============================
+
+    private void writeAirline(DataOutputStream out, AirlineCache airline) throws IOException {
+        writeVarInt(out, AIRLINE_SCHEMA);
+        writeLong(out, airline.getId());
+        writeString(out, airline.getIataCode());
+        writeString(out, airline.getIcaoCode());
+        writeString(out, airline.getName());
+        writeString(out, airline.getCountry());
+        writeString(out, airline.getType());
+        writeBoolean(out, airline.getActive());
+    }
+
+    private AirlineCache readAirline(DataInputStream in) throws IOException {
+        checkSchema(in, AIRLINE_SCHEMA, "AirlineCache");
+        AirlineCache airline = new AirlineCache();
+        airline.setId(readLong(in));
+        airline.setIataCode(readString(in));
+        airline.setIcaoCode(readString(in));
+        airline.setName(readString(in));
+        airline.setCountry(readString(in));
+        airline.setType(readString(in));
+        airline.setActive(readBoolean(in));
+        return airline;
+    }
+
+    private void writeAirport(DataOutputStream out, AirportCache airport) throws IOException {
+        writeVarInt(out, AIRPORT_SCHEMA);
+        writeLong(out, airport.getId());
+        writeString(out, airport.getIataCode());
+        writeString(out, airport.getIcaoCode());
+        writeString(out, airport.getName());
+        writeString(out, airport.getCity());
+        writeString(out, airport.getCountry());
+        writeString(out, airport.getTimezone());
+        writeDouble(out, airport.getLatitude());
+        writeDouble(out, airport.getLongitude());
+        writeString(out, airport.getType());
+        writeBoolean(out, airport.getActive());
+    }
+
+    private AirportCache readAirport(DataInputStream in) throws IOException {
+        checkSchema(in, AIRPORT_SCHEMA, "AirportCache");
+        AirportCache airport = new AirportCache();
+        airport.setId(readLong(in));
+        airport.setIataCode(readString(in));
+        airport.setIcaoCode(readString(in));
+        airport.setName(readString(in));
+        airport.setCity(readString(in));
+        airport.setCountry(readString(in));
+        airport.setTimezone(readString(in));
+        airport.setLatitude(readDouble(in));
+        airport.setLongitude(readDouble(in));
+        airport.setType(readString(in));
+        airport.setActive(readBoolean(in));
+        return airport;
+    }
+
+    private void writeAircraft(DataOutputStream out, AircraftCache aircraft) throws IOException {
+        writeVarInt(out, AIRCRAFT_SCHEMA);
+        writeLong(out, aircraft.getId());
+        writeString(out, aircraft.getRegistrationNumber());
+        writeString(out, aircraft.getAircraftType());
+        writeString(out, aircraft.getManufacturer());
+        writeString(out, aircraft.getModel());
+        writeInteger(out, aircraft.getSeatCapacity());
+        writeInteger(out, aircraft.getCargoCapacity());
+        writeInteger(out, aircraft.getMaxRange());
+        writeDate(out, aircraft.getManufactureDate());
+        writeDate(out, aircraft.getLastMaintenance());
+        writeString(out, aircraft.getStatus());
+        writeLong(out, aircraft.getAirlineId());
+    }
+
+    private AircraftCache readAircraft(DataInputStream in) throws IOException {
+        checkSchema(in, AIRCRAFT_SCHEMA, "AircraftCache");
+        AircraftCache aircraft = new AircraftCache();
+        aircraft.setId(readLong(in));
+        aircraft.setRegistrationNumber(readString(in));
+        aircraft.setAircraftType(readString(in));
+        aircraft.setManufacturer(readString(in));
+        aircraft.setModel(readString(in));
+        aircraft.setSeatCapacity(readInteger(in));
+        aircraft.setCargoCapacity(readInteger(in));
+        aircraft.setMaxRange(readInteger(in));
+        aircraft.setManufactureDate(readDate(in));
+        aircraft.setLastMaintenance(readDate(in));
+        aircraft.setStatus(readString(in));
+        aircraft.setAirlineId(readLong(in));
+        return aircraft;
+    }
+
+    private void writeRoute(DataOutputStream out, RouteCache route) throws IOException {
+        writeVarInt(out, ROUTE_SCHEMA);
+        writeLong(out, route.getId());
+        writeString(out, route.getRouteCode());
+        writeString(out, route.getRouteName());
+        writeString(out, route.getRoutePath());
+        writeString(out, route.getRouteType());
+        writeInteger(out, route.getDistance());
+        writeInteger(out, route.getEstimatedFlightTime());
+        writeBoolean(out, route.getIsMultiSegment());
+        writeInteger(out, route.getSegmentCount());
+        writeBoolean(out, route.getActive());
+        writeLong(out, route.getOriginAirportId());
+        writeString(out, route.getOriginAirportCode());
+        writeString(out, route.getOriginAirportName());
+        writeLong(out, route.getDestinationAirportId());
+        writeString(out, route.getDestinationAirportCode());
+        writeString(out, route.getDestinationAirportName());
+        writeString(out, route.getVisibility());
+        writeLong(out, route.getAirlineId());
+        writeLong(out, route.getCreatedByUserId());
+        writeDouble(out, route.getAverageDelayMinutes());
+        writeInteger(out, route.getTotalFlights());
+        writeDouble(out, route.getOnTimePerformance());
+        writeString(out, route.getWeatherRisk());
+        writeString(out, route.getOperationalComplexity());
+        writeString(out, route.getTrafficDensity());
+    }
+
+    private RouteCache readRoute(DataInputStream in) throws IOException {
+        checkSchema(in, ROUTE_SCHEMA, "RouteCache");
+        RouteCache route = new RouteCache();
+        route.setId(readLong(in));
+        route.setRouteCode(readString(in));
+        route.setRouteName(readString(in));
+        route.setRoutePath(readString(in));
+        route.setRouteType(readString(in));
+        route.setDistance(readInteger(in));
+        route.setEstimatedFlightTime(readInteger(in));
+        route.setIsMultiSegment(readBoolean(in));
+        route.setSegmentCount(readInteger(in));
+        route.setActive(readBoolean(in));
+        route.setOriginAirportId(readLong(in));
+        route.setOriginAirportCode(readString(in));
+        route.setOriginAirportName(readString(in));
+        route.setDestinationAirportId(readLong(in));
+        route.setDestinationAirportCode(readString(in));
+        route.setDestinationAirportName(readString(in));
+        route.setVisibility(readString(in));
+        route.setAirlineId(readLong(in));
+        route.setCreatedByUserId(readLong(in));
+        route.setAverageDelayMinutes(readDouble(in));
+        route.setTotalFlights(readInteger(in));
+        route.setOnTimePerformance(readDouble(in));
+        route.setWeatherRisk(readString(in));
+        route.setOperationalComplexity(readString(in));
+        route.setTrafficDensity(readString(in));
+        return route;
+    }
+
+    private static void checkSchema(DataInputStream in, int supported, String type) throws IOException {
+        int schema = readVarInt(in);
+        if (schema > supported) {
+            throw new UnsupportedSchemaException(type + " schema " + schema + " is newer than " + supported);
+        }
+    }
+
+    // ===============================
+    // PRIMITIVES
+    // ===============================
+
+    // String: varint(uzunluk + 1), 0 = null
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            writeVarInt(out, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length + 1);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = readVarInt(in);
+        if (length == 0) return null;
+        byte[] bytes = new byte[length - 1];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Long/Integer: varlık byte'ı + zigzag varint
+    private static void writeLong(DataOutputStream out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            writeVarLong(out, (value << 1) ^ (value >> 63));
+        }
+    }
+
+    private static Long readLong(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) return null;
+        long raw = readVarLong(in);
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    private static void writeInteger(DataOutputStream out, Integer value) throws IOException {
+        writeLong(out, value != null ? value.longValue() : null);
+    }
+
+    private static Integer readInteger(DataInputStream in) throws IOException {
+        Long value = readLong(in);
+        return value != null ? value.intValue() : null;
+    }
+
+    private static void writeDouble(DataOutputStream out, Double value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeDouble(value);
+        }
+    }
+
+    private static Double readDouble(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readDouble() : null;
+    }
+
+    // Boolean: 0 = null, 1 = false, 2 = true
+    private static void writeBoolean(DataOutputStream out, Boolean value) throws IOException {
+        out.writeByte(value == null ? 0 : value ? 2 : 1);
+    }
+
+    private static Boolean readBoolean(DataInputStream in) throws IOException {
+        byte value = in.readByte();
+        return value == 0 ? null : value == 2;
+    }
+
+    private static void writeDate(DataOutputStream out, LocalDate value) throws IOException {
+        writeLong(out, value != null ? value.toEpochDay() : null);
+    }
+
+    private static LocalDate readDate(DataInputStream in) throws IOException {
+        Long epochDay = readLong(in);
+        return epochDay != null ? LocalDate.ofEpochDay(epochDay) : null;
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        writeVarLong(out, value & 0xFFFFFFFFL);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        return (int) readVarLong(in);
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    private static byte[] deflate(byte[] raw) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(raw.length);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (DeflaterOutputStream out = new DeflaterOutputStream(compressed, deflater)) {
+            out.write(raw);
+        } finally {
+            deflater.end();
+        }
+        return compressed.toByteArray();
+    }
+
+    private static class UnsupportedSchemaException extends IOException {
+        UnsupportedSchemaException(String message) {
+            super(message);
+        }
+    }
+}
@@ -30,6 +30,12 @@ public class KafkaConfig {
     @Value("${spring.kafka.consumer.group-id}")
     private String groupId;
 
+    @Value("${reference-events.max-poll-records:500}")
+    private int referenceEventsMaxPollRecords;
+
+    @Value("${reference-events.concurrency:3}")
+    private int referenceEventsConcurrency;
+
     // Producer Configuration for FlightEvent
     @Bean
     public ProducerFactory<String, FlightEvent> flightEventProducerFactory() {
@@ -99,4 +105,27 @@ public class KafkaConfig {
 
         return factory;
     }
-}
\ No newline at end of file
+
+    // Reference event'leri için batch consumer - bir poll'daki tüm kayıtlar tek seferde işlenir
+    @Bean
+    public ConsumerFactory<String, String> referenceEventConsumerFactory() {
+        Map<String, Object> configs = new HashMap<>(consumerFactory().getConfigurationProperties());
+        configs.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, referenceEventsMaxPollRecords);
+        return new DefaultKafkaConsumerFactory<>(configs);
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> referenceEventBatchListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, String> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(referenceEventConsumerFactory());
+        factory.setBatchListener(true);
+
+        // Event'ler entityType:entityId ile key'li - partition'lar arası paralel tüketim sırayı bozmaz
+        factory.setConcurrency(referenceEventsConcurrency);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(new FixedBackOff(1000L, 3)));
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
+
+        return factory;
+    }
+}
@@ -1,6 +1,7 @@
 package com.flightmanagement.flightservice.config;
 
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.type.TypeFactory;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -22,6 +23,13 @@ public class RedisConfig {
     @Value("${spring.data.redis.port}")
     private int redisPort;
 
+    // false: compact değerler okunur ama JSON yazılır (rolling upgrade'de önce tüm instance'lar okuyabilir hale gelir)
+    @Value("${cache.codec.compact-writes:true}")
+    private boolean compactWrites;
+
+    @Value("${cache.codec.compression-threshold-bytes:512}")
+    private int compressionThreshold;
+
     @Bean
     public RedisConnectionFactory redisConnectionFactory() {
         return new LettuceConnectionFactory(redisHost, redisPort);
@@ -35,13 +43,19 @@ public class RedisConfig {
         // JSON serializer konfigürasyonu
         ObjectMapper objectMapper = new ObjectMapper();
         objectMapper.registerModule(new JavaTimeModule());
+        // DTO helper getter'ları (ör. RouteCache.isValid) JSON'a yazılıyor, okurken bunlar atlanmalı
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
         objectMapper.enableDefaultTyping(ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
 
         GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer(objectMapper);
 
+        // Reference DTO'ları compact binary, diğer her şey JSON
+        CompactCacheValueSerializer valueSerializer =
+                new CompactCacheValueSerializer(serializer, compactWrites, compressionThreshold);
+
         // Key ve Value serializer'ları ayarla
         template.setKeySerializer(new StringRedisSerializer());
-        template.setValueSerializer(serializer);
+        template.setValueSerializer(valueSerializer);
         template.setHashKeySerializer(new StringRedisSerializer());
         template.setHashValueSerializer(serializer);
 
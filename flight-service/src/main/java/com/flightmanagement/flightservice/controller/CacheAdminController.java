@@ -0,0 +1,62 @@
+package com.flightmanagement.flightservice.controller;
+
+import com.flightmanagement.flightservice.exception.BusinessException;
+import com.flightmanagement.flightservice.service.CacheService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reference data cache yönetimi. Invalidation namespace generation'ını artırır,
+ * Redis'te key taraması ya da FLUSHALL yapılmaz.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/cache")
+@RequiredArgsConstructor
+@Slf4j
+public class CacheAdminController {
+
+    private final CacheService cacheService;
+
+    @GetMapping("/generations")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Long>> getGenerations() {
+        return ResponseEntity.ok(cacheService.getGenerations());
+    }
+
+    /**
+     * Tek bir entity tipini geçersiz kılar (AIRLINE, AIRPORT, AIRCRAFT, ROUTE)
+     */
+    @PostMapping("/invalidate/{entityType}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> invalidate(@PathVariable String entityType) {
+        String type = entityType.trim().toUpperCase();
+        if (!CacheService.supportedEntityTypes().contains(type)) {
+            throw new BusinessException("Unsupported cache entity type: " + entityType
+                    + ". Supported: " + CacheService.supportedEntityTypes());
+        }
+
+        log.info("Admin cache invalidation requested for {}", type);
+        Map<String, Object> response = new HashMap<>();
+        response.put("entityType", type);
+        response.put("generation", cacheService.invalidate(type));
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Tüm reference data namespace'lerini geçersiz kılar
+     */
+    @PostMapping("/invalidate")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> invalidateAll() {
+        log.info("Admin cache invalidation requested for all reference data");
+        Map<String, Object> response = new HashMap<>();
+        response.put("generations", cacheService.invalidateAll());
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,60 @@
+package com.flightmanagement.flightservice.controller;
+
+import com.flightmanagement.flightservice.dto.request.DisruptionScenarioRequest;
+import com.flightmanagement.flightservice.dto.response.DelayImpactResponse;
+import com.flightmanagement.flightservice.dto.response.DisruptionSimulationResponse;
+import com.flightmanagement.flightservice.service.DelayPropagationService;
+import com.flightmanagement.flightservice.service.DisruptionSimulationService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/disruptions")
+@RequiredArgsConstructor
+@Slf4j
+public class DisruptionController {
+
+    private final DelayPropagationService delayPropagationService;
+    private final DisruptionSimulationService disruptionSimulationService;
+
+    /**
+     * Uçuşun mevcut saatlerinin rotasyondaki sonraki uçuşlara ve aktarmalara etkisi
+     */
+    @GetMapping("/impact/{flightId}")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<DelayImpactResponse> getImpact(@PathVariable Long flightId) {
+        log.debug("Delay impact requested for flight {}", flightId);
+        return ResponseEntity.ok(delayPropagationService.getImpact(flightId));
+    }
+
+    /**
+     * What-if senaryosu: gecikme, iptal ve havalimanı kapanışları bellekteki kopyaya uygulanır, hiçbir kayıt değişmez
+     */
+    @PostMapping("/simulate")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<DisruptionSimulationResponse> simulate(@Valid @RequestBody DisruptionScenarioRequest request) {
+        log.info("Simulating disruption scenario '{}' for {}", request.getName(), request.getDate());
+        return ResponseEntity.ok(disruptionSimulationService.simulate(request));
+    }
+
+    @PostMapping("/simulate/batch")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<DisruptionSimulationResponse>> simulateBatch(
+            @RequestBody @Valid List<DisruptionScenarioRequest> requests) {
+        log.info("Simulating {} disruption scenarios", requests.size());
+        return ResponseEntity.ok(disruptionSimulationService.simulateAll(requests));
+    }
+
+    @GetMapping("/status")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getStatus() {
+        return ResponseEntity.ok(delayPropagationService.getStatus());
+    }
+}
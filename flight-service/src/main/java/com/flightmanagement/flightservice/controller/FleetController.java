@@ -0,0 +1,65 @@
+package com.flightmanagement.flightservice.controller;
+
+import com.flightmanagement.flightservice.dto.response.AircraftUtilizationResponse;
+import com.flightmanagement.flightservice.dto.response.AirlineUtilizationResponse;
+import com.flightmanagement.flightservice.dto.response.FleetAvailabilityResponse;
+import com.flightmanagement.flightservice.service.FleetUtilizationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/fleet")
+@RequiredArgsConstructor
+@Slf4j
+public class FleetController {
+
+    private final FleetUtilizationService fleetUtilizationService;
+
+    @GetMapping("/aircraft/{aircraftId}/utilization")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<AircraftUtilizationResponse> getAircraftUtilization(
+            @PathVariable Long aircraftId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+
+        return ResponseEntity.ok(fleetUtilizationService.getAircraftUtilization(aircraftId, startDate, endDate));
+    }
+
+    @GetMapping("/airline/{airlineId}/utilization")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<AirlineUtilizationResponse> getAirlineUtilization(
+            @PathVariable Long airlineId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+
+        return ResponseEntity.ok(fleetUtilizationService.getAirlineUtilization(airlineId, date));
+    }
+
+    /**
+     * Ör. havayolu X'in A320'lerinden T1 - T2 arasında boş olanlar
+     */
+    @GetMapping("/airline/{airlineId}/availability")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<FleetAvailabilityResponse> getAvailability(
+            @PathVariable Long airlineId,
+            @RequestParam(required = false) String aircraftType,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+
+        log.debug("Fleet availability requested for airline {} type {} between {} and {}", airlineId, aircraftType, from, to);
+        return ResponseEntity.ok(fleetUtilizationService.findAvailableAircraft(airlineId, aircraftType, from, to));
+    }
+
+    @GetMapping("/utilization/status")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getStatus() {
+        return ResponseEntity.ok(fleetUtilizationService.getStatus());
+    }
+}
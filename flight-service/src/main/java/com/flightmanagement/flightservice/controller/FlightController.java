@@ -8,6 +8,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import com.flightmanagement.flightservice.entity.Flight;
+import com.flightmanagement.flightservice.dto.request.FlightFieldSelection;
 import com.flightmanagement.flightservice.dto.request.FlightRequest;
 import com.flightmanagement.flightservice.dto.response.CsvUploadResult;
 import com.flightmanagement.flightservice.dto.response.FlightResponse;
@@ -15,6 +16,7 @@ import com.flightmanagement.flightservice.entity.enums.FlightStatus;
 import com.flightmanagement.flightservice.exception.DuplicateResourceException;
 import com.flightmanagement.flightservice.service.CsvProcessingService;
 import com.flightmanagement.flightservice.service.FlightService;
+import com.flightmanagement.flightservice.service.FlightVersionService;
 import com.flightmanagement.flightservice.repository.FlightRepository;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -23,6 +25,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import lombok.extern.slf4j.Slf4j;
 
@@ -32,6 +35,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import com.flightmanagement.flightservice.dto.request.AirportSegmentRequest;
 import com.flightmanagement.flightservice.dto.request.ConnectingFlightRequest;
@@ -51,13 +55,14 @@ public class FlightController {
     private final FlightRepository flightRepository;
     private final ReferenceDataService referenceDataService;
     private final AutoRouteService autoRouteService;
+    private final FlightVersionService flightVersionService;
 
     // ===============================
     // TEMEL FLIGHT CRUD İŞLEMLERİ
     // ===============================
 
     @GetMapping
-    public ResponseEntity<Page<FlightResponse>> getAllFlights(
+    public ResponseEntity<?> getAllFlights(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
@@ -65,20 +70,37 @@ public class FlightController {
             @RequestParam(required = false) String flightNumber,
             @RequestParam(required = false) Long airlineId,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate flightDate,
-            @RequestParam(required = false) Long routeId) {
+            @RequestParam(required = false) Long routeId,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String expand,
+            WebRequest webRequest) {
+
+        FlightFieldSelection selection = FlightFieldSelection.of(fields, expand);
+
+        // Dashboard polling'i: veri değişmediyse sorgu ve enrichment yapmadan 304 dön
+        FlightVersionService.VersionTag versionTag = flightVersionService.forFilters(
+                page + ":" + size + ":" + sortBy + ":" + sortDirection + ":" + selection.cacheKey(),
+                flightNumber, airlineId, flightDate);
+        if (webRequest.checkNotModified(versionTag.getEtag(), versionTag.getLastModified())) {
+            return null;
+        }
 
         Pageable pageable = PageRequest.of(page, size,
                 Sort.by(Sort.Direction.fromString(sortDirection), sortBy));
 
         Page<FlightResponse> flights = flightService.getAllFlightsWithFilters(
-                pageable, flightNumber, airlineId, flightDate);
+                pageable, flightNumber, airlineId, flightDate, selection);
 
-        return ResponseEntity.ok(flights);
+        return ResponseEntity.ok(selection.isSparse() ? flights.map(selection::project) : flights);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<FlightResponse> getFlightById(@PathVariable Long id) {
-        return ResponseEntity.ok(flightService.getFlightById(id));
+    public ResponseEntity<?> getFlightById(@PathVariable Long id,
+                                           @RequestParam(required = false) String fields,
+                                           @RequestParam(required = false) String expand) {
+        FlightFieldSelection selection = FlightFieldSelection.of(fields, expand);
+        FlightResponse flight = flightService.getFlightById(id, selection);
+        return ResponseEntity.ok(selection.isSparse() ? selection.project(flight) : flight);
     }
 
     @GetMapping("/flight-number/{flightNumber}")
@@ -87,9 +109,22 @@ public class FlightController {
     }
 
     @GetMapping("/date/{date}")
-    public ResponseEntity<List<FlightResponse>> getFlightsByDate(
-            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
-        return ResponseEntity.ok(flightService.getFlightsByDate(date));
+    public ResponseEntity<?> getFlightsByDate(
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String expand,
+            WebRequest webRequest) {
+        FlightFieldSelection selection = FlightFieldSelection.of(fields, expand);
+        FlightVersionService.VersionTag versionTag = flightVersionService.forDate("flights:" + selection.cacheKey(), date);
+        if (webRequest.checkNotModified(versionTag.getEtag(), versionTag.getLastModified())) {
+            return null;
+        }
+
+        List<FlightResponse> flights = flightService.getFlightsByDate(date, selection);
+        if (selection.isSparse()) {
+            return ResponseEntity.ok(flights.stream().map(selection::project).collect(Collectors.toList()));
+        }
+        return ResponseEntity.ok(flights);
     }
 
     @GetMapping("/airline/{airlineId}")
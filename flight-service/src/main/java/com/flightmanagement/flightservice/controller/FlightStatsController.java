@@ -2,12 +2,16 @@ package com.flightmanagement.flightservice.controller;
 
 import com.flightmanagement.flightservice.dto.response.stats.FlightChartDataDto;
 import com.flightmanagement.flightservice.dto.response.stats.FlightTypeDistributionDto;
+import com.flightmanagement.flightservice.dto.response.stats.LiveDelayStatsDto;
 import com.flightmanagement.flightservice.entity.enums.FlightStatus;
 import com.flightmanagement.flightservice.service.FlightService;
+import com.flightmanagement.flightservice.service.FlightVersionService;
+import com.flightmanagement.flightservice.service.LiveDelayAnalyticsService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
 import java.util.HashMap;
@@ -21,6 +25,8 @@ import java.util.Optional;
 public class FlightStatsController {
 
     private final FlightService flightService;
+    private final FlightVersionService flightVersionService;
+    private final LiveDelayAnalyticsService liveDelayAnalyticsService;
 
     @GetMapping("/count/date/{date}")
     public ResponseEntity<Map<String, Object>> getFlightCountByDate(
@@ -67,7 +73,12 @@ public class FlightStatsController {
 
     @GetMapping("/dashboard/{date}")
     public ResponseEntity<Map<String, Object>> getDailySummary(
-            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            WebRequest webRequest) {
+        FlightVersionService.VersionTag versionTag = flightVersionService.forDate("dashboard", date);
+        if (webRequest.checkNotModified(versionTag.getEtag(), versionTag.getLastModified())) {
+            return null;
+        }
         return ResponseEntity.ok(flightService.getDailySummary(date));
     }
 
@@ -87,4 +98,22 @@ public class FlightStatsController {
     public ResponseEntity<List<FlightTypeDistributionDto>> getFlightTypeDistribution() {
         return ResponseEntity.ok(flightService.getFlightTypeDistribution());
     }
-}
\ No newline at end of file
+
+    /**
+     * Son 15 dk / 1 saat / 6 saat kalkış gecikmesi p50/p95/max ve zamanında kalkış oranı (bellekten)
+     */
+    @GetMapping("/live-delays")
+    public ResponseEntity<LiveDelayStatsDto> getLiveDelayStats(
+            @RequestParam(defaultValue = "ALL") String scope,
+            @RequestParam(required = false) String key) {
+        return ResponseEntity.ok(liveDelayAnalyticsService.getStats(scope, key));
+    }
+
+    @GetMapping("/live-delays/ranking")
+    public ResponseEntity<List<LiveDelayStatsDto>> getLiveDelayRanking(
+            @RequestParam(defaultValue = "AIRPORT") String scope,
+            @RequestParam(defaultValue = "1h") String window,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(liveDelayAnalyticsService.getRanking(scope, window, Math.max(1, Math.min(limit, 100))));
+    }
+}
@@ -0,0 +1,57 @@
+package com.flightmanagement.flightservice.controller;
+
+import com.flightmanagement.flightservice.dto.request.GateAutoAssignRequest;
+import com.flightmanagement.flightservice.dto.response.GateAssignmentResponse;
+import com.flightmanagement.flightservice.dto.response.GateOccupancyResponse;
+import com.flightmanagement.flightservice.service.GateAssignmentService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/gates")
+@RequiredArgsConstructor
+@Slf4j
+public class GateController {
+
+    private final GateAssignmentService gateAssignmentService;
+
+    /**
+     * Havalimanının günlük gate doluluğu ve çakışan atamalar
+     */
+    @GetMapping("/airport/{airportId}")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<GateOccupancyResponse> getOccupancy(
+            @PathVariable Long airportId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+
+        return ResponseEntity.ok(gateAssignmentService.getOccupancy(airportId, date));
+    }
+
+    /**
+     * Günün kalkışlarını verilen gate'lere dağıtır; dryRun=false ise uçuşlar güncellenir
+     */
+    @PostMapping("/airport/{airportId}/auto-assign")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<GateAssignmentResponse> autoAssign(
+            @PathVariable Long airportId,
+            @Valid @RequestBody GateAutoAssignRequest request) {
+
+        log.info("Gate auto-assignment requested for airport {} on {} with {} gates (dryRun={})",
+                airportId, request.getDate(), request.getGates().size(), request.isDryRun());
+        return ResponseEntity.ok(gateAssignmentService.autoAssign(airportId, request));
+    }
+
+    @GetMapping("/status")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getStatus() {
+        return ResponseEntity.ok(gateAssignmentService.getStatus());
+    }
+}
@@ -0,0 +1,52 @@
+package com.flightmanagement.flightservice.controller;
+
+import com.flightmanagement.flightservice.dto.response.ItinerarySearchResponse;
+import com.flightmanagement.flightservice.service.ItinerarySearchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/itineraries")
+@RequiredArgsConstructor
+@Slf4j
+public class ItineraryController {
+
+    private final ItinerarySearchService itinerarySearchService;
+
+    /**
+     * Origin/destination arası direkt ve aktarmalı yolculuklar.
+     * Airport parametreleri id ya da IATA kodu olabilir. minConnectionMinutes verilmezse
+     * aktarma havalimanlarının MCT kuralları uygulanır.
+     */
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<ItinerarySearchResponse> search(
+            @RequestParam String origin,
+            @RequestParam String destination,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime departAfter,
+            @RequestParam(required = false) Integer minConnectionMinutes,
+            @RequestParam(defaultValue = "360") int maxConnectionMinutes,
+            @RequestParam(defaultValue = "1") int maxStops,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "false") boolean paretoOnly) {
+
+        log.debug("Itinerary search {} -> {} on {}", origin, destination, date);
+        return ResponseEntity.ok(itinerarySearchService.search(origin, destination, date, departAfter,
+                minConnectionMinutes, maxConnectionMinutes, maxStops, Math.max(1, Math.min(limit, 100)), paretoOnly));
+    }
+
+    @GetMapping("/status")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getStatus() {
+        return ResponseEntity.ok(itinerarySearchService.getStatus());
+    }
+}
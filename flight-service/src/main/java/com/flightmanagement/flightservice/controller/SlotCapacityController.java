@@ -0,0 +1,53 @@
+package com.flightmanagement.flightservice.controller;
+
+import com.flightmanagement.flightservice.dto.request.SlotCheckRequest;
+import com.flightmanagement.flightservice.dto.response.CapacityHeatmapResponse;
+import com.flightmanagement.flightservice.dto.response.SlotCheckResponse;
+import com.flightmanagement.flightservice.service.SlotCapacityService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/capacity")
+@RequiredArgsConstructor
+@Slf4j
+public class SlotCapacityController {
+
+    private final SlotCapacityService slotCapacityService;
+
+    /**
+     * Havalimanının günlük 15 dakikalık hareket dağılımı ve kapasite doluluğu
+     */
+    @GetMapping("/airport/{airportId}/heatmap")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<CapacityHeatmapResponse> getHeatmap(
+            @PathVariable Long airportId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+
+        return ResponseEntity.ok(slotCapacityService.getHeatmap(airportId, date));
+    }
+
+    /**
+     * Planlanan uçuşları kaydetmeden kapasiteye göre kontrol eder
+     */
+    @PostMapping("/check")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<SlotCheckResponse> checkSlots(@Valid @RequestBody SlotCheckRequest request) {
+        log.debug("Slot check requested for {} flights", request.getFlights().size());
+        return ResponseEntity.ok(slotCapacityService.checkBatch(request.getFlights()));
+    }
+
+    @GetMapping("/status")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getStatus() {
+        return ResponseEntity.ok(slotCapacityService.getStatus());
+    }
+}
@@ -0,0 +1,19 @@
+package com.flightmanagement.flightservice.dto.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AirportCapacityCache implements Serializable {
+    private Long id;
+    private Long airportId;
+    private Integer movementsPer15Min;  // null => 15 dakikalık pencere kontrol edilmez
+    private Integer movementsPer60Min;  // null => saatlik pencere kontrol edilmez
+    private String enforcement;         // WARN, REJECT
+    private Boolean active;
+}
@@ -0,0 +1,20 @@
+package com.flightmanagement.flightservice.dto.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MinimumConnectionTimeCache implements Serializable {
+    private Long id;
+    private Long airportId;
+    private Long arrivingAirlineId;     // null => tüm havayolları
+    private Long departingAirlineId;    // null => tüm havayolları
+    private String connectionType;      // DOMESTIC_DOMESTIC, ..., null => tümü
+    private Integer minutes;
+    private Boolean active;
+}
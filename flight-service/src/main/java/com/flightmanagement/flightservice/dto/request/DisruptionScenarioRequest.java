@@ -0,0 +1,70 @@
+package com.flightmanagement.flightservice.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.flightmanagement.flightservice.config.FlightTimeDeserializer;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Varsayımsal bozulma senaryosu - hiçbir kayıt değiştirilmez
+ */
+@Data
+public class DisruptionScenarioRequest {
+
+    @Size(max = 100, message = "Scenario name cannot exceed 100 characters")
+    private String name;
+
+    @NotNull(message = "Scenario date is required")
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate date;
+
+    @Min(value = 1, message = "Scenario must cover at least 1 day")
+    @Max(value = 3, message = "Scenario cannot cover more than 3 days")
+    private Integer days = 1;
+
+    @Valid
+    private List<FlightDelay> delays = new ArrayList<>();
+
+    private List<Long> cancelledFlightIds = new ArrayList<>();
+
+    @Valid
+    private List<AirportClosure> airportClosures = new ArrayList<>();
+
+    @Data
+    public static class FlightDelay {
+
+        @NotNull(message = "Flight ID is required")
+        private Long flightId;
+
+        @NotNull(message = "Delay minutes is required")
+        @Min(value = 1, message = "Delay must be at least 1 minute")
+        @Max(value = 1440, message = "Delay cannot exceed 24 hours")
+        private Integer delayMinutes;
+    }
+
+    @Data
+    public static class AirportClosure {
+
+        // Airport id ya da IATA kodu
+        @NotBlank(message = "Airport is required")
+        private String airport;
+
+        @NotNull(message = "Closure start is required")
+        @JsonDeserialize(using = FlightTimeDeserializer.class)
+        private LocalDateTime from;
+
+        @NotNull(message = "Closure end is required")
+        @JsonDeserialize(using = FlightTimeDeserializer.class)
+        private LocalDateTime to;
+
+        // false: kapanıştaki kalkış/varışlar açılışa kadar bekletilir, true: iptal edilir
+        private boolean cancelFlights;
+    }
+}
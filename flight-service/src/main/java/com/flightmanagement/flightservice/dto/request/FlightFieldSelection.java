@@ -0,0 +1,232 @@
+package com.flightmanagement.flightservice.dto.request;
+
+import com.flightmanagement.flightservice.dto.response.FlightResponse;
+import com.flightmanagement.flightservice.exception.BusinessException;
+
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Flight okuma endpoint'lerindeki fields= / expand= parametreleri.
+ * Hangi response alanlarının döneceğini, hangi reference data'nın zenginleştirileceğini
+ * ve DB'den hangi kolonların seçileceğini belirler.
+ *
+ * fields verilmezse tüm temel alanlar döner; expand verilmezse fields'in gerektirdiği
+ * zenginleştirmeler yapılır. İkisi de yoksa mevcut tam response üretilir.
+ */
+public final class FlightFieldSelection {
+
+    public enum Expansion {
+        AIRLINE, AIRCRAFT, ROUTE, AIRPORTS, SEGMENTS
+    }
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private static final Map<String, FieldSpec> FIELDS = new LinkedHashMap<>();
+
+    static {
+        scalar("id", FlightResponse::getId, "id");
+        scalar("flightNumber", FlightResponse::getFlightNumber, "flightNumber");
+        expanded("airline", FlightResponse::getAirline, Expansion.AIRLINE);
+        expanded("aircraft", FlightResponse::getAircraft, Expansion.AIRCRAFT);
+        expanded("route", FlightResponse::getRoute, Expansion.ROUTE);
+        expanded("routePath", FlightResponse::getRoutePath, Expansion.ROUTE);
+        expanded("routeDistance", FlightResponse::getRouteDistance, Expansion.ROUTE);
+        expanded("routeEstimatedTime", FlightResponse::getRouteEstimatedTime, Expansion.ROUTE);
+        expanded("isMultiSegmentRoute", FlightResponse::getIsMultiSegmentRoute, Expansion.ROUTE);
+        expanded("originAirport", FlightResponse::getOriginAirport, Expansion.AIRPORTS);
+        expanded("destinationAirport", FlightResponse::getDestinationAirport, Expansion.AIRPORTS);
+        scalar("flightDate", r -> format(r.getFlightDate(), DATE_FORMAT), "flightDate");
+        scalar("scheduledDeparture", r -> format(r.getScheduledDeparture(), DATE_TIME_FORMAT), "scheduledDeparture");
+        scalar("scheduledArrival", r -> format(r.getScheduledArrival(), DATE_TIME_FORMAT), "scheduledArrival");
+        scalar("actualDeparture", r -> format(r.getActualDeparture(), DATE_TIME_FORMAT), "actualDeparture");
+        scalar("actualArrival", r -> format(r.getActualArrival(), DATE_TIME_FORMAT), "actualArrival");
+        scalar("status", FlightResponse::getStatus, "status");
+        scalar("type", FlightResponse::getType, "type");
+        scalar("passengerCount", FlightResponse::getPassengerCount, "passengerCount");
+        scalar("cargoWeight", FlightResponse::getCargoWeight, "cargoWeight");
+        scalar("notes", FlightResponse::getNotes, "notes");
+        scalar("gateNumber", FlightResponse::getGateNumber, "gateNumber");
+        scalar("delayMinutes", FlightResponse::getDelayMinutes, "delayMinutes");
+        scalar("delayReason", FlightResponse::getDelayReason, "delayReason");
+        scalar("active", FlightResponse::getActive, "active");
+        scalar("flightDuration", FlightResponse::getFlightDuration,
+                "scheduledDeparture", "scheduledArrival", "actualDeparture", "actualArrival");
+        scalar("isDelayed", FlightResponse::getIsDelayed, "delayMinutes");
+        scalar("createdAt", r -> format(r.getCreatedAt(), DATE_TIME_FORMAT), "createdAt");
+        scalar("updatedAt", r -> format(r.getUpdatedAt(), DATE_TIME_FORMAT), "updatedAt");
+        scalar("parentFlightId", FlightResponse::getParentFlightId, "parentFlightId");
+        scalar("segmentNumber", FlightResponse::getSegmentNumber, "segmentNumber");
+        scalar("isConnectingFlight", FlightResponse::getIsConnectingFlight, "isConnectingFlight");
+        scalar("connectionTimeMinutes", FlightResponse::getConnectionTimeMinutes, "connectionTimeMinutes");
+        // connectingFlights project() içinde segment bazında işlenir
+        expanded("connectingFlights", FlightResponse::getConnectingFlights, Expansion.SEGMENTS);
+        expanded("totalSegments", FlightResponse::getTotalSegments, Expansion.SEGMENTS);
+        expanded("fullRoute", FlightResponse::getFullRoute, Expansion.SEGMENTS);
+    }
+
+    private static final Map<Expansion, Set<String>> EXPANSION_COLUMNS = Map.of(
+            Expansion.AIRLINE, Set.of("airlineId"),
+            Expansion.AIRCRAFT, Set.of("aircraftId"),
+            Expansion.ROUTE, Set.of("routeId"),
+            Expansion.AIRPORTS, Set.of("routeId"),
+            Expansion.SEGMENTS, Set.of("isConnectingFlight", "parentFlightId"));
+
+    // FIELDS ve EXPANSION_COLUMNS'tan sonra tanımlanmalı, kolonları onlardan hesaplanıyor
+    public static final FlightFieldSelection FULL = new FlightFieldSelection(null, EnumSet.allOf(Expansion.class), true);
+
+    private final Set<String> fields;            // null => tüm temel alanlar + expansion alanları
+    private final EnumSet<Expansion> expansions;
+    private final boolean full;
+    private final Set<String> columns;
+
+    private FlightFieldSelection(Set<String> fields, EnumSet<Expansion> expansions, boolean full) {
+        this.fields = fields;
+        this.expansions = expansions;
+        this.full = full;
+        this.columns = resolveColumns(fields, expansions);
+    }
+
+    /**
+     * Query parametrelerinden seçim oluşturur. Tanınmayan alan veya expansion BusinessException (400) atar.
+     */
+    public static FlightFieldSelection of(String fields, String expand) {
+        if (isBlank(fields) && isBlank(expand)) {
+            return FULL;
+        }
+
+        EnumSet<Expansion> expansions = EnumSet.noneOf(Expansion.class);
+        for (String name : split(expand)) {
+            try {
+                expansions.add(Expansion.valueOf(name.toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new BusinessException("Unknown expansion: " + name + ". Supported: "
+                        + Arrays.stream(Expansion.values()).map(x -> x.name().toLowerCase()).collect(Collectors.toList()));
+            }
+        }
+
+        Set<String> selectedFields = null;
+        if (!isBlank(fields)) {
+            selectedFields = new LinkedHashSet<>();
+            for (String name : split(fields)) {
+                FieldSpec spec = FIELDS.get(name);
+                if (spec == null) {
+                    throw new BusinessException("Unknown flight field: " + name + ". Supported: " + FIELDS.keySet());
+                }
+                selectedFields.add(name);
+                if (spec.expansion != null) {
+                    expansions.add(spec.expansion);
+                }
+            }
+            // expand edilen parçalar da response'a girsin
+            for (Map.Entry<String, FieldSpec> entry : FIELDS.entrySet()) {
+                if (entry.getValue().expansion != null && expansions.contains(entry.getValue().expansion)) {
+                    selectedFields.add(entry.getKey());
+                }
+            }
+        }
+
+        return new FlightFieldSelection(selectedFields, expansions, false);
+    }
+
+    /**
+     * fields= verildiyse response yalnızca seçilen alanlardan oluşan bir map olarak döner
+     */
+    public boolean isSparse() {
+        return fields != null;
+    }
+
+    public boolean expands(Expansion expansion) {
+        return expansions.contains(expansion);
+    }
+
+    /**
+     * DB'den seçilmesi gereken Flight attribute'ları (id her zaman dahil)
+     */
+    public Set<String> getColumns() {
+        return columns;
+    }
+
+    /**
+     * ETag kapsamı için kararlı anahtar
+     */
+    public String cacheKey() {
+        if (full) {
+            return "full";
+        }
+        return (fields != null ? String.join(",", fields) : "*") + "|" + expansions;
+    }
+
+    public Map<String, Object> project(FlightResponse response) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (String name : fields != null ? fields : FIELDS.keySet()) {
+            Object value;
+            if ("connectingFlights".equals(name)) {
+                List<FlightResponse> segments = response.getConnectingFlights();
+                value = segments != null ? segments.stream().map(this::project).collect(Collectors.toList()) : null;
+            } else {
+                value = FIELDS.get(name).accessor.apply(response);
+            }
+            if (value != null) {
+                result.put(name, value);
+            }
+        }
+        return result;
+    }
+
+    private static Set<String> resolveColumns(Set<String> fields, Set<Expansion> expansions) {
+        Set<String> columns = new LinkedHashSet<>();
+        columns.add("id");
+        for (Map.Entry<String, FieldSpec> entry : FIELDS.entrySet()) {
+            if (fields == null || fields.contains(entry.getKey())) {
+                columns.addAll(entry.getValue().columns);
+            }
+        }
+        for (Expansion expansion : expansions) {
+            columns.addAll(EXPANSION_COLUMNS.get(expansion));
+        }
+        return Collections.unmodifiableSet(columns);
+    }
+
+    private static void scalar(String name, Function<FlightResponse, Object> accessor, String... columns) {
+        FIELDS.put(name, new FieldSpec(accessor, Set.of(columns), null));
+    }
+
+    private static void expanded(String name, Function<FlightResponse, Object> accessor, Expansion expansion) {
+        FIELDS.put(name, new FieldSpec(accessor, Set.of(), expansion));
+    }
+
+    private static Object format(TemporalAccessor value, DateTimeFormatter formatter) {
+        return value != null ? formatter.format(value) : null;
+    }
+
+    private static List<String> split(String value) {
+        if (isBlank(value)) {
+            return List.of();
+        }
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    private static class FieldSpec {
+        private final Function<FlightResponse, Object> accessor;
+        private final Set<String> columns;
+        private final Expansion expansion;
+
+        FieldSpec(Function<FlightResponse, Object> accessor, Set<String> columns, Expansion expansion) {
+            this.accessor = accessor;
+            this.columns = columns;
+            this.expansion = expansion;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.flightmanagement.flightservice.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Havalimanının bir günlük kalkışları için otomatik gate ataması
+ */
+@Data
+public class GateAutoAssignRequest {
+
+    @NotNull(message = "Date is required")
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate date;
+
+    @NotEmpty(message = "At least one gate is required")
+    @Size(max = 500, message = "Cannot assign more than 500 gates")
+    private List<@Size(max = 10, message = "Gate number cannot exceed 10 characters") String> gates = new ArrayList<>();
+
+    // false: gate'i olan uçuşlar yerinde kalır, yalnızca boşlar atanır
+    private boolean reassignExisting;
+
+    // true: sonuç hesaplanır, uçuşlar güncellenmez
+    private boolean dryRun = true;
+}
@@ -0,0 +1,46 @@
+package com.flightmanagement.flightservice.dto.request;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.flightmanagement.flightservice.config.FlightTimeDeserializer;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Planlanan uçuşların havalimanı kapasitesine toplu kontrolü; uçuşlar sırayla değerlendirilir,
+ * reddedilmeyen her uçuş sonrakiler için sayaçlara eklenir
+ */
+@Data
+public class SlotCheckRequest {
+
+    @NotEmpty(message = "At least one flight is required")
+    @Size(max = 10000, message = "Cannot check more than 10000 flights at once")
+    private List<@Valid PlannedFlight> flights = new ArrayList<>();
+
+    @Data
+    public static class PlannedFlight {
+        private Long flightId;              // Mevcut uçuşun yeniden planlanması; eski hareketleri sayılmaz
+        private Long parentFlightId;        // Aktarmalı uçuşun yeniden planlanan segment'i; ana kaydın mevcut segment'leri sayılmaz
+        private String flightNumber;
+
+        @NotNull(message = "Origin airport is required")
+        private Long originAirportId;
+
+        @NotNull(message = "Destination airport is required")
+        private Long destinationAirportId;
+
+        @NotNull(message = "Scheduled departure is required")
+        @JsonDeserialize(using = FlightTimeDeserializer.class)
+        private LocalDateTime scheduledDeparture;
+
+        @NotNull(message = "Scheduled arrival is required")
+        @JsonDeserialize(using = FlightTimeDeserializer.class)
+        private LocalDateTime scheduledArrival;
+    }
+}
@@ -0,0 +1,60 @@
+package com.flightmanagement.flightservice.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Kuyruk (aircraft) bazında günlük blok saat, cycle ve yerde bekleme süreleri
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AircraftUtilizationResponse {
+
+    private Long aircraftId;
+    private String registrationNumber;
+    private String aircraftType;
+    private Long airlineId;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate startDate;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate endDate;
+
+    private Integer totalCycles;
+    private Integer totalBlockMinutes;
+    private Double totalBlockHours;
+    private Double avgBlockHoursPerDay;
+    private List<DayUtilization> days;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DayUtilization {
+        @JsonFormat(pattern = "yyyy-MM-dd")
+        private LocalDate date;
+
+        private Integer cycles;
+        private Integer blockMinutes;
+        private Double blockHours;
+
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm")
+        private LocalDateTime firstDeparture;
+
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm")
+        private LocalDateTime lastArrival;
+
+        private Integer groundMinutes;      // İlk kalkış - son iniş arası yerde geçen süre
+        private Integer idleMinutes;        // 24 saat - blok süresi
+    }
+}
@@ -0,0 +1,46 @@
+package com.flightmanagement.flightservice.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Havayolunun bir gündeki filo kullanımı
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AirlineUtilizationResponse {
+
+    private Long airlineId;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate date;
+
+    private Integer activeTails;
+    private Integer cycles;
+    private Integer blockMinutes;
+    private Double blockHours;
+    private Double avgBlockHoursPerTail;
+    private Double avgCyclesPerTail;
+    private List<TailSummary> tails;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TailSummary {
+        private Long aircraftId;
+        private String registrationNumber;
+        private String aircraftType;
+        private Integer cycles;
+        private Integer blockMinutes;
+        private Double blockHours;
+    }
+}
@@ -0,0 +1,58 @@
+package com.flightmanagement.flightservice.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Havalimanının bir günlük 15 dakikalık hareket dağılımı ve deklare kapasiteye göre doluluğu
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CapacityHeatmapResponse {
+
+    private Long airportId;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate date;
+
+    // Deklarasyon yoksa null
+    private Integer movementsPer15Min;
+    private Integer movementsPer60Min;
+    private String enforcement;
+
+    private Integer departures;
+    private Integer arrivals;
+    private Integer peak15Min;
+    private Integer peak60Min;
+    private Integer overloadedBuckets;
+    private List<Bucket> buckets;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Bucket {
+        @JsonFormat(pattern = "HH:mm")
+        private LocalTime start;
+
+        private Integer departures;
+        private Integer arrivals;
+        private Integer movements;
+        private Integer rollingHourMovements;    // Bu dilimden başlayan 60 dakika
+        private Double utilization15Min;         // movements / limit
+        private Double utilization60Min;
+        private Boolean overloaded;
+    }
+}
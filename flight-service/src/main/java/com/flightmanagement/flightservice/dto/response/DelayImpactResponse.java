@@ -0,0 +1,70 @@
+package com.flightmanagement.flightservice.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Bir gecikmenin uçak rotasyonu ve aktarmalar üzerinden yarattığı etki
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DelayImpactResponse {
+
+    private Long sourceFlightId;
+    private String sourceFlightNumber;
+    private Integer delayMinutes;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime computedAt;
+
+    private Integer affectedFlights;
+    private Integer totalKnockOnMinutes;
+    private List<KnockOnDelay> knockOnDelays;
+    private List<BrokenConnection> brokenConnections;
+    private Long computeMicros;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class KnockOnDelay {
+        private Long flightId;
+        private String flightNumber;
+        private Long aircraftId;
+        private Long causedByFlightId;
+        private Integer delayMinutes;        // Planlanan saatlere eklenen tahmini gecikme
+
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm")
+        private LocalDateTime projectedDeparture;
+
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm")
+        private LocalDateTime projectedArrival;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class BrokenConnection {
+        private Long parentFlightId;
+        private Long inboundFlightId;
+        private String inboundFlightNumber;
+        private Long outboundFlightId;
+        private String outboundFlightNumber;
+        private Long airportId;
+        private Integer layoverMinutes;
+        private Integer requiredMinutes;
+        private String reason;               // MISSED_CONNECTION, SEGMENT_CANCELLED
+    }
+}
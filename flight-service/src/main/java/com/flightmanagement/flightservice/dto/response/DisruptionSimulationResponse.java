@@ -0,0 +1,77 @@
+package com.flightmanagement.flightservice.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * What-if senaryosunun sonucu; yalnızca bellekteki kopya üzerinde hesaplanır
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DisruptionSimulationResponse {
+
+    private String scenarioName;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate fromDate;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate toDate;
+
+    private Integer snapshotFlights;
+    private Integer cancelledFlights;
+    private Integer delayedFlights;
+    private Integer totalDelayMinutes;
+    private List<ImpactedFlight> impactedFlights;
+    private List<DelayImpactResponse.BrokenConnection> brokenConnections;
+    private List<AircraftConflict> aircraftConflicts;
+    private Long computeMicros;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class ImpactedFlight {
+        private Long flightId;
+        private String flightNumber;
+        private Long aircraftId;
+        private String impact;               // CANCELLED, DELAYED, CLOSURE_HOLD, KNOCK_ON
+        private Integer delayMinutes;
+        private Long causedByFlightId;
+
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm")
+        private LocalDateTime projectedDeparture;
+
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm")
+        private LocalDateTime projectedArrival;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class AircraftConflict {
+        private Long aircraftId;
+        private String conflictType;         // POSITION_MISMATCH, SHORT_TURNAROUND, OVERLAP
+        private Long previousFlightId;
+        private String previousFlightNumber;
+        private Long nextFlightId;
+        private String nextFlightNumber;
+        private Long airportId;
+        private Integer groundMinutes;
+        private Integer requiredMinutes;
+    }
+}
@@ -0,0 +1,57 @@
+package com.flightmanagement.flightservice.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Verilen aralıkta boş olan kuyruklar; konum ve bir sonraki görev bilgisiyle
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FleetAvailabilityResponse {
+
+    private Long airlineId;
+    private String aircraftType;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm")
+    private LocalDateTime from;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm")
+    private LocalDateTime to;
+
+    private Integer bufferMinutes;
+    private Integer candidateTails;
+    private Integer busyTails;
+    private List<AvailableAircraft> available;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class AvailableAircraft {
+        private Long aircraftId;
+        private String registrationNumber;
+        private String aircraftType;
+
+        private String previousFlightNumber;
+        private Long positionAirportId;     // Aralıktan önceki son varış havalimanı
+
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm")
+        private LocalDateTime availableFrom;
+
+        private String nextFlightNumber;
+
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm")
+        private LocalDateTime availableUntil;
+    }
+}
@@ -0,0 +1,34 @@
+package com.flightmanagement.flightservice.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Gate otomatik atama sonucu
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GateAssignmentResponse {
+
+    private Long airportId;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate date;
+
+    private Boolean dryRun;
+    private Integer departures;
+    private Integer keptAssignments;
+    private Integer newAssignments;
+    private Integer gatesUsed;
+    private List<GateOccupancyResponse.GateSlot> assignments;
+    private List<GateOccupancyResponse.GateSlot> unassigned;
+    private Long computeMicros;
+}
@@ -0,0 +1,66 @@
+package com.flightmanagement.flightservice.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Havalimanının bir günlük gate doluluğu ve çakışmaları
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GateOccupancyResponse {
+
+    private Long airportId;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate date;
+
+    private Integer departures;
+    private Integer withoutGate;
+    private Map<String, List<GateSlot>> gates;
+    private List<GateConflict> conflicts;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class GateSlot {
+        private Long flightId;
+        private String flightNumber;
+        private String gate;
+
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm")
+        private LocalDateTime departure;
+
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm")
+        private LocalDateTime occupiedFrom;     // Kalkış - boarding payı
+
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm")
+        private LocalDateTime occupiedUntil;    // Kalkış + pushback payı
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class GateConflict {
+        private String gate;
+        private Long flightId;
+        private String flightNumber;
+        private Long conflictingFlightId;
+        private String conflictingFlightNumber;
+        private Integer overlapMinutes;
+    }
+}
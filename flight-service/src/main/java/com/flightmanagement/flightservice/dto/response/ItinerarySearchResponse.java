@@ -0,0 +1,31 @@
+package com.flightmanagement.flightservice.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItinerarySearchResponse {
+
+    private String origin;
+    private String destination;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate date;
+
+    private Integer minConnectionMinutes;
+    private Integer maxConnectionMinutes;
+    private Integer maxStops;
+
+    private Integer scannedConnections;  // Taranan timetable bacağı
+    private Long searchMicros;
+    private List<ItineraryResponse> itineraries;
+}
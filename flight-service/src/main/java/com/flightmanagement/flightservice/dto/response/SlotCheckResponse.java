@@ -0,0 +1,57 @@
+package com.flightmanagement.flightservice.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Toplu slot kontrolü sonucu; yalnızca kapasiteyi aşan uçuşlar listelenir
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlotCheckResponse {
+
+    private Integer checked;
+    private Integer rejected;
+    private Integer warned;
+    private List<SlotViolation> violations;
+    private Long computeMicros;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class SlotViolation {
+        private Integer index;               // İstekteki sıra
+        private Long flightId;
+        private String flightNumber;
+        private Long airportId;
+        private String movement;             // DEPARTURE, ARRIVAL
+        private Integer windowMinutes;       // 15, 60
+
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm")
+        private LocalDateTime windowStart;
+
+        private Integer movements;           // Uçuş dahil penceredeki hareket sayısı
+        private Integer limit;
+        private String enforcement;          // WARN, REJECT
+
+        public boolean isRejected() {
+            return "REJECT".equals(enforcement);
+        }
+
+        public String describe() {
+            return String.format("Airport %d %s capacity exceeded: %d movements in %d minutes from %s (limit %d)",
+                    airportId, movement.toLowerCase(), movements, windowMinutes, windowStart.toLocalTime(), limit);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.flightmanagement.flightservice.dto.response.stats;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Son 15 dk / 1 saat / 6 saatlik canlı gecikme istatistikleri (bellekten, 5 dakikalık bucket çözünürlüğünde)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LiveDelayStatsDto {
+
+    private String scope;           // ALL, AIRPORT, AIRLINE, ROUTE
+    private String key;
+    private Map<String, WindowStats> windows;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class WindowStats {
+        private long departures;
+        private long onTimeDepartures;
+        private Double onTimePercent;
+        private int p50DelayMinutes;
+        private int p95DelayMinutes;
+        private int maxDelayMinutes;
+        private long cancellations;
+        private long delayReports;
+        private int maxReportedDelayMinutes;
+    }
+}
@@ -5,7 +5,9 @@ import com.flightmanagement.flightservice.entity.enums.FlightType;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -20,8 +22,11 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 public class Flight {
+    // Pooled table generator: IDENTITY JDBC insert batching'i kapatıyordu (bkz. 003-create-id-generators)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "flight_id")
+    @TableGenerator(name = "flight_id", table = "id_generators", pkColumnName = "gen_name",
+            valueColumnName = "gen_value", pkColumnValue = "flights", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 10)
@@ -100,15 +105,21 @@ public class Flight {
     @UpdateTimestamp
     private LocalDateTime updatedAt;
 
-    // İlişkiler
+    // İlişkiler - equals/hashCode/toString lazy yüklemeyi tetiklemesin
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "parent_flight_id", insertable = false, updatable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Flight parentFlight;
 
     @OneToMany(mappedBy = "parentFlight", fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private List<Flight> connectingFlights = new ArrayList<>();
 
     @OneToMany(mappedBy = "mainFlight", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private     List<FlightConnection> flightConnections = new ArrayList<>();
 
     // Helper methods
@@ -3,7 +3,9 @@ package com.flightmanagement.flightservice.entity;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
@@ -16,7 +18,9 @@ import java.time.LocalDateTime;
 public class FlightConnection {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "flight_connection_id")
+    @TableGenerator(name = "flight_connection_id", table = "id_generators", pkColumnName = "gen_name",
+            valueColumnName = "gen_value", pkColumnValue = "flight_connections", allocationSize = 50)
     private Long id;
 
     @Column(name = "main_flight_id", nullable = false)
@@ -38,10 +42,14 @@ public class FlightConnection {
     // İlişkiler
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "main_flight_id", insertable = false, updatable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Flight mainFlight;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "segment_flight_id", insertable = false, updatable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Flight segmentFlight;
 
     // Helper methods
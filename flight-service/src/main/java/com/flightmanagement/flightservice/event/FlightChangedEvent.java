@@ -0,0 +1,28 @@
+package com.flightmanagement.flightservice.event;
+
+import com.flightmanagement.flightservice.entity.Flight;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Uygulama içi flight değişiklik bildirimi. Kafka'ya giden FlightEvent ile aynı noktada yayınlanır;
+ * bellek içi index'ler (itinerary timetable vb.) commit sonrası bununla güncellenir.
+ */
+@Getter
+@RequiredArgsConstructor
+public class FlightChangedEvent {
+
+    private final String eventType;
+    private final Flight flight;
+
+    public boolean isDeleted() {
+        return eventType != null && eventType.endsWith("DELETED");
+    }
+
+    /**
+     * Aktarmalı uçuşun ana kaydı - segment'ler ayrıca bildirilmez, dinleyiciler gerekirse yeniden okur
+     */
+    public boolean isConnectingParent() {
+        return Boolean.TRUE.equals(flight.getIsConnectingFlight()) && flight.getParentFlightId() == null;
+    }
+}
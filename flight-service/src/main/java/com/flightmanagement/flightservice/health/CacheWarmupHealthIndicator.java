@@ -0,0 +1,24 @@
+package com.flightmanagement.flightservice.health;
+
+import com.flightmanagement.flightservice.service.CacheWarmupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Readiness probe'u başlangıç cache warm-up'ına bağlar.
+ * Warm-up bitene ya da cache.warmup.deadline-ms dolana kadar OUT_OF_SERVICE döner.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheWarmupHealthIndicator implements HealthIndicator {
+
+    private final CacheWarmupService cacheWarmupService;
+
+    @Override
+    public Health health() {
+        Health.Builder builder = cacheWarmupService.isReady() ? Health.up() : Health.outOfService();
+        return builder.withDetails(cacheWarmupService.getStatus()).build();
+    }
+}
@@ -0,0 +1,27 @@
+package com.flightmanagement.flightservice.health;
+
+import com.flightmanagement.flightservice.service.ReferenceDataReplica;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reference replikasının durumunu health detayı olarak gösterir; readiness grubunda değildir.
+ * Senkron gecikmesi yalnızca detaydır: reference-manager kesintisinde okumalar Redis/HTTP ve last-known-good'a
+ * düştüğü için pod'lar trafikten çıkarılmaz. Bootstrap öncesi UNKNOWN, kapalıysa ya da bootstrap sonrası UP döner.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReferenceReplicaHealthIndicator implements HealthIndicator {
+
+    private final ReferenceDataReplica referenceDataReplica;
+
+    @Override
+    public Health health() {
+        Health.Builder builder = !referenceDataReplica.isEnabled() || referenceDataReplica.isBootstrapped()
+                ? Health.up()
+                : Health.unknown();
+        return builder.withDetails(referenceDataReplica.getStatus()).build();
+    }
+}
@@ -6,6 +6,9 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -15,9 +18,14 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface FlightRepository extends JpaRepository<Flight, Long> {
+public interface FlightRepository extends JpaRepository<Flight, Long>, FlightRepositoryCustom {
+
+    // READ_ONLY işaretli sorgular yalnızca listeleme/arama içindir: dönen entity'ler için snapshot
+    // tutulmaz ve flush'ta dirty check yapılmaz, yani üzerlerindeki değişiklikler KAYDEDİLMEZ.
+    // Güncelleme yapan akışlar işaretsiz sorguları (findById, findByParentFlightId...) kullanmalı.
 
     // Temel sorgular
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<Flight> findByFlightNumber(String flightNumber);
 
     List<Flight> findByFlightNumberAndFlightDate(String flightNumber, LocalDate flightDate);
@@ -25,17 +33,22 @@ public interface FlightRepository extends JpaRepository<Flight, Long> {
     Optional<Flight> findByFlightNumberAndFlightDateAndSegmentNumber(
             String flightNumber, LocalDate flightDate, Integer segmentNumber);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<Flight> findByStatus(FlightStatus status);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<Flight> findByFlightDate(LocalDate flightDate);
 
     List<Flight> findByFlightDateBetween(LocalDate startDate, LocalDate endDate);
 
     // Route bazlı sorgular (YENİ SİSTEM)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<Flight> findByRouteId(Long routeId);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<Flight> findByRouteIdAndFlightDate(Long routeId, LocalDate flightDate);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     Page<Flight> findByRouteId(Long routeId, Pageable pageable);
 
     @Query("SELECT COUNT(f) FROM Flight f WHERE f.routeId = :routeId AND f.active = true")
@@ -47,6 +60,7 @@ public interface FlightRepository extends JpaRepository<Flight, Long> {
                                                 @Param("endDate") LocalDate endDate);
 
     // Airline bazlı sorgular
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<Flight> findByAirlineId(Long airlineId);
 
     Page<Flight> findByAirlineId(Long airlineId, Pageable pageable);
@@ -78,6 +92,7 @@ public interface FlightRepository extends JpaRepository<Flight, Long> {
     @Query("SELECT f FROM Flight f WHERE f.isConnectingFlight = true AND f.parentFlightId IS NULL AND f.flightDate = :date")
     List<Flight> findMainConnectingFlightsByDate(@Param("date") LocalDate date);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     @Query("SELECT f FROM Flight f WHERE f.isConnectingFlight = true AND f.parentFlightId IS NULL " +
             "AND (:airlineId IS NULL OR f.airlineId = :airlineId) " +
             "AND (:flightDate IS NULL OR f.flightDate = :flightDate)")
@@ -122,6 +137,7 @@ public interface FlightRepository extends JpaRepository<Flight, Long> {
                                                @Param("end") LocalDateTime end);
 
     // Gecikme analizi
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     @Query("SELECT f FROM Flight f WHERE f.delayMinutes >= :minDelayMinutes AND f.flightDate = :date AND f.active = true")
     List<Flight> findDelayedFlightsByDateAndMinutes(@Param("date") LocalDate date, @Param("minDelayMinutes") Integer minDelayMinutes);
 
@@ -170,6 +186,7 @@ public interface FlightRepository extends JpaRepository<Flight, Long> {
     List<Object[]> getFlightChartData(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 
     // Filtered queries with multiple parameters
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     @Query("SELECT f FROM Flight f WHERE " +
             "(:flightNumber IS NULL OR UPPER(f.flightNumber) LIKE UPPER(CONCAT('%', :flightNumber, '%'))) AND " +
             "(:airlineId IS NULL OR f.airlineId = :airlineId) AND " +
@@ -182,4 +199,31 @@ public interface FlightRepository extends JpaRepository<Flight, Long> {
                                         @Param("flightDate") LocalDate flightDate,
                                         @Param("routeId") Long routeId,
                                         Pageable pageable);
-}
\ No newline at end of file
+
+    // ===============================
+    // VERSION STAMPS (conditional GET)
+    // ===============================
+
+    /**
+     * Sorgu kapsamındaki kayıt sayısı ve en son güncelleme zamanı - sonuçlar materialize edilmeden index'ten hesaplanır
+     */
+    interface VersionStamp {
+        Long getCount();
+
+        LocalDateTime getLastModified();
+    }
+
+    @Query("SELECT COUNT(f) AS count, MAX(f.updatedAt) AS lastModified FROM Flight f WHERE " +
+            "(:flightNumber IS NULL OR UPPER(f.flightNumber) LIKE UPPER(CONCAT('%', :flightNumber, '%'))) AND " +
+            "(:airlineId IS NULL OR f.airlineId = :airlineId) AND " +
+            "(:flightDate IS NULL OR f.flightDate = :flightDate) AND " +
+            "(:routeId IS NULL OR f.routeId = :routeId) AND " +
+            "f.active = true")
+    VersionStamp getVersionStampWithFilters(@Param("flightNumber") String flightNumber,
+                                            @Param("airlineId") Long airlineId,
+                                            @Param("flightDate") LocalDate flightDate,
+                                            @Param("routeId") Long routeId);
+
+    @Query("SELECT COUNT(f) AS count, MAX(f.updatedAt) AS lastModified FROM Flight f WHERE f.flightDate = :date")
+    VersionStamp getVersionStampByDate(@Param("date") LocalDate date);
+}
@@ -0,0 +1,31 @@
+package com.flightmanagement.flightservice.repository;
+
+import com.flightmanagement.flightservice.entity.Flight;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Yalnızca istenen kolonları seçen okuma sorguları.
+ * Dönen Flight'lar persistence context'e bağlı değildir ve sadece verilen attribute'lar doludur.
+ */
+public interface FlightRepositoryCustom {
+
+    Page<Flight> findFlightColumnsWithFilters(Set<String> attributes, String flightNumber, Long airlineId,
+                                              LocalDate flightDate, Long routeId, Pageable pageable);
+
+    List<Flight> findFlightColumnsByDate(Set<String> attributes, LocalDate flightDate);
+
+    /**
+     * Aktif uçuşlar, kalkışa göre sıralı (from ve to dahil)
+     */
+    List<Flight> findActiveFlightColumnsByDateRange(Set<String> attributes, LocalDate from, LocalDate to);
+
+    List<Flight> findFlightColumnsByParentFlightId(Set<String> attributes, Long parentFlightId);
+
+    Optional<Flight> findFlightColumnsById(Set<String> attributes, Long id);
+}
@@ -0,0 +1,177 @@
+package com.flightmanagement.flightservice.repository;
+
+import com.flightmanagement.flightservice.entity.Flight;
+import com.flightmanagement.flightservice.entity.enums.FlightStatus;
+import com.flightmanagement.flightservice.entity.enums.FlightType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * FlightRepositoryCustom implementasyonu - Criteria tuple sorguları ile seçili kolonları okur
+ */
+public class FlightRepositoryImpl implements FlightRepositoryCustom {
+
+    private static final Map<String, BiConsumer<Flight, Object>> SETTERS = new HashMap<>();
+
+    static {
+        SETTERS.put("id", (f, v) -> f.setId((Long) v));
+        SETTERS.put("flightNumber", (f, v) -> f.setFlightNumber((String) v));
+        SETTERS.put("airlineId", (f, v) -> f.setAirlineId((Long) v));
+        SETTERS.put("aircraftId", (f, v) -> f.setAircraftId((Long) v));
+        SETTERS.put("routeId", (f, v) -> f.setRouteId((Long) v));
+        SETTERS.put("flightDate", (f, v) -> f.setFlightDate((LocalDate) v));
+        SETTERS.put("scheduledDeparture", (f, v) -> f.setScheduledDeparture((LocalDateTime) v));
+        SETTERS.put("scheduledArrival", (f, v) -> f.setScheduledArrival((LocalDateTime) v));
+        SETTERS.put("actualDeparture", (f, v) -> f.setActualDeparture((LocalDateTime) v));
+        SETTERS.put("actualArrival", (f, v) -> f.setActualArrival((LocalDateTime) v));
+        SETTERS.put("status", (f, v) -> f.setStatus((FlightStatus) v));
+        SETTERS.put("type", (f, v) -> f.setType((FlightType) v));
+        SETTERS.put("passengerCount", (f, v) -> f.setPassengerCount((Integer) v));
+        SETTERS.put("cargoWeight", (f, v) -> f.setCargoWeight((Integer) v));
+        SETTERS.put("notes", (f, v) -> f.setNotes((String) v));
+        SETTERS.put("gateNumber", (f, v) -> f.setGateNumber((String) v));
+        SETTERS.put("delayMinutes", (f, v) -> f.setDelayMinutes((Integer) v));
+        SETTERS.put("delayReason", (f, v) -> f.setDelayReason((String) v));
+        SETTERS.put("active", (f, v) -> f.setActive((Boolean) v));
+        SETTERS.put("parentFlightId", (f, v) -> f.setParentFlightId((Long) v));
+        SETTERS.put("segmentNumber", (f, v) -> f.setSegmentNumber((Integer) v));
+        SETTERS.put("isConnectingFlight", (f, v) -> f.setIsConnectingFlight((Boolean) v));
+        SETTERS.put("connectionTimeMinutes", (f, v) -> f.setConnectionTimeMinutes((Integer) v));
+        SETTERS.put("createdAt", (f, v) -> f.setCreatedAt((LocalDateTime) v));
+        SETTERS.put("updatedAt", (f, v) -> f.setUpdatedAt((LocalDateTime) v));
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<Flight> findFlightColumnsWithFilters(Set<String> attributes, String flightNumber, Long airlineId,
+                                                     LocalDate flightDate, Long routeId, Pageable pageable) {
+        Function<Root<Flight>, List<Predicate>> filters = root -> {
+            CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+            List<Predicate> predicates = new ArrayList<>();
+            if (flightNumber != null) {
+                predicates.add(cb.like(cb.upper(root.<String>get("flightNumber")), "%" + flightNumber.toUpperCase() + "%"));
+            }
+            if (airlineId != null) {
+                predicates.add(cb.equal(root.get("airlineId"), airlineId));
+            }
+            if (flightDate != null) {
+                predicates.add(cb.equal(root.get("flightDate"), flightDate));
+            }
+            if (routeId != null) {
+                predicates.add(cb.equal(root.get("routeId"), routeId));
+            }
+            predicates.add(cb.isTrue(root.<Boolean>get("active")));
+            return predicates;
+        };
+
+        // findFlightsWithFilters ile aynı sıralama: önce kalkış, sonra pageable sort
+        List<Sort.Order> orders = new ArrayList<>();
+        orders.add(Sort.Order.desc("scheduledDeparture"));
+        pageable.getSort().forEach(orders::add);
+
+        List<Flight> content = select(attributes, filters, orders, pageable);
+        long total = count(filters);
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    @Override
+    public List<Flight> findFlightColumnsByDate(Set<String> attributes, LocalDate flightDate) {
+        return select(attributes,
+                root -> List.of(entityManager.getCriteriaBuilder().equal(root.get("flightDate"), flightDate)),
+                List.of(), Pageable.unpaged());
+    }
+
+    @Override
+    public List<Flight> findActiveFlightColumnsByDateRange(Set<String> attributes, LocalDate from, LocalDate to) {
+        return select(attributes,
+                root -> {
+                    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+                    return List.of(cb.between(root.<LocalDate>get("flightDate"), from, to),
+                            cb.isTrue(root.<Boolean>get("active")));
+                },
+                List.of(Sort.Order.asc("scheduledDeparture")), Pageable.unpaged());
+    }
+
+    @Override
+    public List<Flight> findFlightColumnsByParentFlightId(Set<String> attributes, Long parentFlightId) {
+        return select(attributes,
+                root -> List.of(entityManager.getCriteriaBuilder().equal(root.get("parentFlightId"), parentFlightId)),
+                List.of(Sort.Order.asc("segmentNumber")), Pageable.unpaged());
+    }
+
+    @Override
+    public Optional<Flight> findFlightColumnsById(Set<String> attributes, Long id) {
+        List<Flight> flights = select(attributes,
+                root -> List.of(entityManager.getCriteriaBuilder().equal(root.get("id"), id)),
+                List.of(), Pageable.unpaged());
+        return flights.stream().findFirst();
+    }
+
+    private List<Flight> select(Set<String> attributes, Function<Root<Flight>, List<Predicate>> filters,
+                                List<Sort.Order> orders, Pageable pageable) {
+        List<String> columns = new ArrayList<>(attributes);
+        for (String column : columns) {
+            if (!SETTERS.containsKey(column)) {
+                throw new IllegalArgumentException("Unsupported flight column: " + column);
+            }
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Flight> root = query.from(Flight.class);
+
+        List<Selection<?>> selections = new ArrayList<>(columns.size());
+        for (String column : columns) {
+            selections.add(root.get(column).alias(column));
+        }
+        query.multiselect(selections);
+        query.where(filters.apply(root).toArray(new Predicate[0]));
+
+        List<Order> criteriaOrders = new ArrayList<>();
+        for (Sort.Order order : orders) {
+            criteriaOrders.add(order.isAscending() ? cb.asc(root.get(order.getProperty())) : cb.desc(root.get(order.getProperty())));
+        }
+        query.orderBy(criteriaOrders);
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+
+        List<Tuple> rows = typedQuery.getResultList();
+        List<Flight> flights = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            Flight flight = new Flight();
+            for (String column : columns) {
+                SETTERS.get(column).accept(flight, row.get(column));
+            }
+            flights.add(flight);
+        }
+        return flights;
+    }
+
+    private long count(Function<Root<Flight>, List<Predicate>> filters) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Flight> root = query.from(Flight.class);
+        query.select(cb.count(root));
+        query.where(filters.apply(root).toArray(new Predicate[0]));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
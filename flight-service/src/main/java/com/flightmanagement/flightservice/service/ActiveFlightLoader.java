@@ -0,0 +1,71 @@
+package com.flightmanagement.flightservice.service;
+
+import com.flightmanagement.flightservice.dto.cache.RouteCache;
+import com.flightmanagement.flightservice.entity.Flight;
+import com.flightmanagement.flightservice.repository.FlightRepository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * Bellek içi index'lerin (fleet, gate, slot, itinerary, delay) ortak yükleyicisi.
+ * Uçuşlar yalnızca index'in ihtiyaç duyduğu kolonlarla okunur, route'lar tek toplu çağrıyla çözülür;
+ * converter null dönerse uçuş index'e girmez.
+ */
+final class ActiveFlightLoader {
+
+    private final FlightRepository flightRepository;
+    private final ReferenceDataService referenceDataService;
+    private final Set<String> columns;
+
+    ActiveFlightLoader(FlightRepository flightRepository, ReferenceDataService referenceDataService, Set<String> columns) {
+        this.flightRepository = flightRepository;
+        this.referenceDataService = referenceDataService;
+        this.columns = columns;
+    }
+
+    /**
+     * [from, to] aralığındaki aktif uçuşlar
+     */
+    <T> List<T> loadWindow(LocalDate from, LocalDate to, BiFunction<Flight, RouteCache, T> converter) {
+        List<Flight> flights = flightRepository.findActiveFlightColumnsByDateRange(columns, from, to);
+        Set<Long> routeIds = new HashSet<>();
+        for (Flight flight : flights) {
+            routeIds.add(flight.getRouteId());
+        }
+        routeIds.remove(null);
+        Map<Long, RouteCache> routes = referenceDataService.getRoutes(routeIds);
+
+        List<T> loaded = new ArrayList<>(flights.size());
+        for (Flight flight : flights) {
+            T value = converter.apply(flight, routes.get(flight.getRouteId()));
+            if (value != null) {
+                loaded.add(value);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Aktarmalı uçuşun güncel segment'leri - ana kayıt değiştiğinde segment'ler yeniden yaratılmış olabilir
+     */
+    <T> List<T> loadSegments(Long parentFlightId, BiFunction<Flight, RouteCache, T> converter) {
+        List<T> segments = new ArrayList<>();
+        for (Flight segment : flightRepository.findFlightColumnsByParentFlightId(columns, parentFlightId)) {
+            T value = converter.apply(segment, routeOf(segment));
+            if (value != null) {
+                segments.add(value);
+            }
+        }
+        return segments;
+    }
+
+    RouteCache routeOf(Flight flight) {
+        return flight.getRouteId() != null ? referenceDataService.getRoute(flight.getRouteId()) : null;
+    }
+}
@@ -3,14 +3,27 @@ package com.flightmanagement.flightservice.service;
 import com.flightmanagement.flightservice.dto.cache.AircraftCache;
 import com.flightmanagement.flightservice.dto.cache.AirlineCache;
 import com.flightmanagement.flightservice.dto.cache.AirportCache;
+import com.flightmanagement.flightservice.dto.cache.RouteCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -28,20 +41,38 @@ public class CacheService {
     @Value("${cache.ttl.aircraft}")
     private long aircraftTtl;
 
-    // Cache key prefixes
+    @Value("${cache.ttl.route:1800}")
+    private long routeTtl;
+
+    // Namespace generation'ı Redis'ten en fazla bu sıklıkta tekrar okunur (diğer instance'ların invalidation'ı için gecikme)
+    @Value("${cache.generation.refresh-ms:1000}")
+    private long generationRefreshMs;
+
+    // Cache key prefixes - gerçek key "<prefix>g<generation>:<id>" şeklindedir
     private static final String AIRLINE_PREFIX = "airline:";
     private static final String AIRPORT_PREFIX = "airport:";
     private static final String AIRCRAFT_PREFIX = "aircraft:";
+    private static final String ROUTE_PREFIX = "route:";
+    private static final String GENERATION_KEY_PREFIX = "cache:generation:";
+
+    private static final Map<String, String> PREFIXES_BY_TYPE = Map.of(
+            "AIRLINE", AIRLINE_PREFIX,
+            "AIRPORT", AIRPORT_PREFIX,
+            "AIRCRAFT", AIRCRAFT_PREFIX,
+            "ROUTE", ROUTE_PREFIX);
+
+    // prefix -> son okunan generation
+    private final Map<String, Generation> generations = new ConcurrentHashMap<>();
 
     // Airline Cache Operations
     public void cacheAirline(Long id, AirlineCache airline) {
-        String key = AIRLINE_PREFIX + id;
+        String key = key(AIRLINE_PREFIX, id);
         redisTemplate.opsForValue().set(key, airline, airlineTtl, TimeUnit.SECONDS);
         log.debug("Cached airline: {} with key: {}", airline.getName(), key);
     }
 
     public AirlineCache getAirlineFromCache(Long id) {
-        String key = AIRLINE_PREFIX + id;
+        String key = key(AIRLINE_PREFIX, id);
         AirlineCache airline = (AirlineCache) redisTemplate.opsForValue().get(key);
         if (airline != null) {
             log.debug("Cache hit for airline: {}", key);
@@ -52,20 +83,20 @@ public class CacheService {
     }
 
     public void evictAirline(Long id) {
-        String key = AIRLINE_PREFIX + id;
+        String key = key(AIRLINE_PREFIX, id);
         redisTemplate.delete(key);
         log.debug("Evicted airline from cache: {}", key);
     }
 
     // Airport Cache Operations
     public void cacheAirport(Long id, AirportCache airport) {
-        String key = AIRPORT_PREFIX + id;
+        String key = key(AIRPORT_PREFIX, id);
         redisTemplate.opsForValue().set(key, airport, airportTtl, TimeUnit.SECONDS);
         log.debug("Cached airport: {} with key: {}", airport.getName(), key);
     }
 
     public AirportCache getAirportFromCache(Long id) {
-        String key = AIRPORT_PREFIX + id;
+        String key = key(AIRPORT_PREFIX, id);
         AirportCache airport = (AirportCache) redisTemplate.opsForValue().get(key);
         if (airport != null) {
             log.debug("Cache hit for airport: {}", key);
@@ -76,14 +107,14 @@ public class CacheService {
     }
 
     public void evictAirport(Long id) {
-        String key = AIRPORT_PREFIX + id;
+        String key = key(AIRPORT_PREFIX, id);
         redisTemplate.delete(key);
         log.debug("Evicted airport from cache: {}", key);
     }
 
     // Aircraft Cache Operations
     public void cacheAircraft(Long id, AircraftCache aircraft) {
-        String key = AIRCRAFT_PREFIX + id;
+        String key = key(AIRCRAFT_PREFIX, id);
 
         log.debug("Caching aircraft: id={}, regNumber={}, airlineId={}",
                 aircraft.getId(), aircraft.getRegistrationNumber(), aircraft.getAirlineId());
@@ -92,7 +123,7 @@ public class CacheService {
     }
 
     public AircraftCache getAircraftFromCache(Long id) {
-        String key = AIRCRAFT_PREFIX + id;
+        String key = key(AIRCRAFT_PREFIX, id);
         AircraftCache aircraft = (AircraftCache) redisTemplate.opsForValue().get(key);
         if (aircraft != null) {
             log.debug("Cache hit for aircraft: {}", key);
@@ -103,15 +134,292 @@ public class CacheService {
     }
 
     public void evictAircraft(Long id) {
-        String key = AIRCRAFT_PREFIX + id;
+        String key = key(AIRCRAFT_PREFIX, id);
         redisTemplate.delete(key);
         log.debug("Evicted aircraft from cache: {}", key);
     }
 
+    // Route Cache Operations
+    public void cacheRoute(Long id, RouteCache route) {
+        String key = key(ROUTE_PREFIX, id);
+        redisTemplate.opsForValue().set(key, route, routeTtl, TimeUnit.SECONDS);
+        log.debug("Cached route: {} with key: {}", route.getRouteCode(), key);
+    }
+
+    public RouteCache getRouteFromCache(Long id) {
+        String key = key(ROUTE_PREFIX, id);
+        RouteCache route = (RouteCache) redisTemplate.opsForValue().get(key);
+        if (route != null) {
+            log.debug("Cache hit for route: {}", key);
+        } else {
+            log.debug("Cache miss for route: {}", key);
+        }
+        return route;
+    }
+
+    public void evictRoute(Long id) {
+        String key = key(ROUTE_PREFIX, id);
+        redisTemplate.delete(key);
+        log.debug("Evicted route from cache: {}", key);
+    }
+
+    // Bulk Operations - MGET ile tek round trip
+
+    public Map<Long, AirlineCache> getAirlines(Collection<Long> ids) {
+        return multiGet(AIRLINE_PREFIX, ids, AirlineCache.class);
+    }
+
+    public Map<Long, AirportCache> getAirports(Collection<Long> ids) {
+        return multiGet(AIRPORT_PREFIX, ids, AirportCache.class);
+    }
+
+    public Map<Long, AircraftCache> getAircrafts(Collection<Long> ids) {
+        return multiGet(AIRCRAFT_PREFIX, ids, AircraftCache.class);
+    }
+
+    public Map<Long, RouteCache> getRoutes(Collection<Long> ids) {
+        return multiGet(ROUTE_PREFIX, ids, RouteCache.class);
+    }
+
+    // Bulk Operations - TTL'li SET'ler tek pipeline'da
+
+    public void cacheAirlines(Map<Long, AirlineCache> airlines) {
+        ReferenceCacheBatch batch = newBatch();
+        airlines.forEach(batch::putAirline);
+        apply(batch);
+    }
+
+    public void cacheAirports(Map<Long, AirportCache> airports) {
+        ReferenceCacheBatch batch = newBatch();
+        airports.forEach(batch::putAirport);
+        apply(batch);
+    }
+
+    public void cacheAircrafts(Map<Long, AircraftCache> aircrafts) {
+        ReferenceCacheBatch batch = newBatch();
+        aircrafts.forEach(batch::putAircraft);
+        apply(batch);
+    }
+
+    public void cacheRoutes(Map<Long, RouteCache> routes) {
+        ReferenceCacheBatch batch = newBatch();
+        routes.forEach(batch::putRoute);
+        apply(batch);
+    }
+
+    /**
+     * Verilen id'ler için tek MGET atar, sadece cache'te bulunanları döner
+     */
+    private <T> Map<Long, T> multiGet(String prefix, Collection<Long> ids, Class<T> type) {
+        Map<Long, T> found = new HashMap<>();
+        List<Long> keyIds = ids.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        if (keyIds.isEmpty()) return found;
+
+        String namespace = namespace(prefix);
+        List<String> keys = keyIds.stream().map(id -> namespace + id).collect(Collectors.toList());
+        List<Object> values = redisTemplate.opsForValue().multiGet(keys);
+        if (values == null) return found;
+
+        for (int i = 0; i < keyIds.size() && i < values.size(); i++) {
+            Object value = values.get(i);
+            if (type.isInstance(value)) {
+                found.put(keyIds.get(i), type.cast(value));
+            }
+        }
+        log.debug("Bulk cache lookup {}*: {}/{} hits", prefix, found.size(), keyIds.size());
+        return found;
+    }
+
+    // Batch Operations
+
+    public ReferenceCacheBatch newBatch() {
+        return new ReferenceCacheBatch();
+    }
+
+    /**
+     * Batch içindeki tüm SET ve DELETE'leri tek bir pipeline'da Redis'e gönderir.
+     * Aynı key hem yazılıp hem silindiyse son işlem geçerlidir.
+     */
+    @SuppressWarnings("unchecked")
+    public void apply(ReferenceCacheBatch batch) {
+        if (batch.isEmpty()) return;
+
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                batch.writes.forEach((key, write) ->
+                        ops.opsForValue().set(key, write.value, write.ttlSeconds, TimeUnit.SECONDS));
+                if (!batch.evictions.isEmpty()) {
+                    ops.delete(batch.evictions);
+                }
+                return null;
+            }
+        });
+        log.debug("Applied cache batch: {} writes, {} evictions", batch.writes.size(), batch.evictions.size());
+    }
+
+    /**
+     * Tek pipeline'da uygulanacak reference cache değişiklikleri
+     */
+    public class ReferenceCacheBatch {
+        private final Map<String, CacheWrite> writes = new LinkedHashMap<>();
+        private final Set<String> evictions = new HashSet<>();
+
+        public ReferenceCacheBatch putAirline(Long id, AirlineCache airline) {
+            return put(key(AIRLINE_PREFIX, id), airline, airlineTtl);
+        }
+
+        public ReferenceCacheBatch putAirport(Long id, AirportCache airport) {
+            return put(key(AIRPORT_PREFIX, id), airport, airportTtl);
+        }
+
+        public ReferenceCacheBatch putAircraft(Long id, AircraftCache aircraft) {
+            return put(key(AIRCRAFT_PREFIX, id), aircraft, aircraftTtl);
+        }
+
+        public ReferenceCacheBatch putRoute(Long id, RouteCache route) {
+            return put(key(ROUTE_PREFIX, id), route, routeTtl);
+        }
+
+        public ReferenceCacheBatch evictAirline(Long id) {
+            return evict(key(AIRLINE_PREFIX, id));
+        }
+
+        public ReferenceCacheBatch evictAirport(Long id) {
+            return evict(key(AIRPORT_PREFIX, id));
+        }
+
+        public ReferenceCacheBatch evictAircraft(Long id) {
+            return evict(key(AIRCRAFT_PREFIX, id));
+        }
+
+        public ReferenceCacheBatch evictRoute(Long id) {
+            return evict(key(ROUTE_PREFIX, id));
+        }
+
+        public boolean isEmpty() {
+            return writes.isEmpty() && evictions.isEmpty();
+        }
+
+        public int size() {
+            return writes.size() + evictions.size();
+        }
+
+        private ReferenceCacheBatch put(String key, Object value, long ttlSeconds) {
+            evictions.remove(key);
+            writes.put(key, new CacheWrite(value, ttlSeconds));
+            return this;
+        }
+
+        private ReferenceCacheBatch evict(String key) {
+            writes.remove(key);
+            evictions.add(key);
+            return this;
+        }
+    }
+
+    private static class CacheWrite {
+        private final Object value;
+        private final long ttlSeconds;
+
+        CacheWrite(Object value, long ttlSeconds) {
+            this.value = value;
+            this.ttlSeconds = ttlSeconds;
+        }
+    }
+
+    // ===============================
+    // GENERATION BASED INVALIDATION
+    // ===============================
+
+    /**
+     * Bir entity tipinin tüm cache kayıtlarını tek bir INCR ile geçersiz kılar.
+     * Eski generation'daki key'ler okunmaz hale gelir ve TTL ile kendiliğinden silinir.
+     */
+    public long invalidate(String entityType) {
+        String prefix = prefixOf(entityType);
+        Long generation = redisTemplate.opsForValue().increment(GENERATION_KEY_PREFIX + stripColon(prefix));
+        long value = generation != null ? generation : 0L;
+        generations.put(prefix, new Generation(value, System.currentTimeMillis()));
+        log.info("Invalidated {} cache namespace, now at generation {}", entityType, value);
+        return value;
+    }
+
+    public Map<String, Long> invalidateAll() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        PREFIXES_BY_TYPE.keySet().stream().sorted().forEach(type -> result.put(type, invalidate(type)));
+        return result;
+    }
+
+    public Map<String, Long> getGenerations() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        PREFIXES_BY_TYPE.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> result.put(entry.getKey(), currentGeneration(entry.getValue())));
+        return result;
+    }
+
+    public static Set<String> supportedEntityTypes() {
+        return PREFIXES_BY_TYPE.keySet();
+    }
+
+    private String key(String prefix, Long id) {
+        return namespace(prefix) + id;
+    }
+
+    private String namespace(String prefix) {
+        return prefix + "g" + currentGeneration(prefix) + ":";
+    }
+
+    private long currentGeneration(String prefix) {
+        Generation cached = generations.get(prefix);
+        long now = System.currentTimeMillis();
+        if (cached != null && now - cached.loadedAt < generationRefreshMs) {
+            return cached.value;
+        }
+        try {
+            Object stored = redisTemplate.opsForValue().get(GENERATION_KEY_PREFIX + stripColon(prefix));
+            long value = stored instanceof Number ? ((Number) stored).longValue() : 0L;
+            generations.put(prefix, new Generation(value, now));
+            return value;
+        } catch (Exception e) {
+            // Redis'e ulaşılamıyorsa son bilinen generation ile devam et
+            log.debug("Could not refresh cache generation for {}: {}", prefix, e.getMessage());
+            return cached != null ? cached.value : 0L;
+        }
+    }
+
+    private static String prefixOf(String entityType) {
+        String prefix = entityType != null ? PREFIXES_BY_TYPE.get(entityType.trim().toUpperCase()) : null;
+        if (prefix == null) {
+            throw new IllegalArgumentException("Unsupported cache entity type: " + entityType);
+        }
+        return prefix;
+    }
+
+    private static String stripColon(String prefix) {
+        return prefix.substring(0, prefix.length() - 1);
+    }
+
+    private static class Generation {
+        private final long value;
+        private final long loadedAt;
+
+        Generation(long value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+
     // Utility methods
+
+    /**
+     * Tüm reference data namespace'lerini geçersiz kılar. Redis'teki diğer verilere dokunmaz (FLUSHALL yok).
+     */
     public void evictAll() {
-        redisTemplate.getConnectionFactory().getConnection().flushAll();
-        log.info("Evicted all cache entries");
+        invalidateAll();
+        log.info("Evicted all reference cache entries");
     }
 
     public boolean isConnected() {
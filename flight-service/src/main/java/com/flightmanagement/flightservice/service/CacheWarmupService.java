@@ -0,0 +1,362 @@
+package com.flightmanagement.flightservice.service;
+
+import com.flightmanagement.flightservice.dto.cache.AircraftCache;
+import com.flightmanagement.flightservice.dto.cache.AirlineCache;
+import com.flightmanagement.flightservice.dto.cache.AirportCache;
+import com.flightmanagement.flightservice.dto.cache.RouteCache;
+import com.flightmanagement.flightservice.entity.Flight;
+import com.flightmanagement.flightservice.repository.FlightRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Deploy sonrası soğuk cache maliyetini trafiğe yansıtmamak için başlangıçta reference data'yı
+ * (aktif airline, airport, aircraft, route) ve bugün/yarın uçuşlarının referanslarını önceden yükler.
+ * Readiness, warm-up bitene ya da deadline dolana kadar OUT_OF_SERVICE kalır; başarısız warm-up
+ * hazır sayılmaz ve periyodik olarak yeniden denenir.
+ */
+@Service
+@Slf4j
+public class CacheWarmupService {
+
+    public enum State { NOT_STARTED, RUNNING, COMPLETED, DEADLINE_EXCEEDED, FAILED, DISABLED }
+
+    private static final String[] ENTITY_TYPES = {"AIRLINE", "AIRPORT", "AIRCRAFT", "ROUTE", "FLIGHT"};
+
+    private final ReferenceDataReplica referenceDataReplica;
+    private final ReferenceDataService referenceDataService;
+    private final CacheService cacheService;
+    private final FlightRepository flightRepository;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolTaskExecutor cacheWarmupExecutor;
+
+    @Value("${cache.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${cache.warmup.parallelism:4}")
+    private int parallelism;
+
+    @Value("${cache.warmup.deadline-ms:60000}")
+    private long deadlineMs;
+
+    @Value("${cache.warmup.write-chunk-size:500}")
+    private int writeChunkSize;
+
+    private final Map<String, AtomicLong> requested = new LinkedHashMap<>();
+    private final Map<String, AtomicLong> loaded = new LinkedHashMap<>();
+    private final Counter failureCounter;
+
+    private volatile State state = State.NOT_STARTED;
+    private volatile long startedAtMillis;
+    private volatile LocalDateTime completedAt;
+    private volatile long durationMs;
+
+    public CacheWarmupService(ReferenceDataReplica referenceDataReplica,
+                              ReferenceDataService referenceDataService,
+                              CacheService cacheService,
+                              FlightRepository flightRepository,
+                              MeterRegistry meterRegistry,
+                              ThreadPoolTaskExecutor cacheWarmupExecutor) {
+        this.referenceDataReplica = referenceDataReplica;
+        this.referenceDataService = referenceDataService;
+        this.cacheService = cacheService;
+        this.flightRepository = flightRepository;
+        this.meterRegistry = meterRegistry;
+        this.cacheWarmupExecutor = cacheWarmupExecutor;
+
+        for (String type : ENTITY_TYPES) {
+            AtomicLong requestedCount = new AtomicLong();
+            AtomicLong loadedCount = new AtomicLong();
+            requested.put(type, requestedCount);
+            loaded.put(type, loadedCount);
+
+            Gauge.builder("cache.warmup.entries", loadedCount, AtomicLong::get)
+                    .description("Entries loaded during startup warm-up")
+                    .tag("service", "flight-service")
+                    .tag("entityType", type)
+                    .register(meterRegistry);
+            Gauge.builder("cache.warmup.coverage", this, warmup -> warmup.coverage(type))
+                    .description("Share of requested entries that were loaded during warm-up")
+                    .tag("service", "flight-service")
+                    .tag("entityType", type)
+                    .register(meterRegistry);
+        }
+        this.failureCounter = Counter.builder("cache.warmup.failures")
+                .description("Warm-up tasks that failed")
+                .tag("service", "flight-service")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            state = State.DISABLED;
+            return;
+        }
+        start();
+    }
+
+    /**
+     * Başarısız warm-up'ı yeniden dener; pod FAILED durumunda kalıcı olarak trafik dışı kalmasın
+     */
+    @Scheduled(initialDelayString = "${cache.warmup.retry-interval-ms:30000}",
+            fixedDelayString = "${cache.warmup.retry-interval-ms:30000}")
+    public void retryFailedWarmup() {
+        if (state != State.FAILED) return;
+        log.info("Retrying failed cache warm-up");
+        start();
+    }
+
+    private synchronized void start() {
+        if (state == State.RUNNING) return;
+        requested.values().forEach(count -> count.set(0));
+        loaded.values().forEach(count -> count.set(0));
+        completedAt = null;
+        startedAtMillis = System.currentTimeMillis();
+        state = State.RUNNING;
+
+        cacheWarmupExecutor.execute(this::warmUp);
+    }
+
+    // ===============================
+    // READINESS
+    // ===============================
+
+    /**
+     * Warm-up bitti, kapalı ya da deadline geçtiyse trafik alınabilir; FAILED yeniden denenene kadar hazır değil
+     */
+    public boolean isReady() {
+        return switch (state) {
+            case COMPLETED, DEADLINE_EXCEEDED, DISABLED -> true;
+            case RUNNING -> System.currentTimeMillis() - startedAtMillis >= deadlineMs;
+            default -> false;
+        };
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("state", state);
+        status.put("deadlineMs", deadlineMs);
+        if (startedAtMillis > 0) {
+            status.put("elapsedMs", completedAt != null ? durationMs : System.currentTimeMillis() - startedAtMillis);
+        }
+        status.put("completedAt", completedAt);
+        Map<String, Object> coverage = new LinkedHashMap<>();
+        for (String type : ENTITY_TYPES) {
+            coverage.put(type.toLowerCase(), loaded.get(type).get() + "/" + requested.get(type).get());
+        }
+        status.put("coverage", coverage);
+        return status;
+    }
+
+    // ===============================
+    // WARM-UP
+    // ===============================
+
+    private void warmUp() {
+        log.info("Starting cache warm-up (parallelism={}, deadline={} ms)", parallelism, deadlineMs);
+        State outcome = State.COMPLETED;
+        try {
+            // Replika henüz bootstrap edilmediyse zamanlanmış senkronu beklemeden şimdi yükle
+            // (replika senkronu kendi içinde kilitli; zamanlanmış senkron sürüyorsa onu bekler)
+            if (referenceDataReplica.isEnabled() && !referenceDataReplica.isReady()) {
+                referenceDataReplica.synchronize();
+            }
+
+            LocalDate today = LocalDate.now();
+            List<Callable<Void>> tasks = new ArrayList<>();
+            if (referenceDataReplica.isReady()) {
+                tasks.add(() -> warmFromReplica("AIRLINE", AirlineCache.class,
+                        airline -> Boolean.TRUE.equals(airline.getActive()), cacheService::cacheAirlines));
+                tasks.add(() -> warmFromReplica("AIRPORT", AirportCache.class,
+                        airport -> Boolean.TRUE.equals(airport.getActive()), cacheService::cacheAirports));
+                tasks.add(() -> warmFromReplica("AIRCRAFT", AircraftCache.class,
+                        aircraft -> !"RETIRED".equalsIgnoreCase(aircraft.getStatus()), cacheService::cacheAircrafts));
+                tasks.add(() -> warmFromReplica("ROUTE", RouteCache.class,
+                        RouteCache::isActive, cacheService::cacheRoutes));
+            } else {
+                tasks.add(this::warmActiveRoutes);
+            }
+            tasks.add(() -> warmFlights(today));
+            tasks.add(() -> warmFlights(today.plusDays(1)));
+
+            long remaining = deadlineMs - (System.currentTimeMillis() - startedAtMillis);
+            // Süresi dolan görevler iptal edilip interrupt edilir; havuz Spring'e ait, kapatılmaz
+            List<Future<Void>> results = cacheWarmupExecutor.getThreadPoolExecutor().invokeAll(tasks, Math.max(0, remaining), TimeUnit.MILLISECONDS);
+            for (Future<Void> result : results) {
+                if (result.isCancelled()) {
+                    outcome = State.DEADLINE_EXCEEDED;
+                }
+            }
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            outcome = State.FAILED;
+        } catch (Exception e) {
+            log.warn("Cache warm-up failed: {}", e.getMessage());
+            failureCounter.increment();
+            outcome = State.FAILED;
+        } finally {
+            finish(outcome);
+        }
+    }
+
+    private <T> Void warmFromReplica(String entityType, Class<T> type, Predicate<T> activeFilter,
+                                     Consumer<Map<Long, T>> cacheWriter) {
+        Map<Long, T> active = referenceDataReplica.<T>getAll(entityType).entrySet().stream()
+                .filter(entry -> type.isInstance(entry.getValue()) && activeFilter.test(entry.getValue()))
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        requested.get(entityType).addAndGet(active.size());
+
+        runTask(entityType, () -> {
+            for (Map<Long, T> chunk : chunks(active)) {
+                if (Thread.currentThread().isInterrupted()) return;
+                cacheWriter.accept(chunk);
+                loaded.get(entityType).addAndGet(chunk.size());
+            }
+        });
+        return null;
+    }
+
+    /**
+     * Replika yoksa: aktif route'lar ve onların havalimanları reference-manager'dan toplu çekilir
+     */
+    private Void warmActiveRoutes() {
+        runTask("ROUTE", () -> {
+            RouteCache[] routes = referenceDataService.getActiveRoutes();
+            if (routes == null) return;
+
+            Map<Long, RouteCache> byId = new HashMap<>();
+            for (RouteCache route : routes) {
+                if (route != null && route.getId() != null) {
+                    byId.put(route.getId(), route);
+                }
+            }
+            requested.get("ROUTE").addAndGet(byId.size());
+            for (Map<Long, RouteCache> chunk : chunks(byId)) {
+                cacheService.cacheRoutes(chunk);
+                loaded.get("ROUTE").addAndGet(chunk.size());
+            }
+            resolve("AIRPORT", airportIdsOf(byId.values()), referenceDataService::getAirports);
+        });
+        return null;
+    }
+
+    /**
+     * Günün uçuşlarını yükler ve referanslarını toplu çözer (replika/Redis/batch HTTP, eksikler Redis'e yazılır)
+     */
+    private Void warmFlights(LocalDate date) {
+        runTask("FLIGHT", () -> {
+            List<Flight> flights = flightRepository.findByFlightDate(date);
+            requested.get("FLIGHT").addAndGet(flights.size());
+            loaded.get("FLIGHT").addAndGet(flights.size());
+
+            resolve("AIRLINE", idsOf(flights, Flight::getAirlineId), referenceDataService::getAirlines);
+            resolve("AIRCRAFT", idsOf(flights, Flight::getAircraftId), referenceDataService::getAircrafts);
+            Map<Long, RouteCache> routes = resolve("ROUTE", idsOf(flights, Flight::getRouteId), referenceDataService::getRoutes);
+            resolve("AIRPORT", airportIdsOf(routes.values()), referenceDataService::getAirports);
+
+            log.debug("Warmed {} flights for {}", flights.size(), date);
+        });
+        return null;
+    }
+
+    // ===============================
+    // HELPERS
+    // ===============================
+
+    private <T> Map<Long, T> resolve(String entityType, Set<Long> ids,
+                                     Function<Collection<Long>, Map<Long, T>> resolver) {
+        if (ids.isEmpty()) return Map.of();
+        requested.get(entityType).addAndGet(ids.size());
+        Map<Long, T> resolved = resolver.apply(ids);
+        loaded.get(entityType).addAndGet(resolved.size());
+        return resolved;
+    }
+
+    private void runTask(String name, Runnable task) {
+        try {
+            task.run();
+        } catch (Exception e) {
+            failureCounter.increment();
+            log.warn("Cache warm-up task {} failed: {}", name, e.getMessage());
+        }
+    }
+
+    private <T> List<Map<Long, T>> chunks(Map<Long, T> values) {
+        List<Map<Long, T>> chunks = new ArrayList<>();
+        Map<Long, T> current = new HashMap<>();
+        for (Map.Entry<Long, T> entry : values.entrySet()) {
+            current.put(entry.getKey(), entry.getValue());
+            if (current.size() >= writeChunkSize) {
+                chunks.add(current);
+                current = new HashMap<>();
+            }
+        }
+        if (!current.isEmpty()) {
+            chunks.add(current);
+        }
+        return chunks;
+    }
+
+    private static Set<Long> idsOf(List<Flight> flights, Function<Flight, Long> idGetter) {
+        return flights.stream().map(idGetter).filter(Objects::nonNull).collect(Collectors.toSet());
+    }
+
+    private static Set<Long> airportIdsOf(Collection<RouteCache> routes) {
+        Set<Long> ids = new HashSet<>();
+        for (RouteCache route : routes) {
+            ids.add(route.getOriginAirportId());
+            ids.add(route.getDestinationAirportId());
+        }
+        ids.remove(null);
+        return ids;
+    }
+
+    private double coverage(String entityType) {
+        long requestedCount = requested.get(entityType).get();
+        return requestedCount == 0 ? 1.0 : (double) loaded.get(entityType).get() / requestedCount;
+    }
+
+    private void finish(State outcome) {
+        durationMs = System.currentTimeMillis() - startedAtMillis;
+        completedAt = LocalDateTime.now();
+        state = outcome;
+        Timer.builder("cache.warmup.duration")
+                .description("Time spent warming caches at startup")
+                .tag("service", "flight-service")
+                .tag("outcome", outcome.name().toLowerCase())
+                .register(meterRegistry)
+                .record(durationMs, TimeUnit.MILLISECONDS);
+        log.info("Cache warm-up finished with {} in {} ms: {}", outcome, durationMs, getStatus().get("coverage"));
+    }
+}
@@ -14,6 +14,7 @@ import com.flightmanagement.flightservice.exception.BusinessException;
 import com.flightmanagement.flightservice.mapper.FlightMapper;
 import com.flightmanagement.flightservice.repository.FlightConnectionRepository;
 import com.flightmanagement.flightservice.repository.FlightRepository;
+import com.flightmanagement.flightservice.validator.FlightValidator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -39,6 +40,8 @@ public class ConnectingFlightService {
     private final ReferenceDataService referenceDataService;
     private final KafkaProducerService kafkaProducerService;
     private final WebSocketMessageService webSocketMessageService;
+    private final MinimumConnectionTimeService minimumConnectionTimeService;
+    private final FlightValidator flightValidator;
 
     /**
      * Aktarmalı uçuş oluşturur
@@ -48,6 +51,7 @@ public class ConnectingFlightService {
 
         // Validation
         validateConnectingFlightRequest(request);
+        flightValidator.validateConnectingSegments(null, request.getMainFlightNumber(), request.getSegments());
 
         // Ana uçuşu oluştur
         Flight mainFlight = createMainFlight(request);
@@ -95,7 +99,7 @@ public class ConnectingFlightService {
         }
 
         // Segment'lerin tutarlılığını kontrol et
-        validateSegmentConsistency(request.getSegments());
+        validateSegmentConsistency(request.getSegments(), request.getAirlineId());
 
         // Route bazlı validation
         validateSegmentRoutes(request.getSegments());
@@ -104,7 +108,8 @@ public class ConnectingFlightService {
         validateReferenceData(request);
     }
 
-    private void validateSegmentConsistency(List<FlightSegmentRequest> segments) {
+    private void validateSegmentConsistency(List<FlightSegmentRequest> segments, Long airlineId) {
+        MinimumConnectionTimeService.MctLookup mct = minimumConnectionTimeService.current();
         for (int i = 0; i < segments.size() - 1; i++) {
             FlightSegmentRequest current = segments.get(i);
             FlightSegmentRequest next = segments.get(i + 1);
@@ -118,7 +123,7 @@ public class ConnectingFlightService {
             validateRouteContinuity(current, next, i + 1);
 
             // Timing kontrolü
-            validateSegmentTiming(current, next, i + 1);
+            validateSegmentTiming(current, next, i + 1, airlineId, mct);
         }
     }
 
@@ -147,7 +152,8 @@ public class ConnectingFlightService {
         }
     }
 
-    private void validateSegmentTiming(FlightSegmentRequest current, FlightSegmentRequest next, int segmentIndex) {
+    private void validateSegmentTiming(FlightSegmentRequest current, FlightSegmentRequest next, int segmentIndex,
+                                       Long airlineId, MinimumConnectionTimeService.MctLookup mct) {
         // Arrival before next departure
         if (!current.getScheduledArrival().isBefore(next.getScheduledDeparture())) {
             throw new InvalidRequestException(
@@ -155,14 +161,16 @@ public class ConnectingFlightService {
                             segmentIndex, segmentIndex + 1));
         }
 
-        // Minimum connection time (30 dakika)
         long connectionMinutes = java.time.Duration.between(
                 current.getScheduledArrival(), next.getScheduledDeparture()).toMinutes();
 
-        if (connectionMinutes < 30) {
+        // Aktarma havalimanının MCT kuralı (segment'ler aynı havayolu ile uçar)
+        int minimumMinutes = mct.minutes(current.getDestinationAirportId(), airlineId, airlineId,
+                current.getOriginAirportId(), next.getDestinationAirportId());
+        if (connectionMinutes < minimumMinutes) {
             throw new InvalidRequestException(
-                    String.format("Minimum 30 minutes connection time required between segments %d and %d (found: %d minutes)",
-                            segmentIndex, segmentIndex + 1, connectionMinutes));
+                    String.format("Minimum %d minutes connection time required between segments %d and %d (found: %d minutes)",
+                            minimumMinutes, segmentIndex, segmentIndex + 1, connectionMinutes));
         }
 
         // Maximum connection time (24 saat)
@@ -255,19 +263,17 @@ public class ConnectingFlightService {
     }
 
     /**
-     * Uçuş segment'lerini oluşturur
+     * Uçuş segment'lerini oluşturur - id'ler pooled generator'dan geldiği için insert'ler tek batch'te gider
      */
     private List<Flight> createFlightSegments(Flight mainFlight, ConnectingFlightRequest request) {
         List<Flight> segments = new java.util.ArrayList<>();
 
         for (int i = 0; i < request.getSegments().size(); i++) {
             FlightSegmentRequest segmentRequest = request.getSegments().get(i);
-            Flight segment = createSegmentFromRequest(mainFlight, segmentRequest, i + 1);
-            segment = flightRepository.save(segment);
-            segments.add(segment);
+            segments.add(createSegmentFromRequest(mainFlight, segmentRequest, i + 1));
         }
 
-        return segments;
+        return flightRepository.saveAll(segments);
     }
 
     /**
@@ -308,6 +314,7 @@ public class ConnectingFlightService {
      * Flight connection'ları kaydeder
      */
     private void saveFlightConnections(Flight mainFlight, List<Flight> segments) {
+        List<FlightConnection> connections = new java.util.ArrayList<>(segments.size());
         for (int i = 0; i < segments.size(); i++) {
             Flight segment = segments.get(i);
 
@@ -323,8 +330,9 @@ public class ConnectingFlightService {
                 connection.setConnectionTimeMinutes(connectionTime);
             }
 
-            flightConnectionRepository.save(connection);
+            connections.add(connection);
         }
+        flightConnectionRepository.saveAll(connections);
     }
 
     /**
@@ -356,8 +364,9 @@ public class ConnectingFlightService {
         // Update kuralları kontrolü
         validateUpdateRules(mainFlight, request);
 
-        // Validasyon
+        // Validasyon - mevcut segment'ler yeniden yaratılacağı için gate/slot hesabında sayılmaz
         validateConnectingFlightRequest(request);
+        flightValidator.validateConnectingSegments(mainFlightId, request.getMainFlightNumber(), request.getSegments());
 
         // Mevcut segment'leri ve connection'ları sil
         deleteExistingSegments(mainFlightId);
@@ -443,6 +452,7 @@ public class ConnectingFlightService {
     /**
      * Filtrelemeyle aktarmalı uçuşları getir
      */
+    @Transactional(readOnly = true)
     public Page<FlightResponse> getConnectingFlightsWithFilters(Pageable pageable, Long airlineId, LocalDate flightDate) {
         log.debug("Getting connecting flights with filters - airlineId: {}, date: {}", airlineId, flightDate);
 
@@ -461,6 +471,7 @@ public class ConnectingFlightService {
     /**
      * Connection detaylarını getir
      */
+    @Transactional(readOnly = true)
     public List<FlightConnectionResponse> getConnectionDetails(Long mainFlightId) {
         List<FlightConnection> connections = flightConnectionRepository
                 .findByMainFlightIdOrderBySegmentOrder(mainFlightId);
@@ -1,11 +1,17 @@
 package com.flightmanagement.flightservice.service;
 
+import com.flightmanagement.flightservice.dto.cache.AirportCache;
+import com.flightmanagement.flightservice.dto.cache.RouteCache;
 import com.flightmanagement.flightservice.dto.request.FlightRequest;
+import com.flightmanagement.flightservice.dto.request.SlotCheckRequest;
 import com.flightmanagement.flightservice.dto.response.CsvPreviewResponse;
 import com.flightmanagement.flightservice.dto.response.CsvUploadResult;
+import com.flightmanagement.flightservice.dto.response.SlotCheckResponse;
+import com.flightmanagement.flightservice.entity.Flight;
 import com.flightmanagement.flightservice.entity.enums.FlightStatus;
 import com.flightmanagement.flightservice.entity.enums.FlightType;
 import com.flightmanagement.flightservice.exception.BusinessException;
+import com.flightmanagement.flightservice.validator.FlightValidator;
 import com.opencsv.CSVReader;
 import com.opencsv.exceptions.CsvException;
 import lombok.RequiredArgsConstructor;
@@ -15,6 +21,7 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -30,6 +37,9 @@ public class CsvProcessingService {
     private final FlightService flightService;
     private final ReferenceDataService referenceDataService;
     private final AutoRouteService autoRouteService;
+    private final MinimumConnectionTimeService minimumConnectionTimeService;
+    private final SlotCapacityService slotCapacityService;
+    private final FlightValidator flightValidator;
 
     private static final String[] EXPECTED_HEADERS = {
             "flightNumber", "airlineId", "aircraftId", "route", "flightDate",
@@ -37,6 +47,9 @@ public class CsvProcessingService {
             "status", "passengerCount", "cargoWeight"
     };
 
+    // Import transaction birimi; her chunk hibernate.jdbc.batch_size'lık JDBC batch'leri halinde yazılır
+    private static final int IMPORT_BATCH_SIZE = 200;
+
     private static final Pattern IATA_ROUTE_PATTERN = Pattern.compile("^[A-Z]{3}-[A-Z]{3}$");
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
@@ -61,13 +74,21 @@ public class CsvProcessingService {
             // Header validation
             validateCsvHeaders(records.get(0));
 
+            // Satırlardaki route id'leri tek seferde çek (replika, Redis MGET, batch HTTP)
+            Map<Long, RouteCache> routes = prefetchRoutes(records);
+            // IATA formatındaki route'lar: aynı havalimanı dosya başına bir kez çözülür
+            Map<String, AirportCache> airportsByIata = new HashMap<>();
+
             // Process each data row
             for (int i = 1; i < records.size(); i++) {
                 String[] row = records.get(i);
-                CsvPreviewResponse.PreviewRow previewRow = processRowForPreview(row, i + 1);
+                CsvPreviewResponse.PreviewRow previewRow = processRowForPreview(row, i + 1, routes, airportsByIata);
                 previewRows.add(previewRow);
             }
 
+            checkConnectionTimes(previewRows, routes);
+            checkSlotCapacity(previewRows, routes);
+
         } catch (IOException | CsvException e) {
             throw new BusinessException("Error reading CSV file: " + e.getMessage());
         }
@@ -99,24 +120,86 @@ public class CsvProcessingService {
         List<String> errors = new ArrayList<>();
         int successCount = 0;
 
+        // 1. Satırları doğrula ve entity'leri hazırla - hatalar satır bazında raporlanır
+        List<CsvPreviewResponse.PreviewRow> preparedRows = new ArrayList<>();
+        List<FlightRequest> preparedRequests = new ArrayList<>();
+        List<Flight> preparedFlights = new ArrayList<>();
+        Set<String> seenKeys = new HashSet<>();
+
+        List<CsvPreviewResponse.PreviewRow> rows = new ArrayList<>();
+        List<FlightRequest> requests = new ArrayList<>();
         for (CsvPreviewResponse.PreviewRow previewRow : validRows) {
             if (!previewRow.isValid()) {
                 continue; // Skip invalid rows
             }
+            try {
+                requests.add(convertPreviewRowToFlightRequest(previewRow));
+                rows.add(previewRow);
+            } catch (Exception e) {
+                errors.add(rowError(previewRow, e));
+            }
+        }
+        // Dosyadaki airline, aircraft ve route'lar tek seferde çekilir - satır doğrulaması bellekten okur
+        FlightValidator.References references = flightValidator.prefetch(requests);
 
+        for (int i = 0; i < rows.size(); i++) {
+            CsvPreviewResponse.PreviewRow previewRow = rows.get(i);
+            FlightRequest flightRequest = requests.get(i);
             try {
-                FlightRequest flightRequest = convertPreviewRowToFlightRequest(previewRow);
-                flightService.createFlight(flightRequest);
-                successCount++;
-                log.debug("Successfully imported flight: {}", flightRequest.getFlightNumber());
+                // Aynı dosyada tekrar eden uçuşları DB'ye gitmeden yakala
+                if (!seenKeys.add(flightRequest.getFlightNumber() + "|" + flightRequest.getFlightDate())) {
+                    throw new BusinessException("Duplicate flight in file: " + flightRequest.getFlightNumber()
+                            + " on " + flightRequest.getFlightDate());
+                }
+                preparedFlights.add(flightService.prepareFlight(flightRequest, references));
+                preparedRequests.add(flightRequest);
+                preparedRows.add(previewRow);
             } catch (Exception e) {
-                String errorMsg = "Row " + previewRow.getRowNumber() + " (" +
-                        previewRow.getParsedData().getFlightNumber() + "): " + e.getMessage();
-                errors.add(errorMsg);
+                errors.add(rowError(previewRow, e));
                 log.warn("Failed to import row {}: {}", previewRow.getRowNumber(), e.getMessage());
             }
         }
 
+        // 2. Dosyadaki uçuşlar birbirinin slotunu da tüketir - satır bazlı doğrulama bunu göremez
+        if (!preparedRequests.isEmpty()) {
+            SlotCheckResponse slotCheck = flightValidator.validateSlotCapacity(preparedRequests, references);
+            Set<Integer> rejected = new TreeSet<>(Comparator.reverseOrder());
+            for (SlotCheckResponse.SlotViolation violation : slotCheck.getViolations()) {
+                if (violation.isRejected() && rejected.add(violation.getIndex())) {
+                    errors.add("Row " + preparedRows.get(violation.getIndex()).getRowNumber() + " ("
+                            + violation.getFlightNumber() + "): " + violation.describe());
+                } else if (!violation.isRejected()) {
+                    log.warn("Row {} ({}): {}", preparedRows.get(violation.getIndex()).getRowNumber(),
+                            violation.getFlightNumber(), violation.describe());
+                }
+            }
+            // Sondan başa sil ki indeksler kaymasın
+            for (int index : rejected) {
+                preparedRows.remove(index);
+                preparedRequests.remove(index);
+                preparedFlights.remove(index);
+            }
+        }
+
+        // 3. Chunk'lar halinde batch insert; chunk başarısız olursa hatalı satırı bulmak için tek tek dene
+        for (int from = 0; from < preparedFlights.size(); from += IMPORT_BATCH_SIZE) {
+            int to = Math.min(from + IMPORT_BATCH_SIZE, preparedFlights.size());
+            try {
+                successCount += flightService.saveFlightBatch(preparedFlights.subList(from, to)).size();
+            } catch (Exception batchError) {
+                log.warn("Batch insert of rows {}-{} failed, retrying row by row: {}", from, to, batchError.getMessage());
+                for (int i = from; i < to; i++) {
+                    try {
+                        flightService.createFlight(preparedRequests.get(i));
+                        successCount++;
+                    } catch (Exception e) {
+                        errors.add(rowError(preparedRows.get(i), e));
+                        log.warn("Failed to import row {}: {}", preparedRows.get(i).getRowNumber(), e.getMessage());
+                    }
+                }
+            }
+        }
+
         result.setTotalRows(validRows.size());
         result.setSuccessCount(successCount);
         result.setFailureCount(validRows.size() - successCount);
@@ -128,6 +211,11 @@ public class CsvProcessingService {
         return result;
     }
 
+    private String rowError(CsvPreviewResponse.PreviewRow previewRow, Exception e) {
+        return "Row " + previewRow.getRowNumber() + " (" +
+                previewRow.getParsedData().getFlightNumber() + "): " + e.getMessage();
+    }
+
     /**
      * CSV template generator with examples for both route types
      */
@@ -159,7 +247,122 @@ public class CsvProcessingService {
         }
     }
 
-    private CsvPreviewResponse.PreviewRow processRowForPreview(String[] row, int rowNumber) {
+    private Map<Long, RouteCache> prefetchRoutes(List<String[]> records) {
+        Set<Long> routeIds = new HashSet<>();
+        for (int i = 1; i < records.size(); i++) {
+            String[] row = records.get(i);
+            if (row.length > 3 && row[3] != null && isNumeric(row[3].trim())) {
+                routeIds.add(Long.parseLong(row[3].trim()));
+            }
+        }
+        if (routeIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        try {
+            return new HashMap<>(referenceDataService.getRoutes(routeIds));
+        } catch (Exception e) {
+            log.warn("Bulk route lookup for CSV preview failed: {}", e.getMessage());
+            return new HashMap<>();
+        }
+    }
+
+    /**
+     * Aynı uçağın ardışık bacakları arasındaki yer süresini aktarma havalimanının MCT'si ile karşılaştırır.
+     * Lookup bellekte olduğu için dosya boyutundan bağımsız olarak remote çağrı yapılmaz; ihlaller uyarıdır.
+     */
+    private void checkConnectionTimes(List<CsvPreviewResponse.PreviewRow> previewRows, Map<Long, RouteCache> routes) {
+        Map<Long, List<CsvPreviewResponse.PreviewRow>> rowsByAircraft = new HashMap<>();
+        for (CsvPreviewResponse.PreviewRow row : previewRows) {
+            CsvPreviewResponse.ParsedFlightData data = row.getParsedData();
+            if (row.isValid() && data.getAircraftId() != null
+                    && data.getScheduledDeparture() != null && data.getScheduledArrival() != null) {
+                rowsByAircraft.computeIfAbsent(data.getAircraftId(), id -> new ArrayList<>()).add(row);
+            }
+        }
+
+        MinimumConnectionTimeService.MctLookup mct = minimumConnectionTimeService.current();
+        for (List<CsvPreviewResponse.PreviewRow> rows : rowsByAircraft.values()) {
+            rows.sort(Comparator.comparing(row -> row.getParsedData().getScheduledDeparture()));
+
+            for (int i = 1; i < rows.size(); i++) {
+                CsvPreviewResponse.ParsedFlightData inbound = rows.get(i - 1).getParsedData();
+                CsvPreviewResponse.ParsedFlightData outbound = rows.get(i).getParsedData();
+                Long[] inboundAirports = airportsOf(inbound, routes);
+                Long[] outboundAirports = airportsOf(outbound, routes);
+                if (inboundAirports == null || outboundAirports == null || !inboundAirports[1].equals(outboundAirports[0])) {
+                    continue;
+                }
+
+                long groundMinutes = Duration.between(inbound.getScheduledArrival(), outbound.getScheduledDeparture()).toMinutes();
+                if (groundMinutes > 1440) {
+                    continue;
+                }
+                int minimumMinutes = mct.minutes(inboundAirports[1], inbound.getAirlineId(), outbound.getAirlineId(),
+                        inboundAirports[0], outboundAirports[1]);
+                if (groundMinutes < minimumMinutes) {
+                    rows.get(i).getWarnings().add(String.format(
+                            "Connection from %s is %d minutes, below the %d minute minimum connection time",
+                            inbound.getFlightNumber(), groundMinutes, minimumMinutes));
+                }
+            }
+        }
+    }
+
+    /**
+     * Satırları dosya sırasıyla havalimanı kapasitesine karşı kontrol eder; önceki satırlar sonrakilerin
+     * sayacına eklenir. REJECT deklarasyonunu aşan satır geçersiz olur, WARN aşımı uyarıdır.
+     */
+    private void checkSlotCapacity(List<CsvPreviewResponse.PreviewRow> previewRows, Map<Long, RouteCache> routes) {
+        List<CsvPreviewResponse.PreviewRow> rows = new ArrayList<>();
+        List<SlotCheckRequest.PlannedFlight> planned = new ArrayList<>();
+        for (CsvPreviewResponse.PreviewRow row : previewRows) {
+            CsvPreviewResponse.ParsedFlightData data = row.getParsedData();
+            Long[] airports = row.isValid() ? airportsOf(data, routes) : null;
+            if (airports == null || data.getScheduledDeparture() == null || data.getScheduledArrival() == null
+                    || FlightStatus.CANCELLED.equals(data.getStatus())) {
+                continue;
+            }
+            SlotCheckRequest.PlannedFlight flight = new SlotCheckRequest.PlannedFlight();
+            flight.setFlightNumber(data.getFlightNumber());
+            flight.setOriginAirportId(airports[0]);
+            flight.setDestinationAirportId(airports[1]);
+            flight.setScheduledDeparture(data.getScheduledDeparture());
+            flight.setScheduledArrival(data.getScheduledArrival());
+            planned.add(flight);
+            rows.add(row);
+        }
+        if (planned.isEmpty()) {
+            return;
+        }
+
+        for (SlotCheckResponse.SlotViolation violation : slotCapacityService.checkBatch(planned).getViolations()) {
+            CsvPreviewResponse.PreviewRow row = rows.get(violation.getIndex());
+            if (violation.isRejected()) {
+                String field = "ARRIVAL".equals(violation.getMovement()) ? "scheduledArrival" : "scheduledDeparture";
+                row.getFieldErrors().putIfAbsent(field, violation.describe());
+                row.setValid(false);
+            } else {
+                row.getWarnings().add(violation.describe());
+            }
+        }
+    }
+
+    /**
+     * [origin, destination] havalimanı id'leri; çözülemezse null
+     */
+    private Long[] airportsOf(CsvPreviewResponse.ParsedFlightData data, Map<Long, RouteCache> routes) {
+        if ("AIRPORTS".equals(data.getCreationMode())) {
+            return new Long[]{data.getOriginAirportId(), data.getDestinationAirportId()};
+        }
+        RouteCache route = data.getRouteId() != null ? routes.get(data.getRouteId()) : null;
+        if (route == null || route.getOriginAirportId() == null || route.getDestinationAirportId() == null) {
+            return null;
+        }
+        return new Long[]{route.getOriginAirportId(), route.getDestinationAirportId()};
+    }
+
+    private CsvPreviewResponse.PreviewRow processRowForPreview(String[] row, int rowNumber, Map<Long, RouteCache> routes,
+                                                               Map<String, AirportCache> airportsByIata) {
         CsvPreviewResponse.PreviewRow previewRow = new CsvPreviewResponse.PreviewRow();
         previewRow.setRowNumber(rowNumber);
 
@@ -171,7 +374,7 @@ public class CsvProcessingService {
             CsvPreviewResponse.ParsedFlightData parsedData = parseRowData(row, fieldErrors, warnings);
 
             // Route processing (key logic)
-            processRouteField(parsedData, fieldErrors, warnings);
+            processRouteField(parsedData, fieldErrors, warnings, routes, airportsByIata);
 
             previewRow.setParsedData(parsedData);
             previewRow.setFieldErrors(fieldErrors);
@@ -269,7 +472,8 @@ public class CsvProcessingService {
     }
 
     private void processRouteField(CsvPreviewResponse.ParsedFlightData data,
-                                   Map<String, String> fieldErrors, List<String> warnings) {
+                                   Map<String, String> fieldErrors, List<String> warnings,
+                                   Map<Long, RouteCache> routes, Map<String, AirportCache> airportsByIata) {
 
         String routeInput = data.getRouteInput();
         if (routeInput == null || routeInput.trim().isEmpty()) {
@@ -285,7 +489,7 @@ public class CsvProcessingService {
 
             // Validate route exists in database
             try {
-                var route = referenceDataService.getRoute(routeId);
+                var route = routes.computeIfAbsent(routeId, referenceDataService::getRoute);
                 if (route == null) {
                     fieldErrors.put("route", "Route ID " + routeId + " not found in database");
                     return;
@@ -311,8 +515,8 @@ public class CsvProcessingService {
 
             // Validate IATA codes
             try {
-                var originAirport = referenceDataService.getAirportByIataCode(originIata);
-                var destAirport = referenceDataService.getAirportByIataCode(destIata);
+                var originAirport = airportsByIata.computeIfAbsent(originIata, referenceDataService::getAirportByIataCode);
+                var destAirport = airportsByIata.computeIfAbsent(destIata, referenceDataService::getAirportByIataCode);
 
                 if (originAirport == null) {
                     fieldErrors.put("route", "Origin airport " + originIata + " not found");
@@ -0,0 +1,471 @@
+package com.flightmanagement.flightservice.service;
+
+import com.flightmanagement.flightservice.dto.cache.RouteCache;
+import com.flightmanagement.flightservice.dto.response.DelayImpactResponse;
+import com.flightmanagement.flightservice.entity.Flight;
+import com.flightmanagement.flightservice.entity.enums.FlightStatus;
+import com.flightmanagement.flightservice.event.FlightChangedEvent;
+import com.flightmanagement.flightservice.exception.ResourceNotFoundException;
+import com.flightmanagement.flightservice.repository.FlightRepository;
+import com.flightmanagement.flightservice.service.RotationGraph.FlightNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Gecikme yayılım motoru.
+ *
+ * Pencere içindeki uçuşlar bellekte uçak rotasyonları (aircraftId, kalkış sırası) ve aktarmalı uçuş
+ * segment'leri (parentFlightId, segment sırası) olarak tutulur. Bir gecikme kaydedildiğinde yalnızca
+ * etkilenen alt graph gezilir: rotasyondaki sonraki uçuşa turnaround payını aşan kısım aktarılır,
+ * segment'ler arası aktarmalar MCT ile kontrol edilir ve sonuç tek bir impact event'i olarak yayınlanır.
+ *
+ * Graph FlightChangedEvent ile artımlı güncellenir; pencereyi kaydırmak için periyodik rebuild yapılır.
+ */
+@Service
+@Slf4j
+public class DelayPropagationService {
+
+    private static final Set<String> GRAPH_COLUMNS = Set.of(
+            "id", "flightNumber", "airlineId", "aircraftId", "routeId", "flightDate",
+            "scheduledDeparture", "scheduledArrival", "actualDeparture", "actualArrival",
+            "status", "active", "isConnectingFlight", "parentFlightId", "segmentNumber", "delayMinutes");
+
+    private final ActiveFlightLoader activeFlights;
+    private final MinimumConnectionTimeService minimumConnectionTimeService;
+    private final KafkaProducerService kafkaProducerService;
+    private final WebSocketMessageService webSocketMessageService;
+    private final Timer propagationTimer;
+    private final Counter impactCounter;
+
+    @Value("${delay-propagation.min-turnaround-minutes:30}")
+    private int minTurnaroundMinutes;
+
+    @Value("${delay-propagation.days-back:1}")
+    private int daysBack;
+
+    @Value("${delay-propagation.days-ahead:2}")
+    private int daysAhead;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private RotationGraph graph = new RotationGraph(LocalDate.now(), LocalDate.now().minusDays(1));
+
+    // Rebuild sürerken gelen değişiklikler; yeni graph devreye alınmadan önce tekrar uygulanır - lock altında
+    private final RebuildChangeTracker<FlightNode> changesDuringRebuild = new RebuildChangeTracker<>();
+
+    private volatile LocalDateTime lastRebuildAt;
+    private volatile DelayImpactResponse lastImpact;
+
+    public DelayPropagationService(FlightRepository flightRepository,
+                                   ReferenceDataService referenceDataService,
+                                   MinimumConnectionTimeService minimumConnectionTimeService,
+                                   KafkaProducerService kafkaProducerService,
+                                   WebSocketMessageService webSocketMessageService,
+                                   MeterRegistry meterRegistry) {
+        this.activeFlights = new ActiveFlightLoader(flightRepository, referenceDataService, GRAPH_COLUMNS);
+        this.minimumConnectionTimeService = minimumConnectionTimeService;
+        this.kafkaProducerService = kafkaProducerService;
+        this.webSocketMessageService = webSocketMessageService;
+        this.propagationTimer = Timer.builder("delay.propagation.duration")
+                .description("Time to compute knock-on delays and broken connections for a delay")
+                .tag("service", "flight-service")
+                .register(meterRegistry);
+        this.impactCounter = Counter.builder("delay.propagation.impacts")
+                .description("Delay impact events published")
+                .tag("service", "flight-service")
+                .register(meterRegistry);
+    }
+
+    // ===============================
+    // IMPACT
+    // ===============================
+
+    /**
+     * Uçuşun mevcut (kaydedilmiş gecikmesi dahil) saatlerinin rotasyon ve aktarmalara etkisi
+     */
+    public DelayImpactResponse getImpact(Long flightId) {
+        lock.readLock().lock();
+        try {
+            FlightNode source = graph.nodes.get(flightId);
+            if (source == null) {
+                throw new ResourceNotFoundException("Flight " + flightId + " is not in the delay propagation window "
+                        + graph.windowStart + " - " + graph.windowEnd);
+            }
+            return computeImpact(source);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            status.put("windowStart", graph.windowStart);
+            status.put("windowEnd", graph.windowEnd);
+            status.put("flights", graph.nodes.size());
+            status.put("aircraftRotations", graph.rotations.size());
+            status.put("connectingFlights", graph.segments.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+        status.put("minTurnaroundMinutes", minTurnaroundMinutes);
+        status.put("lastRebuildAt", lastRebuildAt);
+        DelayImpactResponse last = lastImpact;
+        if (last != null) {
+            status.put("lastImpactFlightId", last.getSourceFlightId());
+            status.put("lastImpactAffectedFlights", last.getAffectedFlights());
+            status.put("lastImpactAt", last.getComputedAt());
+        }
+        return status;
+    }
+
+    private DelayImpactResponse computeImpact(FlightNode source) {
+        long started = System.nanoTime();
+        Propagation propagation = propagate(graph, Map.of(source.id, source.delayMinutes));
+        List<DelayImpactResponse.BrokenConnection> broken = findBrokenConnections(graph, propagation);
+        long elapsed = System.nanoTime() - started;
+        propagationTimer.record(elapsed, TimeUnit.NANOSECONDS);
+
+        return toImpact(source, source.delayMinutes, propagation, broken, elapsed);
+    }
+
+    /**
+     * Seed gecikmelerini rotasyon boyunca ilerletir. Gecikmeler ilk plana (kaydedilen gecikme düşülmüş saatler)
+     * göre toplam dakikadır; seed verilmeyen uçuşlar kendi kaydedilmiş gecikmeleriyle başlar. Sonraki bacak
+     * önceki bacağın tahmini varışı + minimum turnaround'dan önce kalkamaz, yani
+     * knockOn = delay + minTurnaround - plannedGap. Kalkmış bacakta ya da taşma kalmadığında zincir durur.
+     */
+    Propagation propagate(RotationGraph g, Map<Long, Integer> seeds) {
+        Propagation propagation = new Propagation(seeds.keySet(), new HashMap<>(seeds), new HashMap<>());
+        PriorityQueue<FlightNode> queue = new PriorityQueue<>(FlightNode.ROTATION_ORDER);
+        for (Long id : seeds.keySet()) {
+            FlightNode node = g.nodes.get(id);
+            if (node != null) {
+                queue.add(node);
+            }
+        }
+
+        while (!queue.isEmpty()) {
+            FlightNode node = queue.poll();
+            FlightNode next = g.nextInRotation(node);
+            if (next == null || next.departed) {
+                continue;
+            }
+
+            LocalDateTime ready = propagation.arrivalOf(node).plusMinutes(minTurnaroundMinutes);
+            int knockOn = (int) Math.max(0, minutesBetween(next.plannedDeparture, ready));
+            if (knockOn > propagation.delayOf(next)) {
+                propagation.delays.put(next.id, knockOn);
+                propagation.causedBy.put(next.id, node.id);
+                queue.add(next);
+            }
+        }
+        return propagation;
+    }
+
+    /**
+     * Etkilenen segment'lerin önceki/sonraki segment ile aktarmasını MCT'ye göre kontrol eder
+     */
+    List<DelayImpactResponse.BrokenConnection> findBrokenConnections(RotationGraph g, Propagation propagation) {
+        MinimumConnectionTimeService.MctLookup mct = minimumConnectionTimeService.current();
+        List<DelayImpactResponse.BrokenConnection> broken = new ArrayList<>();
+        Set<Long> checkedInbound = new HashSet<>();
+
+        for (Long id : propagation.delays.keySet()) {
+            FlightNode node = g.nodes.get(id);
+            if (node == null || node.parentFlightId == null) {
+                continue;
+            }
+            FlightNode previous = g.adjacentSegment(node, -1);
+            FlightNode next = g.adjacentSegment(node, 1);
+            for (FlightNode[] pair : new FlightNode[][]{{previous, node}, {node, next}}) {
+                FlightNode inbound = pair[0];
+                FlightNode outbound = pair[1];
+                if (inbound == null || outbound == null || outbound.departed || !checkedInbound.add(inbound.id)) {
+                    continue;
+                }
+                LocalDateTime arrival = propagation.arrivalOf(inbound);
+                LocalDateTime departure = propagation.departureOf(outbound);
+                int layover = (int) minutesBetween(arrival, departure);
+                int required = mct.minutes(inbound.destinationAirportId, inbound.airlineId, outbound.airlineId,
+                        inbound.originAirportId, outbound.destinationAirportId);
+                if (layover < required) {
+                    broken.add(DelayImpactResponse.BrokenConnection.builder()
+                            .parentFlightId(node.parentFlightId)
+                            .inboundFlightId(inbound.id)
+                            .inboundFlightNumber(inbound.flightNumber)
+                            .outboundFlightId(outbound.id)
+                            .outboundFlightNumber(outbound.flightNumber)
+                            .airportId(inbound.destinationAirportId)
+                            .layoverMinutes(layover)
+                            .requiredMinutes(required)
+                            .reason("MISSED_CONNECTION")
+                            .build());
+                }
+            }
+        }
+        return broken;
+    }
+
+    private DelayImpactResponse toImpact(FlightNode source, int sourceDelay, Propagation propagation,
+                                         List<DelayImpactResponse.BrokenConnection> broken, long elapsedNanos) {
+        List<DelayImpactResponse.KnockOnDelay> knockOns = new ArrayList<>();
+        int total = 0;
+        for (Long id : propagation.delays.keySet()) {
+            FlightNode node = graph.nodes.get(id);
+            int added = propagation.addedDelayOf(node);
+            if (propagation.seeds.contains(id) || added <= 0) {
+                continue;
+            }
+            total += added;
+            knockOns.add(DelayImpactResponse.KnockOnDelay.builder()
+                    .flightId(node.id)
+                    .flightNumber(node.flightNumber)
+                    .aircraftId(node.aircraftId)
+                    .causedByFlightId(propagation.causedBy.get(node.id))
+                    .delayMinutes(added)
+                    .projectedDeparture(propagation.departureOf(node))
+                    .projectedArrival(propagation.arrivalOf(node))
+                    .build());
+        }
+        knockOns.sort(Comparator.comparing(DelayImpactResponse.KnockOnDelay::getProjectedDeparture));
+
+        return DelayImpactResponse.builder()
+                .sourceFlightId(source.id)
+                .sourceFlightNumber(source.flightNumber)
+                .delayMinutes(sourceDelay)
+                .computedAt(LocalDateTime.now())
+                .affectedFlights(knockOns.size())
+                .totalKnockOnMinutes(total)
+                .knockOnDelays(knockOns)
+                .brokenConnections(broken)
+                .computeMicros(elapsedNanos / 1000)
+                .build();
+    }
+
+    // ===============================
+    // GRAPH MAINTENANCE
+    // ===============================
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFlightChanged(FlightChangedEvent event) {
+        Flight flight = event.getFlight();
+        if (flight == null || flight.getId() == null) {
+            return;
+        }
+
+        try {
+            if (event.isConnectingParent()) {
+                // Ana kayıt rotasyona girmez; segment'ler güncellenmiş ya da parent ile birlikte silinmiş olabilir
+                List<FlightNode> segments = event.isDeleted()
+                        ? List.of() : activeFlights.loadSegments(flight.getId(), this::toNode);
+                replaceSegments(flight.getId(), segments);
+                return;
+            }
+
+            FlightNode node = event.isDeleted() ? null : toNode(flight, activeFlights.routeOf(flight));
+            apply(flight.getId(), node);
+
+            if ("FLIGHT_DELAYED".equals(event.getEventType()) && node != null) {
+                publishImpact(node.id);
+            }
+        } catch (Exception e) {
+            log.warn("Could not apply flight {} change to delay propagation graph: {}", flight.getId(), e.getMessage());
+        }
+    }
+
+    private void publishImpact(Long flightId) {
+        DelayImpactResponse impact;
+        lock.readLock().lock();
+        try {
+            FlightNode source = graph.nodes.get(flightId);
+            if (source == null) {
+                return;
+            }
+            impact = computeImpact(source);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (impact.getKnockOnDelays().isEmpty() && impact.getBrokenConnections().isEmpty()) {
+            log.debug("Delay of flight {} absorbed without downstream impact", flightId);
+            return;
+        }
+
+        lastImpact = impact;
+        impactCounter.increment();
+        log.info("Delay of flight {} propagates to {} flight(s) (+{} min), {} broken connection(s)",
+                impact.getSourceFlightNumber(), impact.getAffectedFlights(), impact.getTotalKnockOnMinutes(),
+                impact.getBrokenConnections().size());
+        kafkaProducerService.sendDelayImpactEvent(impact);
+        webSocketMessageService.sendBulkFlightUpdate("DELAY_IMPACT", impact);
+    }
+
+    @Scheduled(initialDelayString = "${delay-propagation.initial-delay-ms:5000}",
+            fixedDelayString = "${delay-propagation.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        LocalDate windowStart = LocalDate.now().minusDays(daysBack);
+        LocalDate windowEnd = LocalDate.now().plusDays(daysAhead);
+
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild.begin();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        RotationGraph built;
+        try {
+            built = load(windowStart, windowEnd);
+        } catch (Exception e) {
+            log.error("Delay propagation graph rebuild failed, keeping previous graph: {}", e.getMessage());
+            built = null;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (built != null) {
+                RotationGraph target = built;
+                changesDuringRebuild.replay(target::remove, node -> {
+                    if (target.covers(node.flightDate)) {
+                        target.put(node);
+                    }
+                });
+                graph = built;
+                lastRebuildAt = LocalDateTime.now();
+                log.info("Delay propagation graph rebuilt: {} flights on {} aircraft for {} - {} in {} ms",
+                        built.nodes.size(), built.rotations.size(), windowStart, windowEnd,
+                        System.currentTimeMillis() - started);
+            }
+        } finally {
+            changesDuringRebuild.end();
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Verilen günlerin bağımsız kopyası. Canlı pencere kapsıyorsa ondan fork edilir (zincirler paylaşılır),
+     * aksi halde aralık FlightRepository'den okunur. Dönen graph çağırana aittir.
+     */
+    RotationGraph snapshot(LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        try {
+            if (graph.covers(from) && graph.covers(to)) {
+                return graph.fork();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return load(from, to);
+    }
+
+    private RotationGraph load(LocalDate from, LocalDate to) {
+        RotationGraph loaded = new RotationGraph(from, to);
+        activeFlights.loadWindow(from, to, this::toNode).forEach(loaded::put);
+        return loaded;
+    }
+
+    int getMinTurnaroundMinutes() {
+        return minTurnaroundMinutes;
+    }
+
+    private void apply(Long flightId, FlightNode node) {
+        lock.writeLock().lock();
+        try {
+            if (node != null && graph.covers(node.flightDate)) {
+                graph.put(node);
+            } else {
+                graph.remove(flightId);
+            }
+            changesDuringRebuild.track(flightId, node);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void replaceSegments(Long parentFlightId, List<FlightNode> segments) {
+        lock.writeLock().lock();
+        try {
+            for (FlightNode old : graph.segmentsOf(parentFlightId)) {
+                graph.remove(old.id);
+                changesDuringRebuild.track(old.id, null);
+            }
+            for (FlightNode segment : segments) {
+                if (graph.covers(segment.flightDate)) {
+                    graph.put(segment);
+                }
+                changesDuringRebuild.track(segment.id, segment);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rotasyona girmeyen uçuşlar için null: iptal/pasif, uçağı atanmamış ya da aktarmalı uçuşun ana kaydı
+     */
+    private FlightNode toNode(Flight flight, RouteCache route) {
+        if (!Boolean.TRUE.equals(flight.getActive()) || FlightStatus.CANCELLED.equals(flight.getStatus())
+                || flight.getAircraftId() == null || flight.getFlightDate() == null
+                || flight.getScheduledDeparture() == null || flight.getScheduledArrival() == null) {
+            return null;
+        }
+        if (Boolean.TRUE.equals(flight.getIsConnectingFlight()) && flight.getParentFlightId() == null) {
+            return null;
+        }
+        return new FlightNode(flight, route);
+    }
+
+    static long minutesBetween(LocalDateTime from, LocalDateTime to) {
+        return Duration.between(from, to).toMinutes();
+    }
+
+    // ===============================
+    // GRAPH STRUCTURES
+    // ===============================
+
+    static final class Propagation {
+        final Set<Long> seeds;
+        final Map<Long, Integer> delays;      // flightId -> ilk plana göre toplam tahmini gecikme
+        final Map<Long, Long> causedBy;
+
+        Propagation(Set<Long> seeds, Map<Long, Integer> delays, Map<Long, Long> causedBy) {
+            this.seeds = seeds;
+            this.delays = delays;
+            this.causedBy = causedBy;
+        }
+
+        int delayOf(FlightNode node) {
+            return delays.getOrDefault(node.id, node.delayMinutes);
+        }
+
+        /**
+         * Kaydedilmiş gecikmenin üzerine gelen kısım
+         */
+        int addedDelayOf(FlightNode node) {
+            return Math.max(0, delayOf(node) - node.delayMinutes);
+        }
+
+        LocalDateTime departureOf(FlightNode node) {
+            return node.departed ? node.departure : node.plannedDeparture.plusMinutes(delayOf(node));
+        }
+
+        LocalDateTime arrivalOf(FlightNode node) {
+            return node.plannedArrival.plusMinutes(delayOf(node));
+        }
+    }
+}
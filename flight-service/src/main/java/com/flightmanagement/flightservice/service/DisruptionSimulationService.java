@@ -0,0 +1,412 @@
+package com.flightmanagement.flightservice.service;
+
+import com.flightmanagement.flightservice.dto.cache.AirportCache;
+import com.flightmanagement.flightservice.dto.request.DisruptionScenarioRequest;
+import com.flightmanagement.flightservice.dto.response.DelayImpactResponse;
+import com.flightmanagement.flightservice.dto.response.DisruptionSimulationResponse;
+import com.flightmanagement.flightservice.exception.BusinessException;
+import com.flightmanagement.flightservice.service.DelayPropagationService.Propagation;
+import com.flightmanagement.flightservice.service.RotationGraph.FlightNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * What-if bozulma simülatörü.
+ *
+ * Senaryonun günleri için DelayPropagationService'ten copy-on-write bir snapshot alınır; gecikme,
+ * iptal ve havalimanı kapanışları yalnızca bu kopyanın fork'una uygulanır, veritabanına yazılmaz.
+ * Aynı günleri kullanan senaryolar tek snapshot'ı paylaşır ve paralel değerlendirilir.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DisruptionSimulationService {
+
+    private final DelayPropagationService delayPropagationService;
+    private final ReferenceDataService referenceDataService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${disruption-simulation.parallelism:4}")
+    private int parallelism;
+
+    @Value("${disruption-simulation.max-scenarios:20}")
+    private int maxScenarios;
+
+    @Value("${disruption-simulation.timeout-ms:10000}")
+    private long timeoutMs;
+
+    private ExecutorService simulationExecutor;
+    private Timer simulationTimer;
+
+    @PostConstruct
+    public void initSimulationExecutor() {
+        AtomicInteger threadCounter = new AtomicInteger();
+        simulationExecutor = Executors.newFixedThreadPool(Math.max(1, parallelism), runnable -> {
+            Thread thread = new Thread(runnable, "disruption-simulation-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        simulationTimer = Timer.builder("disruption.simulation.duration")
+                .description("Time to evaluate a single what-if disruption scenario")
+                .tag("service", "flight-service")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdownSimulationExecutor() {
+        if (simulationExecutor != null) {
+            simulationExecutor.shutdownNow();
+        }
+    }
+
+    // ===============================
+    // SIMULATION
+    // ===============================
+
+    public DisruptionSimulationResponse simulate(DisruptionScenarioRequest request) {
+        return simulateAll(List.of(request)).get(0);
+    }
+
+    /**
+     * Sonuçlar istek sırasıyla döner
+     */
+    public List<DisruptionSimulationResponse> simulateAll(List<DisruptionScenarioRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new BusinessException("At least one scenario is required");
+        }
+        if (requests.size() > maxScenarios) {
+            throw new BusinessException("Cannot simulate more than " + maxScenarios + " scenarios at once");
+        }
+
+        // Snapshot'lar çağıran thread'de alınır; worker'lar yalnızca bellekteki kopyalarla çalışır
+        Map<String, RotationGraph> snapshots = new HashMap<>();
+        List<Callable<DisruptionSimulationResponse>> tasks = new ArrayList<>(requests.size());
+        for (DisruptionScenarioRequest request : requests) {
+            Scenario scenario = resolve(request);
+            RotationGraph baseline = snapshots.computeIfAbsent(scenario.from + ".." + scenario.to,
+                    key -> delayPropagationService.snapshot(scenario.from, scenario.to));
+            scenario.checkFlightsExist(baseline);
+            tasks.add(() -> run(scenario, baseline));
+        }
+
+        try {
+            List<Future<DisruptionSimulationResponse>> futures =
+                    simulationExecutor.invokeAll(tasks, timeoutMs, TimeUnit.MILLISECONDS);
+            List<DisruptionSimulationResponse> results = new ArrayList<>(futures.size());
+            for (Future<DisruptionSimulationResponse> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (CancellationException e) {
+            throw new BusinessException("Disruption simulation did not finish within " + timeoutMs + " ms");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Disruption simulation failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Disruption simulation interrupted", e);
+        }
+    }
+
+    private DisruptionSimulationResponse run(Scenario scenario, RotationGraph baseline) {
+        long started = System.nanoTime();
+        RotationGraph graph = baseline.fork();
+        int minTurnaround = delayPropagationService.getMinTurnaroundMinutes();
+
+        // 1) Senaryo girdilerini seed gecikmelere ve iptallere çevir
+        Map<Long, Integer> seeds = new HashMap<>(scenario.delays);
+        Map<Long, String> seedReasons = new HashMap<>();
+        scenario.delays.keySet().forEach(id -> seedReasons.put(id, "DELAYED"));
+        Set<Long> cancelled = new LinkedHashSet<>(scenario.cancelled);
+
+        for (Closure closure : scenario.closures) {
+            for (FlightNode node : baseline.nodes.values()) {
+                if (node.departed) {
+                    continue;
+                }
+                long hold = Math.max(closure.holdMinutes(node.originAirportId, node.departure),
+                        closure.holdMinutes(node.destinationAirportId, node.arrival));
+                if (hold <= 0) {
+                    continue;
+                }
+                if (closure.cancelFlights) {
+                    cancelled.add(node.id);
+                } else if (hold > seeds.getOrDefault(node.id, 0)) {
+                    seeds.put(node.id, (int) hold);
+                    seedReasons.put(node.id, "CLOSURE_HOLD");
+                }
+            }
+        }
+
+        // 2) İptaller: kardeş segment'lerle aktarma kopar, uçuş kopyadan çıkarılır
+        List<DelayImpactResponse.BrokenConnection> broken = new ArrayList<>();
+        Set<Long> touchedAircraft = new HashSet<>();
+        for (Long id : cancelled) {
+            FlightNode node = baseline.nodes.get(id);
+            seeds.remove(id);
+            touchedAircraft.add(node.aircraftId);
+            if (node.parentFlightId != null) {
+                FlightNode previous = baseline.adjacentSegment(node, -1);
+                FlightNode next = baseline.adjacentSegment(node, 1);
+                if (previous != null && !cancelled.contains(previous.id)) {
+                    broken.add(cancelledConnection(previous, node));
+                }
+                if (next != null && !cancelled.contains(next.id)) {
+                    broken.add(cancelledConnection(node, next));
+                }
+            }
+            graph.remove(id);
+        }
+
+        // 3) Gecikmeleri kalan rotasyonlar boyunca yay, etkilenen segment'lerin MCT'sini kontrol et.
+        //    Senaryo gecikmeleri kaydedilmiş gecikmenin üzerine eklenir; propagate ilk plana göre toplam bekler.
+        Map<Long, Integer> totals = new HashMap<>(seeds.size() * 2);
+        seeds.forEach((id, extra) -> totals.put(id, baseline.nodes.get(id).delayMinutes + extra));
+        Propagation propagation = delayPropagationService.propagate(graph, totals);
+        broken.addAll(delayPropagationService.findBrokenConnections(graph, propagation));
+
+        List<DisruptionSimulationResponse.ImpactedFlight> impacted = new ArrayList<>();
+        int totalDelay = 0;
+        for (Long id : cancelled) {
+            FlightNode node = baseline.nodes.get(id);
+            impacted.add(DisruptionSimulationResponse.ImpactedFlight.builder()
+                    .flightId(node.id)
+                    .flightNumber(node.flightNumber)
+                    .aircraftId(node.aircraftId)
+                    .impact("CANCELLED")
+                    .build());
+        }
+        List<DisruptionSimulationResponse.ImpactedFlight> delayed = new ArrayList<>();
+        for (Long id : propagation.delays.keySet()) {
+            FlightNode node = graph.nodes.get(id);
+            int added = propagation.addedDelayOf(node);
+            if (added <= 0) {
+                continue;
+            }
+            touchedAircraft.add(node.aircraftId);
+            totalDelay += added;
+            delayed.add(DisruptionSimulationResponse.ImpactedFlight.builder()
+                    .flightId(node.id)
+                    .flightNumber(node.flightNumber)
+                    .aircraftId(node.aircraftId)
+                    .impact(seedReasons.getOrDefault(node.id, "KNOCK_ON"))
+                    .delayMinutes(added)
+                    .causedByFlightId(propagation.causedBy.get(node.id))
+                    .projectedDeparture(propagation.departureOf(node))
+                    .projectedArrival(propagation.arrivalOf(node))
+                    .build());
+        }
+        delayed.sort(Comparator.comparing(DisruptionSimulationResponse.ImpactedFlight::getProjectedDeparture));
+        impacted.addAll(delayed);
+
+        // 4) Değişen rotasyonlarda uçak çakışmaları
+        List<DisruptionSimulationResponse.AircraftConflict> conflicts = new ArrayList<>();
+        for (Long aircraftId : touchedAircraft) {
+            List<FlightNode> rotation = graph.rotationOf(aircraftId);
+            for (int i = 1; i < rotation.size(); i++) {
+                FlightNode previous = rotation.get(i - 1);
+                FlightNode next = rotation.get(i);
+                boolean changed = propagation.addedDelayOf(previous) > 0 || propagation.addedDelayOf(next) > 0
+                        || baseline.nextInRotation(previous) != next;
+                if (!changed || next.departed) {
+                    continue;
+                }
+                DisruptionSimulationResponse.AircraftConflict conflict =
+                        conflictBetween(previous, next, propagation, minTurnaround);
+                if (conflict != null) {
+                    conflicts.add(conflict);
+                }
+            }
+        }
+
+        long elapsed = System.nanoTime() - started;
+        simulationTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        log.debug("Scenario '{}' evaluated on {} flights: {} cancelled, {} delayed, {} conflicts in {} us",
+                scenario.name, baseline.nodes.size(), cancelled.size(), delayed.size(), conflicts.size(), elapsed / 1000);
+
+        return DisruptionSimulationResponse.builder()
+                .scenarioName(scenario.name)
+                .fromDate(scenario.from)
+                .toDate(scenario.to)
+                .snapshotFlights(baseline.nodes.size())
+                .cancelledFlights(cancelled.size())
+                .delayedFlights(delayed.size())
+                .totalDelayMinutes(totalDelay)
+                .impactedFlights(impacted)
+                .brokenConnections(broken)
+                .aircraftConflicts(conflicts)
+                .computeMicros(elapsed / 1000)
+                .build();
+    }
+
+    /**
+     * Uçak bir önceki bacağın varış havalimanında değilse ya da projeksiyonla yer süresi turnaround'un altındaysa çakışma
+     */
+    private DisruptionSimulationResponse.AircraftConflict conflictBetween(FlightNode previous, FlightNode next,
+                                                                          Propagation propagation, int minTurnaround) {
+        LocalDateTime ready = propagation.arrivalOf(previous);
+        LocalDateTime departure = propagation.departureOf(next);
+        int ground = (int) DelayPropagationService.minutesBetween(ready, departure);
+
+        String type;
+        if (previous.destinationAirportId != null && next.originAirportId != null
+                && !previous.destinationAirportId.equals(next.originAirportId)) {
+            type = "POSITION_MISMATCH";
+        } else if (ground < 0) {
+            type = "OVERLAP";
+        } else if (ground < minTurnaround) {
+            type = "SHORT_TURNAROUND";
+        } else {
+            return null;
+        }
+
+        return DisruptionSimulationResponse.AircraftConflict.builder()
+                .aircraftId(previous.aircraftId)
+                .conflictType(type)
+                .previousFlightId(previous.id)
+                .previousFlightNumber(previous.flightNumber)
+                .nextFlightId(next.id)
+                .nextFlightNumber(next.flightNumber)
+                .airportId(previous.destinationAirportId)
+                .groundMinutes(ground)
+                .requiredMinutes(minTurnaround)
+                .build();
+    }
+
+    private DelayImpactResponse.BrokenConnection cancelledConnection(FlightNode inbound, FlightNode outbound) {
+        return DelayImpactResponse.BrokenConnection.builder()
+                .parentFlightId(inbound.parentFlightId)
+                .inboundFlightId(inbound.id)
+                .inboundFlightNumber(inbound.flightNumber)
+                .outboundFlightId(outbound.id)
+                .outboundFlightNumber(outbound.flightNumber)
+                .airportId(inbound.destinationAirportId)
+                .reason("SEGMENT_CANCELLED")
+                .build();
+    }
+
+    // ===============================
+    // SCENARIO RESOLUTION
+    // ===============================
+
+    private Scenario resolve(DisruptionScenarioRequest request) {
+        // Batch isteklerinde eleman bazlı bean validation çalışmadığından temel kontroller burada tekrarlanır
+        int days = request.getDays() != null ? request.getDays() : 1;
+        LocalDate from = request.getDate();
+        if (from == null) {
+            throw new BusinessException("Scenario date is required");
+        }
+        if (days < 1 || days > 3) {
+            throw new BusinessException("Scenario must cover between 1 and 3 days");
+        }
+        Scenario scenario = new Scenario(request.getName() != null ? request.getName() : "scenario-" + from,
+                from, from.plusDays(days - 1));
+
+        if (request.getDelays() != null) {
+            for (DisruptionScenarioRequest.FlightDelay delay : request.getDelays()) {
+                if (delay.getFlightId() == null || delay.getDelayMinutes() == null || delay.getDelayMinutes() < 1) {
+                    throw new BusinessException("Scenario delays require a flight id and a positive delay");
+                }
+                scenario.delays.merge(delay.getFlightId(), delay.getDelayMinutes(), Math::max);
+            }
+        }
+        if (request.getCancelledFlightIds() != null) {
+            scenario.cancelled.addAll(request.getCancelledFlightIds());
+        }
+        if (request.getAirportClosures() != null) {
+            for (DisruptionScenarioRequest.AirportClosure closure : request.getAirportClosures()) {
+                if (closure.getAirport() == null || closure.getFrom() == null || closure.getTo() == null) {
+                    throw new BusinessException("Airport closures require airport, from and to");
+                }
+                if (!closure.getTo().isAfter(closure.getFrom())) {
+                    throw new BusinessException("Closure end must be after its start for airport " + closure.getAirport());
+                }
+                scenario.closures.add(new Closure(resolveAirport(closure.getAirport()).getId(),
+                        closure.getFrom(), closure.getTo(), closure.isCancelFlights()));
+            }
+        }
+        if (scenario.delays.isEmpty() && scenario.cancelled.isEmpty() && scenario.closures.isEmpty()) {
+            throw new BusinessException("Scenario '" + scenario.name + "' has no delays, cancellations or closures");
+        }
+        return scenario;
+    }
+
+    private AirportCache resolveAirport(String airport) {
+        String value = airport.trim();
+        AirportCache resolved = value.chars().allMatch(Character::isDigit)
+                ? referenceDataService.getAirport(Long.parseLong(value))
+                : referenceDataService.getAirportByIataCode(value.toUpperCase());
+        if (resolved == null || resolved.getId() == null) {
+            throw new BusinessException("Unknown airport: " + airport);
+        }
+        return resolved;
+    }
+
+    private static final class Scenario {
+        final String name;
+        final LocalDate from;
+        final LocalDate to;
+        final Map<Long, Integer> delays = new HashMap<>();
+        final Set<Long> cancelled = new LinkedHashSet<>();
+        final List<Closure> closures = new ArrayList<>();
+
+        Scenario(String name, LocalDate from, LocalDate to) {
+            this.name = name;
+            this.from = from;
+            this.to = to;
+        }
+
+        void checkFlightsExist(RotationGraph snapshot) {
+            Set<Long> missing = new TreeSet<>();
+            for (Long id : delays.keySet()) {
+                if (!snapshot.nodes.containsKey(id)) {
+                    missing.add(id);
+                }
+            }
+            for (Long id : cancelled) {
+                if (!snapshot.nodes.containsKey(id)) {
+                    missing.add(id);
+                }
+            }
+            if (!missing.isEmpty()) {
+                throw new BusinessException("Flights " + missing + " are not active rotation flights between "
+                        + from + " and " + to);
+            }
+        }
+    }
+
+    private static final class Closure {
+        final Long airportId;
+        final LocalDateTime from;
+        final LocalDateTime to;
+        final boolean cancelFlights;
+
+        Closure(Long airportId, LocalDateTime from, LocalDateTime to, boolean cancelFlights) {
+            this.airportId = airportId;
+            this.from = from;
+            this.to = to;
+            this.cancelFlights = cancelFlights;
+        }
+
+        /**
+         * Kapanış sırasında kalkan/inen hareket açılışa kadar bekler
+         */
+        long holdMinutes(Long airportId, LocalDateTime time) {
+            if (!this.airportId.equals(airportId) || time.isBefore(from) || !time.isBefore(to)) {
+                return 0;
+            }
+            return DelayPropagationService.minutesBetween(time, to);
+        }
+    }
+}
@@ -0,0 +1,678 @@
+package com.flightmanagement.flightservice.service;
+
+import com.flightmanagement.flightservice.dto.cache.AircraftCache;
+import com.flightmanagement.flightservice.dto.cache.RouteCache;
+import com.flightmanagement.flightservice.dto.response.AircraftUtilizationResponse;
+import com.flightmanagement.flightservice.dto.response.AirlineUtilizationResponse;
+import com.flightmanagement.flightservice.dto.response.FleetAvailabilityResponse;
+import com.flightmanagement.flightservice.entity.Flight;
+import com.flightmanagement.flightservice.entity.enums.FlightStatus;
+import com.flightmanagement.flightservice.event.FlightChangedEvent;
+import com.flightmanagement.flightservice.exception.BusinessException;
+import com.flightmanagement.flightservice.repository.FlightRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Filo kullanım (utilization) ve blok saat motoru.
+ *
+ * Pencere içindeki her uçuşun kuyruk üzerindeki doluluk aralığı tutulur; kuyruk/gün ve havayolu/gün
+ * sayaçları (cycle, blok dakika, aktif kuyruk) her uçuş yazımında eski katkı çıkarılıp yenisi eklenerek
+ * güncellenir, sorgular sayaçtan O(1) okunur. Boş kuyruk sorgusu kuyruk başına kalkışa göre sıralı
+ * aralıklarda yalnızca istenen zamanın çevresine bakar.
+ */
+@Service
+@Slf4j
+public class FleetUtilizationService {
+
+    private static final Set<String> UTILIZATION_COLUMNS = Set.of(
+            "id", "flightNumber", "airlineId", "aircraftId", "routeId", "flightDate",
+            "scheduledDeparture", "scheduledArrival", "actualDeparture", "actualArrival",
+            "status", "active", "isConnectingFlight", "parentFlightId");
+
+    // Availability taramasında geriye bakılacak en uzun doluluk; daha uzun blok süresi kayda alınmaz
+    private static final long MAX_OCCUPANCY_MINUTES = 24 * 60;
+    private static final int MAX_RANGE_DAYS = 31;
+
+    private final ReferenceDataService referenceDataService;
+    private final ActiveFlightLoader activeFlights;
+    private final ReferenceDataReplica referenceDataReplica;
+
+    @Value("${fleet-utilization.days-back:30}")
+    private int daysBack;
+
+    @Value("${fleet-utilization.days-ahead:14}")
+    private int daysAhead;
+
+    @Value("${fleet-utilization.turnaround-buffer-minutes:30}")
+    private int turnaroundBufferMinutes;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private UtilizationIndex index = new UtilizationIndex(LocalDate.now(), LocalDate.now().minusDays(1));
+
+    // Rebuild sürerken gelen değişiklikler - lock altında
+    private final RebuildChangeTracker<Occupancy> changesDuringRebuild = new RebuildChangeTracker<>();
+
+    private volatile LocalDateTime lastRebuildAt;
+
+    public FleetUtilizationService(FlightRepository flightRepository,
+                                   ReferenceDataService referenceDataService,
+                                   ReferenceDataReplica referenceDataReplica) {
+        this.referenceDataService = referenceDataService;
+        this.activeFlights = new ActiveFlightLoader(flightRepository, referenceDataService, UTILIZATION_COLUMNS);
+        this.referenceDataReplica = referenceDataReplica;
+    }
+
+    // ===============================
+    // QUERIES
+    // ===============================
+
+    public AircraftUtilizationResponse getAircraftUtilization(Long aircraftId, LocalDate startDate, LocalDate endDate) {
+        validateRange(startDate, endDate);
+        AircraftCache aircraft = referenceDataService.getAircraft(aircraftId);
+
+        List<AircraftUtilizationResponse.DayUtilization> days = new ArrayList<>();
+        int totalCycles = 0;
+        int totalBlock = 0;
+        Long airlineId = aircraft != null ? aircraft.getAirlineId() : null;
+        lock.readLock().lock();
+        try {
+            requireCovered(startDate, endDate);
+            Map<LocalDate, DayCounters> tailDays = index.tailDays.getOrDefault(aircraftId, Map.of());
+            for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+                DayCounters counters = tailDays.get(date);
+                int cycles = counters != null ? counters.cycles : 0;
+                int block = counters != null ? counters.blockMinutes : 0;
+                AircraftUtilizationResponse.DayUtilization.DayUtilizationBuilder day =
+                        AircraftUtilizationResponse.DayUtilization.builder()
+                                .date(date)
+                                .cycles(cycles)
+                                .blockMinutes(block)
+                                .blockHours(hours(block))
+                                .idleMinutes(Math.max(0, 24 * 60 - block));
+                if (counters != null) {
+                    Occupancy first = index.firstOfDay(aircraftId, date);
+                    Occupancy last = index.lastOfDay(aircraftId, date);
+                    if (first != null && last != null) {
+                        long span = Duration.between(first.start, last.end).toMinutes();
+                        day.firstDeparture(first.start)
+                                .lastArrival(last.end)
+                                .groundMinutes((int) Math.max(0, span - block));
+                        if (airlineId == null) {
+                            airlineId = first.airlineId;
+                        }
+                    }
+                }
+                days.add(day.build());
+                totalCycles += cycles;
+                totalBlock += block;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return AircraftUtilizationResponse.builder()
+                .aircraftId(aircraftId)
+                .registrationNumber(aircraft != null ? aircraft.getRegistrationNumber() : null)
+                .aircraftType(aircraft != null ? aircraft.getAircraftType() : null)
+                .airlineId(airlineId)
+                .startDate(startDate)
+                .endDate(endDate)
+                .totalCycles(totalCycles)
+                .totalBlockMinutes(totalBlock)
+                .totalBlockHours(hours(totalBlock))
+                .avgBlockHoursPerDay(hours(totalBlock / (double) days.size()))
+                .days(days)
+                .build();
+    }
+
+    public AirlineUtilizationResponse getAirlineUtilization(Long airlineId, LocalDate date) {
+        AirlineDayCounters counters;
+        Map<Long, DayCounters> tails = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            requireCovered(date, date);
+            counters = index.airlineDays.getOrDefault(airlineId, Map.of()).get(date);
+            if (counters != null) {
+                for (Long aircraftId : counters.tailCycles.keySet()) {
+                    DayCounters tail = index.tailDays.getOrDefault(aircraftId, Map.of()).get(date);
+                    if (tail != null) {
+                        tails.put(aircraftId, tail.copy());
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        int activeTails = counters != null ? counters.tailCycles.size() : 0;
+        int cycles = counters != null ? counters.cycles : 0;
+        int block = counters != null ? counters.blockMinutes : 0;
+
+        Map<Long, AircraftCache> aircraft = referenceDataService.getAircrafts(tails.keySet());
+        List<AirlineUtilizationResponse.TailSummary> summaries = new ArrayList<>(tails.size());
+        tails.forEach((aircraftId, tail) -> {
+            AircraftCache cache = aircraft.get(aircraftId);
+            summaries.add(AirlineUtilizationResponse.TailSummary.builder()
+                    .aircraftId(aircraftId)
+                    .registrationNumber(cache != null ? cache.getRegistrationNumber() : null)
+                    .aircraftType(cache != null ? cache.getAircraftType() : null)
+                    .cycles(tail.cycles)
+                    .blockMinutes(tail.blockMinutes)
+                    .blockHours(hours(tail.blockMinutes))
+                    .build());
+        });
+        summaries.sort(Comparator.comparing(AirlineUtilizationResponse.TailSummary::getBlockMinutes).reversed());
+
+        return AirlineUtilizationResponse.builder()
+                .airlineId(airlineId)
+                .date(date)
+                .activeTails(activeTails)
+                .cycles(cycles)
+                .blockMinutes(block)
+                .blockHours(hours(block))
+                .avgBlockHoursPerTail(activeTails > 0 ? hours(block / (double) activeTails) : 0.0)
+                .avgCyclesPerTail(activeTails > 0 ? Math.round(cycles * 100.0 / activeTails) / 100.0 : 0.0)
+                .tails(summaries)
+                .build();
+    }
+
+    /**
+     * Havayolunun (opsiyonel olarak belirli tipteki) kuyruklarından [from, to] aralığında, turnaround payı
+     * dahil hiçbir uçuşla çakışmayanlar
+     */
+    public FleetAvailabilityResponse findAvailableAircraft(Long airlineId, String aircraftType,
+                                                          LocalDateTime from, LocalDateTime to) {
+        if (!to.isAfter(from)) {
+            throw new BusinessException("'to' must be after 'from'");
+        }
+        if (Duration.between(from, to).toDays() > MAX_RANGE_DAYS) {
+            throw new BusinessException("Availability range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+
+        Map<Long, AircraftCache> candidates = candidateAircraft(airlineId, aircraftType);
+        LocalDateTime windowFrom = from.minusMinutes(turnaroundBufferMinutes);
+        LocalDateTime windowTo = to.plusMinutes(turnaroundBufferMinutes);
+
+        List<FleetAvailabilityResponse.AvailableAircraft> available = new ArrayList<>();
+        int busy = 0;
+        lock.readLock().lock();
+        try {
+            requireCovered(from.toLocalDate(), to.toLocalDate());
+            for (AircraftCache aircraft : candidates.values()) {
+                TreeSet<Occupancy> intervals = index.byTail.get(aircraft.getId());
+                if (intervals != null && overlaps(intervals, windowFrom, windowTo)) {
+                    busy++;
+                    continue;
+                }
+                Occupancy previous = intervals != null ? lastEndingBefore(intervals, windowFrom) : null;
+                Occupancy next = intervals != null ? intervals.ceiling(Occupancy.probe(windowTo)) : null;
+                available.add(FleetAvailabilityResponse.AvailableAircraft.builder()
+                        .aircraftId(aircraft.getId())
+                        .registrationNumber(aircraft.getRegistrationNumber())
+                        .aircraftType(aircraft.getAircraftType())
+                        .previousFlightNumber(previous != null ? previous.flightNumber : null)
+                        .positionAirportId(previous != null ? previous.destinationAirportId : null)
+                        .availableFrom(previous != null ? previous.end.plusMinutes(turnaroundBufferMinutes) : null)
+                        .nextFlightNumber(next != null ? next.flightNumber : null)
+                        .availableUntil(next != null ? next.start.minusMinutes(turnaroundBufferMinutes) : null)
+                        .build());
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        available.sort(Comparator.comparing(FleetAvailabilityResponse.AvailableAircraft::getRegistrationNumber,
+                Comparator.nullsLast(Comparator.naturalOrder())));
+
+        return FleetAvailabilityResponse.builder()
+                .airlineId(airlineId)
+                .aircraftType(aircraftType)
+                .from(from)
+                .to(to)
+                .bufferMinutes(turnaroundBufferMinutes)
+                .candidateTails(candidates.size())
+                .busyTails(busy)
+                .available(available)
+                .build();
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            status.put("windowStart", index.windowStart);
+            status.put("windowEnd", index.windowEnd);
+            status.put("flights", index.byFlight.size());
+            status.put("tails", index.byTail.size());
+            status.put("airlines", index.airlineDays.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+        status.put("turnaroundBufferMinutes", turnaroundBufferMinutes);
+        status.put("lastRebuildAt", lastRebuildAt);
+        return status;
+    }
+
+    /**
+     * Kuyruk listesi replikadan (uçuşu olmayan boş kuyruklar da dahil); replika hazır değilse
+     * yalnızca pencerede uçuşu olan kuyruklar aday olur
+     */
+    private Map<Long, AircraftCache> candidateAircraft(Long airlineId, String aircraftType) {
+        Map<Long, AircraftCache> all;
+        if (referenceDataReplica.isReady()) {
+            all = referenceDataReplica.getAll(ReferenceDataReplica.AIRCRAFT);
+        } else {
+            Set<Long> known = new HashSet<>();
+            lock.readLock().lock();
+            try {
+                for (AirlineDayCounters day : index.airlineDays.getOrDefault(airlineId, Map.of()).values()) {
+                    known.addAll(day.tailCycles.keySet());
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            all = referenceDataService.getAircrafts(known);
+        }
+
+        Map<Long, AircraftCache> candidates = new HashMap<>();
+        all.forEach((id, aircraft) -> {
+            if (aircraft == null || !Objects.equals(airlineId, aircraft.getAirlineId())) {
+                return;
+            }
+            if (aircraft.getStatus() != null && !"ACTIVE".equalsIgnoreCase(aircraft.getStatus())) {
+                return;     // Bakımdaki / servis dışı kuyruk
+            }
+            if (aircraftType != null && !aircraftType.isBlank()
+                    && !aircraftType.equalsIgnoreCase(aircraft.getAircraftType())
+                    && !aircraftType.equalsIgnoreCase(aircraft.getModel())) {
+                return;
+            }
+            candidates.put(id, aircraft);
+        });
+        return candidates;
+    }
+
+    /**
+     * Kalkışa göre sıralı aralıklarda [from, to) ile kesişen var mı: yalnızca to'dan önce başlayıp
+     * from - MAX_OCCUPANCY'den sonra başlayanlar aday olabilir
+     */
+    private static boolean overlaps(TreeSet<Occupancy> intervals, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime earliestRelevant = from.minusMinutes(MAX_OCCUPANCY_MINUTES);
+        for (Occupancy occupancy : intervals.headSet(Occupancy.probe(to), false).descendingSet()) {
+            if (occupancy.start.isBefore(earliestRelevant)) {
+                return false;
+            }
+            if (occupancy.end.isAfter(from)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Occupancy lastEndingBefore(TreeSet<Occupancy> intervals, LocalDateTime from) {
+        Occupancy last = null;
+        LocalDateTime earliestRelevant = from.minusMinutes(MAX_OCCUPANCY_MINUTES);
+        for (Occupancy occupancy : intervals.headSet(Occupancy.probe(from), false).descendingSet()) {
+            if (last != null && occupancy.start.isBefore(earliestRelevant)) {
+                break;
+            }
+            if (!occupancy.end.isAfter(from) && (last == null || occupancy.end.isAfter(last.end))) {
+                last = occupancy;
+            }
+        }
+        return last;
+    }
+
+    private void validateRange(LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            throw new BusinessException("End date must be after start date");
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) >= MAX_RANGE_DAYS) {
+            throw new BusinessException("Date range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+    }
+
+    private void requireCovered(LocalDate from, LocalDate to) {
+        if (!index.covers(from) || !index.covers(to)) {
+            throw new BusinessException("Utilization is tracked for " + index.windowStart + " - " + index.windowEnd);
+        }
+    }
+
+    private static double hours(double minutes) {
+        return Math.round(minutes / 60.0 * 100.0) / 100.0;
+    }
+
+    // ===============================
+    // INDEX MAINTENANCE
+    // ===============================
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFlightChanged(FlightChangedEvent event) {
+        Flight flight = event.getFlight();
+        if (flight == null || flight.getId() == null) {
+            return;
+        }
+
+        try {
+            if (event.isConnectingParent()) {
+                // Ana kayıt kuyruğu meşgul etmez, blok süresi segment'lerden gelir
+                List<Occupancy> segments = event.isDeleted()
+                        ? List.of() : activeFlights.loadSegments(flight.getId(), this::toOccupancy);
+                replaceSegments(flight.getId(), segments);
+                return;
+            }
+            apply(flight.getId(), event.isDeleted() ? null : toOccupancy(flight, activeFlights.routeOf(flight)));
+        } catch (Exception e) {
+            log.warn("Could not apply flight {} change to fleet utilization: {}", flight.getId(), e.getMessage());
+        }
+    }
+
+    @Scheduled(initialDelayString = "${fleet-utilization.initial-delay-ms:7000}",
+            fixedDelayString = "${fleet-utilization.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        LocalDate windowStart = LocalDate.now().minusDays(daysBack);
+        LocalDate windowEnd = LocalDate.now().plusDays(daysAhead);
+
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild.begin();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        UtilizationIndex built;
+        try {
+            built = load(windowStart, windowEnd);
+        } catch (Exception e) {
+            log.error("Fleet utilization rebuild failed, keeping previous index: {}", e.getMessage());
+            built = null;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (built != null) {
+                UtilizationIndex target = built;
+                changesDuringRebuild.replay(target::remove, occupancy -> {
+                    target.remove(occupancy.flightId);
+                    if (target.covers(occupancy.flightDate)) {
+                        target.add(occupancy);
+                    }
+                });
+                index = built;
+                lastRebuildAt = LocalDateTime.now();
+                log.info("Fleet utilization rebuilt: {} flights on {} tails for {} - {} in {} ms",
+                        built.byFlight.size(), built.byTail.size(), windowStart, windowEnd,
+                        System.currentTimeMillis() - started);
+            }
+        } finally {
+            changesDuringRebuild.end();
+            lock.writeLock().unlock();
+        }
+    }
+
+    private UtilizationIndex load(LocalDate from, LocalDate to) {
+        UtilizationIndex loaded = new UtilizationIndex(from, to);
+        activeFlights.loadWindow(from, to, this::toOccupancy).forEach(loaded::add);
+        return loaded;
+    }
+
+    private void apply(Long flightId, Occupancy occupancy) {
+        lock.writeLock().lock();
+        try {
+            index.remove(flightId);
+            if (occupancy != null && index.covers(occupancy.flightDate)) {
+                index.add(occupancy);
+            }
+            changesDuringRebuild.track(flightId, occupancy);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void replaceSegments(Long parentFlightId, List<Occupancy> segments) {
+        lock.writeLock().lock();
+        try {
+            for (Long segmentId : new ArrayList<>(index.segmentsByParent.getOrDefault(parentFlightId, Set.of()))) {
+                index.remove(segmentId);
+                changesDuringRebuild.track(segmentId, null);
+            }
+            for (Occupancy segment : segments) {
+                index.remove(segment.flightId);
+                if (index.covers(segment.flightDate)) {
+                    index.add(segment);
+                }
+                changesDuringRebuild.track(segment.flightId, segment);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Kuyruğu meşgul etmeyen uçuşlar için null: iptal/pasif, uçağı atanmamış ya da aktarmalı uçuşun ana kaydı
+     */
+    private Occupancy toOccupancy(Flight flight, RouteCache route) {
+        if (!Boolean.TRUE.equals(flight.getActive()) || FlightStatus.CANCELLED.equals(flight.getStatus())
+                || flight.getAircraftId() == null || flight.getFlightDate() == null
+                || flight.getScheduledDeparture() == null || flight.getScheduledArrival() == null) {
+            return null;
+        }
+        if (Boolean.TRUE.equals(flight.getIsConnectingFlight()) && flight.getParentFlightId() == null) {
+            return null;
+        }
+        Occupancy occupancy = new Occupancy(flight, route);
+        long minutes = Duration.between(occupancy.start, occupancy.end).toMinutes();
+        return minutes >= 0 && minutes <= MAX_OCCUPANCY_MINUTES ? occupancy : null;
+    }
+
+    // ===============================
+    // INDEX STRUCTURES
+    // ===============================
+
+    /**
+     * Kuyruk üzerindeki doluluk: gerçekleşen saat varsa o, yoksa plan (recordDelay planı zaten kaydırıyor)
+     */
+    static final class Occupancy {
+        static final Comparator<Occupancy> ORDER = Comparator
+                .comparing((Occupancy occupancy) -> occupancy.start)
+                .thenComparingLong(occupancy -> occupancy.flightId);
+
+        final long flightId;
+        final String flightNumber;
+        final Long airlineId;
+        final Long aircraftId;
+        final Long parentFlightId;
+        final Long destinationAirportId;
+        final LocalDate flightDate;
+        final LocalDateTime start;
+        final LocalDateTime end;
+        final int blockMinutes;
+
+        Occupancy(Flight flight, RouteCache route) {
+            this.flightId = flight.getId();
+            this.flightNumber = flight.getFlightNumber();
+            this.airlineId = flight.getAirlineId();
+            this.aircraftId = flight.getAircraftId();
+            this.parentFlightId = flight.getParentFlightId();
+            this.destinationAirportId = route != null ? route.getDestinationAirportId() : null;
+            this.flightDate = flight.getFlightDate();
+            this.start = flight.getActualDeparture() != null ? flight.getActualDeparture() : flight.getScheduledDeparture();
+            this.end = flight.getActualArrival() != null ? flight.getActualArrival() : flight.getScheduledArrival();
+            this.blockMinutes = (int) Math.max(0, Duration.between(start, end).toMinutes());
+        }
+
+        private Occupancy(LocalDateTime at, long flightId) {
+            this.flightId = flightId;
+            this.flightNumber = null;
+            this.airlineId = null;
+            this.aircraftId = null;
+            this.parentFlightId = null;
+            this.destinationAirportId = null;
+            this.flightDate = null;
+            this.start = at;
+            this.end = at;
+            this.blockMinutes = 0;
+        }
+
+        /**
+         * TreeSet aramaları için anahtar; aynı saatte başlayan tüm gerçek aralıklardan önce sıralanır
+         */
+        static Occupancy probe(LocalDateTime at) {
+            return new Occupancy(at, Long.MIN_VALUE);
+        }
+    }
+
+    static final class DayCounters {
+        int cycles;
+        int blockMinutes;
+
+        void add(Occupancy occupancy, int sign) {
+            cycles += sign;
+            blockMinutes += sign * occupancy.blockMinutes;
+        }
+
+        DayCounters copy() {
+            DayCounters copy = new DayCounters();
+            copy.cycles = cycles;
+            copy.blockMinutes = blockMinutes;
+            return copy;
+        }
+    }
+
+    static final class AirlineDayCounters {
+        int cycles;
+        int blockMinutes;
+        final Map<Long, Integer> tailCycles = new HashMap<>();   // aktif kuyruk sayısı = size
+
+        void add(Occupancy occupancy, int sign) {
+            cycles += sign;
+            blockMinutes += sign * occupancy.blockMinutes;
+            tailCycles.merge(occupancy.aircraftId, sign, (a, b) -> a + b == 0 ? null : a + b);
+        }
+    }
+
+    /**
+     * Thread-safe değildir, servis read/write lock ile korur
+     */
+    static final class UtilizationIndex {
+        final LocalDate windowStart;
+        final LocalDate windowEnd;
+        final Map<Long, Occupancy> byFlight = new HashMap<>();
+        final Map<Long, TreeSet<Occupancy>> byTail = new HashMap<>();
+        final Map<Long, Set<Long>> segmentsByParent = new HashMap<>();
+        final Map<Long, Map<LocalDate, DayCounters>> tailDays = new HashMap<>();
+        final Map<Long, Map<LocalDate, AirlineDayCounters>> airlineDays = new HashMap<>();
+
+        UtilizationIndex(LocalDate windowStart, LocalDate windowEnd) {
+            this.windowStart = windowStart;
+            this.windowEnd = windowEnd;
+        }
+
+        boolean covers(LocalDate date) {
+            return !date.isBefore(windowStart) && !date.isAfter(windowEnd);
+        }
+
+        void add(Occupancy occupancy) {
+            byFlight.put(occupancy.flightId, occupancy);
+            byTail.computeIfAbsent(occupancy.aircraftId, id -> new TreeSet<>(Occupancy.ORDER)).add(occupancy);
+            if (occupancy.parentFlightId != null) {
+                segmentsByParent.computeIfAbsent(occupancy.parentFlightId, id -> new HashSet<>()).add(occupancy.flightId);
+            }
+            tailDays.computeIfAbsent(occupancy.aircraftId, id -> new HashMap<>())
+                    .computeIfAbsent(occupancy.flightDate, date -> new DayCounters())
+                    .add(occupancy, 1);
+            if (occupancy.airlineId != null) {
+                airlineDays.computeIfAbsent(occupancy.airlineId, id -> new HashMap<>())
+                        .computeIfAbsent(occupancy.flightDate, date -> new AirlineDayCounters())
+                        .add(occupancy, 1);
+            }
+        }
+
+        void remove(Long flightId) {
+            Occupancy old = byFlight.remove(flightId);
+            if (old == null) {
+                return;
+            }
+            TreeSet<Occupancy> intervals = byTail.get(old.aircraftId);
+            if (intervals != null && intervals.remove(old) && intervals.isEmpty()) {
+                byTail.remove(old.aircraftId);
+            }
+            if (old.parentFlightId != null) {
+                Set<Long> segments = segmentsByParent.get(old.parentFlightId);
+                if (segments != null && segments.remove(flightId) && segments.isEmpty()) {
+                    segmentsByParent.remove(old.parentFlightId);
+                }
+            }
+
+            Map<LocalDate, DayCounters> days = tailDays.get(old.aircraftId);
+            DayCounters tailDay = days != null ? days.get(old.flightDate) : null;
+            if (tailDay != null) {
+                tailDay.add(old, -1);
+                if (tailDay.cycles <= 0) {
+                    days.remove(old.flightDate);
+                    if (days.isEmpty()) {
+                        tailDays.remove(old.aircraftId);
+                    }
+                }
+            }
+            Map<LocalDate, AirlineDayCounters> airline = old.airlineId != null ? airlineDays.get(old.airlineId) : null;
+            AirlineDayCounters airlineDay = airline != null ? airline.get(old.flightDate) : null;
+            if (airlineDay != null) {
+                airlineDay.add(old, -1);
+                if (airlineDay.cycles <= 0) {
+                    airline.remove(old.flightDate);
+                    if (airline.isEmpty()) {
+                        airlineDays.remove(old.airlineId);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Günün ilk kalkışı; uçuş tarihi günü gece yarısını aşan kalkışlar için bir gün önceden başlanır
+         */
+        Occupancy firstOfDay(Long aircraftId, LocalDate date) {
+            TreeSet<Occupancy> intervals = byTail.get(aircraftId);
+            if (intervals == null) {
+                return null;
+            }
+            for (Occupancy occupancy : intervals.tailSet(Occupancy.probe(date.minusDays(1).atStartOfDay()), true)) {
+                if (date.equals(occupancy.flightDate)) {
+                    return occupancy;
+                }
+                if (occupancy.start.isAfter(date.plusDays(2).atStartOfDay())) {
+                    break;
+                }
+            }
+            return null;
+        }
+
+        Occupancy lastOfDay(Long aircraftId, LocalDate date) {
+            TreeSet<Occupancy> intervals = byTail.get(aircraftId);
+            if (intervals == null) {
+                return null;
+            }
+            for (Occupancy occupancy : intervals.headSet(Occupancy.probe(date.plusDays(2).atStartOfDay()), false)
+                    .descendingSet()) {
+                if (date.equals(occupancy.flightDate)) {
+                    return occupancy;
+                }
+                if (occupancy.start.isBefore(date.minusDays(1).atStartOfDay())) {
+                    break;
+                }
+            }
+            return null;
+        }
+    }
+}
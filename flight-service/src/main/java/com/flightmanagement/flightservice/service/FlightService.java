@@ -1,11 +1,14 @@
 package com.flightmanagement.flightservice.service;
 
+import com.flightmanagement.flightservice.dto.cache.AircraftCache;
+import com.flightmanagement.flightservice.dto.cache.AirlineCache;
 import com.flightmanagement.flightservice.dto.cache.AirportCache;
 import com.flightmanagement.flightservice.dto.cache.RouteCache;
 import com.flightmanagement.flightservice.dto.request.*;
 import com.flightmanagement.flightservice.dto.request.AirportSegmentRequest;
 import com.flightmanagement.flightservice.dto.request.ArchiveSearchRequest;
 import com.flightmanagement.flightservice.dto.request.ConnectingFlightRequest;
+import com.flightmanagement.flightservice.dto.request.FlightFieldSelection;
 import com.flightmanagement.flightservice.dto.request.FlightRequest;
 import com.flightmanagement.flightservice.dto.response.ArchivedFlightResponse;
 import com.flightmanagement.flightservice.dto.response.FlightResponse;
@@ -28,12 +31,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -57,78 +62,95 @@ public class FlightService {
     // TEMEL FLIGHT OPERATIONS
     // ===============================
 
+    // Okuma metodları transaction dışında çalışır: her repository sorgusu kendi kısa transaction'ında
+    // biter, ReferenceLookup.prefetch'in HTTP çağrıları sırasında JDBC bağlantısı tutulmaz.
+    // Mapper lazy ilişkilere dokunmadığı için detached entity'ler güvenle cevaba dönüştürülür.
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Page<FlightResponse> getAllFlights(Pageable pageable) {
         log.debug("Fetching all flights with pagination");
         Page<Flight> flights = flightRepository.findAll(pageable);
-        List<FlightResponse> responses = flights.getContent().stream()
-                .map(this::buildFlightResponse)
-                .collect(Collectors.toList());
+        List<FlightResponse> responses = buildFlightResponses(flights.getContent());
         return new PageImpl<>(responses, pageable, flights.getTotalElements());
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Page<FlightResponse> getAllFlightsWithFilters(Pageable pageable, String flightNumber, Long airlineId, LocalDate flightDate) {
-        log.debug("Fetching flights with filters - flightNumber: {}, airlineId: {}, flightDate: {}",
-                flightNumber, airlineId, flightDate);
+        return getAllFlightsWithFilters(pageable, flightNumber, airlineId, flightDate, FlightFieldSelection.FULL);
+    }
 
-        Page<Flight> flights = flightRepository.findFlightsWithFilters(flightNumber, airlineId, flightDate, null, pageable);
-        List<FlightResponse> responses = flights.getContent().stream()
-                .map(this::buildFlightResponse)
-                .collect(Collectors.toList());
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Page<FlightResponse> getAllFlightsWithFilters(Pageable pageable, String flightNumber, Long airlineId,
+                                                         LocalDate flightDate, FlightFieldSelection selection) {
+        log.debug("Fetching flights with filters - flightNumber: {}, airlineId: {}, flightDate: {}, fields: {}",
+                flightNumber, airlineId, flightDate, selection.cacheKey());
+
+        // Kolon projeksiyonu: managed entity, snapshot ve lazy collection oluşmaz
+        Page<Flight> flights = flightRepository.findFlightColumnsWithFilters(
+                selection.getColumns(), flightNumber, airlineId, flightDate, null, pageable);
+        List<FlightResponse> responses = buildFlightResponses(flights.getContent(), selection);
         return new PageImpl<>(responses, pageable, flights.getTotalElements());
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public FlightResponse getFlightById(Long id) {
+        return getFlightById(id, FlightFieldSelection.FULL);
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public FlightResponse getFlightById(Long id, FlightFieldSelection selection) {
         log.debug("Fetching flight with id: {}", id);
-        Flight flight = flightRepository.findById(id)
+        Flight flight = flightRepository.findFlightColumnsById(selection.getColumns(), id)
                 .orElseThrow(() -> new ResourceNotFoundException("Flight not found with id: " + id));
-        return buildFlightResponse(flight);
+        return buildFlightResponse(flight, new ReferenceLookup(), selection);
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<FlightResponse> getFlightsByFlightNumber(String flightNumber) {
         log.debug("Fetching flights with number: {}", flightNumber);
         List<Flight> flights = flightRepository.findByFlightNumber(flightNumber);
-        return flights.stream()
-                .map(this::buildFlightResponse)
-                .collect(Collectors.toList());
+        return buildFlightResponses(flights);
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<FlightResponse> getFlightsByDate(LocalDate date) {
+        return getFlightsByDate(date, FlightFieldSelection.FULL);
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<FlightResponse> getFlightsByDate(LocalDate date, FlightFieldSelection selection) {
         log.debug("Fetching flights for date: {}", date);
-        List<Flight> flights = flightRepository.findByFlightDate(date);
-        return flights.stream()
-                .map(this::buildFlightResponse)
-                .collect(Collectors.toList());
+        List<Flight> flights = flightRepository.findFlightColumnsByDate(selection.getColumns(), date);
+        return buildFlightResponses(flights, selection);
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<FlightResponse> getFlightsByStatus(FlightStatus status) {
         log.debug("Fetching flights with status: {}", status);
         List<Flight> flights = flightRepository.findByStatus(status);
-        return flights.stream()
-                .map(this::buildFlightResponse)
-                .collect(Collectors.toList());
+        return buildFlightResponses(flights);
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<FlightResponse> getFlightsByAirline(Long airlineId) {
         log.debug("Fetching flights for airline: {}", airlineId);
         List<Flight> flights = flightRepository.findByAirlineId(airlineId);
-        return flights.stream()
-                .map(this::buildFlightResponse)
-                .collect(Collectors.toList());
+        return buildFlightResponses(flights);
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<FlightResponse> getDelayedFlights(Integer minDelayMinutes) {
         log.debug("Fetching delayed flights with minimum delay: {} minutes", minDelayMinutes);
         LocalDate today = LocalDate.now();
         List<Flight> flights = flightRepository.findDelayedFlightsByDateAndMinutes(today, minDelayMinutes);
-        return flights.stream()
-                .map(this::buildFlightResponse)
-                .collect(Collectors.toList());
+        return buildFlightResponses(flights);
     }
 
     // ===============================
     // ROUTE BASED OPERATIONS
     // ===============================
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<FlightResponse> getFlightsByRoute(Long routeId, LocalDate date) {
         log.debug("Fetching flights for route {} on date {}", routeId, date);
 
@@ -139,20 +161,18 @@ public class FlightService {
             flights = flightRepository.findByRouteId(routeId);
         }
 
-        return flights.stream()
-                .map(this::buildFlightResponse)
-                .collect(Collectors.toList());
+        return buildFlightResponses(flights);
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Page<FlightResponse> getFlightsByRoutePaged(Long routeId, Pageable pageable) {
         log.debug("Fetching flights for route {} with pagination", routeId);
         Page<Flight> flights = flightRepository.findByRouteId(routeId, pageable);
-        List<FlightResponse> responses = flights.getContent().stream()
-                .map(this::buildFlightResponse)
-                .collect(Collectors.toList());
+        List<FlightResponse> responses = buildFlightResponses(flights.getContent());
         return new PageImpl<>(responses, pageable, flights.getTotalElements());
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<FlightResponse> getFlightsByAirport(Long airportId) {
         log.debug("Fetching flights for airport: {}", airportId);
 
@@ -171,9 +191,7 @@ public class FlightService {
             log.warn("Could not fetch flights by airport through routes: {}", e.getMessage());
         }
 
-        return flights.stream()
-                .map(this::buildFlightResponse)
-                .collect(Collectors.toList());
+        return buildFlightResponses(flights);
     }
 
     // ===============================
@@ -214,6 +232,52 @@ public class FlightService {
         }
     }
 
+    /**
+     * Toplu oluşturma için tek request'i doğrular ve route'unu belirler; entity kaydedilmez.
+     * Kayıt saveFlightBatch ile chunk halinde yapılır.
+     */
+    public Flight prepareFlight(FlightRequest request) {
+        flightValidator.validateFlightRequest(request);
+        return toPreparedFlight(request);
+    }
+
+    /**
+     * CSV import için: dosya başına bir kez prefetch edilmiş reference data ile doğrular
+     */
+    public Flight prepareFlight(FlightRequest request, FlightValidator.References references) {
+        flightValidator.validateFlightRequest(request, references);
+        return toPreparedFlight(request);
+    }
+
+    private Flight toPreparedFlight(FlightRequest request) {
+        Flight flight = flightMapper.toEntity(request);
+        flight.setRouteId(determineRouteForFlight(request));
+        return flight;
+    }
+
+    /**
+     * Hazırlanmış uçuşları tek transaction'da kaydeder. Id'ler pooled generator'dan ayrıldığı için
+     * insert'ler hibernate.jdbc.batch_size'lık JDBC batch'leri halinde gider.
+     */
+    @Transactional
+    public List<Flight> saveFlightBatch(List<Flight> flights) {
+        List<Flight> saved = flightRepository.saveAll(flights);
+        // Constraint hataları bu chunk'ın çağrısında çıksın, commit'te değil
+        flightRepository.flush();
+
+        for (Flight flight : saved) {
+            kafkaProducerService.sendFlightEvent("FLIGHT_CREATED", flight);
+        }
+
+        Map<String, Object> bulkData = new HashMap<>();
+        bulkData.put("count", saved.size());
+        bulkData.put("flightIds", saved.stream().map(Flight::getId).collect(Collectors.toList()));
+        webSocketMessageService.sendBulkFlightUpdate("CREATE", bulkData);
+
+        log.info("Batch created {} flights", saved.size());
+        return saved;
+    }
+
     /**
      * Direct route preview
      */
@@ -448,6 +512,7 @@ public class FlightService {
         return connectingFlightService.createConnectingFlight(request);
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public FlightResponse getConnectingFlightDetails(Long mainFlightId) {
         log.debug("Getting connecting flight details: {}", mainFlightId);
         Flight mainFlight = flightRepository.findById(mainFlightId)
@@ -460,12 +525,11 @@ public class FlightService {
         return buildFlightResponse(mainFlight);
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<FlightResponse> getConnectingFlights(Long mainFlightId) {
         log.debug("Getting connecting flight segments: {}", mainFlightId);
         List<Flight> segments = flightRepository.findByParentFlightIdOrderBySegmentNumber(mainFlightId);
-        return segments.stream()
-                .map(this::buildFlightResponse)
-                .collect(Collectors.toList());
+        return buildFlightResponses(segments);
     }
 
     public FlightResponse updateConnectingFlight(Long mainFlightId, ConnectingFlightRequest request) {
@@ -478,6 +542,7 @@ public class FlightService {
         connectingFlightService.deleteConnectingFlight(mainFlightId);
     }
 
+    @Transactional(readOnly = true)
     public Page<FlightResponse> getConnectingFlightsWithFilters(Pageable pageable, Long airlineId, LocalDate flightDate) {
         log.debug("Getting connecting flights with filters - airlineId: {}, date: {}", airlineId, flightDate);
         return connectingFlightService.getConnectingFlightsWithFilters(pageable, airlineId, flightDate);
@@ -487,6 +552,7 @@ public class FlightService {
     // STATISTICS AND REPORTING
     // ===============================
 
+    @Transactional(readOnly = true)
     public Map<String, Object> getDailySummary(LocalDate date) {
         log.debug("Fetching daily summary for date: {}", date);
 
@@ -529,6 +595,7 @@ public class FlightService {
         return summary;
     }
 
+    @Transactional(readOnly = true)
     public FlightChartDataDto getFlightChartData(LocalDate startDate, LocalDate endDate) {
         log.debug("Fetching flight chart data from {} to {}", startDate, endDate);
 
@@ -549,21 +616,25 @@ public class FlightService {
         return chartData;
     }
 
+    @Transactional(readOnly = true)
     public Long getFlightCountByDate(LocalDate date) {
         log.debug("Getting flight count for date: {}", date);
         return flightRepository.countFlightsByDate(date);
     }
 
+    @Transactional(readOnly = true)
     public Long getFlightCountByAirlineAndDate(Long airlineId, LocalDate date) {
         log.debug("Getting flight count for airline {} and date: {}", airlineId, date);
         return flightRepository.countFlightsByAirlineAndDate(airlineId, date);
     }
 
+    @Transactional(readOnly = true)
     public Long getFlightCountByStatus(FlightStatus status, LocalDate date) {
         log.debug("Getting flight count for status {} and date: {}", status, date);
         return flightRepository.countFlightsByStatusAndDate(status, date);
     }
 
+    @Transactional(readOnly = true)
     public List<FlightTypeDistributionDto> getFlightTypeDistribution() {
         log.debug("Fetching flight type distribution");
         List<Object[]> results = flightRepository.countFlightsGroupedByType();
@@ -585,6 +656,7 @@ public class FlightService {
         return createFlight(request);
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Map<String, Object> getFlightRouteInfo(Long id) {
         log.debug("Getting route info for flight: {}", id);
 
@@ -638,40 +710,71 @@ public class FlightService {
     // ===============================
 
     private FlightResponse buildFlightResponse(Flight flight) {
+        return buildFlightResponse(flight, new ReferenceLookup(), FlightFieldSelection.FULL);
+    }
+
+    private List<FlightResponse> buildFlightResponses(List<Flight> flights) {
+        return buildFlightResponses(flights, FlightFieldSelection.FULL);
+    }
+
+    /**
+     * Liste cevapları için reference data'yı önce toplu çeker (replika, Redis MGET, batch HTTP),
+     * böylece sayfa başına uçuş sayısından bağımsız birkaç round trip yapılır
+     */
+    private List<FlightResponse> buildFlightResponses(List<Flight> flights, FlightFieldSelection selection) {
+        ReferenceLookup lookup = new ReferenceLookup();
+        lookup.prefetch(flights, selection);
+        return flights.stream()
+                .map(flight -> buildFlightResponse(flight, lookup, selection))
+                .collect(Collectors.toList());
+    }
+
+    private FlightResponse buildFlightResponse(Flight flight, ReferenceLookup lookup, FlightFieldSelection selection) {
         FlightResponse response = flightMapper.toResponse(flight);
 
         try {
-            // Reference data'ları cache'ten al
-            response.setAirline(referenceDataService.getAirline(flight.getAirlineId()));
-            response.setAircraft(referenceDataService.getAircraft(flight.getAircraftId()));
+            // Reference data'ları cache'ten al - yalnızca istenen parçalar zenginleştirilir
+            if (selection.expands(FlightFieldSelection.Expansion.AIRLINE)) {
+                response.setAirline(lookup.airline(flight.getAirlineId()));
+            }
+            if (selection.expands(FlightFieldSelection.Expansion.AIRCRAFT)) {
+                response.setAircraft(lookup.aircraft(flight.getAircraftId()));
+            }
 
             // Route bilgilerini al
-            if (flight.getRouteId() != null) {
-                RouteCache route = referenceDataService.getRoute(flight.getRouteId());
-                response.setRoute(route);
-                response.setRoutePath(route.getRoutePath());
-                response.setRouteDistance(route.getDistance());
-                response.setRouteEstimatedTime(route.getEstimatedFlightTime());
-                response.setIsMultiSegmentRoute(route.getIsMultiSegment());
+            boolean expandRoute = selection.expands(FlightFieldSelection.Expansion.ROUTE);
+            boolean expandAirports = selection.expands(FlightFieldSelection.Expansion.AIRPORTS);
+            if (flight.getRouteId() != null && (expandRoute || expandAirports)) {
+                RouteCache route = lookup.route(flight.getRouteId());
+                if (expandRoute) {
+                    response.setRoute(route);
+                    response.setRoutePath(route.getRoutePath());
+                    response.setRouteDistance(route.getDistance());
+                    response.setRouteEstimatedTime(route.getEstimatedFlightTime());
+                    response.setIsMultiSegmentRoute(route.getIsMultiSegment());
+                }
 
                 // Route'dan airport bilgilerini al (backward compatibility için)
-                if (route.getOriginAirportId() != null) {
-                    response.setOriginAirport(referenceDataService.getAirport(route.getOriginAirportId()));
+                if (expandAirports && route.getOriginAirportId() != null) {
+                    response.setOriginAirport(lookup.airport(route.getOriginAirportId()));
                 }
-                if (route.getDestinationAirportId() != null) {
-                    response.setDestinationAirport(referenceDataService.getAirport(route.getDestinationAirportId()));
+                if (expandAirports && route.getDestinationAirportId() != null) {
+                    response.setDestinationAirport(lookup.airport(route.getDestinationAirportId()));
                 }
             }
 
             // Connecting flight segments
-            if (Boolean.TRUE.equals(flight.getIsConnectingFlight()) && flight.getParentFlightId() == null) {
-                List<Flight> segments = flightRepository.findByParentFlightIdOrderBySegmentNumber(flight.getId());
+            if (selection.expands(FlightFieldSelection.Expansion.SEGMENTS)
+                    && Boolean.TRUE.equals(flight.getIsConnectingFlight()) && flight.getParentFlightId() == null) {
+                List<Flight> segments = flightRepository.findFlightColumnsByParentFlightId(
+                        segmentColumns(selection), flight.getId());
+                lookup.prefetch(segments, selection);
                 List<FlightResponse> segmentResponses = segments.stream()
-                        .map(this::buildFlightResponse)
+                        .map(segment -> buildFlightResponse(segment, lookup, selection))
                         .collect(Collectors.toList());
                 response.setConnectingFlights(segmentResponses);
                 response.setTotalSegments(segments.size());
-                response.setFullRoute(buildFullRouteFromSegments(segments));
+                response.setFullRoute(buildFullRouteFromSegments(segments, lookup));
             }
 
         } catch (Exception e) {
@@ -681,7 +784,16 @@ public class FlightService {
         return response;
     }
 
-    private String buildFullRouteFromSegments(List<Flight> segments) {
+    /**
+     * fullRoute segment route'larından üretildiği için segment sorgusunda routeId her zaman gerekir
+     */
+    private Set<String> segmentColumns(FlightFieldSelection selection) {
+        Set<String> columns = new HashSet<>(selection.getColumns());
+        columns.add("routeId");
+        return columns;
+    }
+
+    private String buildFullRouteFromSegments(List<Flight> segments, ReferenceLookup lookup) {
         if (segments.isEmpty()) return "";
 
         StringBuilder route = new StringBuilder();
@@ -689,7 +801,7 @@ public class FlightService {
         try {
             Flight firstSegment = segments.get(0);
             if (firstSegment.getRouteId() != null) {
-                RouteCache firstRoute = referenceDataService.getRoute(firstSegment.getRouteId());
+                RouteCache firstRoute = lookup.route(firstSegment.getRouteId());
                 if (firstRoute.getOriginAirportCode() != null) {
                     route.append(firstRoute.getOriginAirportCode());
                 }
@@ -697,7 +809,7 @@ public class FlightService {
 
             for (Flight segment : segments) {
                 if (segment.getRouteId() != null) {
-                    RouteCache segmentRoute = referenceDataService.getRoute(segment.getRouteId());
+                    RouteCache segmentRoute = lookup.route(segment.getRouteId());
                     if (segmentRoute.getDestinationAirportCode() != null) {
                         route.append(" → ").append(segmentRoute.getDestinationAirportCode());
                     }
@@ -712,6 +824,74 @@ public class FlightService {
         return route.toString();
     }
 
+    /**
+     * Tek bir cevap oluşturma süresince reference data'yı tutar.
+     * Toplu çekilemeyen id'ler için tekil lookup'a düşer.
+     */
+    private class ReferenceLookup {
+        private final Map<Long, AirlineCache> airlines = new HashMap<>();
+        private final Map<Long, AircraftCache> aircrafts = new HashMap<>();
+        private final Map<Long, RouteCache> routes = new HashMap<>();
+        private final Map<Long, AirportCache> airports = new HashMap<>();
+
+        void prefetch(Collection<Flight> flights, FlightFieldSelection selection) {
+            if (flights.isEmpty()) return;
+            try {
+                if (selection.expands(FlightFieldSelection.Expansion.AIRLINE)) {
+                    airlines.putAll(referenceDataService.getAirlines(missingIds(flights, Flight::getAirlineId, airlines)));
+                }
+                if (selection.expands(FlightFieldSelection.Expansion.AIRCRAFT)) {
+                    aircrafts.putAll(referenceDataService.getAircrafts(missingIds(flights, Flight::getAircraftId, aircrafts)));
+                }
+                if (!selection.expands(FlightFieldSelection.Expansion.ROUTE)
+                        && !selection.expands(FlightFieldSelection.Expansion.AIRPORTS)
+                        && !selection.expands(FlightFieldSelection.Expansion.SEGMENTS)) {
+                    return;
+                }
+                routes.putAll(referenceDataService.getRoutes(missingIds(flights, Flight::getRouteId, routes)));
+                if (!selection.expands(FlightFieldSelection.Expansion.AIRPORTS)) {
+                    return;
+                }
+
+                Set<Long> airportIds = new HashSet<>();
+                for (RouteCache route : routes.values()) {
+                    airportIds.add(route.getOriginAirportId());
+                    airportIds.add(route.getDestinationAirportId());
+                }
+                airportIds.remove(null);
+                airportIds.removeAll(airports.keySet());
+                airports.putAll(referenceDataService.getAirports(airportIds));
+            } catch (Exception e) {
+                log.warn("Bulk reference prefetch failed, falling back to single lookups: {}", e.getMessage());
+            }
+        }
+
+        AirlineCache airline(Long id) {
+            return id != null ? airlines.computeIfAbsent(id, referenceDataService::getAirline) : null;
+        }
+
+        AircraftCache aircraft(Long id) {
+            return id != null ? aircrafts.computeIfAbsent(id, referenceDataService::getAircraft) : null;
+        }
+
+        RouteCache route(Long id) {
+            return id != null ? routes.computeIfAbsent(id, referenceDataService::getRoute) : null;
+        }
+
+        AirportCache airport(Long id) {
+            return id != null ? airports.computeIfAbsent(id, referenceDataService::getAirport) : null;
+        }
+
+        private Set<Long> missingIds(Collection<Flight> flights, Function<Flight, Long> idGetter,
+                                     Map<Long, ?> known) {
+            return flights.stream()
+                    .map(idGetter)
+                    .filter(Objects::nonNull)
+                    .filter(id -> !known.containsKey(id))
+                    .collect(Collectors.toSet());
+        }
+    }
+
     private void archiveCompletedFlight(Flight flight) {
         try {
             if (FlightStatus.ARRIVED.equals(flight.getStatus()) || FlightStatus.CANCELLED.equals(flight.getStatus())) {
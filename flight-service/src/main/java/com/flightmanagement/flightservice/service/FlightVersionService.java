@@ -0,0 +1,193 @@
+package com.flightmanagement.flightservice.service;
+
+import com.flightmanagement.flightservice.event.FlightChangedEvent;
+import com.flightmanagement.flightservice.repository.FlightRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Flight okuma endpoint'leri için conditional GET (ETag / Last-Modified) değerlerini üretir.
+ * ETag; kapsamdaki kayıt sayısı, en son updatedAt, silme/reference değişiklik sayacı ve reference
+ * replika versiyonundan oluşur, böylece uçuşlar silinince ya da response'u zenginleştiren reference
+ * data değişince de değişir. DB stamp'i kısa süre bellekte tutulur, her istekte sorgulanmaz.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FlightVersionService {
+
+    // Sayaç tüm instance'lar için ortak - silmeyi yapan instance artırır, diğerleri refresh-ms içinde görür
+    private static final String CHANGE_COUNTER_KEY = "flights:version:changes";
+    private static final String CHANGED_AT_KEY = "flights:version:changed-at";
+
+    private static final int MAX_CACHED_STAMPS = 1000;
+
+    private final FlightRepository flightRepository;
+    private final ReferenceDataReplica referenceDataReplica;
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    // Bu instance'ta commit edilen değişiklikler cache'i hemen geçersiz kılar, diğer instance'lar için üst sınır
+    @Value("${flight-version.stamp-ttl-ms:2000}")
+    private long stampTtlMs;
+
+    @Value("${flight-version.counter-refresh-ms:1000}")
+    private long counterRefreshMs;
+
+    private final AtomicLong localChanges = new AtomicLong();
+    private final Map<String, CachedStamp> stamps = new ConcurrentHashMap<>();
+    private volatile ChangeCounter changeCounter = new ChangeCounter(0L, 0L, 0L);
+
+    public VersionTag forFilters(String scope, String flightNumber, Long airlineId, LocalDate flightDate) {
+        String key = "filters:" + flightNumber + ":" + airlineId + ":" + flightDate;
+        return toTag(scope, stamp(key, () -> flightRepository.getVersionStampWithFilters(flightNumber, airlineId, flightDate, null)));
+    }
+
+    public VersionTag forDate(String scope, LocalDate date) {
+        return toTag(scope, stamp("date:" + date, () -> flightRepository.getVersionStampByDate(date)));
+    }
+
+    // ===============================
+    // CHANGE TRACKING
+    // ===============================
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFlightChanged(FlightChangedEvent event) {
+        localChanges.incrementAndGet();
+        // Hard delete MAX(updatedAt)'i ilerletmez, sayaç ve zaman damgası bunu taşır
+        if (event.isDeleted()) {
+            recordChange();
+        }
+    }
+
+    /**
+     * Uçuş satırlarına yansımayan bir değişikliği (silme, reference data) kaydeder
+     */
+    public void recordChange() {
+        localChanges.incrementAndGet();
+        try {
+            Long value = redisTemplate.opsForValue().increment(CHANGE_COUNTER_KEY);
+            long changedAt = System.currentTimeMillis();
+            redisTemplate.opsForValue().set(CHANGED_AT_KEY, changedAt);
+            changeCounter = new ChangeCounter(value != null ? value : 0L, changedAt, changedAt);
+        } catch (Exception e) {
+            // Redis yoksa yerel sayaç en azından bu instance'ın stamp cache'ini geçersiz kılar
+            log.debug("Could not record flight version change: {}", e.getMessage());
+        }
+    }
+
+    // ===============================
+    // STAMP
+    // ===============================
+
+    private FlightRepository.VersionStamp stamp(String key, Supplier<FlightRepository.VersionStamp> loader) {
+        long now = System.currentTimeMillis();
+        long changes = localChanges.get();
+        CachedStamp cached = stamps.get(key);
+        if (cached != null && cached.localChanges == changes && now - cached.loadedAt < stampTtlMs) {
+            return cached.stamp;
+        }
+
+        FlightRepository.VersionStamp stamp = loader.get();
+        if (stamps.size() >= MAX_CACHED_STAMPS) {
+            stamps.clear();
+        }
+        stamps.put(key, new CachedStamp(stamp, changes, now));
+        return stamp;
+    }
+
+    private ChangeCounter currentChangeCounter() {
+        ChangeCounter cached = changeCounter;
+        long now = System.currentTimeMillis();
+        if (now - cached.loadedAt < counterRefreshMs) {
+            return cached;
+        }
+        try {
+            Object counter = redisTemplate.opsForValue().get(CHANGE_COUNTER_KEY);
+            Object changedAt = redisTemplate.opsForValue().get(CHANGED_AT_KEY);
+            ChangeCounter refreshed = new ChangeCounter(
+                    counter instanceof Number ? ((Number) counter).longValue() : 0L,
+                    changedAt instanceof Number ? ((Number) changedAt).longValue() : 0L,
+                    now);
+            changeCounter = refreshed;
+            return refreshed;
+        } catch (Exception e) {
+            // Redis'e ulaşılamıyorsa son bilinen sayaçla devam et
+            log.debug("Could not refresh flight version counter: {}", e.getMessage());
+            return cached;
+        }
+    }
+
+    private VersionTag toTag(String scope, FlightRepository.VersionStamp stamp) {
+        long count = stamp != null && stamp.getCount() != null ? stamp.getCount() : 0L;
+        long rowsModified = stamp != null && stamp.getLastModified() != null
+                ? stamp.getLastModified().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : 0L;
+        long referenceVersion = referenceDataReplica.getVersion();
+        ChangeCounter changes = currentChangeCounter();
+        long lastModified = Math.max(rowsModified, changes.changedAt);
+
+        // Aynı veri farklı sayfa/sıralama ile istenebilir, kapsamı da hash'e kat
+        String etag = "\"" + Long.toHexString(count) + "-" + Long.toHexString(rowsModified)
+                + "-" + Long.toHexString(changes.value)
+                + "-" + Long.toHexString(referenceVersion)
+                + "-" + Integer.toHexString(Objects.hashCode(scope)) + "\"";
+        return new VersionTag(etag, lastModified);
+    }
+
+    private static class CachedStamp {
+        private final FlightRepository.VersionStamp stamp;
+        private final long localChanges;
+        private final long loadedAt;
+
+        CachedStamp(FlightRepository.VersionStamp stamp, long localChanges, long loadedAt) {
+            this.stamp = stamp;
+            this.localChanges = localChanges;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    private static class ChangeCounter {
+        private final long value;
+        private final long changedAt;
+        private final long loadedAt;
+
+        ChangeCounter(long value, long changedAt, long loadedAt) {
+            this.value = value;
+            this.changedAt = changedAt;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    public static class VersionTag {
+        private final String etag;
+        private final long lastModified;
+
+        VersionTag(String etag, long lastModified) {
+            this.etag = etag;
+            this.lastModified = lastModified;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        /**
+         * Epoch millis, kapsamda kayıt ve silme/reference değişikliği yoksa 0
+         */
+        public long getLastModified() {
+            return lastModified;
+        }
+    }
+}
@@ -0,0 +1,689 @@
+package com.flightmanagement.flightservice.service;
+
+import com.flightmanagement.flightservice.dto.cache.RouteCache;
+import com.flightmanagement.flightservice.dto.request.GateAutoAssignRequest;
+import com.flightmanagement.flightservice.dto.response.GateAssignmentResponse;
+import com.flightmanagement.flightservice.dto.response.GateOccupancyResponse;
+import com.flightmanagement.flightservice.entity.Flight;
+import com.flightmanagement.flightservice.entity.enums.FlightStatus;
+import com.flightmanagement.flightservice.event.FlightChangedEvent;
+import com.flightmanagement.flightservice.exception.BusinessException;
+import com.flightmanagement.flightservice.repository.FlightRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Gate doluluk index'i ve otomatik gate ataması.
+ *
+ * gateNumber kalkış gate'i olarak yorumlanır: uçuş, origin havalimanındaki gate'i kalkıştan boarding payı
+ * kadar önce ile pushback payı kadar sonrası arasında meşgul eder (gerçekleşen kalkış varsa o esas alınır).
+ * Havalimanı/gate başına bu aralıklar başlangıca göre sıralı tutulur; atama doğrulaması ve çakışma
+ * listesi yalnızca istenen zamanın çevresine bakar.
+ */
+@Service
+@Slf4j
+public class GateAssignmentService {
+
+    private static final Set<String> GATE_COLUMNS = Set.of(
+            "id", "flightNumber", "routeId", "flightDate", "scheduledDeparture", "actualDeparture",
+            "status", "active", "isConnectingFlight", "parentFlightId", "gateNumber");
+
+    private final FlightRepository flightRepository;
+    private final ActiveFlightLoader activeFlights;
+    private final KafkaProducerService kafkaProducerService;
+    private final WebSocketMessageService webSocketMessageService;
+
+    @Value("${gate-assignment.pre-departure-buffer-minutes:45}")
+    private int preDepartureBufferMinutes;
+
+    @Value("${gate-assignment.post-departure-buffer-minutes:15}")
+    private int postDepartureBufferMinutes;
+
+    @Value("${gate-assignment.days-back:1}")
+    private int daysBack;
+
+    @Value("${gate-assignment.days-ahead:7}")
+    private int daysAhead;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private GateIndex index = new GateIndex(LocalDate.now(), LocalDate.now().minusDays(1));
+
+    // Rebuild sürerken gelen değişiklikler - lock altında
+    private final RebuildChangeTracker<GateSlot> changesDuringRebuild = new RebuildChangeTracker<>();
+
+    private volatile LocalDateTime lastRebuildAt;
+
+    public GateAssignmentService(FlightRepository flightRepository,
+                                 ReferenceDataService referenceDataService,
+                                 KafkaProducerService kafkaProducerService,
+                                 WebSocketMessageService webSocketMessageService) {
+        this.flightRepository = flightRepository;
+        this.activeFlights = new ActiveFlightLoader(flightRepository, referenceDataService, GATE_COLUMNS);
+        this.kafkaProducerService = kafkaProducerService;
+        this.webSocketMessageService = webSocketMessageService;
+    }
+
+    // ===============================
+    // VALIDATION
+    // ===============================
+
+    /**
+     * Gate başka bir uçuşla aynı zaman aralığında kullanılıyorsa BusinessException
+     *
+     * @param flightId güncellenen uçuş (yeni uçuş için null) - kendi mevcut kaydı çakışma sayılmaz
+     */
+    public void validateAssignment(Long flightId, Long airportId, String gateNumber, LocalDateTime departure) {
+        validate(flightId, null, airportId, gateNumber, departure);
+    }
+
+    /**
+     * Aktarmalı uçuş segment'i için gate kontrolü
+     *
+     * @param parentFlightId güncellenen aktarmalı uçuşun ana kaydı (yeni uçuş için null) - segment'ler
+     *                       yeniden yaratıldığından ana kaydın mevcut segment'leri çakışma sayılmaz
+     */
+    public void validateSegmentAssignment(Long parentFlightId, Long airportId, String gateNumber, LocalDateTime departure) {
+        validate(null, parentFlightId, airportId, gateNumber, departure);
+    }
+
+    private void validate(Long flightId, Long parentFlightId, Long airportId, String gateNumber, LocalDateTime departure) {
+        String gate = normalizeGate(gateNumber);
+        if (gate == null || airportId == null || departure == null) {
+            return;
+        }
+        LocalDateTime start = departure.minusMinutes(preDepartureBufferMinutes);
+        LocalDateTime end = departure.plusMinutes(postDepartureBufferMinutes);
+        LocalDate date = departure.toLocalDate();
+
+        List<GateSlot> conflicts = read(date.minusDays(1), date.plusDays(1),
+                gates -> gates.overlapping(airportId, gate, start, end, maxSlotMinutes(), flightId, parentFlightId));
+        if (!conflicts.isEmpty()) {
+            GateSlot first = conflicts.get(0);
+            throw new BusinessException(String.format(
+                    "Gate %s is occupied by flight %s (%s - %s)", gate, first.flightNumber,
+                    first.start.toLocalTime(), first.end.toLocalTime()));
+        }
+    }
+
+    // ===============================
+    // QUERIES
+    // ===============================
+
+    public GateOccupancyResponse getOccupancy(Long airportId, LocalDate date) {
+        return read(date.minusDays(1), date.plusDays(1), gates -> {
+            List<GateSlot> departures = gates.departuresOf(airportId, date);
+            Map<String, List<GateOccupancyResponse.GateSlot>> byGate = new TreeMap<>();
+            List<GateOccupancyResponse.GateConflict> conflicts = new ArrayList<>();
+            int withoutGate = 0;
+
+            for (GateSlot slot : departures) {
+                if (slot.gate == null) {
+                    withoutGate++;
+                    continue;
+                }
+                byGate.computeIfAbsent(slot.gate, g -> new ArrayList<>()).add(toDto(slot, slot.gate));
+                // Her çifti bir kez raporla: yalnızca kendisinden önce başlayanlarla karşılaştır
+                for (GateSlot other : gates.overlapping(airportId, slot.gate, slot.start, slot.end, maxSlotMinutes(), slot.flightId, null)) {
+                    if (GateSlot.ORDER.compare(other, slot) < 0 || !date.equals(other.flightDate)) {
+                        conflicts.add(GateOccupancyResponse.GateConflict.builder()
+                                .gate(slot.gate)
+                                .flightId(slot.flightId)
+                                .flightNumber(slot.flightNumber)
+                                .conflictingFlightId(other.flightId)
+                                .conflictingFlightNumber(other.flightNumber)
+                                .overlapMinutes((int) Duration.between(
+                                        max(slot.start, other.start), min(slot.end, other.end)).toMinutes())
+                                .build());
+                    }
+                }
+            }
+
+            return GateOccupancyResponse.builder()
+                    .airportId(airportId)
+                    .date(date)
+                    .departures(departures.size())
+                    .withoutGate(withoutGate)
+                    .gates(byGate)
+                    .conflicts(conflicts)
+                    .build();
+        });
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            status.put("windowStart", index.windowStart);
+            status.put("windowEnd", index.windowEnd);
+            status.put("departures", index.byFlight.size());
+            status.put("airports", index.byAirportGate.size());
+            status.put("gates", index.byAirportGate.values().stream().mapToInt(Map::size).sum());
+        } finally {
+            lock.readLock().unlock();
+        }
+        status.put("preDepartureBufferMinutes", preDepartureBufferMinutes);
+        status.put("postDepartureBufferMinutes", postDepartureBufferMinutes);
+        status.put("lastRebuildAt", lastRebuildAt);
+        return status;
+    }
+
+    // ===============================
+    // AUTO ASSIGNMENT
+    // ===============================
+
+    /**
+     * Günün kalkışlarını açgözlü (greedy) interval partitioning ile gate'lere dağıtır: uçuşlar doluluk
+     * başlangıcına göre sırayla, boşalma zamanı başlangıca en yakın (best-fit) gate'e yerleşir. Kalkmış
+     * uçuşlar, komşu günlerin uçuşları ve - reassignExisting değilse - gate'i olan uçuşlar sabit kalır.
+     */
+    @Transactional
+    public GateAssignmentResponse autoAssign(Long airportId, GateAutoAssignRequest request) {
+        long started = System.nanoTime();
+        LocalDate date = request.getDate();
+        LinkedHashSet<String> gates = new LinkedHashSet<>();
+        for (String gate : request.getGates()) {
+            String normalized = normalizeGate(gate);
+            if (normalized != null) {
+                gates.add(normalized);
+            }
+        }
+        if (gates.isEmpty()) {
+            throw new BusinessException("At least one gate is required");
+        }
+
+        Plan plan = read(date.minusDays(1), date.plusDays(1),
+                gateIndex -> plan(gateIndex, airportId, date, gates, request.isReassignExisting()));
+
+        if (!request.isDryRun()) {
+            applyPlan(plan);
+        }
+
+        Set<String> used = new HashSet<>();
+        List<GateOccupancyResponse.GateSlot> assignments = new ArrayList<>();
+        plan.assigned.forEach((slot, gate) -> {
+            used.add(gate);
+            assignments.add(toDto(slot, gate));
+        });
+        assignments.sort(Comparator.comparing(GateOccupancyResponse.GateSlot::getOccupiedFrom));
+
+        log.info("Gate auto-assignment for airport {} on {}: {} assigned, {} kept, {} unassigned (dryRun={})",
+                airportId, date, plan.assigned.size(), plan.kept, plan.unassigned.size(), request.isDryRun());
+
+        return GateAssignmentResponse.builder()
+                .airportId(airportId)
+                .date(date)
+                .dryRun(request.isDryRun())
+                .departures(plan.departures)
+                .keptAssignments(plan.kept)
+                .newAssignments(plan.assigned.size())
+                .gatesUsed(used.size())
+                .assignments(assignments)
+                .unassigned(plan.unassigned.stream().map(slot -> toDto(slot, null)).toList())
+                .computeMicros((System.nanoTime() - started) / 1000)
+                .build();
+    }
+
+    private Plan plan(GateIndex gateIndex, Long airportId, LocalDate date, Set<String> gates, boolean reassignExisting) {
+        List<GateSlot> departures = gateIndex.departuresOf(airportId, date);
+        List<GateSlot> toAssign = new ArrayList<>();
+        Set<Long> moving = new HashSet<>();
+        int kept = 0;
+        for (GateSlot slot : departures) {
+            if (slot.departed || (slot.gate != null && !reassignExisting)) {
+                kept += slot.gate != null ? 1 : 0;
+                continue;
+            }
+            toAssign.add(slot);
+            moving.add(slot.flightId);
+        }
+        toAssign.sort(GateSlot.ORDER);
+
+        // Sabit kalan doluluklar: atanacak uçuşlar hariç, gate'in index'teki tüm aralıkları
+        Map<String, TreeSet<GateSlot>> fixed = new HashMap<>();
+        for (String gate : gates) {
+            TreeSet<GateSlot> occupied = new TreeSet<>(GateSlot.ORDER);
+            for (GateSlot slot : gateIndex.slotsOf(airportId, gate)) {
+                if (!moving.contains(slot.flightId)) {
+                    occupied.add(slot);
+                }
+            }
+            fixed.put(gate, occupied);
+        }
+
+        TreeSet<GateState> states = new TreeSet<>(GateState.ORDER);
+        for (String gate : gates) {
+            states.add(new GateState(gate, LocalDateTime.MIN));
+        }
+
+        Map<GateSlot, String> assigned = new LinkedHashMap<>();
+        List<GateSlot> unassigned = new ArrayList<>();
+        for (GateSlot slot : toAssign) {
+            GateState chosen = null;
+            for (GateState state : states.headSet(GateState.probe(slot.start), true).descendingSet()) {
+                if (GateIndex.firstOverlap(fixed.get(state.gate), slot.start, slot.end, maxSlotMinutes(), null) == null) {
+                    chosen = state;
+                    break;
+                }
+            }
+            if (chosen == null) {
+                unassigned.add(slot);
+                continue;
+            }
+            states.remove(chosen);
+            states.add(new GateState(chosen.gate, slot.end));
+            assigned.put(slot, chosen.gate);
+        }
+        return new Plan(departures.size(), kept, assigned, unassigned);
+    }
+
+    private void applyPlan(Plan plan) {
+        Map<Long, String> gateByFlight = new HashMap<>();
+        plan.assigned.forEach((slot, gate) -> gateByFlight.put(slot.flightId, gate));
+        // Yeniden atamada yer bulunamayan uçuşun eski gate'i yeni atamalarla çakışabilir, boşaltılır
+        plan.unassigned.forEach(slot -> gateByFlight.put(slot.flightId, null));
+        if (gateByFlight.isEmpty()) {
+            return;
+        }
+
+        List<Flight> changed = new ArrayList<>();
+        for (Flight flight : flightRepository.findAllById(gateByFlight.keySet())) {
+            String gate = gateByFlight.get(flight.getId());
+            if (!Objects.equals(flight.getGateNumber(), gate)) {
+                flight.setGateNumber(gate);
+                changed.add(flight);
+            }
+        }
+        List<Flight> saved = flightRepository.saveAll(changed);
+        for (Flight flight : saved) {
+            kafkaProducerService.sendFlightEvent("FLIGHT_UPDATED", flight);
+        }
+
+        Map<String, Object> bulkData = new HashMap<>();
+        bulkData.put("count", saved.size());
+        bulkData.put("flightIds", saved.stream().map(Flight::getId).collect(Collectors.toList()));
+        webSocketMessageService.sendBulkFlightUpdate("GATE_ASSIGNMENT", bulkData);
+    }
+
+    // ===============================
+    // INDEX MAINTENANCE
+    // ===============================
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFlightChanged(FlightChangedEvent event) {
+        Flight flight = event.getFlight();
+        if (flight == null || flight.getId() == null) {
+            return;
+        }
+
+        try {
+            if (event.isConnectingParent()) {
+                // Ana kayıt gate kullanmaz; segment'ler kendi event'leri olmadan yeniden yaratılmış olabilir
+                List<GateSlot> segments = event.isDeleted()
+                        ? List.of() : activeFlights.loadSegments(flight.getId(), this::toSlot);
+                replaceSegments(flight.getId(), segments);
+                return;
+            }
+            apply(flight.getId(), event.isDeleted() ? null : toSlot(flight, activeFlights.routeOf(flight)));
+        } catch (Exception e) {
+            log.warn("Could not apply flight {} change to gate index: {}", flight.getId(), e.getMessage());
+        }
+    }
+
+    @Scheduled(initialDelayString = "${gate-assignment.initial-delay-ms:9000}",
+            fixedDelayString = "${gate-assignment.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        LocalDate windowStart = LocalDate.now().minusDays(daysBack);
+        LocalDate windowEnd = LocalDate.now().plusDays(daysAhead);
+
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild.begin();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        GateIndex built;
+        try {
+            built = load(windowStart, windowEnd);
+        } catch (Exception e) {
+            log.error("Gate index rebuild failed, keeping previous index: {}", e.getMessage());
+            built = null;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (built != null) {
+                GateIndex target = built;
+                changesDuringRebuild.replay(target::remove, slot -> {
+                    target.remove(slot.flightId);
+                    if (target.covers(slot.flightDate)) {
+                        target.add(slot);
+                    }
+                });
+                index = built;
+                lastRebuildAt = LocalDateTime.now();
+                log.info("Gate index rebuilt: {} departures at {} airports for {} - {} in {} ms",
+                        built.byFlight.size(), built.departuresByAirportDay.size(), windowStart, windowEnd,
+                        System.currentTimeMillis() - started);
+            }
+        } finally {
+            changesDuringRebuild.end();
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(Long flightId, GateSlot slot) {
+        lock.writeLock().lock();
+        try {
+            index.remove(flightId);
+            if (slot != null && index.covers(slot.flightDate)) {
+                index.add(slot);
+            }
+            changesDuringRebuild.track(flightId, slot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void replaceSegments(Long parentFlightId, List<GateSlot> segments) {
+        lock.writeLock().lock();
+        try {
+            for (Long segmentId : new ArrayList<>(index.segmentsByParent.getOrDefault(parentFlightId, Set.of()))) {
+                index.remove(segmentId);
+                changesDuringRebuild.track(segmentId, null);
+            }
+            for (GateSlot segment : segments) {
+                index.remove(segment.flightId);
+                if (index.covers(segment.flightDate)) {
+                    index.add(segment);
+                }
+                changesDuringRebuild.track(segment.flightId, segment);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Aralık canlı pencerede ise okuma kilidi altında, değilse o günler için ayrıca yüklenen index üzerinde
+     */
+    private <T> T read(LocalDate from, LocalDate to, Function<GateIndex, T> query) {
+        lock.readLock().lock();
+        try {
+            if (index.covers(from) && index.covers(to)) {
+                return query.apply(index);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return query.apply(load(from, to));
+    }
+
+    private GateIndex load(LocalDate from, LocalDate to) {
+        GateIndex loaded = new GateIndex(from, to);
+        activeFlights.loadWindow(from, to, this::toSlot).forEach(loaded::add);
+        return loaded;
+    }
+
+    /**
+     * Gate planlamasına girmeyen uçuşlar için null: iptal/pasif, origin'i bilinmeyen ya da aktarmalı uçuşun ana kaydı
+     */
+    private GateSlot toSlot(Flight flight, RouteCache route) {
+        if (!Boolean.TRUE.equals(flight.getActive()) || FlightStatus.CANCELLED.equals(flight.getStatus())
+                || flight.getFlightDate() == null || flight.getScheduledDeparture() == null
+                || route == null || route.getOriginAirportId() == null) {
+            return null;
+        }
+        if (Boolean.TRUE.equals(flight.getIsConnectingFlight()) && flight.getParentFlightId() == null) {
+            return null;
+        }
+        LocalDateTime departure = flight.getActualDeparture() != null ? flight.getActualDeparture() : flight.getScheduledDeparture();
+        return new GateSlot(flight.getId(), flight.getFlightNumber(), flight.getParentFlightId(), route.getOriginAirportId(),
+                normalizeGate(flight.getGateNumber()), flight.getFlightDate(), departure,
+                departure.minusMinutes(preDepartureBufferMinutes), departure.plusMinutes(postDepartureBufferMinutes),
+                flight.getActualDeparture() != null);
+    }
+
+    private long maxSlotMinutes() {
+        return (long) preDepartureBufferMinutes + postDepartureBufferMinutes;
+    }
+
+    static String normalizeGate(String gateNumber) {
+        if (gateNumber == null || gateNumber.isBlank()) {
+            return null;
+        }
+        return gateNumber.trim().toUpperCase();
+    }
+
+    private static GateOccupancyResponse.GateSlot toDto(GateSlot slot, String gate) {
+        return GateOccupancyResponse.GateSlot.builder()
+                .flightId(slot.flightId)
+                .flightNumber(slot.flightNumber)
+                .gate(gate)
+                .departure(slot.departure)
+                .occupiedFrom(slot.start)
+                .occupiedUntil(slot.end)
+                .build();
+    }
+
+    private static LocalDateTime max(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    // ===============================
+    // INDEX STRUCTURES
+    // ===============================
+
+    static final class GateSlot {
+        static final Comparator<GateSlot> ORDER = Comparator
+                .comparing((GateSlot slot) -> slot.start)
+                .thenComparingLong(slot -> slot.flightId);
+
+        final long flightId;
+        final String flightNumber;
+        final Long parentFlightId;
+        final Long airportId;
+        final String gate;
+        final LocalDate flightDate;
+        final LocalDateTime departure;
+        final LocalDateTime start;
+        final LocalDateTime end;
+        final boolean departed;
+
+        GateSlot(long flightId, String flightNumber, Long parentFlightId, Long airportId, String gate, LocalDate flightDate,
+                 LocalDateTime departure, LocalDateTime start, LocalDateTime end, boolean departed) {
+            this.flightId = flightId;
+            this.flightNumber = flightNumber;
+            this.parentFlightId = parentFlightId;
+            this.airportId = airportId;
+            this.gate = gate;
+            this.flightDate = flightDate;
+            this.departure = departure;
+            this.start = start;
+            this.end = end;
+            this.departed = departed;
+        }
+
+        /**
+         * TreeSet aramaları için anahtar; aynı anda başlayan gerçek aralıklardan önce sıralanır
+         */
+        static GateSlot probe(LocalDateTime at) {
+            return new GateSlot(Long.MIN_VALUE, null, null, null, null, null, at, at, at, false);
+        }
+    }
+
+    /**
+     * Greedy atamada gate'in en son boşaldığı zaman
+     */
+    static final class GateState {
+        static final Comparator<GateState> ORDER = Comparator
+                .comparing((GateState state) -> state.freeAt)
+                .thenComparing(state -> state.gate);
+
+        final String gate;
+        final LocalDateTime freeAt;
+
+        GateState(String gate, LocalDateTime freeAt) {
+            this.gate = gate;
+            this.freeAt = freeAt;
+        }
+
+        static GateState probe(LocalDateTime at) {
+            return new GateState("\uffff", at);
+        }
+    }
+
+    static final class Plan {
+        final int departures;
+        final int kept;
+        final Map<GateSlot, String> assigned;
+        final List<GateSlot> unassigned;
+
+        Plan(int departures, int kept, Map<GateSlot, String> assigned, List<GateSlot> unassigned) {
+            this.departures = departures;
+            this.kept = kept;
+            this.assigned = assigned;
+            this.unassigned = unassigned;
+        }
+    }
+
+    /**
+     * Thread-safe değildir, servis read/write lock ile korur
+     */
+    static final class GateIndex {
+        final LocalDate windowStart;
+        final LocalDate windowEnd;
+        final Map<Long, GateSlot> byFlight = new HashMap<>();
+        final Map<Long, Map<String, TreeSet<GateSlot>>> byAirportGate = new HashMap<>();
+        final Map<Long, Map<LocalDate, Set<Long>>> departuresByAirportDay = new HashMap<>();  // gate'siz uçuşlar dahil
+        final Map<Long, Set<Long>> segmentsByParent = new HashMap<>();
+
+        GateIndex(LocalDate windowStart, LocalDate windowEnd) {
+            this.windowStart = windowStart;
+            this.windowEnd = windowEnd;
+        }
+
+        boolean covers(LocalDate date) {
+            return !date.isBefore(windowStart) && !date.isAfter(windowEnd);
+        }
+
+        void add(GateSlot slot) {
+            byFlight.put(slot.flightId, slot);
+            if (slot.parentFlightId != null) {
+                segmentsByParent.computeIfAbsent(slot.parentFlightId, id -> new HashSet<>()).add(slot.flightId);
+            }
+            departuresByAirportDay.computeIfAbsent(slot.airportId, id -> new HashMap<>())
+                    .computeIfAbsent(slot.flightDate, date -> new HashSet<>())
+                    .add(slot.flightId);
+            if (slot.gate != null) {
+                byAirportGate.computeIfAbsent(slot.airportId, id -> new HashMap<>())
+                        .computeIfAbsent(slot.gate, gate -> new TreeSet<>(GateSlot.ORDER))
+                        .add(slot);
+            }
+        }
+
+        void remove(Long flightId) {
+            GateSlot old = byFlight.remove(flightId);
+            if (old == null) {
+                return;
+            }
+            if (old.parentFlightId != null) {
+                Set<Long> segments = segmentsByParent.get(old.parentFlightId);
+                if (segments != null && segments.remove(flightId) && segments.isEmpty()) {
+                    segmentsByParent.remove(old.parentFlightId);
+                }
+            }
+            Map<LocalDate, Set<Long>> days = departuresByAirportDay.get(old.airportId);
+            Set<Long> ids = days != null ? days.get(old.flightDate) : null;
+            if (ids != null && ids.remove(flightId) && ids.isEmpty()) {
+                days.remove(old.flightDate);
+                if (days.isEmpty()) {
+                    departuresByAirportDay.remove(old.airportId);
+                }
+            }
+            if (old.gate != null) {
+                Map<String, TreeSet<GateSlot>> gates = byAirportGate.get(old.airportId);
+                TreeSet<GateSlot> slots = gates != null ? gates.get(old.gate) : null;
+                if (slots != null && slots.remove(old) && slots.isEmpty()) {
+                    gates.remove(old.gate);
+                    if (gates.isEmpty()) {
+                        byAirportGate.remove(old.airportId);
+                    }
+                }
+            }
+        }
+
+        List<GateSlot> departuresOf(Long airportId, LocalDate date) {
+            Set<Long> ids = departuresByAirportDay.getOrDefault(airportId, Map.of()).getOrDefault(date, Set.of());
+            List<GateSlot> slots = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                slots.add(byFlight.get(id));
+            }
+            slots.sort(GateSlot.ORDER);
+            return slots;
+        }
+
+        Collection<GateSlot> slotsOf(Long airportId, String gate) {
+            return byAirportGate.getOrDefault(airportId, Map.of()).getOrDefault(gate, new TreeSet<>(GateSlot.ORDER));
+        }
+
+        List<GateSlot> overlapping(Long airportId, String gate, LocalDateTime start, LocalDateTime end,
+                                   long maxSlotMinutes, Long excludeFlightId, Long excludeParentFlightId) {
+            TreeSet<GateSlot> slots = byAirportGate.getOrDefault(airportId, Map.of()).get(gate);
+            List<GateSlot> result = new ArrayList<>();
+            if (slots == null) {
+                return result;
+            }
+            LocalDateTime earliestRelevant = start.minusMinutes(maxSlotMinutes);
+            for (GateSlot slot : slots.headSet(GateSlot.probe(end), false).descendingSet()) {
+                if (slot.start.isBefore(earliestRelevant)) {
+                    break;
+                }
+                if (slot.end.isAfter(start) && (excludeFlightId == null || slot.flightId != excludeFlightId)
+                        && (excludeParentFlightId == null || !excludeParentFlightId.equals(slot.parentFlightId))) {
+                    result.add(slot);
+                }
+            }
+            Collections.reverse(result);
+            return result;
+        }
+
+        /**
+         * [start, end) ile kesişen ilk aralık; aralık uzunlukları maxSlotMinutes ile sınırlı olduğundan
+         * yalnızca end'den önce ve start - maxSlotMinutes'tan sonra başlayanlar taranır
+         */
+        static GateSlot firstOverlap(TreeSet<GateSlot> slots, LocalDateTime start, LocalDateTime end,
+                                     long maxSlotMinutes, Long excludeFlightId) {
+            if (slots == null) {
+                return null;
+            }
+            LocalDateTime earliestRelevant = start.minusMinutes(maxSlotMinutes);
+            for (GateSlot slot : slots.headSet(GateSlot.probe(end), false).descendingSet()) {
+                if (slot.start.isBefore(earliestRelevant)) {
+                    return null;
+                }
+                if (slot.end.isAfter(start) && (excludeFlightId == null || slot.flightId != excludeFlightId)) {
+                    return slot;
+                }
+            }
+            return null;
+        }
+    }
+}
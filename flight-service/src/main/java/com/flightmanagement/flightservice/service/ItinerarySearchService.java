@@ -0,0 +1,646 @@
+package com.flightmanagement.flightservice.service;
+
+import com.flightmanagement.flightservice.dto.cache.AirportCache;
+import com.flightmanagement.flightservice.dto.cache.RouteCache;
+import com.flightmanagement.flightservice.dto.response.ItineraryResponse;
+import com.flightmanagement.flightservice.dto.response.ItinerarySearchResponse;
+import com.flightmanagement.flightservice.entity.Flight;
+import com.flightmanagement.flightservice.entity.enums.FlightStatus;
+import com.flightmanagement.flightservice.event.FlightChangedEvent;
+import com.flightmanagement.flightservice.exception.BusinessException;
+import com.flightmanagement.flightservice.repository.FlightRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aktarmalı yolculuk arama (connection scan).
+ *
+ * Pencere içindeki aktif uçuş bacakları kalkışa göre sıralı, immutable bir diziye (timetable) alınır.
+ * Arama diziyi kalkış sırasıyla bir kez tarar; her bacak için "kaç bacakla ve en geç hangi kalkışla
+ * ulaşılabilir" etiketlerinin Pareto kümesini tutar (az bacak ya da geç başlangıç). Aktarma penceresi
+ * (min/max layover) durak bazlı varış index'i üzerinden kontrol edilir.
+ *
+ * Flight değişiklikleri FlightChangedEvent ile kuyruğa alınır ve bir sonraki aramada sıralı birleştirme
+ * ile diziye uygulanır; pencere kaydırmak için periyodik tam rebuild yapılır.
+ */
+@Service
+@Slf4j
+public class ItinerarySearchService {
+
+    private static final Set<String> TIMETABLE_COLUMNS = Set.of(
+            "id", "flightNumber", "airlineId", "routeId", "flightDate", "scheduledDeparture", "scheduledArrival",
+            "status", "active", "isConnectingFlight", "parentFlightId");
+
+    private static final int MAX_STOPS = 3;
+    private static final int MAX_LEG_MINUTES = 24 * 60;
+
+    private final ReferenceDataService referenceDataService;
+    private final ActiveFlightLoader activeFlights;
+    private final MinimumConnectionTimeService minimumConnectionTimeService;
+    private final Timer searchTimer;
+
+    @Value("${itinerary.horizon-days:7}")
+    private int horizonDays;
+
+    private volatile Timetable timetable = Timetable.empty();
+    private volatile boolean built;
+    private volatile long lastRebuildMillis;
+    private final Object rebuildLock = new Object();
+
+    // Bir sonraki aramada uygulanacak değişiklikler
+    private final Object pendingLock = new Object();
+    private Map<Long, TimetableLeg> pendingUpserts = new HashMap<>();
+    private Set<Long> pendingRemovals = new HashSet<>();
+    private Set<Long> pendingParentRemovals = new HashSet<>();
+
+    // Rebuild'in DB okuması başladıktan sonra gelen değişiklikler; bunlar eski tabloya birleştirilmiş
+    // olabilir ama yeni tabloda yoklar - swap sırasında yeniden kuyruğa alınır (null = rebuild yok)
+    private Map<Long, TimetableLeg> upsertsDuringRebuild;
+    private Set<Long> removalsDuringRebuild;
+    private Set<Long> parentRemovalsDuringRebuild;
+
+    public ItinerarySearchService(FlightRepository flightRepository,
+                                  ReferenceDataService referenceDataService,
+                                  MinimumConnectionTimeService minimumConnectionTimeService,
+                                  MeterRegistry meterRegistry) {
+        this.referenceDataService = referenceDataService;
+        this.activeFlights = new ActiveFlightLoader(flightRepository, referenceDataService, TIMETABLE_COLUMNS);
+        this.minimumConnectionTimeService = minimumConnectionTimeService;
+        this.searchTimer = Timer.builder("itinerary.search.duration")
+                .description("Connection scan itinerary search time")
+                .tag("service", "flight-service")
+                .register(meterRegistry);
+    }
+
+    // ===============================
+    // SEARCH
+    // ===============================
+
+    public ItinerarySearchResponse search(String origin, String destination, LocalDate date, LocalTime departAfter,
+                                          Integer minConnectionMinutes, int maxConnectionMinutes, int maxStops,
+                                          int limit, boolean paretoOnly) {
+        AirportCache originAirport = resolveAirport(origin);
+        AirportCache destinationAirport = resolveAirport(destination);
+        if (originAirport.getId().equals(destinationAirport.getId())) {
+            throw new BusinessException("Origin and destination must be different");
+        }
+        if (maxConnectionMinutes < 0 || (minConnectionMinutes != null
+                && (minConnectionMinutes < 0 || maxConnectionMinutes < minConnectionMinutes))) {
+            throw new BusinessException("Invalid connection window: " + minConnectionMinutes + "-" + maxConnectionMinutes);
+        }
+        if (maxStops < 0 || maxStops > MAX_STOPS) {
+            throw new BusinessException("maxStops must be between 0 and " + MAX_STOPS);
+        }
+
+        if (!built) {
+            // İlk rebuild henüz çalışmadıysa boş tablo her tarihi reddederdi - tabloyu şimdi kur
+            ensureBuilt();
+        }
+        Timetable current = currentTimetable();
+        if (!built) {
+            throw new BusinessException("Itinerary timetable is not available yet, try again shortly");
+        }
+        if (date.isBefore(current.windowStart) || date.isAfter(current.windowEnd)) {
+            throw new BusinessException("Date " + date + " is outside the searchable window "
+                    + current.windowStart + " - " + current.windowEnd);
+        }
+
+        long started = System.nanoTime();
+        ScanResult scan = scan(current, originAirport.getId(), destinationAirport.getId(), date,
+                departAfter != null ? departAfter : LocalTime.MIDNIGHT,
+                minConnectionMinutes, maxConnectionMinutes, maxStops + 1);
+
+        List<ItineraryResponse> itineraries = scan.itineraries;
+        if (paretoOnly) {
+            itineraries = paretoFront(itineraries);
+        }
+        if (itineraries.size() > limit) {
+            itineraries = new ArrayList<>(itineraries.subList(0, limit));
+        }
+        long elapsedNanos = System.nanoTime() - started;
+        searchTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+        return ItinerarySearchResponse.builder()
+                .origin(originAirport.getIataCode())
+                .destination(destinationAirport.getIataCode())
+                .date(date)
+                .minConnectionMinutes(minConnectionMinutes)
+                .maxConnectionMinutes(maxConnectionMinutes)
+                .maxStops(maxStops)
+                .scannedConnections(scan.scanned)
+                .searchMicros(elapsedNanos / 1000)
+                .itineraries(itineraries)
+                .build();
+    }
+
+    private ScanResult scan(Timetable tt, Long originId, Long destinationId, LocalDate date, LocalTime departAfter,
+                            Integer minConnection, int maxConn, int maxLegs) {
+        // Alt sınır verilmediyse her aktarma kendi havalimanının MCT kuralıyla kontrol edilir
+        MinimumConnectionTimeService.MctLookup mct = minConnection == null ? minimumConnectionTimeService.current() : null;
+        int minConn = minConnection != null ? minConnection : 0;
+
+        int firstDeparture = toMinutes(date.atTime(departAfter));
+        int lastDeparture = toMinutes(date.plusDays(1).atStartOfDay()) - 1;
+        int horizon = lastDeparture + (maxLegs - 1) * (maxConn + MAX_LEG_MINUTES);
+
+        int start = tt.firstDepartureAtOrAfter(firstDeparture);
+        int end = tt.firstDepartureAtOrAfter(horizon + 1);
+        int size = end - start;
+
+        // Durak başına varışa göre indekslenmiş etiketler; aynı bacakla varan etiketler (bacak sayısı,
+        // yolculuk başlangıcı) üzerinde Pareto kümesidir. Farklı varışlar birbirini domine edemez:
+        // erken varan etiket max layover penceresi yüzünden sonraki bir kalkışı kaçırabilir.
+        Labels labels = new Labels(size);
+        Map<Long, TreeMap<Integer, List<Integer>>> arrivalsByAirport = new HashMap<>();
+        List<Integer> destinationLabels = new ArrayList<>();
+
+        // Bacak sayısı başına en geç yolculuk başlangıcı ve onu veren önceki etiket
+        int[] bestStart = new int[maxLegs + 1];
+        int[] bestPredecessor = new int[maxLegs + 1];
+
+        for (int i = 0; i < size; i++) {
+            TimetableLeg leg = tt.legs[start + i];
+            // Origin'e geri dönen bacak hiçbir yolculuğu iyileştirmez
+            if (leg.toAirportId.equals(originId)) {
+                continue;
+            }
+
+            int firstLabel = labels.size;
+            if (leg.fromAirportId.equals(originId)) {
+                if (leg.departure <= lastDeparture) {
+                    labels.add(i, 1, leg.departure, -1);
+                }
+            } else {
+                TreeMap<Integer, List<Integer>> arrivals = arrivalsByAirport.get(leg.fromAirportId);
+                if (arrivals == null) {
+                    continue;
+                }
+                Arrays.fill(bestStart, Integer.MIN_VALUE);
+                Arrays.fill(bestPredecessor, -1);
+                for (List<Integer> candidates : arrivals.subMap(leg.departure - maxConn, true,
+                        leg.departure - minConn, true).values()) {
+                    for (int p : candidates) {
+                        int legs = labels.legs[p] + 1;
+                        if (legs > maxLegs || labels.start[p] <= bestStart[legs]
+                                || visits(tt, start, labels, p, leg.toAirportId)) {
+                            continue;
+                        }
+                        if (mct != null) {
+                            TimetableLeg inbound = tt.legs[start + labels.leg[p]];
+                            if (leg.departure - inbound.arrival < mct.minutes(leg.fromAirportId,
+                                    inbound.airlineId, leg.airlineId, inbound.fromAirportId, leg.toAirportId)) {
+                                continue;
+                            }
+                        }
+                        bestStart[legs] = labels.start[p];
+                        bestPredecessor[legs] = p;
+                    }
+                }
+                // Daha fazla bacak ancak daha geç başlayan bir yolculuk veriyorsa Pareto kümesine girer
+                int latestStart = Integer.MIN_VALUE;
+                for (int legs = 2; legs <= maxLegs; legs++) {
+                    if (bestPredecessor[legs] != -1 && bestStart[legs] > latestStart) {
+                        labels.add(i, legs, bestStart[legs], bestPredecessor[legs]);
+                        latestStart = bestStart[legs];
+                    }
+                }
+            }
+
+            for (int l = firstLabel; l < labels.size; l++) {
+                if (leg.toAirportId.equals(destinationId)) {
+                    destinationLabels.add(l);
+                } else if (labels.legs[l] < maxLegs) {
+                    arrivalsByAirport.computeIfAbsent(leg.toAirportId, k -> new TreeMap<>())
+                            .computeIfAbsent(leg.arrival, k -> new ArrayList<>(2))
+                            .add(l);
+                }
+            }
+        }
+
+        List<ItineraryResponse> itineraries = new ArrayList<>(destinationLabels.size());
+        for (int l : destinationLabels) {
+            itineraries.add(toItinerary(tt, start, labels, l));
+        }
+        itineraries.sort(Comparator.comparing(ItineraryResponse::getArrival)
+                .thenComparing(ItineraryResponse::getStops)
+                .thenComparing(ItineraryResponse::getDeparture, Comparator.reverseOrder()));
+
+        return new ScanResult(itineraries, size);
+    }
+
+    /**
+     * Aynı havalimanından iki kez geçen (döngülü) yolculukları eler
+     */
+    private boolean visits(Timetable tt, int start, Labels labels, int label, Long airportId) {
+        for (int q = label; q != -1; q = labels.predecessor[q]) {
+            TimetableLeg leg = tt.legs[start + labels.leg[q]];
+            if (leg.fromAirportId.equals(airportId) || leg.toAirportId.equals(airportId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private ItineraryResponse toItinerary(Timetable tt, int start, Labels labels, int last) {
+        LinkedList<TimetableLeg> chain = new LinkedList<>();
+        for (int q = last; q != -1; q = labels.predecessor[q]) {
+            chain.addFirst(tt.legs[start + labels.leg[q]]);
+        }
+
+        List<ItineraryResponse.Leg> legs = new ArrayList<>(chain.size());
+        TimetableLeg previous = null;
+        for (TimetableLeg leg : chain) {
+            legs.add(ItineraryResponse.Leg.builder()
+                    .flightId(leg.flightId)
+                    .flightNumber(leg.flightNumber)
+                    .airlineId(leg.airlineId)
+                    .originAirportCode(leg.fromCode)
+                    .destinationAirportCode(leg.toCode)
+                    .departure(leg.departureTime)
+                    .arrival(leg.arrivalTime)
+                    .layoverMinutes(previous != null ? leg.departure - previous.arrival : null)
+                    .build());
+            previous = leg;
+        }
+
+        TimetableLeg first = chain.getFirst();
+        TimetableLeg lastLeg = chain.getLast();
+        return ItineraryResponse.builder()
+                .departure(first.departureTime)
+                .arrival(lastLeg.arrivalTime)
+                .totalMinutes(lastLeg.arrival - first.departure)
+                .stops(chain.size() - 1)
+                .legs(legs)
+                .build();
+    }
+
+    /**
+     * Daha geç kalkış, daha erken varış ve daha az aktarma kriterlerinde domine edilmeyen yolculuklar
+     */
+    private List<ItineraryResponse> paretoFront(List<ItineraryResponse> itineraries) {
+        List<ItineraryResponse> front = new ArrayList<>();
+        for (ItineraryResponse candidate : itineraries) {
+            boolean dominated = false;
+            for (ItineraryResponse other : itineraries) {
+                if (other != candidate && dominates(other, candidate)) {
+                    dominated = true;
+                    break;
+                }
+            }
+            if (!dominated) {
+                front.add(candidate);
+            }
+        }
+        return front;
+    }
+
+    private boolean dominates(ItineraryResponse a, ItineraryResponse b) {
+        boolean noWorse = !a.getDeparture().isBefore(b.getDeparture())
+                && !a.getArrival().isAfter(b.getArrival())
+                && a.getStops() <= b.getStops();
+        boolean better = a.getDeparture().isAfter(b.getDeparture())
+                || a.getArrival().isBefore(b.getArrival())
+                || a.getStops() < b.getStops();
+        return noWorse && better;
+    }
+
+    private AirportCache resolveAirport(String airport) {
+        if (airport == null || airport.isBlank()) {
+            throw new BusinessException("Airport is required");
+        }
+        String value = airport.trim();
+        AirportCache resolved = value.chars().allMatch(Character::isDigit)
+                ? referenceDataService.getAirport(Long.parseLong(value))
+                : referenceDataService.getAirportByIataCode(value.toUpperCase());
+        if (resolved == null || resolved.getId() == null) {
+            throw new BusinessException("Unknown airport: " + airport);
+        }
+        return resolved;
+    }
+
+    // ===============================
+    // TIMETABLE MAINTENANCE
+    // ===============================
+
+    /**
+     * Pencereyi bugüne göre kaydırır ve timetable'ı DB'den yeniden kurar
+     */
+    @Scheduled(initialDelayString = "${itinerary.initial-delay-ms:5000}",
+            fixedDelayString = "${itinerary.rebuild-interval-ms:300000}")
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            long started = System.currentTimeMillis();
+            LocalDate windowStart = LocalDate.now().minusDays(1);
+            LocalDate windowEnd = LocalDate.now().plusDays(horizonDays);
+
+            synchronized (pendingLock) {
+                upsertsDuringRebuild = new HashMap<>();
+                removalsDuringRebuild = new HashSet<>();
+                parentRemovalsDuringRebuild = new HashSet<>();
+            }
+            try {
+                List<TimetableLeg> legs = activeFlights.loadWindow(windowStart, windowEnd, this::toLeg);
+                legs.sort(TimetableLeg.ORDER);
+
+                Timetable rebuilt = new Timetable(legs.toArray(new TimetableLeg[0]), windowStart, windowEnd);
+                lastRebuildMillis = System.currentTimeMillis() - started;
+                synchronized (pendingLock) {
+                    // Okuma başladıktan sonraki değişiklikler yeni tabloya bir sonraki aramada uygulanır
+                    pendingUpserts.putAll(upsertsDuringRebuild);
+                    pendingRemovals.addAll(removalsDuringRebuild);
+                    pendingParentRemovals.addAll(parentRemovalsDuringRebuild);
+                    timetable = rebuilt;
+                    built = true;
+                }
+                log.info("Itinerary timetable rebuilt: {} legs for {} - {} in {} ms",
+                        rebuilt.legs.length, windowStart, windowEnd, lastRebuildMillis);
+            } catch (Exception e) {
+                log.error("Itinerary timetable rebuild failed, keeping previous timetable: {}", e.getMessage());
+            } finally {
+                synchronized (pendingLock) {
+                    upsertsDuringRebuild = null;
+                    removalsDuringRebuild = null;
+                    parentRemovalsDuringRebuild = null;
+                }
+            }
+        }
+    }
+
+    private void ensureBuilt() {
+        synchronized (rebuildLock) {
+            if (!built) {
+                rebuild();
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFlightChanged(FlightChangedEvent event) {
+        Flight flight = event.getFlight();
+        if (flight == null || flight.getId() == null) {
+            return;
+        }
+
+        try {
+            if (event.isConnectingParent()) {
+                // Segment'ler yeniden yaratılmış olabilir: eskilerini parent üzerinden düşür, güncelleri oku
+                List<TimetableLeg> segments = event.isDeleted()
+                        ? List.of() : activeFlights.loadSegments(flight.getId(), this::toLeg);
+                synchronized (pendingLock) {
+                    trackParentRemoval(pendingUpserts, pendingRemovals, pendingParentRemovals, flight.getId(), segments);
+                    if (upsertsDuringRebuild != null) {
+                        trackParentRemoval(upsertsDuringRebuild, removalsDuringRebuild, parentRemovalsDuringRebuild,
+                                flight.getId(), segments);
+                    }
+                }
+                return;
+            }
+
+            TimetableLeg leg = event.isDeleted() ? null : toLeg(flight, activeFlights.routeOf(flight));
+            synchronized (pendingLock) {
+                track(pendingUpserts, pendingRemovals, flight.getId(), leg);
+                if (upsertsDuringRebuild != null) {
+                    track(upsertsDuringRebuild, removalsDuringRebuild, flight.getId(), leg);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Could not apply flight {} change to itinerary timetable: {}", flight.getId(), e.getMessage());
+        }
+    }
+
+    private static void track(Map<Long, TimetableLeg> upserts, Set<Long> removals, Long flightId, TimetableLeg leg) {
+        if (leg != null) {
+            removals.remove(flightId);
+            upserts.put(flightId, leg);
+        } else {
+            upserts.remove(flightId);
+            removals.add(flightId);
+        }
+    }
+
+    private static void trackParentRemoval(Map<Long, TimetableLeg> upserts, Set<Long> removals, Set<Long> parentRemovals,
+                                           Long parentFlightId, List<TimetableLeg> segments) {
+        parentRemovals.add(parentFlightId);
+        upserts.values().removeIf(leg -> parentFlightId.equals(leg.parentFlightId));
+        removals.add(parentFlightId);
+        for (TimetableLeg leg : segments) {
+            upserts.put(leg.flightId, leg);
+        }
+    }
+
+    public Map<String, Object> getStatus() {
+        Timetable current = timetable;
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("built", built);
+        status.put("legs", current.legs.length);
+        status.put("windowStart", current.windowStart);
+        status.put("windowEnd", current.windowEnd);
+        status.put("lastRebuildMs", lastRebuildMillis);
+        synchronized (pendingLock) {
+            status.put("pendingChanges", pendingUpserts.size() + pendingRemovals.size() + pendingParentRemovals.size());
+        }
+        return status;
+    }
+
+    /**
+     * Bekleyen değişiklikleri sıralı birleştirme ile uygular: O(n + k log k)
+     */
+    private Timetable currentTimetable() {
+        synchronized (pendingLock) {
+            if (pendingUpserts.isEmpty() && pendingRemovals.isEmpty() && pendingParentRemovals.isEmpty()) {
+                return timetable;
+            }
+
+            Timetable base = timetable;
+            List<TimetableLeg> upserts = new ArrayList<>();
+            for (TimetableLeg leg : pendingUpserts.values()) {
+                if (base.covers(leg.departureTime.toLocalDate())) {
+                    upserts.add(leg);
+                }
+            }
+            upserts.sort(TimetableLeg.ORDER);
+
+            List<TimetableLeg> merged = new ArrayList<>(base.legs.length + upserts.size());
+            int j = 0;
+            for (TimetableLeg leg : base.legs) {
+                if (pendingUpserts.containsKey(leg.flightId) || pendingRemovals.contains(leg.flightId)
+                        || (leg.parentFlightId != null && pendingParentRemovals.contains(leg.parentFlightId))) {
+                    continue;
+                }
+                while (j < upserts.size() && TimetableLeg.ORDER.compare(upserts.get(j), leg) < 0) {
+                    merged.add(upserts.get(j++));
+                }
+                merged.add(leg);
+            }
+            while (j < upserts.size()) {
+                merged.add(upserts.get(j++));
+            }
+
+            timetable = new Timetable(merged.toArray(new TimetableLeg[0]), base.windowStart, base.windowEnd);
+            pendingUpserts = new HashMap<>();
+            pendingRemovals = new HashSet<>();
+            pendingParentRemovals = new HashSet<>();
+            return timetable;
+        }
+    }
+
+    /**
+     * Aranabilir bacak değilse null: iptal/pasif uçuşlar ve aktarmalı uçuşların ana kaydı
+     */
+    private TimetableLeg toLeg(Flight flight, RouteCache route) {
+        if (!Boolean.TRUE.equals(flight.getActive()) || FlightStatus.CANCELLED.equals(flight.getStatus())) {
+            return null;
+        }
+        if (Boolean.TRUE.equals(flight.getIsConnectingFlight()) && flight.getParentFlightId() == null) {
+            return null;
+        }
+        if (route == null || route.getOriginAirportId() == null || route.getDestinationAirportId() == null
+                || flight.getScheduledDeparture() == null || flight.getScheduledArrival() == null) {
+            return null;
+        }
+
+        // recordDelay planlanan saatleri gecikme kadar kaydırıyor; delayMinutes tekrar eklenmez
+        return new TimetableLeg(flight.getId(), flight.getParentFlightId(), flight.getFlightNumber(),
+                flight.getAirlineId(), route.getOriginAirportId(), route.getDestinationAirportId(),
+                route.getOriginAirportCode(), route.getDestinationAirportCode(),
+                flight.getScheduledDeparture(), flight.getScheduledArrival());
+    }
+
+    private static int toMinutes(LocalDateTime time) {
+        return (int) (time.toEpochSecond(ZoneOffset.UTC) / 60);
+    }
+
+    // ===============================
+    // TIMETABLE STRUCTURES
+    // ===============================
+
+    private static final class TimetableLeg {
+        static final Comparator<TimetableLeg> ORDER = Comparator
+                .comparingInt((TimetableLeg leg) -> leg.departure)
+                .thenComparingInt(leg -> leg.arrival)
+                .thenComparingLong(leg -> leg.flightId);
+
+        final long flightId;
+        final Long parentFlightId;
+        final String flightNumber;
+        final Long airlineId;
+        final Long fromAirportId;
+        final Long toAirportId;
+        final String fromCode;
+        final String toCode;
+        final LocalDateTime departureTime;
+        final LocalDateTime arrivalTime;
+        final int departure;   // epoch dakika
+        final int arrival;
+
+        TimetableLeg(long flightId, Long parentFlightId, String flightNumber, Long airlineId,
+                     Long fromAirportId, Long toAirportId, String fromCode, String toCode,
+                     LocalDateTime departureTime, LocalDateTime arrivalTime) {
+            this.flightId = flightId;
+            this.parentFlightId = parentFlightId;
+            this.flightNumber = flightNumber;
+            this.airlineId = airlineId;
+            this.fromAirportId = fromAirportId;
+            this.toAirportId = toAirportId;
+            this.fromCode = fromCode;
+            this.toCode = toCode;
+            this.departureTime = departureTime;
+            this.arrivalTime = arrivalTime;
+            this.departure = toMinutes(departureTime);
+            this.arrival = toMinutes(arrivalTime);
+        }
+    }
+
+    private static final class Timetable {
+        final TimetableLeg[] legs;
+        final LocalDate windowStart;
+        final LocalDate windowEnd;
+
+        Timetable(TimetableLeg[] legs, LocalDate windowStart, LocalDate windowEnd) {
+            this.legs = legs;
+            this.windowStart = windowStart;
+            this.windowEnd = windowEnd;
+        }
+
+        static Timetable empty() {
+            return new Timetable(new TimetableLeg[0], LocalDate.now(), LocalDate.now().minusDays(1));
+        }
+
+        boolean covers(LocalDate date) {
+            return !date.isBefore(windowStart) && !date.isAfter(windowEnd);
+        }
+
+        /**
+         * Kalkışı verilen dakikaya eşit ya da sonra olan ilk bacağın index'i (lower bound)
+         */
+        int firstDepartureAtOrAfter(int minute) {
+            int low = 0;
+            int high = legs.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (legs[mid].departure < minute) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * Tarama etiketleri: hangi bacakla, kaç bacakla, hangi kalkıştan başlayarak ve hangi etiketten gelinerek
+     */
+    private static final class Labels {
+        int[] leg;
+        int[] legs;
+        int[] start;
+        int[] predecessor;
+        int size;
+
+        Labels(int capacity) {
+            int initial = Math.max(16, capacity);
+            leg = new int[initial];
+            legs = new int[initial];
+            start = new int[initial];
+            predecessor = new int[initial];
+        }
+
+        void add(int legIndex, int legCount, int journeyStart, int from) {
+            if (size == leg.length) {
+                int grown = size * 2;
+                leg = Arrays.copyOf(leg, grown);
+                legs = Arrays.copyOf(legs, grown);
+                start = Arrays.copyOf(start, grown);
+                predecessor = Arrays.copyOf(predecessor, grown);
+            }
+            leg[size] = legIndex;
+            legs[size] = legCount;
+            start[size] = journeyStart;
+            predecessor[size] = from;
+            size++;
+        }
+    }
+
+    private static final class ScanResult {
+        final List<ItineraryResponse> itineraries;
+        final int scanned;
+
+        ScanResult(List<ItineraryResponse> itineraries, int scanned) {
+            this.itineraries = itineraries;
+            this.scanned = scanned;
+        }
+    }
+}
@@ -1,13 +1,18 @@
 package com.flightmanagement.flightservice.service;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.flightmanagement.flightservice.dto.cache.AircraftCache;
 import com.flightmanagement.flightservice.dto.cache.AirlineCache;
 import com.flightmanagement.flightservice.dto.cache.AirportCache;
 import com.flightmanagement.flightservice.dto.cache.RouteCache;
+import com.flightmanagement.flightservice.dto.response.DelayImpactResponse;
 import com.flightmanagement.flightservice.entity.Flight;
+import com.flightmanagement.flightservice.event.FlightChangedEvent;
 import com.flightmanagement.flightservice.event.FlightEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 
@@ -23,9 +28,16 @@ public class KafkaProducerService {
 
     private final KafkaTemplate<String, FlightEvent> kafkaTemplate;
     private final ReferenceDataService referenceDataService;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final ObjectMapper objectMapper;
     private static final String TOPIC = "flight.events";
+    // Archive service flight.events'teki her kaydı arşivler; impact event'leri ayrı topic'te
+    private static final String DELAY_IMPACT_TOPIC = "flight.delay-impacts";
 
     public void sendFlightEvent(String eventType, Flight flight) {
+        // Lokal index'ler Kafka'dan bağımsız güncellensin
+        applicationEventPublisher.publishEvent(new FlightChangedEvent(eventType, flight));
+
         try {
             Map<String, Object> payload = buildFlightPayload(flight);
 
@@ -46,6 +58,26 @@ public class KafkaProducerService {
         }
     }
 
+    public void sendDelayImpactEvent(DelayImpactResponse impact) {
+        try {
+            FlightEvent event = FlightEvent.builder()
+                    .eventId(UUID.randomUUID().toString())
+                    .eventType("FLIGHT_DELAY_IMPACT")
+                    .eventTime(LocalDateTime.now())
+                    .entityType("DELAY_IMPACT")
+                    .entityId(impact.getSourceFlightId().toString())
+                    .payload(objectMapper.convertValue(impact, new TypeReference<Map<String, Object>>() {}))
+                    .version("1.0")
+                    .build();
+
+            log.info("Sending delay impact event for flight: {} ({} affected)",
+                    impact.getSourceFlightNumber(), impact.getAffectedFlights());
+            kafkaTemplate.send(DELAY_IMPACT_TOPIC, event);
+        } catch (Exception e) {
+            log.error("Failed to send delay impact event for flight: {}", impact.getSourceFlightNumber(), e);
+        }
+    }
+
     private Map<String, Object> buildFlightPayload(Flight flight) {
         Map<String, Object> payload = new HashMap<>();
 
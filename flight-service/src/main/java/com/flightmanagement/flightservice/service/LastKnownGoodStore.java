@@ -0,0 +1,266 @@
+package com.flightmanagement.flightservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Reference lookup'ları için last-known-good katmanı (stale-while-revalidate).
+ * Başarılı her HTTP fetch'in sonucu saklanır; stale değer yalnızca fetch başarısız olduğunda
+ * ya da son başarısız fetch'ten sonraki yeniden deneme aralığı dolmadan servis edilir.
+ * Arka plan refresh'i anahtar başına en fazla bir kez / refresh-interval çalışır.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LastKnownGoodStore {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${reference-manager.stale.max-concurrent-refreshes:4}")
+    private int maxConcurrentRefreshes;
+
+    @Value("${reference-manager.stale.refresh-queue-size:200}")
+    private int refreshQueueSize;
+
+    @Value("${reference-manager.stale.max-entries:20000}")
+    private int maxEntries;
+
+    // Bu yaştan eski değer hiç servis edilmez - reference-manager uzun süre düşükse hata yüzeye çıkar
+    @Value("${reference-manager.stale.max-age-minutes:360}")
+    private long maxAgeMinutes;
+
+    // Başarısız fetch sonrası aynı anahtar için yeni deneme aralığı
+    @Value("${reference-manager.stale.refresh-interval-ms:10000}")
+    private long refreshIntervalMs;
+
+    // Erişim sırasına göre LRU - en uzun süre dokunulmayan değer düşer
+    private Map<String, LastKnownGood> entries;
+    private final Set<String> refreshesInProgress = ConcurrentHashMap.newKeySet();
+
+    private ThreadPoolExecutor refreshExecutor;
+    private Counter staleServedCounter;
+    private Counter refreshFailedCounter;
+    // entityType -> staleness summary; meter bir kez kaydedilir, her stale servis yalnızca record eder
+    private final Map<String, DistributionSummary> stalenessSummaries = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        entries = Collections.synchronizedMap(new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, LastKnownGood> eldest) {
+                return size() > maxEntries;
+            }
+        });
+
+        AtomicInteger threadCounter = new AtomicInteger();
+        refreshExecutor = new ThreadPoolExecutor(
+                maxConcurrentRefreshes, maxConcurrentRefreshes, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(refreshQueueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "reference-refresh-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        refreshExecutor.allowCoreThreadTimeOut(true);
+
+        staleServedCounter = Counter.builder("reference.data.stale.served")
+                .description("Reference lookups answered with a last-known-good value after a failed fetch")
+                .tag("service", "flight-service")
+                .register(meterRegistry);
+        refreshFailedCounter = Counter.builder("reference.data.refresh.failed")
+                .description("Background reference refreshes that failed")
+                .tag("service", "flight-service")
+                .register(meterRegistry);
+        Gauge.builder("reference.data.refresh.in.progress", refreshesInProgress, Set::size)
+                .description("Background reference refreshes currently running or queued")
+                .tag("service", "flight-service")
+                .register(meterRegistry);
+        Gauge.builder("reference.data.last.known.good.size", this, store -> store.entries.size())
+                .description("Number of last-known-good reference entries held in memory")
+                .tag("service", "flight-service")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (refreshExecutor != null) {
+            refreshExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Fetch'i çalıştırır, başarılı sonucu saklar. Fetch başarısızsa (veya son başarısız denemeden sonra
+     * yeniden deneme aralığı dolmadıysa) son bilinen değeri döner ve arka planda tek bir refresh planlar.
+     * Saklı değer yoksa ya da kayıt reference-manager'da bulunamadıysa hata çağırana iletilir.
+     */
+    public <T> T load(String entityType, Long id, Supplier<T> fetcher) {
+        String key = key(entityType, id);
+        LastKnownGood entry = current(key);
+
+        // Son fetch başarısız oldu - reference-manager'ı her istekte timeout'a sokma
+        if (entry != null && entry.retryAt > 0) {
+            return serveStale(key, entityType, entry, fetcher);
+        }
+
+        try {
+            T value = fetcher.get();
+            remember(key, value);
+            return value;
+        } catch (RuntimeException e) {
+            if (entry == null || isNotFound(e)) {
+                if (entry != null) entries.remove(key);
+                throw e;
+            }
+            log.warn("Fetch failed for {}, serving last-known-good: {}", key, e.getMessage());
+            return serveStale(key, entityType, entry, fetcher);
+        }
+    }
+
+    /**
+     * Toplu fetch başarısız olduğunda çağrılır - bu id için servis edilebilir son bilinen değer
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getStale(String entityType, Long id) {
+        String key = key(entityType, id);
+        LastKnownGood entry = current(key);
+        if (entry == null) {
+            return null;
+        }
+        recordStale(key, entityType, entry);
+        return (T) entry.value;
+    }
+
+    /**
+     * Circuit breaker fallback'leri için - metrik yazmadan son bilinen değer
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T peek(String entityType, Long id) {
+        LastKnownGood entry = current(key(entityType, id));
+        return entry != null ? (T) entry.value : null;
+    }
+
+    public void remember(String entityType, Long id, Object value) {
+        remember(key(entityType, id), value);
+    }
+
+    /**
+     * reference.events ile gelen değişikliği yansıtır - silinen kayıtlar hiç servis edilmez
+     */
+    public void refresh(String entityType, Long id, Object value) {
+        remember(key(entityType, id), value);
+    }
+
+    private void remember(String key, Object value) {
+        if (value != null) {
+            entries.put(key, new LastKnownGood(value, System.currentTimeMillis()));
+        } else {
+            entries.remove(key);
+        }
+    }
+
+    private LastKnownGood current(String key) {
+        LastKnownGood entry = entries.get(key);
+        if (entry != null && System.currentTimeMillis() - entry.fetchedAt > TimeUnit.MINUTES.toMillis(maxAgeMinutes)) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T serveStale(String key, String entityType, LastKnownGood entry, Supplier<T> fetcher) {
+        recordStale(key, entityType, entry);
+        scheduleRefresh(key, entry, fetcher);
+        return (T) entry.value;
+    }
+
+    private void recordStale(String key, String entityType, LastKnownGood entry) {
+        long ageMillis = System.currentTimeMillis() - entry.fetchedAt;
+        staleServedCounter.increment();
+        stalenessSummaries.computeIfAbsent(entityType, type -> DistributionSummary.builder("reference.data.staleness.age")
+                        .description("Age of last-known-good reference values served while revalidating")
+                        .baseUnit("seconds")
+                        .tag("service", "flight-service")
+                        .tag("entityType", type)
+                        .register(meterRegistry))
+                .record(ageMillis / 1000.0);
+        log.debug("Serving stale {} ({}s old)", key, ageMillis / 1000);
+    }
+
+    private void scheduleRefresh(String key, LastKnownGood entry, Supplier<?> fetcher) {
+        // Anahtar başına refresh-interval'da en fazla bir deneme
+        long now = System.currentTimeMillis();
+        synchronized (entry) {
+            if (entry.retryAt > now) {
+                return;
+            }
+            entry.retryAt = now + refreshIntervalMs;
+        }
+        if (!refreshesInProgress.add(key)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    remember(key, fetcher.get());
+                    log.debug("Background refresh completed for {}", key);
+                } catch (Exception e) {
+                    refreshFailedCounter.increment();
+                    log.warn("Background refresh failed for {}: {}", key, e.getMessage());
+                } finally {
+                    refreshesInProgress.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Kuyruk dolu - stale değer bir sonraki aralıkta yeniden denenir
+            refreshesInProgress.remove(key);
+            log.debug("Refresh queue full, skipping refresh for {}", key);
+        }
+    }
+
+    private boolean isNotFound(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof HttpClientErrorException.NotFound) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String key(String entityType, Long id) {
+        return entityType + ":" + id;
+    }
+
+    private static class LastKnownGood {
+        private final Object value;
+        private final long fetchedAt;
+        // 0 = son fetch başarılı; aksi halde bir sonraki refresh denemesinin zamanı
+        private volatile long retryAt;
+
+        LastKnownGood(Object value, long fetchedAt) {
+            this.value = value;
+            this.fetchedAt = fetchedAt;
+        }
+    }
+}
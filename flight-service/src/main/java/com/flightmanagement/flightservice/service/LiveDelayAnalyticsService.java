@@ -0,0 +1,465 @@
+package com.flightmanagement.flightservice.service;
+
+import com.flightmanagement.flightservice.dto.cache.AirlineCache;
+import com.flightmanagement.flightservice.dto.cache.RouteCache;
+import com.flightmanagement.flightservice.dto.response.stats.LiveDelayStatsDto;
+import com.flightmanagement.flightservice.entity.Flight;
+import com.flightmanagement.flightservice.entity.enums.FlightStatus;
+import com.flightmanagement.flightservice.event.FlightChangedEvent;
+import com.flightmanagement.flightservice.exception.BusinessException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * Canlı gecikme analitiği.
+ *
+ * Status ve delay yazma yollarından gelen FlightChangedEvent'ler havalimanı (kalkış), havayolu ve route
+ * bazında 5 dakikalık bucket'lardan oluşan 6 saatlik halka tamponlara yazılır. Her bucket kalkış gecikmesi
+ * histogramı, zamanında kalkış, iptal ve bildirilen gecikme sayaçlarını tutar; yazma yolu kilitsizdir.
+ * Sorgular ve Micrometer gauge'ları son 15 dk / 1 saat / 6 saat için bucket'ları birleştirir - DB'ye gidilmez.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LiveDelayAnalyticsService {
+
+    public static final String SCOPE_ALL = "ALL";
+    public static final String SCOPE_AIRPORT = "AIRPORT";
+    public static final String SCOPE_AIRLINE = "AIRLINE";
+    public static final String SCOPE_ROUTE = "ROUTE";
+
+    private static final Map<String, Integer> WINDOWS = windows();
+
+    private final ReferenceDataService referenceDataService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${live-delay-analytics.on-time-threshold-minutes:15}")
+    private int onTimeThresholdMinutes;
+
+    @Value("${live-delay-analytics.max-keys:2000}")
+    private int maxKeys;
+
+    private final Map<String, DelayWindow> windowsByKey = new ConcurrentHashMap<>();
+
+    // Aynı kalkış/iptal birden fazla event'le gelirse (status + update) bir kez sayılır
+    private final Map<Long, Long> countedDepartures = new ConcurrentHashMap<>();
+    private final Map<Long, Long> countedCancellations = new ConcurrentHashMap<>();
+
+    private volatile boolean keyLimitLogged;
+
+    private static Map<String, Integer> windows() {
+        Map<String, Integer> windows = new LinkedHashMap<>();
+        windows.put("15m", 15);
+        windows.put("1h", 60);
+        windows.put("6h", 360);
+        return Collections.unmodifiableMap(windows);
+    }
+
+    // ===============================
+    // FEED
+    // ===============================
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFlightChanged(FlightChangedEvent event) {
+        Flight flight = event.getFlight();
+        if (flight == null || flight.getId() == null || event.isDeleted() || event.isConnectingParent()) {
+            return;
+        }
+
+        try {
+            long nowMinute = epochMinute(LocalDateTime.now());
+            if ("FLIGHT_DELAYED".equals(event.getEventType())) {
+                int delay = flight.getDelayMinutes() != null ? flight.getDelayMinutes() : 0;
+                if (delay > 0) {
+                    forEachWindow(flight, window -> window.recordReport(nowMinute, delay));
+                }
+            }
+
+            if (FlightStatus.DEPARTED.equals(flight.getStatus()) && flight.getActualDeparture() != null) {
+                long departureMinute = epochMinute(flight.getActualDeparture());
+                if (isTracked(departureMinute, nowMinute) && countedDepartures.putIfAbsent(flight.getId(), nowMinute) == null) {
+                    int delay = departureDelay(flight);
+                    boolean onTime = delay <= onTimeThresholdMinutes;
+                    forEachWindow(flight, window -> window.recordDeparture(departureMinute, delay, onTime));
+                }
+            } else if (FlightStatus.CANCELLED.equals(flight.getStatus())
+                    && countedCancellations.putIfAbsent(flight.getId(), nowMinute) == null) {
+                forEachWindow(flight, window -> window.recordCancellation(nowMinute));
+            }
+        } catch (Exception e) {
+            log.warn("Could not record live delay analytics for flight {}: {}", flight.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * recordDelay planlanan kalkışı gecikme kadar ileri kaydırıyor; ölçüm orijinal plana göre yapılır
+     */
+    private static int departureDelay(Flight flight) {
+        int recorded = flight.getDelayMinutes() != null && flight.getDelayMinutes() > 0 ? flight.getDelayMinutes() : 0;
+        LocalDateTime planned = flight.getScheduledDeparture() != null
+                ? flight.getScheduledDeparture().minusMinutes(recorded)
+                : flight.getActualDeparture();
+        return (int) Math.max(0, Duration.between(planned, flight.getActualDeparture()).toMinutes());
+    }
+
+    private void forEachWindow(Flight flight, Consumer<DelayWindow> action) {
+        withWindow(SCOPE_ALL, SCOPE_ALL, action);
+
+        if (flight.getRouteId() != null) {
+            RouteCache route = referenceDataService.getRoute(flight.getRouteId());
+            if (route != null) {
+                String airport = route.getOriginAirportCode() != null ? route.getOriginAirportCode()
+                        : String.valueOf(route.getOriginAirportId());
+                withWindow(SCOPE_AIRPORT, airport, action);
+                withWindow(SCOPE_ROUTE, route.getRouteCode() != null ? route.getRouteCode()
+                        : String.valueOf(route.getId()), action);
+            }
+        }
+        if (flight.getAirlineId() != null) {
+            AirlineCache airline = referenceDataService.getAirline(flight.getAirlineId());
+            withWindow(SCOPE_AIRLINE, airline != null && airline.getIataCode() != null
+                    ? airline.getIataCode() : String.valueOf(flight.getAirlineId()), action);
+        }
+    }
+
+    private void withWindow(String scope, String key, Consumer<DelayWindow> action) {
+        DelayWindow window = window(scope, key);
+        if (window != null) {
+            action.accept(window);
+        }
+    }
+
+    private DelayWindow window(String scope, String rawKey) {
+        String key = rawKey.toUpperCase();
+        String id = scope + ":" + key;
+        DelayWindow existing = windowsByKey.get(id);
+        if (existing != null) {
+            return existing;
+        }
+        if (windowsByKey.size() >= maxKeys) {
+            if (!keyLimitLogged) {
+                keyLimitLogged = true;
+                log.warn("Live delay analytics key limit {} reached, new keys are not tracked", maxKeys);
+            }
+            return null;
+        }
+        return windowsByKey.computeIfAbsent(id, k -> {
+            DelayWindow created = new DelayWindow();
+            // Route'lar yüksek kardinaliteli; Micrometer'a yalnızca genel, havalimanı ve havayolu gider
+            if (!SCOPE_ROUTE.equals(scope)) {
+                registerGauges(scope, key, created);
+            }
+            return created;
+        });
+    }
+
+    private void registerGauges(String scope, String key, DelayWindow window) {
+        WINDOWS.forEach((label, minutes) -> {
+            Gauge.builder("flight.delay.live.p95", window, w -> w.snapshot(currentMinute(), minutes).percentile(0.95))
+                    .description("p95 departure delay in minutes over a sliding window")
+                    .tag("service", "flight-service")
+                    .tag("scope", scope.toLowerCase())
+                    .tag("key", key)
+                    .tag("window", label)
+                    .register(meterRegistry);
+            Gauge.builder("flight.delay.live.on.time.percent", window, w -> {
+                        Double percent = w.snapshot(currentMinute(), minutes).onTimePercent();
+                        return percent != null ? percent : Double.NaN;
+                    })
+                    .description("Share of departures within the on-time threshold over a sliding window")
+                    .tag("service", "flight-service")
+                    .tag("scope", scope.toLowerCase())
+                    .tag("key", key)
+                    .tag("window", label)
+                    .register(meterRegistry);
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${live-delay-analytics.cleanup-interval-ms:600000}")
+    public void evictCountedFlights() {
+        long cutoff = currentMinute() - DelayWindow.BUCKETS * DelayWindow.BUCKET_MINUTES;
+        countedDepartures.values().removeIf(minute -> minute < cutoff);
+        countedCancellations.values().removeIf(minute -> minute < cutoff);
+    }
+
+    // ===============================
+    // QUERIES
+    // ===============================
+
+    public LiveDelayStatsDto getStats(String scope, String key) {
+        String normalizedScope = normalizeScope(scope);
+        String normalizedKey = SCOPE_ALL.equals(normalizedScope) ? SCOPE_ALL : requireKey(key);
+        return toDto(normalizedScope, normalizedKey, windowsByKey.get(normalizedScope + ":" + normalizedKey));
+    }
+
+    /**
+     * Seçilen pencerede p95 gecikmesi en yüksek anahtarlar
+     */
+    public List<LiveDelayStatsDto> getRanking(String scope, String window, int limit) {
+        String normalizedScope = normalizeScope(scope);
+        Integer minutes = WINDOWS.get(window);
+        if (minutes == null) {
+            throw new BusinessException("Window must be one of " + WINDOWS.keySet());
+        }
+
+        long now = currentMinute();
+        String prefix = normalizedScope + ":";
+        List<Map.Entry<String, Snapshot>> ranked = new ArrayList<>();
+        windowsByKey.forEach((id, delayWindow) -> {
+            if (id.startsWith(prefix)) {
+                Snapshot snapshot = delayWindow.snapshot(now, minutes);
+                if (snapshot.departures > 0) {
+                    ranked.add(Map.entry(id.substring(prefix.length()), snapshot));
+                }
+            }
+        });
+        ranked.sort(Comparator.comparingInt((Map.Entry<String, Snapshot> entry) -> entry.getValue().percentile(0.95))
+                .reversed()
+                .thenComparing(Map.Entry::getKey));
+
+        List<LiveDelayStatsDto> result = new ArrayList<>();
+        for (Map.Entry<String, Snapshot> entry : ranked.subList(0, Math.min(limit, ranked.size()))) {
+            result.add(toDto(normalizedScope, entry.getKey(), windowsByKey.get(prefix + entry.getKey())));
+        }
+        return result;
+    }
+
+    private LiveDelayStatsDto toDto(String scope, String key, DelayWindow window) {
+        long now = currentMinute();
+        Map<String, LiveDelayStatsDto.WindowStats> stats = new LinkedHashMap<>();
+        WINDOWS.forEach((label, minutes) -> {
+            Snapshot snapshot = window != null ? window.snapshot(now, minutes) : Snapshot.EMPTY;
+            stats.put(label, LiveDelayStatsDto.WindowStats.builder()
+                    .departures(snapshot.departures)
+                    .onTimeDepartures(snapshot.onTime)
+                    .onTimePercent(snapshot.onTimePercent())
+                    .p50DelayMinutes(snapshot.percentile(0.50))
+                    .p95DelayMinutes(snapshot.percentile(0.95))
+                    .maxDelayMinutes(snapshot.maxDelay)
+                    .cancellations(snapshot.cancellations)
+                    .delayReports(snapshot.reports)
+                    .maxReportedDelayMinutes(snapshot.maxReported)
+                    .build());
+        });
+        return LiveDelayStatsDto.builder()
+                .scope(scope)
+                .key(key)
+                .windows(stats)
+                .build();
+    }
+
+    private static String normalizeScope(String scope) {
+        String normalized = scope != null ? scope.trim().toUpperCase() : SCOPE_ALL;
+        if (!Set.of(SCOPE_ALL, SCOPE_AIRPORT, SCOPE_AIRLINE, SCOPE_ROUTE).contains(normalized)) {
+            throw new BusinessException("Scope must be one of ALL, AIRPORT, AIRLINE, ROUTE");
+        }
+        return normalized;
+    }
+
+    private static String requireKey(String key) {
+        if (key == null || key.isBlank()) {
+            throw new BusinessException("Key is required for airport, airline and route scopes");
+        }
+        return key.trim().toUpperCase();
+    }
+
+    private static boolean isTracked(long minute, long nowMinute) {
+        return minute <= nowMinute && minute > nowMinute - (long) DelayWindow.BUCKETS * DelayWindow.BUCKET_MINUTES;
+    }
+
+    private static long currentMinute() {
+        return epochMinute(LocalDateTime.now());
+    }
+
+    private static long epochMinute(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toEpochSecond() / 60;
+    }
+
+    // ===============================
+    // WINDOW STRUCTURES
+    // ===============================
+
+    /**
+     * 72 x 5 dakikalık halka. Bucket damgası CAS ile ilerletilir, kazanan thread bucket'ı sıfırlar.
+     * Damga değişimine denk gelen eşzamanlı bir yazım kaybolabilir; analitik için kabul edilen yaklaşıklık.
+     */
+    static final class DelayWindow {
+        static final int BUCKET_MINUTES = 5;
+        static final int BUCKETS = 72;
+
+        // Histogram sınırları: 0-29 dakikalık, 30-119 10'ar, 120-359 30'ar, 360-1439 120'şer dk, sonrası tek bin
+        static final int[] BIN_LOWER = binLowerBounds();
+
+        private static final int COUNT = 0;
+        private static final int ON_TIME = 1;
+        private static final int MAX = 2;
+        private static final int CANCELLED = 3;
+        private static final int REPORTS = 4;
+        private static final int REPORT_MAX = 5;
+        private static final int BINS = 6;
+        private static final int STRIDE = BINS + BIN_LOWER.length;
+
+        private final AtomicLongArray stamps = new AtomicLongArray(BUCKETS);
+        private final AtomicIntegerArray cells = new AtomicIntegerArray(BUCKETS * STRIDE);
+
+        DelayWindow() {
+            for (int i = 0; i < BUCKETS; i++) {
+                stamps.set(i, -1);
+            }
+        }
+
+        void recordDeparture(long minute, int delay, boolean onTime) {
+            int base = slot(minute / BUCKET_MINUTES);
+            if (base < 0) {
+                return;
+            }
+            cells.incrementAndGet(base + COUNT);
+            if (onTime) {
+                cells.incrementAndGet(base + ON_TIME);
+            }
+            cells.accumulateAndGet(base + MAX, delay, Math::max);
+            cells.incrementAndGet(base + BINS + binOf(delay));
+        }
+
+        void recordCancellation(long minute) {
+            int base = slot(minute / BUCKET_MINUTES);
+            if (base >= 0) {
+                cells.incrementAndGet(base + CANCELLED);
+            }
+        }
+
+        void recordReport(long minute, int delay) {
+            int base = slot(minute / BUCKET_MINUTES);
+            if (base >= 0) {
+                cells.incrementAndGet(base + REPORTS);
+                cells.accumulateAndGet(base + REPORT_MAX, delay, Math::max);
+            }
+        }
+
+        /**
+         * Bucket'ın hücre ofseti; halkadan daha eski bir zaman için -1
+         */
+        private int slot(long bucket) {
+            int index = (int) (bucket % BUCKETS);
+            while (true) {
+                long stamp = stamps.get(index);
+                if (stamp == bucket) {
+                    return index * STRIDE;
+                }
+                if (stamp > bucket) {
+                    return -1;
+                }
+                if (stamps.compareAndSet(index, stamp, bucket)) {
+                    int base = index * STRIDE;
+                    for (int i = 0; i < STRIDE; i++) {
+                        cells.set(base + i, 0);
+                    }
+                    return base;
+                }
+            }
+        }
+
+        Snapshot snapshot(long nowMinute, int windowMinutes) {
+            long newest = nowMinute / BUCKET_MINUTES;
+            long oldest = newest - Math.max(1, windowMinutes / BUCKET_MINUTES) + 1;
+            Snapshot snapshot = new Snapshot(new long[BIN_LOWER.length]);
+            for (long bucket = oldest; bucket <= newest; bucket++) {
+                int index = (int) (bucket % BUCKETS);
+                if (stamps.get(index) != bucket) {
+                    continue;
+                }
+                int base = index * STRIDE;
+                snapshot.departures += cells.get(base + COUNT);
+                snapshot.onTime += cells.get(base + ON_TIME);
+                snapshot.maxDelay = Math.max(snapshot.maxDelay, cells.get(base + MAX));
+                snapshot.cancellations += cells.get(base + CANCELLED);
+                snapshot.reports += cells.get(base + REPORTS);
+                snapshot.maxReported = Math.max(snapshot.maxReported, cells.get(base + REPORT_MAX));
+                for (int bin = 0; bin < BIN_LOWER.length; bin++) {
+                    snapshot.bins[bin] += cells.get(base + BINS + bin);
+                }
+            }
+            return snapshot;
+        }
+
+        static int binOf(int delay) {
+            int position = Arrays.binarySearch(BIN_LOWER, Math.max(0, delay));
+            return position >= 0 ? position : -position - 2;
+        }
+
+        private static int[] binLowerBounds() {
+            List<Integer> bounds = new ArrayList<>();
+            for (int m = 0; m < 30; m++) {
+                bounds.add(m);
+            }
+            for (int m = 30; m < 120; m += 10) {
+                bounds.add(m);
+            }
+            for (int m = 120; m < 360; m += 30) {
+                bounds.add(m);
+            }
+            for (int m = 360; m <= 1440; m += 120) {
+                bounds.add(m);
+            }
+            return bounds.stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(new long[DelayWindow.BIN_LOWER.length]);
+
+        final long[] bins;
+        long departures;
+        long onTime;
+        int maxDelay;
+        long cancellations;
+        long reports;
+        int maxReported;
+
+        Snapshot(long[] bins) {
+            this.bins = bins;
+        }
+
+        Double onTimePercent() {
+            return departures > 0 ? Math.round(onTime * 1000.0 / departures) / 10.0 : null;
+        }
+
+        /**
+         * Bin üst sınırı, gözlenen maksimumla sınırlı (dakikalık bin'lerde kesin değer)
+         */
+        int percentile(double quantile) {
+            long total = 0;
+            for (long count : bins) {
+                total += count;
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(quantile * total);
+            long cumulative = 0;
+            for (int bin = 0; bin < bins.length; bin++) {
+                cumulative += bins[bin];
+                if (cumulative >= rank) {
+                    int upper = bin + 1 < DelayWindow.BIN_LOWER.length ? DelayWindow.BIN_LOWER[bin + 1] - 1 : maxDelay;
+                    return Math.min(upper, maxDelay);
+                }
+            }
+            return maxDelay;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.flightmanagement.flightservice.service;
+
+import com.flightmanagement.flightservice.dto.cache.AirportCache;
+import com.flightmanagement.flightservice.dto.cache.MinimumConnectionTimeCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Minimum aktarma süresi (MCT) lookup'ı.
+ *
+ * Kurallar reference replikasından okunur ve havalimanı bazlı, spesifikliğe göre sıralı immutable
+ * tablolara çevrilir. Replika versiyonu değişmedikçe aynı tablo kullanılır; sorgu remote çağrı yapmaz.
+ * Eşleşen kural yoksa mct.default-minutes uygulanır.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MinimumConnectionTimeService {
+
+    private final ReferenceDataReplica referenceDataReplica;
+
+    @Value("${mct.default-minutes:30}")
+    private int defaultMinutes;
+
+    private volatile MctLookup lookup;
+
+    /**
+     * Tek bir aktarma için MCT. Gelen bacağın kalkış ve giden bacağın varış havalimanı
+     * iç/dış hat tipini belirlemek için kullanılır (bilinmiyorsa null geçilebilir).
+     */
+    public int getMinimumMinutes(Long connectionAirportId, Long arrivingAirlineId, Long departingAirlineId,
+                                 Long inboundOriginAirportId, Long outboundDestinationAirportId) {
+        return current().minutes(connectionAirportId, arrivingAirlineId, departingAirlineId,
+                inboundOriginAirportId, outboundDestinationAirportId);
+    }
+
+    /**
+     * Toplu doğrulamalar için o anki tablo - döngü boyunca versiyon kontrolü tekrarlanmaz
+     */
+    public MctLookup current() {
+        MctLookup current = lookup;
+        long version = referenceDataReplica.getVersion();
+        if (current != null && current.version == version) {
+            return current;
+        }
+        synchronized (this) {
+            if (lookup == null || lookup.version != version) {
+                lookup = build(version);
+            }
+            return lookup;
+        }
+    }
+
+    private MctLookup build(long version) {
+        Map<Long, List<Rule>> rulesByAirport = new HashMap<>();
+        Map<Long, MinimumConnectionTimeCache> rules = referenceDataReplica.getAll(ReferenceDataReplica.MCT);
+        for (MinimumConnectionTimeCache rule : rules.values()) {
+            if (!Boolean.TRUE.equals(rule.getActive()) || rule.getAirportId() == null || rule.getMinutes() == null) {
+                continue;
+            }
+            rulesByAirport.computeIfAbsent(rule.getAirportId(), id -> new ArrayList<>()).add(new Rule(rule));
+        }
+
+        Map<Long, Rule[]> table = new HashMap<>(rulesByAirport.size() * 2);
+        rulesByAirport.forEach((airportId, airportRules) -> {
+            airportRules.sort(Rule.MOST_SPECIFIC_FIRST);
+            table.put(airportId, airportRules.toArray(new Rule[0]));
+        });
+
+        Map<Long, String> countries = new HashMap<>();
+        Map<Long, AirportCache> airports = referenceDataReplica.getAll(ReferenceDataReplica.AIRPORT);
+        airports.forEach((id, airport) -> {
+            if (airport.getCountry() != null) {
+                countries.put(id, airport.getCountry().trim().toUpperCase());
+            }
+        });
+
+        log.debug("Built MCT lookup with {} rules for {} airports at reference version {}",
+                rules.size(), table.size(), version);
+        return new MctLookup(version, defaultMinutes, table, countries);
+    }
+
+    // ===============================
+    // LOOKUP STRUCTURES
+    // ===============================
+
+    public static final class MctLookup {
+        private final long version;
+        private final int defaultMinutes;
+        private final Map<Long, Rule[]> rulesByAirport;
+        private final Map<Long, String> countryByAirport;
+
+        private MctLookup(long version, int defaultMinutes, Map<Long, Rule[]> rulesByAirport,
+                          Map<Long, String> countryByAirport) {
+            this.version = version;
+            this.defaultMinutes = defaultMinutes;
+            this.rulesByAirport = rulesByAirport;
+            this.countryByAirport = countryByAirport;
+        }
+
+        public int minutes(Long connectionAirportId, Long arrivingAirlineId, Long departingAirlineId,
+                           Long inboundOriginAirportId, Long outboundDestinationAirportId) {
+            Rule[] rules = connectionAirportId != null ? rulesByAirport.get(connectionAirportId) : null;
+            if (rules == null) {
+                return defaultMinutes;
+            }
+            String connectionType = connectionType(connectionAirportId, inboundOriginAirportId, outboundDestinationAirportId);
+            for (Rule rule : rules) {
+                if (rule.matches(arrivingAirlineId, departingAirlineId, connectionType)) {
+                    return rule.minutes;
+                }
+            }
+            return defaultMinutes;
+        }
+
+        /**
+         * Ülkesi bilinmeyen havalimanı varsa null - yalnızca tipten bağımsız kurallar eşleşir
+         */
+        private String connectionType(Long connectionAirportId, Long inboundOriginAirportId, Long outboundDestinationAirportId) {
+            String hub = countryByAirport.get(connectionAirportId);
+            String from = inboundOriginAirportId != null ? countryByAirport.get(inboundOriginAirportId) : null;
+            String to = outboundDestinationAirportId != null ? countryByAirport.get(outboundDestinationAirportId) : null;
+            if (hub == null || from == null || to == null) {
+                return null;
+            }
+            return (hub.equals(from) ? "DOMESTIC" : "INTERNATIONAL") + "_" + (hub.equals(to) ? "DOMESTIC" : "INTERNATIONAL");
+        }
+    }
+
+    private static final class Rule {
+        static final Comparator<Rule> MOST_SPECIFIC_FIRST = Comparator
+                .comparingInt((Rule rule) -> rule.specificity).reversed()
+                .thenComparingLong(rule -> rule.id);
+
+        final long id;
+        final Long arrivingAirlineId;
+        final Long departingAirlineId;
+        final String connectionType;
+        final int minutes;
+        final int specificity;
+
+        Rule(MinimumConnectionTimeCache rule) {
+            this.id = rule.getId() != null ? rule.getId() : 0L;
+            this.arrivingAirlineId = rule.getArrivingAirlineId();
+            this.departingAirlineId = rule.getDepartingAirlineId();
+            this.connectionType = rule.getConnectionType();
+            this.minutes = rule.getMinutes();
+            // Havayolu eşleşmesi aktarma tipinden daha belirleyici
+            this.specificity = (arrivingAirlineId != null ? 2 : 0) + (departingAirlineId != null ? 2 : 0)
+                    + (connectionType != null ? 1 : 0);
+        }
+
+        boolean matches(Long arrivingAirline, Long departingAirline, String type) {
+            return (arrivingAirlineId == null || arrivingAirlineId.equals(arrivingAirline))
+                    && (departingAirlineId == null || departingAirlineId.equals(departingAirline))
+                    && (connectionType == null || connectionType.equals(type));
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.flightmanagement.flightservice.service;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Rebuild'in DB okuması sürerken canlı index'e uygulanan değişiklikleri tutar. Yeni index bu değişiklikleri
+ * görmeden okunmuş olabilir; swap öncesi replay ile yeni index'e yeniden uygulanır.
+ * Thread-safe değildir: sahibi servisin index kilidi altında kullanılır.
+ */
+final class RebuildChangeTracker<T> {
+
+    // null => rebuild yok
+    private Map<Long, T> upserts;
+    private Set<Long> removals;
+
+    void begin() {
+        upserts = new HashMap<>();
+        removals = new HashSet<>();
+    }
+
+    void end() {
+        upserts = null;
+        removals = null;
+    }
+
+    /**
+     * value null ise silme; rebuild yoksa hiçbir şey yapmaz
+     */
+    void track(Long flightId, T value) {
+        if (upserts == null) {
+            return;
+        }
+        if (value != null) {
+            removals.remove(flightId);
+            upserts.put(flightId, value);
+        } else {
+            upserts.remove(flightId);
+            removals.add(flightId);
+        }
+    }
+
+    /**
+     * Önce silmeler, sonra son değerler; upsert'ün eski kaydı temizlemesi upserter'ın işidir
+     */
+    void replay(Consumer<Long> remover, Consumer<T> upserter) {
+        if (upserts == null) {
+            return;
+        }
+        removals.forEach(remover);
+        upserts.values().forEach(upserter);
+    }
+}
@@ -0,0 +1,475 @@
+package com.flightmanagement.flightservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.flightmanagement.flightservice.dto.cache.AircraftCache;
+import com.flightmanagement.flightservice.dto.cache.AirlineCache;
+import com.flightmanagement.flightservice.dto.cache.AirportCache;
+import com.flightmanagement.flightservice.dto.cache.AirportCapacityCache;
+import com.flightmanagement.flightservice.dto.cache.MinimumConnectionTimeCache;
+import com.flightmanagement.flightservice.dto.cache.RouteCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * flight-service içinde tutulan, versiyonlu reference data replikası.
+ * Başlangıçta reference-manager snapshot endpoint'inden (gzip NDJSON) yüklenir,
+ * sonrasında reference.events ve periyodik delta çağrıları ile güncel tutulur.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReferenceDataReplica {
+
+    public static final String AIRLINE = "AIRLINE";
+    public static final String AIRPORT = "AIRPORT";
+    public static final String AIRCRAFT = "AIRCRAFT";
+    public static final String ROUTE = "ROUTE";
+    public static final String MCT = "MCT";
+    public static final String CAPACITY = "CAPACITY";
+
+    private static final Map<String, Class<?>> ENTITY_TYPES = Map.of(
+            AIRLINE, AirlineCache.class,
+            AIRPORT, AirportCache.class,
+            AIRCRAFT, AircraftCache.class,
+            ROUTE, RouteCache.class,
+            MCT, MinimumConnectionTimeCache.class,
+            CAPACITY, AirportCapacityCache.class);
+
+    private final RestTemplate restTemplate;
+    private final ServiceTokenManager serviceTokenManager;
+    private final ObjectMapper objectMapper;
+
+    @Value("${reference-manager.base-url:http://localhost:8081}")
+    private String referenceServiceUrl;
+
+    @Value("${reference-replica.enabled:true}")
+    private boolean enabled;
+
+    // Son başarılı snapshot/delta bu süreden eskiyse replika hazır sayılmaz, okumalar HTTP'ye düşer
+    @Value("${reference-replica.max-sync-lag-ms:300000}")
+    private long maxSyncLagMs;
+
+    // entityType -> (id -> versiyonlu kayıt). Silinen kayıtlar tombstone olarak tutulur ki eski event'ler geri getirmesin
+    private final Map<String, Map<Long, ReplicaEntry>> stores = new ConcurrentHashMap<>();
+    private final Map<String, Long> airportIdsByIata = new ConcurrentHashMap<>();
+
+    // Uygulanmış en yüksek changeVersion (event'ler dahil) - cache anahtarları için
+    private final AtomicLong replicaVersion = new AtomicLong(0);
+    // Delta watermark'ı: yalnızca snapshot/delta cevaplarıyla ilerler. Event'ler sıra dışı gelebildiği için
+    // buraya yazılmaz, aksi halde arada kaçan değişiklikler delta'da hiç istenmez
+    private final AtomicLong syncedVersion = new AtomicLong(0);
+    private volatile boolean bootstrapped;
+    private volatile String snapshotEtag;
+    private volatile LocalDateTime lastSyncAt;
+    private volatile LocalDateTime lastEventAt;
+    private volatile String lastSyncError;
+    private final Object syncLock = new Object();
+
+    // ===============================
+    // READ API
+    // ===============================
+
+    // Tekil okumalar replika hazır değilse (bootstrap yok ya da senkron max-sync-lag'i aştı) null döner,
+    // çağıran Redis/HTTP yoluna düşer
+
+    public AirlineCache getAirline(Long id) {
+        return (AirlineCache) get(AIRLINE, id);
+    }
+
+    public AirportCache getAirport(Long id) {
+        return (AirportCache) get(AIRPORT, id);
+    }
+
+    public AircraftCache getAircraft(Long id) {
+        return (AircraftCache) get(AIRCRAFT, id);
+    }
+
+    public RouteCache getRoute(Long id) {
+        return (RouteCache) get(ROUTE, id);
+    }
+
+    public AirportCache getAirportByIataCode(String iataCode) {
+        if (!isReady() || iataCode == null) return null;
+        Long id = airportIdsByIata.get(iataCode.trim().toUpperCase());
+        return id != null ? getAirport(id) : null;
+    }
+
+    /**
+     * Replika bootstrap edilmişse aktif route'ları bellekten döner, edilmemişse null
+     */
+    public RouteCache[] getActiveRoutes() {
+        if (!isReady()) return null;
+        return store(ROUTE).values().stream()
+                .map(entry -> (RouteCache) entry.value)
+                .filter(Objects::nonNull)
+                .filter(RouteCache::isActive)
+                .toArray(RouteCache[]::new);
+    }
+
+    /**
+     * Replikadaki tüm canlı kayıtlar (tombstone'lar hariç), bootstrap öncesi boş.
+     * Senkron gecikmesine bakmaz: MCT ve kapasite kurallarının replika dışında kaynağı yoktur, eski kurallar
+     * hiç kural olmamasından iyidir. Başka kaynağı olan çağıranlar (warm-up, filo) önce isReady() kontrol eder.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Map<Long, T> getAll(String entityType) {
+        Map<Long, T> result = new HashMap<>();
+        if (!isBootstrapped() || !ENTITY_TYPES.containsKey(entityType)) return result;
+        store(entityType).forEach((id, entry) -> {
+            if (entry.value != null) {
+                result.put(id, (T) entry.value);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Verilen havalimanını origin/destination olarak kullanan route id'leri (havalimanı bilgisi route'larda denormalize)
+     */
+    public Set<Long> findRouteIdsByAirport(Long airportId) {
+        if (!enabled || airportId == null) return Set.of();
+        return store(ROUTE).values().stream()
+                .map(entry -> (RouteCache) entry.value)
+                .filter(Objects::nonNull)
+                .filter(route -> airportId.equals(route.getOriginAirportId())
+                        || airportId.equals(route.getDestinationAirportId()))
+                .map(RouteCache::getId)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Bootstrap edilmiş ve son snapshot/delta max-sync-lag içinde başarılı olmuşsa true
+     */
+    public boolean isReady() {
+        return enabled && bootstrapped && !isLagging();
+    }
+
+    private boolean isLagging() {
+        LocalDateTime syncedAt = lastSyncAt;
+        return syncedAt == null || Duration.between(syncedAt, LocalDateTime.now()).toMillis() > maxSyncLagMs;
+    }
+
+    public boolean isBootstrapped() {
+        return enabled && bootstrapped;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Uygulanmış en yüksek changeVersion - reference data değiştiğinde artar
+     */
+    public long getVersion() {
+        return replicaVersion.get();
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new HashMap<>();
+        status.put("enabled", enabled);
+        status.put("bootstrapped", bootstrapped);
+        status.put("version", replicaVersion.get());
+        status.put("syncedVersion", syncedVersion.get());
+        status.put("lagging", bootstrapped && isLagging());
+        status.put("lastSyncAt", lastSyncAt);
+        status.put("lastEventAt", lastEventAt);
+        status.put("lagSeconds", lastSyncAt != null ? Duration.between(lastSyncAt, LocalDateTime.now()).getSeconds() : null);
+        ENTITY_TYPES.keySet().forEach(type -> status.put(type.toLowerCase() + "Count", countLive(type)));
+        if (lastSyncError != null) {
+            status.put("lastSyncError", lastSyncError);
+        }
+        return status;
+    }
+
+    // ===============================
+    // EVENT / DELTA APPLY
+    // ===============================
+
+    /**
+     * reference.events'ten gelen tek bir değişikliği uygular.
+     * Payload'da changeVersion varsa versiyon kontrolü yapılır, yoksa her zaman uygulanır.
+     * Yalnızca kayıt güncellenir; delta watermark'ı ilerlemez.
+     */
+    public void applyEvent(String entityType, String eventType, Long id, JsonNode payload) {
+        if (!enabled || !ENTITY_TYPES.containsKey(entityType)) return;
+
+        long version = payload != null && payload.hasNonNull("changeVersion") ? payload.get("changeVersion").asLong() : 0L;
+        boolean deleted = eventType != null && eventType.toUpperCase().endsWith("DELETED");
+        if (apply(entityType, id, version, deleted, payload)) {
+            lastEventAt = LocalDateTime.now();
+            if (AIRPORT.equals(entityType)) {
+                denormalizeRoutes(Set.of(id));
+            }
+        }
+    }
+
+    private boolean apply(String entityType, Long id, long version, boolean deleted, JsonNode payload) {
+        Map<Long, ReplicaEntry> store = store(entityType);
+        boolean[] applied = {false};
+
+        store.compute(id, (key, existing) -> {
+            // Versiyonlu değişiklik elimizdekinden eskiyse atla
+            if (existing != null && version > 0 && existing.version >= version) {
+                return existing;
+            }
+            applied[0] = true;
+            if (deleted) {
+                return new ReplicaEntry(null, version);
+            }
+            Object value = merge(entityType, id, existing != null ? existing.value : null, payload);
+            return value != null ? new ReplicaEntry(value, version) : existing;
+        });
+
+        if (applied[0]) {
+            replicaVersion.accumulateAndGet(version, Math::max);
+            if (AIRPORT.equals(entityType)) {
+                reindexAirport(id);
+            }
+        }
+        return applied[0];
+    }
+
+    /**
+     * Kısmi payload'ları (ör. route event'i) mevcut kaydın üzerine yazar
+     */
+    private Object merge(String entityType, Long id, Object existing, JsonNode payload) {
+        if (payload == null || !payload.isObject()) return existing;
+        try {
+            ObjectNode merged = existing != null ? objectMapper.valueToTree(existing) : objectMapper.createObjectNode();
+            merged.setAll((ObjectNode) payload);
+            merged.put("id", id);
+            return objectMapper.treeToValue(merged, ENTITY_TYPES.get(entityType));
+        } catch (Exception e) {
+            log.warn("Could not apply {} {} to replica: {}", entityType, id, e.getMessage());
+            return existing;
+        }
+    }
+
+    /**
+     * Route kayıtları havalimanı kod/adını denormalize taşır; havalimanı değişince route'un changeVersion'ı
+     * artmadığından event/delta ile yeniden gelmez. Etkilenen route'lar güncel havalimanı bilgisiyle yeniden yazılır.
+     */
+    private void denormalizeRoutes(Set<Long> airportIds) {
+        Map<Long, ReplicaEntry> routes = store(ROUTE);
+        for (Map.Entry<Long, ReplicaEntry> entry : routes.entrySet()) {
+            RouteCache route = (RouteCache) entry.getValue().value;
+            if (route == null || !(airportIds.contains(route.getOriginAirportId())
+                    || airportIds.contains(route.getDestinationAirportId()))) {
+                continue;
+            }
+            routes.computeIfPresent(entry.getKey(), (id, existing) -> {
+                if (existing.value == null) {
+                    return existing;
+                }
+                // Okuyucuların elindeki nesne değiştirilmez, kopyası yazılır
+                RouteCache updated = objectMapper.convertValue(existing.value, RouteCache.class);
+                AirportCache origin = (AirportCache) current(AIRPORT, updated.getOriginAirportId());
+                if (origin != null) {
+                    updated.setOriginAirportCode(origin.getIataCode());
+                    updated.setOriginAirportName(origin.getName());
+                }
+                AirportCache destination = (AirportCache) current(AIRPORT, updated.getDestinationAirportId());
+                if (destination != null) {
+                    updated.setDestinationAirportCode(destination.getIataCode());
+                    updated.setDestinationAirportName(destination.getName());
+                }
+                return new ReplicaEntry(updated, existing.version);
+            });
+        }
+    }
+
+    private void reindexAirport(Long id) {
+        airportIdsByIata.values().removeIf(id::equals);
+        AirportCache airport = (AirportCache) current(AIRPORT, id);
+        if (airport != null && airport.getIataCode() != null) {
+            airportIdsByIata.put(airport.getIataCode().toUpperCase(), id);
+        }
+    }
+
+    // ===============================
+    // SNAPSHOT / DELTA SYNC
+    // ===============================
+
+    @Scheduled(initialDelayString = "${reference-replica.initial-delay-ms:2000}",
+            fixedDelayString = "${reference-replica.sync-interval-ms:60000}")
+    public void synchronize() {
+        if (!enabled) return;
+        // Zamanlanmış senkron ile warm-up'ın tetiklediği senkron aynı anda snapshot/delta okumasın
+        synchronized (syncLock) {
+            try {
+                if (!bootstrapped) {
+                    bootstrap();
+                } else {
+                    applyDeltas();
+                }
+                lastSyncError = null;
+            } catch (Exception e) {
+                lastSyncError = e.getMessage();
+                log.warn("Reference replica sync failed (bootstrapped={}): {}", bootstrapped, e.getMessage());
+            }
+        }
+    }
+
+    public void bootstrap() {
+        log.info("Bootstrapping reference replica from snapshot");
+        long start = System.currentTimeMillis();
+
+        int[] lines = {0};
+        restTemplate.execute(referenceServiceUrl + "/api/v1/reference/snapshot", HttpMethod.GET,
+                request -> {
+                    applyHeaders(request.getHeaders());
+                    if (snapshotEtag != null) {
+                        request.getHeaders().setIfNoneMatch(snapshotEtag);
+                    }
+                },
+                response -> {
+                    if (response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+                        return null;
+                    }
+                    snapshotEtag = response.getHeaders().getETag();
+                    lines[0] = readNdjson(response.getBody(), response.getHeaders());
+                    return null;
+                });
+
+        bootstrapped = true;
+        lastSyncAt = LocalDateTime.now();
+        log.info("Reference replica bootstrapped with {} records at version {} in {} ms",
+                lines[0], syncedVersion.get(), System.currentTimeMillis() - start);
+    }
+
+    public void applyDeltas() {
+        long since = syncedVersion.get();
+        int[] lines = {0};
+        restTemplate.execute(referenceServiceUrl + "/api/v1/reference/changes?sinceVersion=" + since, HttpMethod.GET,
+                request -> applyHeaders(request.getHeaders()),
+                response -> {
+                    lines[0] = readNdjson(response.getBody(), response.getHeaders());
+                    return null;
+                });
+
+        lastSyncAt = LocalDateTime.now();
+        if (lines[0] > 0) {
+            log.info("Applied {} reference changes since version {} (now {})", lines[0], since, syncedVersion.get());
+        }
+    }
+
+    /**
+     * Her satır: {"entityType":"AIRLINE","id":1,"changeVersion":42,"deleted":false,"payload":{...}}
+     * Cevap tamamen okunduktan sonra watermark X-Reference-Version'a (yoksa görülen en yüksek versiyona) ilerler.
+     */
+    private int readNdjson(InputStream body, HttpHeaders headers) throws IOException {
+        InputStream input = "gzip".equalsIgnoreCase(headers.getFirst(HttpHeaders.CONTENT_ENCODING))
+                ? new GZIPInputStream(body) : body;
+
+        int count = 0;
+        long maxVersion = 0;
+        Set<Long> changedAirports = new HashSet<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) continue;
+                JsonNode node = objectMapper.readTree(line);
+                String entityType = node.path("entityType").asText(null);
+                if (entityType == null || !ENTITY_TYPES.containsKey(entityType) || !node.hasNonNull("id")) {
+                    continue;
+                }
+                long version = node.path("changeVersion").asLong(0);
+                long id = node.get("id").asLong();
+                if (apply(entityType, id, version, node.path("deleted").asBoolean(false), node.get("payload"))
+                        && AIRPORT.equals(entityType)) {
+                    changedAirports.add(id);
+                }
+                maxVersion = Math.max(maxVersion, version);
+                count++;
+            }
+        }
+        // Route sayısı kadar tek tarama; satır başına yapılırsa bootstrap havalimanı x route olur
+        if (!changedAirports.isEmpty()) {
+            denormalizeRoutes(changedAirports);
+        }
+        String serverVersion = headers.getFirst("X-Reference-Version");
+        if (serverVersion != null) {
+            try {
+                maxVersion = Math.max(maxVersion, Long.parseLong(serverVersion.trim()));
+            } catch (NumberFormatException e) {
+                log.debug("Ignoring invalid X-Reference-Version header: {}", serverVersion);
+            }
+        }
+        syncedVersion.accumulateAndGet(maxVersion, Math::max);
+        return count;
+    }
+
+    private void applyHeaders(HttpHeaders headers) {
+        headers.set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        headers.set(HttpHeaders.ACCEPT, "application/x-ndjson");
+        String token = serviceTokenManager.getServiceToken();
+        if (token != null && !token.trim().isEmpty()) {
+            headers.setBearerAuth(token);
+        }
+    }
+
+    // ===============================
+    // HELPERS
+    // ===============================
+
+    private Object get(String entityType, Long id) {
+        return isReady() ? current(entityType, id) : null;
+    }
+
+    /**
+     * Senkron gecikmesine bakmadan replikadaki kayıt - event'i replikaya yeni uygulamış dispatcher için
+     */
+    RouteCache currentRoute(Long id) {
+        return (RouteCache) current(ROUTE, id);
+    }
+
+    private Object current(String entityType, Long id) {
+        if (!enabled || id == null) return null;
+        ReplicaEntry entry = store(entityType).get(id);
+        return entry != null ? entry.value : null;
+    }
+
+    private Map<Long, ReplicaEntry> store(String entityType) {
+        return stores.computeIfAbsent(entityType, type -> new ConcurrentHashMap<>());
+    }
+
+    private long countLive(String entityType) {
+        return store(entityType).values().stream().filter(entry -> entry.value != null).count();
+    }
+
+    private static class ReplicaEntry {
+        private final Object value;
+        private final long version;
+
+        ReplicaEntry(Object value, long version) {
+            this.value = value;
+            this.version = version;
+        }
+    }
+}
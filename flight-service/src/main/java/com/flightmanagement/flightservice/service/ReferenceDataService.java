@@ -13,6 +13,15 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
@@ -21,12 +30,30 @@ public class ReferenceDataService {
 
     private final RestTemplate restTemplate;
     private final ServiceTokenManager serviceTokenManager;
+    private final ReferenceRequestCoalescer requestCoalescer;
+    private final ReferenceDataReplica referenceDataReplica;
+    private final CacheService cacheService;
+    private final LastKnownGoodStore lastKnownGood;
+
+    // reference-manager batch endpoint'lerinin kabul ettiği maksimum id sayısı
+    private static final int MAX_BATCH_SIZE = 500;
 
     @Value("${reference-manager.base-url:http://localhost:8081}")
     private String referenceServiceUrl;
 
     @Cacheable("airlines")
     public AirlineCache getAirline(Long airlineId) {
+        // Lokal replikada varsa HTTP'ye gitme
+        AirlineCache local = referenceDataReplica.getAirline(airlineId);
+        if (local != null) {
+            return local;
+        }
+        // Fetch başarısızsa son bilinen değer servis edilir, arka planda tazelenir
+        return lastKnownGood.load("AIRLINE", airlineId, () -> requestCoalescer.loadBatched("AIRLINE", airlineId,
+                this::fetchAirline, this::getAirlinesByIds, AirlineCache::getId));
+    }
+
+    private AirlineCache fetchAirline(Long airlineId) {
         log.debug("Fetching airline data for ID: {}", airlineId);
         try {
             String url = referenceServiceUrl + "/api/v1/airlines/" + airlineId;
@@ -52,6 +79,17 @@ public class ReferenceDataService {
 
     @Cacheable("airports")
     public AirportCache getAirport(Long airportId) {
+        // Lokal replikada varsa HTTP'ye gitme
+        AirportCache local = referenceDataReplica.getAirport(airportId);
+        if (local != null) {
+            return local;
+        }
+        // Fetch başarısızsa son bilinen değer servis edilir, arka planda tazelenir
+        return lastKnownGood.load("AIRPORT", airportId, () -> requestCoalescer.loadBatched("AIRPORT", airportId,
+                this::fetchAirport, this::getAirportsByIds, AirportCache::getId));
+    }
+
+    private AirportCache fetchAirport(Long airportId) {
         log.debug("Fetching airport data for ID: {}", airportId);
         try {
             String url = referenceServiceUrl + "/api/v1/airports/" + airportId;
@@ -75,6 +113,15 @@ public class ReferenceDataService {
             return null;
         }
 
+        String code = iataCode.trim().toUpperCase();
+        AirportCache local = referenceDataReplica.getAirportByIataCode(code);
+        if (local != null) {
+            return local;
+        }
+        return requestCoalescer.load("AIRPORT_IATA", code, () -> fetchAirportByIataCode(code));
+    }
+
+    private AirportCache fetchAirportByIataCode(String iataCode) {
         try {
             String url = referenceServiceUrl + "/api/v1/airports/iata/" + iataCode.trim().toUpperCase();
             HttpHeaders headers = createAuthHeaders();
@@ -97,6 +144,16 @@ public class ReferenceDataService {
 
     @Cacheable("aircraft")
     public AircraftCache getAircraft(Long aircraftId) {
+        AircraftCache local = referenceDataReplica.getAircraft(aircraftId);
+        if (local != null) {
+            return local;
+        }
+        // Fetch başarısızsa son bilinen değer servis edilir, arka planda tazelenir
+        return lastKnownGood.load("AIRCRAFT", aircraftId, () -> requestCoalescer.loadBatched("AIRCRAFT", aircraftId,
+                this::fetchAircraft, this::getAircraftsByIds, AircraftCache::getId));
+    }
+
+    private AircraftCache fetchAircraft(Long aircraftId) {
         log.debug("Fetching aircraft data for ID: {}", aircraftId);
         try {
             String url = referenceServiceUrl + "/api/v1/aircrafts/" + aircraftId;
@@ -112,6 +169,17 @@ public class ReferenceDataService {
 
     @Cacheable("routes")
     public RouteCache getRoute(Long routeId) {
+        // Lokal replikada varsa HTTP'ye gitme
+        RouteCache local = referenceDataReplica.getRoute(routeId);
+        if (local != null) {
+            return local;
+        }
+        // Fetch başarısızsa son bilinen değer servis edilir, arka planda tazelenir
+        return lastKnownGood.load("ROUTE", routeId, () -> requestCoalescer.loadBatched("ROUTE", routeId,
+                this::fetchRoute, this::getRoutesByIds, RouteCache::getId));
+    }
+
+    private RouteCache fetchRoute(Long routeId) {
         log.debug("Fetching route data for ID: {}", routeId);
         try {
             String url = referenceServiceUrl + "/api/v1/routes/" + routeId;
@@ -168,6 +236,111 @@ public class ReferenceDataService {
         }
     }
 
+    public AircraftCache[] getAircraftsByIds(Long[] aircraftIds) {
+        log.debug("Fetching multiple aircraft: {}", aircraftIds.length);
+        try {
+            String url = referenceServiceUrl + "/api/v1/aircrafts/batch";
+            HttpHeaders headers = createAuthHeaders();
+            HttpEntity<Long[]> entity = new HttpEntity<>(aircraftIds, headers);
+
+            return restTemplate.exchange(url, HttpMethod.POST, entity, AircraftCache[].class).getBody();
+        } catch (Exception e) {
+            log.error("Error fetching multiple aircraft: {}", e.getMessage());
+            throw new RuntimeException("Failed to fetch batch aircraft data", e);
+        }
+    }
+
+    // ===============================
+    // BULK LOOKUPS
+    // ===============================
+
+    /**
+     * Liste zenginleştirme için toplu lookup: replika -> Redis MGET -> batch HTTP.
+     * HTTP'den gelenler Redis'e tek pipeline ile yazılır. Bulunamayan id'ler map'te yer almaz.
+     */
+    public Map<Long, AirlineCache> getAirlines(Collection<Long> airlineIds) {
+        return resolveAll("AIRLINE", airlineIds, referenceDataReplica::getAirline,
+                cacheService::getAirlines, this::getAirlinesByIds, AirlineCache::getId, cacheService::cacheAirlines);
+    }
+
+    public Map<Long, AirportCache> getAirports(Collection<Long> airportIds) {
+        return resolveAll("AIRPORT", airportIds, referenceDataReplica::getAirport,
+                cacheService::getAirports, this::getAirportsByIds, AirportCache::getId, cacheService::cacheAirports);
+    }
+
+    public Map<Long, AircraftCache> getAircrafts(Collection<Long> aircraftIds) {
+        return resolveAll("AIRCRAFT", aircraftIds, referenceDataReplica::getAircraft,
+                cacheService::getAircrafts, this::getAircraftsByIds, AircraftCache::getId, cacheService::cacheAircrafts);
+    }
+
+    public Map<Long, RouteCache> getRoutes(Collection<Long> routeIds) {
+        return resolveAll("ROUTE", routeIds, referenceDataReplica::getRoute,
+                cacheService::getRoutes, this::getRoutesByIds, RouteCache::getId, cacheService::cacheRoutes);
+    }
+
+    private <T> Map<Long, T> resolveAll(String entityType, Collection<Long> ids,
+                                        Function<Long, T> replicaLookup,
+                                        Function<Collection<Long>, Map<Long, T>> cacheLookup,
+                                        Function<Long[], T[]> batchLoader,
+                                        Function<T, Long> idExtractor,
+                                        Consumer<Map<Long, T>> cacheWriter) {
+        Map<Long, T> resolved = new HashMap<>();
+        Set<Long> missing = new LinkedHashSet<>();
+        for (Long id : ids) {
+            if (id == null || resolved.containsKey(id)) continue;
+            T local = replicaLookup.apply(id);
+            if (local != null) {
+                resolved.put(id, local);
+            } else {
+                missing.add(id);
+            }
+        }
+        if (missing.isEmpty()) return resolved;
+
+        try {
+            Map<Long, T> cached = cacheLookup.apply(missing);
+            resolved.putAll(cached);
+            missing.removeAll(cached.keySet());
+        } catch (Exception e) {
+            log.warn("Bulk cache lookup failed for {}: {}", entityType, e.getMessage());
+        }
+        if (missing.isEmpty()) return resolved;
+
+        Map<Long, T> fetched = new HashMap<>();
+        List<Long> pending = new ArrayList<>(missing);
+        for (int from = 0; from < pending.size(); from += MAX_BATCH_SIZE) {
+            List<Long> chunk = pending.subList(from, Math.min(from + MAX_BATCH_SIZE, pending.size()));
+            try {
+                T[] results = batchLoader.apply(chunk.toArray(new Long[0]));
+                if (results == null) continue;
+                for (T result : results) {
+                    if (result != null && idExtractor.apply(result) != null) {
+                        fetched.put(idExtractor.apply(result), result);
+                    }
+                }
+            } catch (Exception e) {
+                // Son bilinen değeri olanlar stale servis edilir, kalanlar çağıranın tekil lookup'ına bırakılır
+                log.warn("Bulk fetch failed for {} ({} ids): {}", entityType, chunk.size(), e.getMessage());
+                for (Long id : chunk) {
+                    T stale = lastKnownGood.getStale(entityType, id);
+                    if (stale != null) resolved.put(id, stale);
+                }
+            }
+        }
+        fetched.forEach((id, value) -> lastKnownGood.remember(entityType, id, value));
+
+        if (!fetched.isEmpty()) {
+            resolved.putAll(fetched);
+            try {
+                cacheWriter.accept(fetched);
+            } catch (Exception e) {
+                log.warn("Bulk cache write failed for {}: {}", entityType, e.getMessage());
+            }
+        }
+        log.debug("Bulk resolved {} {}/{} ids", entityType, resolved.size(), ids.size());
+        return resolved;
+    }
+
     // Route specific methods
     public RouteCache[] getRoutesByAirline(Long airlineId) {
         log.debug("Fetching routes for airline: {}", airlineId);
@@ -184,6 +357,11 @@ public class ReferenceDataService {
     }
 
     public RouteCache[] getActiveRoutes() {
+        RouteCache[] localRoutes = referenceDataReplica.getActiveRoutes();
+        if (localRoutes != null) {
+            return localRoutes;
+        }
+
         log.debug("Fetching all active routes");
         try {
             String url = referenceServiceUrl + "/api/v1/routes?active=true";
@@ -200,27 +378,27 @@ public class ReferenceDataService {
     // Cache invalidation methods
     public void invalidateAirlineCache(Long airlineId) {
         log.debug("Invalidating airline cache for ID: {}", airlineId);
-        // Spring Cache eviction burada yapılacak
+        cacheService.evictAirline(airlineId);
     }
 
     public void invalidateAirportCache(Long airportId) {
         log.debug("Invalidating airport cache for ID: {}", airportId);
-        // Spring Cache eviction burada yapılacak
+        cacheService.evictAirport(airportId);
     }
 
     public void invalidateAircraftCache(Long aircraftId) {
         log.debug("Invalidating aircraft cache for ID: {}", aircraftId);
-        // Spring Cache eviction burada yapılacak
+        cacheService.evictAircraft(aircraftId);
     }
 
     public void invalidateRouteCache(Long routeId) {
         log.debug("Invalidating route cache for ID: {}", routeId);
-        // Spring Cache eviction burada yapılacak
+        cacheService.evictRoute(routeId);
     }
 
     public void invalidateAllCaches() {
         log.info("Invalidating all reference data caches");
-        // Tüm cache'leri temizle
+        cacheService.invalidateAll();
     }
 
     // Health check
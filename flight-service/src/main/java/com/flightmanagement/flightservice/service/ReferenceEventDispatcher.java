@@ -0,0 +1,320 @@
+package com.flightmanagement.flightservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.flightmanagement.flightservice.dto.cache.AircraftCache;
+import com.flightmanagement.flightservice.dto.cache.AirlineCache;
+import com.flightmanagement.flightservice.dto.cache.AirportCache;
+import com.flightmanagement.flightservice.dto.cache.RouteCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * reference.events dinleyicisi.
+ * Her poll'daki kayıtlar bir kez parse edilir, aynı entity'ye ait event'ler sonuncusuna indirgenir.
+ * Ortak grup (flight-service-group) Redis değişikliklerini tek bir pipeline ile bir kez uygular; instance'a özel
+ * grup tüm partition'ları okuyup bellekteki replika ve last-known-good kopyalarını günceller.
+ */
+@Service
+@Slf4j
+public class ReferenceEventDispatcher {
+
+    private final CacheService cacheService;
+    private final ObjectMapper objectMapper;
+    private final ReferenceDataReplica referenceDataReplica;
+    private final LastKnownGoodStore lastKnownGood;
+    private final FlightVersionService flightVersionService;
+
+    private final Counter receivedCounter;
+    private final Counter collapsedCounter;
+    private final Counter skippedCounter;
+
+    public ReferenceEventDispatcher(CacheService cacheService,
+                                    ObjectMapper objectMapper,
+                                    ReferenceDataReplica referenceDataReplica,
+                                    LastKnownGoodStore lastKnownGood,
+                                    FlightVersionService flightVersionService,
+                                    MeterRegistry meterRegistry) {
+        this.cacheService = cacheService;
+        this.objectMapper = objectMapper;
+        this.referenceDataReplica = referenceDataReplica;
+        this.lastKnownGood = lastKnownGood;
+        this.flightVersionService = flightVersionService;
+        this.receivedCounter = Counter.builder("reference.events.received")
+                .description("Reference events consumed from Kafka")
+                .tag("service", "flight-service")
+                .register(meterRegistry);
+        this.collapsedCounter = Counter.builder("reference.events.collapsed")
+                .description("Reference events superseded by a later event for the same entity in the same poll")
+                .tag("service", "flight-service")
+                .register(meterRegistry);
+        this.skippedCounter = Counter.builder("reference.events.skipped")
+                .description("Malformed or unsupported reference events")
+                .tag("service", "flight-service")
+                .register(meterRegistry);
+    }
+
+    @KafkaListener(topics = "reference.events", groupId = "flight-service-group",
+            containerFactory = "referenceEventBatchListenerContainerFactory")
+    public void handleReferenceEvents(List<ConsumerRecord<String, String>> records, Acknowledgment acknowledgment) {
+        receivedCounter.increment(records.size());
+
+        Map<String, EntityChange> changes = collapse(records, true);
+        if (!changes.isEmpty()) {
+            // Redis hatasında exception yukarı çıkar, batch ack edilmez ve tekrar denenir (işlemler idempotent)
+            applyChanges(changes);
+            // Zenginleştirilmiş flight response'ları değişti, conditional GET'ler 304 dönmesin (sayaç Redis'te ortak)
+            flightVersionService.recordChange();
+        }
+
+        acknowledgment.acknowledge();
+        log.debug("Processed {} reference events as {} entity changes", records.size(), changes.size());
+    }
+
+    /**
+     * Yeni instance replikayı snapshot'tan kurar, bu yüzden grup en son offset'ten başlar; aradaki boşluğu delta kapatır
+     */
+    @KafkaListener(topics = "reference.events", groupId = "${reference-events.local-group-id}",
+            containerFactory = "referenceEventBatchListenerContainerFactory",
+            properties = "auto.offset.reset=latest")
+    public void handleLocalReferenceEvents(List<ConsumerRecord<String, String>> records, Acknowledgment acknowledgment) {
+        Map<String, EntityChange> changes = collapse(records, false);
+        for (EntityChange change : changes.values()) {
+            applyLocal(change);
+        }
+
+        acknowledgment.acknowledge();
+        log.debug("Applied {} reference changes to local replica", changes.size());
+    }
+
+    // ===============================
+    // COLLAPSE
+    // ===============================
+
+    /**
+     * Aynı entity için gelen event'lerden yalnızca en güncelini tutar (changeVersion, yoksa offset sırası)
+     */
+    private Map<String, EntityChange> collapse(List<ConsumerRecord<String, String>> records, boolean countMetrics) {
+        Map<String, EntityChange> changes = new LinkedHashMap<>();
+
+        for (ConsumerRecord<String, String> record : records) {
+            EntityChange change = parse(record);
+            if (change == null) {
+                if (countMetrics) {
+                    skippedCounter.increment();
+                }
+                continue;
+            }
+
+            String key = change.entityType + ":" + change.id;
+            EntityChange existing = changes.get(key);
+            if (existing != null) {
+                if (countMetrics) {
+                    collapsedCounter.increment();
+                }
+                if (existing.version > 0 && change.version > 0 && existing.version > change.version) {
+                    continue;
+                }
+                // Yeni key sırası en son event'e göre olsun
+                changes.remove(key);
+            }
+            changes.put(key, change);
+        }
+        return changes;
+    }
+
+    private EntityChange parse(ConsumerRecord<String, String> record) {
+        if (record.value() == null) {
+            return null;
+        }
+        try {
+            JsonNode eventNode = objectMapper.readTree(record.value());
+            String eventType = extractStringValue(eventNode, "eventType");
+            String entityType = extractStringValue(eventNode, "entityType");
+            String entityId = extractStringValue(eventNode, "entityId");
+
+            if (eventType == null || entityType == null || entityId == null) {
+                log.warn("Missing required fields in event at {}-{}@{}. EventType: {}, EntityType: {}, EntityId: {}",
+                        record.topic(), record.partition(), record.offset(), eventType, entityType, entityId);
+                return null;
+            }
+
+            JsonNode payload = eventNode.get("payload");
+            long version = payload != null && payload.hasNonNull("changeVersion") ? payload.get("changeVersion").asLong() : 0L;
+            return new EntityChange(entityType.toUpperCase(), Long.parseLong(entityId), eventType.toUpperCase(),
+                    payload, version);
+
+        } catch (NumberFormatException e) {
+            log.error("Invalid entity ID format at offset {}: {}", record.offset(), e.getMessage());
+            return null;
+        } catch (Exception e) {
+            log.error("Unreadable reference event at offset {}: {}", record.offset(), e.getMessage());
+            return null;
+        }
+    }
+
+    // ===============================
+    // APPLY
+    // ===============================
+
+    private void applyChanges(Map<String, EntityChange> changes) {
+        CacheService.ReferenceCacheBatch batch = cacheService.newBatch();
+
+        for (EntityChange change : changes.values()) {
+            // Route kopyası replikadaki birleştirilmiş halinden yazılır. Versiyon kontrollü olduğundan
+            // yerel dinleyicinin aynı event'i ayrıca uygulaması zararsız
+            referenceDataReplica.applyEvent(change.entityType, change.eventType, change.id, change.payload);
+
+            switch (change.entityType) {
+                case ReferenceDataReplica.AIRLINE:
+                    applyAirline(change, batch);
+                    break;
+                case ReferenceDataReplica.AIRPORT:
+                    applyAirport(change, batch);
+                    break;
+                case ReferenceDataReplica.AIRCRAFT:
+                    applyAircraft(change, batch);
+                    break;
+                case ReferenceDataReplica.ROUTE:
+                    applyRoute(change, batch);
+                    break;
+                case ReferenceDataReplica.MCT:
+                case ReferenceDataReplica.CAPACITY:
+                    // Yalnızca replikada tutulur, Redis'e yazılmaz
+                    break;
+                default:
+                    log.debug("Ignoring event for entity type: {}", change.entityType);
+            }
+        }
+
+        cacheService.apply(batch);
+        log.info("Applied {} reference changes to cache ({} Redis operations)", changes.size(), batch.size());
+    }
+
+    private void applyAirline(EntityChange change, CacheService.ReferenceCacheBatch batch) {
+        AirlineCache airline = change.isDelete() ? null : readPayload(change, AirlineCache.class);
+        if (airline != null) {
+            batch.putAirline(change.id, airline);
+        } else {
+            batch.evictAirline(change.id);
+        }
+    }
+
+    private void applyAirport(EntityChange change, CacheService.ReferenceCacheBatch batch) {
+        AirportCache airport = change.isDelete() ? null : readPayload(change, AirportCache.class);
+        if (airport != null) {
+            batch.putAirport(change.id, airport);
+        } else {
+            batch.evictAirport(change.id);
+        }
+
+        // Route'lar havalimanı kod/adını taşıyor - replika bunları applyEvent'te yeniden denormalize etti
+        for (Long routeId : referenceDataReplica.findRouteIdsByAirport(change.id)) {
+            putRoute(batch, routeId, referenceDataReplica.currentRoute(routeId));
+        }
+    }
+
+    private void applyAircraft(EntityChange change, CacheService.ReferenceCacheBatch batch) {
+        AircraftCache aircraft = change.isDelete() ? null : readPayload(change, AircraftCache.class);
+        if (aircraft != null) {
+            batch.putAircraft(change.id, aircraft);
+        } else {
+            batch.evictAircraft(change.id);
+        }
+    }
+
+    private void applyRoute(EntityChange change, CacheService.ReferenceCacheBatch batch) {
+        // Payload snapshot ile aynı şekilde; kayıt replikadaki birleştirilmiş haliyle yazılır
+        putRoute(batch, change.id, change.isDelete() ? null : referenceDataReplica.currentRoute(change.id));
+    }
+
+    private static void putRoute(CacheService.ReferenceCacheBatch batch, Long routeId, RouteCache route) {
+        if (route != null) {
+            batch.putRoute(routeId, route);
+        } else {
+            batch.evictRoute(routeId);
+        }
+    }
+
+    /**
+     * Bu instance'ın bellekteki kopyaları: replika ve last-known-good
+     */
+    private void applyLocal(EntityChange change) {
+        referenceDataReplica.applyEvent(change.entityType, change.eventType, change.id, change.payload);
+
+        switch (change.entityType) {
+            case ReferenceDataReplica.AIRLINE:
+                lastKnownGood.refresh(change.entityType, change.id,
+                        change.isDelete() ? null : readPayload(change, AirlineCache.class));
+                break;
+            case ReferenceDataReplica.AIRPORT:
+                lastKnownGood.refresh(change.entityType, change.id,
+                        change.isDelete() ? null : readPayload(change, AirportCache.class));
+                for (Long routeId : referenceDataReplica.findRouteIdsByAirport(change.id)) {
+                    lastKnownGood.refresh(ReferenceDataReplica.ROUTE, routeId, referenceDataReplica.currentRoute(routeId));
+                }
+                break;
+            case ReferenceDataReplica.AIRCRAFT:
+                lastKnownGood.refresh(change.entityType, change.id,
+                        change.isDelete() ? null : readPayload(change, AircraftCache.class));
+                break;
+            case ReferenceDataReplica.ROUTE:
+                lastKnownGood.refresh(change.entityType, change.id,
+                        change.isDelete() ? null : referenceDataReplica.currentRoute(change.id));
+                break;
+            default:
+                break;
+        }
+    }
+
+    private <T> T readPayload(EntityChange change, Class<T> type) {
+        if (change.payload == null || !change.payload.isObject()) {
+            log.warn("No payload found for {} event with ID: {}", change.eventType, change.id);
+            return null;
+        }
+        try {
+            // ID'yi garanti et
+            ObjectNode node = ((ObjectNode) change.payload).deepCopy();
+            node.put("id", change.id);
+            return objectMapper.treeToValue(node, type);
+        } catch (Exception e) {
+            log.error("Failed to read {} payload for ID: {}", change.entityType, change.id, e);
+            return null;
+        }
+    }
+
+    private String extractStringValue(JsonNode node, String fieldName) {
+        JsonNode fieldNode = node.get(fieldName);
+        return fieldNode != null && !fieldNode.isNull() ? fieldNode.asText() : null;
+    }
+
+    private static class EntityChange {
+        private final String entityType;
+        private final Long id;
+        private final String eventType;
+        private final JsonNode payload;
+        private final long version;
+
+        EntityChange(String entityType, Long id, String eventType, JsonNode payload, long version) {
+            this.entityType = entityType;
+            this.id = id;
+            this.eventType = eventType;
+            this.payload = payload;
+            this.version = version;
+        }
+
+        boolean isDelete() {
+            return eventType.endsWith("DELETED");
+        }
+    }
+}
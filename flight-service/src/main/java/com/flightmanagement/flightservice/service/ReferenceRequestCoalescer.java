@@ -0,0 +1,274 @@
+package com.flightmanagement.flightservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Reference-manager çağrıları için single-flight katmanı.
+ * Aynı (entity type, id) için aynı anda yalnızca bir istek uçuşta olur, diğer çağıranlar onun sonucunu bekler.
+ * Batch destekleyen tiplerde kısa bir pencere içinde gelen miss'ler tek bir batch çağrısında birleştirilir.
+ */
+@Component
+@Slf4j
+public class ReferenceRequestCoalescer {
+
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, PendingBatch> openBatches = new ConcurrentHashMap<>();
+
+    private final Counter coalescedCounter;
+    private final Counter batchCallCounter;
+
+    @Value("${reference-manager.coalescing.batch-enabled:true}")
+    private boolean batchEnabled;
+
+    @Value("${reference-manager.coalescing.batch-window-ms:5}")
+    private long batchWindowMs;
+
+    @Value("${reference-manager.coalescing.max-batch-size:50}")
+    private int maxBatchSize;
+
+    // Başka thread'in yüklemesini bekleme sınırı; aşılırsa çağıran kendisi tekil yükler
+    @Value("${reference-manager.coalescing.await-timeout-ms:5000}")
+    private long awaitTimeoutMs;
+
+    public ReferenceRequestCoalescer(MeterRegistry meterRegistry) {
+        this.coalescedCounter = Counter.builder("reference.requests.coalesced")
+                .description("Reference requests served by an already in-flight fetch")
+                .tag("service", "flight-service")
+                .register(meterRegistry);
+        this.batchCallCounter = Counter.builder("reference.requests.batch.calls")
+                .description("Batch calls issued for merged reference misses")
+                .tag("service", "flight-service")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Tekil yükleme - aynı anahtar için uçuşta bir istek varsa onun sonucunu paylaşır
+     */
+    public <T> T load(String entityType, Object key, Supplier<T> loader) {
+        String flightKey = entityType + ":" + key;
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, future);
+
+        if (existing != null) {
+            coalescedCounter.increment();
+            log.debug("Joining in-flight request for {}", flightKey);
+            return await(existing, flightKey, loader);
+        }
+
+        try {
+            future.complete(loader.get());
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        } finally {
+            inFlight.remove(flightKey, future);
+        }
+        return await(future, flightKey, loader);
+    }
+
+    /**
+     * Batch destekli yükleme - pencere içindeki miss'ler tek batch çağrısında toplanır.
+     * Batch başarısız olursa ya da bir id batch cevabında yoksa tekil loader'a düşülür.
+     */
+    public <T> T loadBatched(String entityType, Long id,
+                             Function<Long, T> singleLoader,
+                             Function<Long[], T[]> batchLoader,
+                             Function<T, Long> idExtractor) {
+        if (!batchEnabled) {
+            return load(entityType, id, () -> singleLoader.apply(id));
+        }
+
+        String flightKey = entityType + ":" + id;
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, future);
+
+        if (existing != null) {
+            coalescedCounter.increment();
+            log.debug("Joining in-flight request for {}", flightKey);
+            return await(existing, flightKey, () -> singleLoader.apply(id));
+        }
+
+        Membership membership = enqueue(entityType, id, future);
+        switch (membership.role) {
+            case LEADER:
+                // İlk üye pencere boyunca ya da batch dolana kadar bekler - başka istek uçuşta değilse
+                // katılacak kimse yoktur, beklemez
+                if (inFlight.size() > 1) {
+                    awaitFill(membership.batch);
+                }
+                closeBatch(entityType, membership.batch);
+                executeBatch(entityType, membership.batch, singleLoader, batchLoader, idExtractor);
+                break;
+            case FILLED:
+                // Batch'i dolduran çalıştırır; lider penceresini bitirdiğinde batch'i alınmış bulur
+                executeBatch(entityType, membership.batch, singleLoader, batchLoader, idExtractor);
+                break;
+            default:
+                break;
+        }
+        return await(future, flightKey, () -> singleLoader.apply(id));
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    // ===============================
+    // BATCH HELPERS
+    // ===============================
+
+    /**
+     * Üyeyi açık batch'e ekler. Rol üyenin eklendiği kritik bölümde belirlenir: ilk üye lider olur,
+     * batch'i dolduran üye onu kapatır. Böylece her batch'i en az bir thread çalıştırır.
+     */
+    private Membership enqueue(String entityType, Long id, CompletableFuture<Object> future) {
+        while (true) {
+            PendingBatch batch = openBatches.computeIfAbsent(entityType, type -> new PendingBatch());
+            synchronized (batch) {
+                if (!batch.closed) {
+                    boolean first = batch.members.isEmpty();
+                    batch.members.put(id, future);
+                    if (batch.members.size() >= maxBatchSize) {
+                        // Dolu batch'i kapat, sonraki miss yeni batch açar
+                        batch.closed = true;
+                        openBatches.remove(entityType, batch);
+                        batch.notifyAll();
+                        return new Membership(batch, Role.FILLED);
+                    }
+                    return new Membership(batch, first ? Role.LEADER : Role.MEMBER);
+                }
+            }
+            openBatches.remove(entityType, batch);
+        }
+    }
+
+    private void closeBatch(String entityType, PendingBatch batch) {
+        synchronized (batch) {
+            batch.closed = true;
+        }
+        openBatches.remove(entityType, batch);
+    }
+
+    private <T> void executeBatch(String entityType, PendingBatch batch,
+                                  Function<Long, T> singleLoader,
+                                  Function<Long[], T[]> batchLoader,
+                                  Function<T, Long> idExtractor) {
+        Map<Long, CompletableFuture<Object>> members;
+        synchronized (batch) {
+            if (batch.executed) {
+                return;     // Lider ve dolduran thread'den yalnızca biri çalıştırır
+            }
+            batch.executed = true;
+            members = new HashMap<>(batch.members);
+        }
+
+        Map<Long, T> resolved = new HashMap<>();
+        if (members.size() > 1) {
+            try {
+                batchCallCounter.increment();
+                T[] results = batchLoader.apply(members.keySet().toArray(new Long[0]));
+                if (results != null) {
+                    for (T result : results) {
+                        if (result != null && idExtractor.apply(result) != null) {
+                            resolved.put(idExtractor.apply(result), result);
+                        }
+                    }
+                }
+                log.debug("Batch fetch for {} resolved {}/{} ids", entityType, resolved.size(), members.size());
+            } catch (RuntimeException e) {
+                log.warn("Batch fetch for {} failed, falling back to single fetches: {}", entityType, e.getMessage());
+            }
+        }
+
+        List<Long> ids = new ArrayList<>(members.keySet());
+        for (Long id : ids) {
+            CompletableFuture<Object> future = members.get(id);
+            try {
+                T value = resolved.containsKey(id) ? resolved.get(id) : singleLoader.apply(id);
+                future.complete(value);
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            } finally {
+                inFlight.remove(entityType + ":" + id, future);
+            }
+        }
+    }
+
+    /**
+     * Sonucu bekler; süre aşılırsa fallback ile kendisi yükler ki takılan bir yükleme çağıranları kilitlemesin
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T await(CompletableFuture<Object> future, String flightKey, Supplier<T> fallback) {
+        try {
+            return (T) future.get(awaitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("In-flight request for {} did not finish within {} ms, loading directly", flightKey, awaitTimeoutMs);
+            return fallback.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for reference data", e);
+        } catch (ExecutionException | CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new RuntimeException(cause);
+        }
+    }
+
+    /**
+     * Batch penceresi dolana ya da batch'i dolduran üye kapatana kadar bekler
+     */
+    private void awaitFill(PendingBatch batch) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(batchWindowMs);
+        synchronized (batch) {
+            long remaining;
+            while (!batch.closed && (remaining = deadline - System.nanoTime()) > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(batch, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private enum Role {
+        LEADER,     // İlk üye: pencereden sonra çalıştırır
+        FILLED,     // Batch'i dolduran üye: hemen çalıştırır
+        MEMBER
+    }
+
+    private static class PendingBatch {
+        private final Map<Long, CompletableFuture<Object>> members = new HashMap<>();
+        private boolean closed;
+        private boolean executed;
+    }
+
+    private static final class Membership {
+        private final PendingBatch batch;
+        private final Role role;
+
+        Membership(PendingBatch batch, Role role) {
+            this.batch = batch;
+            this.role = role;
+        }
+    }
+}
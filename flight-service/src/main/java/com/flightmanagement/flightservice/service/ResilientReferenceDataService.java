@@ -20,6 +20,8 @@ public class ResilientReferenceDataService {
 
     private final ReferenceDataService referenceDataService;
     private final CacheService cacheService;
+    // Stale-while-revalidate ReferenceDataService'in fetch yolunda; burada yalnızca fallback'ler okur
+    private final LastKnownGoodStore lastKnownGood;
 
     @CircuitBreaker(name = "reference-service", fallbackMethod = "getAirlineFallback")
     @Retry(name = "reference-service")
@@ -161,7 +163,14 @@ public class ResilientReferenceDataService {
             return CompletableFuture.completedFuture(cached);
         }
 
-        // Cache'de de yoksa default değer
+        // Redis'te yoksa bellekteki last-known-good
+        AirlineCache lastKnown = lastKnownGood.peek("AIRLINE", airlineId);
+        if (lastKnown != null) {
+            log.info("Returning last-known-good airline {} during fallback", airlineId);
+            return CompletableFuture.completedFuture(lastKnown);
+        }
+
+        // Hiçbir yerde yoksa default değer
         AirlineCache fallback = createFallbackAirline(airlineId);
         return CompletableFuture.completedFuture(fallback);
     }
@@ -176,7 +185,14 @@ public class ResilientReferenceDataService {
             return CompletableFuture.completedFuture(cached);
         }
 
-        // Cache'de de yoksa default değer
+        // Redis'te yoksa bellekteki last-known-good
+        AirportCache lastKnown = lastKnownGood.peek("AIRPORT", airportId);
+        if (lastKnown != null) {
+            log.info("Returning last-known-good airport {} during fallback", airportId);
+            return CompletableFuture.completedFuture(lastKnown);
+        }
+
+        // Hiçbir yerde yoksa default değer
         AirportCache fallback = createFallbackAirport(airportId);
         return CompletableFuture.completedFuture(fallback);
     }
@@ -191,7 +207,14 @@ public class ResilientReferenceDataService {
             return CompletableFuture.completedFuture(cached);
         }
 
-        // Cache'de de yoksa default değer
+        // Redis'te yoksa bellekteki last-known-good
+        AircraftCache lastKnown = lastKnownGood.peek("AIRCRAFT", aircraftId);
+        if (lastKnown != null) {
+            log.info("Returning last-known-good aircraft {} during fallback", aircraftId);
+            return CompletableFuture.completedFuture(lastKnown);
+        }
+
+        // Hiçbir yerde yoksa default değer
         AircraftCache fallback = createFallbackAircraft(aircraftId);
         return CompletableFuture.completedFuture(fallback);
     }
@@ -199,6 +222,12 @@ public class ResilientReferenceDataService {
     public CompletableFuture<RouteCache> getRouteFallback(Long routeId, Exception ex) {
         log.warn("Using fallback for route {}: {}", routeId, ex.getMessage());
 
+        RouteCache lastKnown = lastKnownGood.peek("ROUTE", routeId);
+        if (lastKnown != null) {
+            log.info("Returning last-known-good route {} during fallback", routeId);
+            return CompletableFuture.completedFuture(lastKnown);
+        }
+
         RouteCache fallback = createFallbackRoute(routeId);
         return CompletableFuture.completedFuture(fallback);
     }
@@ -212,6 +241,11 @@ public class ResilientReferenceDataService {
             return cached;
         }
 
+        AirlineCache lastKnown = lastKnownGood.peek("AIRLINE", airlineId);
+        if (lastKnown != null) {
+            return lastKnown;
+        }
+
         return createFallbackAirline(airlineId);
     }
 
@@ -223,6 +257,11 @@ public class ResilientReferenceDataService {
             return cached;
         }
 
+        AirportCache lastKnown = lastKnownGood.peek("AIRPORT", airportId);
+        if (lastKnown != null) {
+            return lastKnown;
+        }
+
         return createFallbackAirport(airportId);
     }
 
@@ -234,11 +273,22 @@ public class ResilientReferenceDataService {
             return cached;
         }
 
+        AircraftCache lastKnown = lastKnownGood.peek("AIRCRAFT", aircraftId);
+        if (lastKnown != null) {
+            return lastKnown;
+        }
+
         return createFallbackAircraft(aircraftId);
     }
 
     public RouteCache getRouteSyncFallback(Long routeId, Exception ex) {
         log.warn("Using sync fallback for route {}: {}", routeId, ex.getMessage());
+
+        RouteCache lastKnown = lastKnownGood.peek("ROUTE", routeId);
+        if (lastKnown != null) {
+            return lastKnown;
+        }
+
         return createFallbackRoute(routeId);
     }
 
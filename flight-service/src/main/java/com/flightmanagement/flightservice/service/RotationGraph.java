@@ -0,0 +1,167 @@
+package com.flightmanagement.flightservice.service;
+
+import com.flightmanagement.flightservice.dto.cache.RouteCache;
+import com.flightmanagement.flightservice.entity.Flight;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Uçak rotasyonu (aircraftId, kalkış sırası) ve aktarmalı uçuş segment'leri (parentFlightId, segment sırası) index'i.
+ *
+ * Zincir listeleri copy-on-write tutulur: ekleme/silme listeyi kopyalayıp map'teki referansı değiştirir,
+ * yayınlanmış bir liste hiç değişmez. Böylece fork() yalnızca map'leri sığ kopyalar; simülasyon fork
+ * üzerinde uçuş silse de canlı graph etkilenmez. Graph'ın kendisi thread-safe değildir, sahibi kilitler.
+ */
+final class RotationGraph {
+
+    final LocalDate windowStart;
+    final LocalDate windowEnd;
+    final Map<Long, FlightNode> nodes;
+    final Map<Long, List<FlightNode>> rotations;   // aircraftId -> kalkış sırası
+    final Map<Long, List<FlightNode>> segments;    // parentFlightId -> segment sırası
+
+    RotationGraph(LocalDate windowStart, LocalDate windowEnd) {
+        this(windowStart, windowEnd, new HashMap<>(), new HashMap<>(), new HashMap<>());
+    }
+
+    private RotationGraph(LocalDate windowStart, LocalDate windowEnd, Map<Long, FlightNode> nodes,
+                          Map<Long, List<FlightNode>> rotations, Map<Long, List<FlightNode>> segments) {
+        this.windowStart = windowStart;
+        this.windowEnd = windowEnd;
+        this.nodes = nodes;
+        this.rotations = rotations;
+        this.segments = segments;
+    }
+
+    /**
+     * Zincir listelerini paylaşan bağımsız kopya
+     */
+    RotationGraph fork() {
+        return new RotationGraph(windowStart, windowEnd, new HashMap<>(nodes),
+                new HashMap<>(rotations), new HashMap<>(segments));
+    }
+
+    boolean covers(LocalDate date) {
+        return !date.isBefore(windowStart) && !date.isAfter(windowEnd);
+    }
+
+    void put(FlightNode node) {
+        remove(node.id);
+        nodes.put(node.id, node);
+        insert(rotations, node.aircraftId, node, FlightNode.ROTATION_ORDER);
+        if (node.parentFlightId != null) {
+            insert(segments, node.parentFlightId, node, FlightNode.SEGMENT_ORDER);
+        }
+    }
+
+    void remove(Long id) {
+        FlightNode old = nodes.remove(id);
+        if (old == null) {
+            return;
+        }
+        delete(rotations, old.aircraftId, old, FlightNode.ROTATION_ORDER);
+        if (old.parentFlightId != null) {
+            delete(segments, old.parentFlightId, old, FlightNode.SEGMENT_ORDER);
+        }
+    }
+
+    FlightNode nextInRotation(FlightNode node) {
+        return adjacent(rotations.get(node.aircraftId), node, FlightNode.ROTATION_ORDER, 1);
+    }
+
+    FlightNode previousInRotation(FlightNode node) {
+        return adjacent(rotations.get(node.aircraftId), node, FlightNode.ROTATION_ORDER, -1);
+    }
+
+    FlightNode adjacentSegment(FlightNode node, int offset) {
+        return adjacent(segments.get(node.parentFlightId), node, FlightNode.SEGMENT_ORDER, offset);
+    }
+
+    List<FlightNode> rotationOf(Long aircraftId) {
+        return rotations.getOrDefault(aircraftId, List.of());
+    }
+
+    List<FlightNode> segmentsOf(Long parentFlightId) {
+        return segments.getOrDefault(parentFlightId, List.of());
+    }
+
+    private static FlightNode adjacent(List<FlightNode> chain, FlightNode node, Comparator<FlightNode> order, int offset) {
+        int index = chain != null ? Collections.binarySearch(chain, node, order) : -1;
+        int target = index + offset;
+        return index >= 0 && target >= 0 && target < chain.size() ? chain.get(target) : null;
+    }
+
+    private static void insert(Map<Long, List<FlightNode>> index, Long key, FlightNode node, Comparator<FlightNode> order) {
+        List<FlightNode> current = index.getOrDefault(key, List.of());
+        List<FlightNode> copy = new ArrayList<>(current.size() + 1);
+        copy.addAll(current);
+        int position = Collections.binarySearch(copy, node, order);
+        copy.add(position >= 0 ? position : -position - 1, node);
+        index.put(key, copy);
+    }
+
+    private static void delete(Map<Long, List<FlightNode>> index, Long key, FlightNode node, Comparator<FlightNode> order) {
+        List<FlightNode> current = index.get(key);
+        int position = current != null ? Collections.binarySearch(current, node, order) : -1;
+        if (position < 0) {
+            return;
+        }
+        if (current.size() == 1) {
+            index.remove(key);
+            return;
+        }
+        List<FlightNode> copy = new ArrayList<>(current);
+        copy.remove(position);
+        index.put(key, copy);
+    }
+
+    /**
+     * departure/arrival kaydedildiği haliyle (recordDelay planlanan saatleri kaydırır, gerçekleşen saat varsa o).
+     * plannedDeparture/plannedArrival kaydedilen gecikme düşülmüş ilk plan; rotasyon sırası buna göre tutulur
+     * ki gecikme uçuşun rotasyondaki yerini değiştirmesin.
+     */
+    static final class FlightNode {
+        static final Comparator<FlightNode> ROTATION_ORDER = Comparator
+                .comparing((FlightNode node) -> node.plannedDeparture)
+                .thenComparingLong(node -> node.id);
+        static final Comparator<FlightNode> SEGMENT_ORDER = Comparator
+                .comparingInt((FlightNode node) -> node.segmentNumber)
+                .thenComparingLong(node -> node.id);
+
+        final long id;
+        final String flightNumber;
+        final Long airlineId;
+        final Long aircraftId;
+        final Long parentFlightId;
+        final int segmentNumber;
+        final Long originAirportId;
+        final Long destinationAirportId;
+        final LocalDate flightDate;
+        final LocalDateTime departure;
+        final LocalDateTime arrival;
+        final LocalDateTime plannedDeparture;
+        final LocalDateTime plannedArrival;
+        final boolean departed;
+        final int delayMinutes;
+
+        FlightNode(Flight flight, RouteCache route) {
+            this.id = flight.getId();
+            this.flightNumber = flight.getFlightNumber();
+            this.airlineId = flight.getAirlineId();
+            this.aircraftId = flight.getAircraftId();
+            this.parentFlightId = flight.getParentFlightId();
+            this.segmentNumber = flight.getSegmentNumber() != null ? flight.getSegmentNumber() : 0;
+            this.originAirportId = route != null ? route.getOriginAirportId() : null;
+            this.destinationAirportId = route != null ? route.getDestinationAirportId() : null;
+            this.flightDate = flight.getFlightDate();
+            this.departure = flight.getActualDeparture() != null ? flight.getActualDeparture() : flight.getScheduledDeparture();
+            this.arrival = flight.getActualArrival() != null ? flight.getActualArrival() : flight.getScheduledArrival();
+            this.departed = flight.getActualDeparture() != null;
+            this.delayMinutes = flight.getDelayMinutes() != null ? Math.max(0, flight.getDelayMinutes()) : 0;
+            this.plannedDeparture = flight.getScheduledDeparture().minusMinutes(delayMinutes);
+            this.plannedArrival = flight.getScheduledArrival().minusMinutes(delayMinutes);
+        }
+    }
+}
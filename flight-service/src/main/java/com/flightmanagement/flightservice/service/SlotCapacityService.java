@@ -0,0 +1,620 @@
+package com.flightmanagement.flightservice.service;
+
+import com.flightmanagement.flightservice.dto.cache.AirportCapacityCache;
+import com.flightmanagement.flightservice.dto.cache.RouteCache;
+import com.flightmanagement.flightservice.dto.request.SlotCheckRequest;
+import com.flightmanagement.flightservice.dto.response.CapacityHeatmapResponse;
+import com.flightmanagement.flightservice.dto.response.SlotCheckResponse;
+import com.flightmanagement.flightservice.entity.Flight;
+import com.flightmanagement.flightservice.entity.enums.FlightStatus;
+import com.flightmanagement.flightservice.event.FlightChangedEvent;
+import com.flightmanagement.flightservice.repository.FlightRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Havalimanı slot/kapasite kontrolü için 15 dakikalık hareket sayaçları.
+ *
+ * Her uçuş origin'de planlanan kalkış, destination'da planlanan varış dilimine bir hareket ekler.
+ * Sayaçlar FlightChangedEvent ile güncel tutulur; saatlik limit, ilgili dilimi içeren dört
+ * ardışık 15 dakikalık pencerenin en yoğunuyla karşılaştırılır. Kapasite deklarasyonları reference
+ * replikasından okunur, toplu kontrol DB'ye uçuş başına sorgu atmaz.
+ */
+@Service
+@Slf4j
+public class SlotCapacityService {
+
+    public static final int BUCKET_MINUTES = 15;
+    private static final int BUCKETS_PER_HOUR = 60 / BUCKET_MINUTES;
+    private static final int BUCKETS_PER_DAY = 24 * BUCKETS_PER_HOUR;
+
+    private static final Set<String> SLOT_COLUMNS = Set.of(
+            "id", "routeId", "flightDate", "scheduledDeparture", "scheduledArrival",
+            "status", "active", "isConnectingFlight", "parentFlightId");
+
+    private final ActiveFlightLoader activeFlights;
+    private final ReferenceDataReplica referenceDataReplica;
+
+    @Value("${slot-capacity.days-back:1}")
+    private int daysBack;
+
+    @Value("${slot-capacity.days-ahead:30}")
+    private int daysAhead;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private CounterIndex index = new CounterIndex(LocalDate.now(), LocalDate.now().minusDays(1));
+
+    // Rebuild sürerken gelen değişiklikler - lock altında
+    private final RebuildChangeTracker<FlightMovements> changesDuringRebuild = new RebuildChangeTracker<>();
+
+    private volatile CapacityTable capacities;
+    private volatile LocalDateTime lastRebuildAt;
+
+    public SlotCapacityService(FlightRepository flightRepository,
+                               ReferenceDataService referenceDataService,
+                               ReferenceDataReplica referenceDataReplica) {
+        this.activeFlights = new ActiveFlightLoader(flightRepository, referenceDataService, SLOT_COLUMNS);
+        this.referenceDataReplica = referenceDataReplica;
+    }
+
+    // ===============================
+    // SLOT CHECKS
+    // ===============================
+
+    /**
+     * Uçuşları sırayla değerlendirir: her uçuş mevcut programa ve listede kendisinden önce gelip
+     * reddedilmeyen uçuşlara göre kontrol edilir. Listedeki mevcut uçuşların eski hareketleri düşülür.
+     */
+    public SlotCheckResponse checkBatch(List<SlotCheckRequest.PlannedFlight> flights) {
+        long started = System.nanoTime();
+        CapacityTable table = currentCapacities();
+        List<SlotCheckResponse.SlotViolation> violations = new ArrayList<>();
+        int rejected = 0;
+        int warned = 0;
+
+        LocalDate from = null;
+        LocalDate to = null;
+        for (SlotCheckRequest.PlannedFlight flight : flights) {
+            if (isCheckable(flight, table)) {
+                LocalDate first = flight.getScheduledDeparture().toLocalDate();
+                LocalDate last = flight.getScheduledArrival().toLocalDate();
+                from = from == null || first.isBefore(from) ? first : from;
+                to = to == null || last.isAfter(to) ? last : to;
+            }
+        }
+
+        if (from != null) {
+            List<List<SlotCheckResponse.SlotViolation>> results = read(from.minusDays(1), to.plusDays(1),
+                    counters -> evaluate(counters, table, flights));
+            for (List<SlotCheckResponse.SlotViolation> result : results) {
+                if (result.isEmpty()) {
+                    continue;
+                }
+                violations.addAll(result);
+                if (result.stream().anyMatch(SlotCheckResponse.SlotViolation::isRejected)) {
+                    rejected++;
+                } else {
+                    warned++;
+                }
+            }
+        }
+
+        return SlotCheckResponse.builder()
+                .checked(flights.size())
+                .rejected(rejected)
+                .warned(warned)
+                .violations(violations)
+                .computeMicros((System.nanoTime() - started) / 1000)
+                .build();
+    }
+
+    private List<List<SlotCheckResponse.SlotViolation>> evaluate(CounterIndex counters, CapacityTable table,
+                                                                 List<SlotCheckRequest.PlannedFlight> flights) {
+        // Listenin sayaçlara net etkisi: mevcut uçuşların (ve yeniden planlanan aktarmalı uçuşların eski
+        // segment'lerinin) hareketleri -1, kabul edilenler +1
+        Map<Long, Map<Long, Integer>> overlay = new HashMap<>();
+        Set<Long> replaced = new HashSet<>();
+        for (SlotCheckRequest.PlannedFlight flight : flights) {
+            if (flight.getFlightId() != null) {
+                replaced.add(flight.getFlightId());
+            }
+            if (flight.getParentFlightId() != null) {
+                replaced.addAll(counters.segmentsByParent.getOrDefault(flight.getParentFlightId(), Set.of()));
+            }
+        }
+        for (Long flightId : replaced) {
+            FlightMovements existing = counters.byFlight.get(flightId);
+            if (existing != null) {
+                adjust(overlay, existing.originAirportId, existing.departureBucket, -1);
+                adjust(overlay, existing.destinationAirportId, existing.arrivalBucket, -1);
+            }
+        }
+
+        List<List<SlotCheckResponse.SlotViolation>> results = new ArrayList<>(flights.size());
+        for (int i = 0; i < flights.size(); i++) {
+            SlotCheckRequest.PlannedFlight flight = flights.get(i);
+            if (!isCheckable(flight, table)) {
+                results.add(List.of());
+                continue;
+            }
+            long departureBucket = bucketOf(flight.getScheduledDeparture());
+            long arrivalBucket = bucketOf(flight.getScheduledArrival());
+
+            List<SlotCheckResponse.SlotViolation> result = new ArrayList<>();
+            check(counters, overlay, table.byAirport.get(flight.getOriginAirportId()), flight.getOriginAirportId(),
+                    departureBucket, "DEPARTURE", result);
+            check(counters, overlay, table.byAirport.get(flight.getDestinationAirportId()), flight.getDestinationAirportId(),
+                    arrivalBucket, "ARRIVAL", result);
+            for (SlotCheckResponse.SlotViolation violation : result) {
+                violation.setIndex(i);
+                violation.setFlightId(flight.getFlightId());
+                violation.setFlightNumber(flight.getFlightNumber());
+            }
+
+            if (result.stream().noneMatch(SlotCheckResponse.SlotViolation::isRejected)) {
+                adjust(overlay, flight.getOriginAirportId(), departureBucket, 1);
+                adjust(overlay, flight.getDestinationAirportId(), arrivalBucket, 1);
+            }
+            results.add(result);
+        }
+        return results;
+    }
+
+    private void check(CounterIndex counters, Map<Long, Map<Long, Integer>> overlay, Capacity capacity,
+                       Long airportId, long bucket, String movement, List<SlotCheckResponse.SlotViolation> result) {
+        if (capacity == null) {
+            return;
+        }
+        // bucket-3 .. bucket+3: dilimi içeren tüm saatlik pencereler
+        int[] totals = new int[2 * BUCKETS_PER_HOUR - 1];
+        for (int k = 0; k < totals.length; k++) {
+            long b = bucket - (BUCKETS_PER_HOUR - 1) + k;
+            totals[k] = counters.movements(airportId, b) + overlay.getOrDefault(airportId, Map.of()).getOrDefault(b, 0);
+        }
+
+        if (capacity.per15Min != null) {
+            int movements = totals[BUCKETS_PER_HOUR - 1] + 1;
+            if (movements > capacity.per15Min) {
+                result.add(violation(airportId, movement, BUCKET_MINUTES, bucket, movements, capacity.per15Min, capacity.enforcement));
+            }
+        }
+        if (capacity.per60Min != null) {
+            int worst = -1;
+            int worstStart = 0;
+            for (int start = 0; start < BUCKETS_PER_HOUR; start++) {
+                int sum = 0;
+                for (int k = start; k < start + BUCKETS_PER_HOUR; k++) {
+                    sum += totals[k];
+                }
+                if (sum > worst) {
+                    worst = sum;
+                    worstStart = start;
+                }
+            }
+            int movements = worst + 1;
+            if (movements > capacity.per60Min) {
+                long windowStart = bucket - (BUCKETS_PER_HOUR - 1) + worstStart;
+                result.add(violation(airportId, movement, 60, windowStart, movements, capacity.per60Min, capacity.enforcement));
+            }
+        }
+    }
+
+    private static SlotCheckResponse.SlotViolation violation(Long airportId, String movement, int windowMinutes, long windowStart,
+                                                             int movements, int limit, String enforcement) {
+        return SlotCheckResponse.SlotViolation.builder()
+                .airportId(airportId)
+                .movement(movement)
+                .windowMinutes(windowMinutes)
+                .windowStart(bucketStart(windowStart))
+                .movements(movements)
+                .limit(limit)
+                .enforcement(enforcement)
+                .build();
+    }
+
+    private static boolean isCheckable(SlotCheckRequest.PlannedFlight flight, CapacityTable table) {
+        return flight.getScheduledDeparture() != null && flight.getScheduledArrival() != null
+                && (table.byAirport.containsKey(flight.getOriginAirportId())
+                || table.byAirport.containsKey(flight.getDestinationAirportId()));
+    }
+
+    private static void adjust(Map<Long, Map<Long, Integer>> overlay, Long airportId, long bucket, int delta) {
+        if (airportId != null) {
+            overlay.computeIfAbsent(airportId, id -> new HashMap<>()).merge(bucket, delta, Integer::sum);
+        }
+    }
+
+    // ===============================
+    // QUERIES
+    // ===============================
+
+    public CapacityHeatmapResponse getHeatmap(Long airportId, LocalDate date) {
+        Capacity capacity = currentCapacities().byAirport.get(airportId);
+        long firstBucket = bucketOf(date.atStartOfDay());
+
+        // Son dilimlerin saatlik toplamı ertesi günün ilk üç dilimini de içerir
+        int[][] counts = read(date.minusDays(1), date.plusDays(1), counters -> {
+            int[][] result = new int[BUCKETS_PER_DAY + BUCKETS_PER_HOUR - 1][];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = counters.counts(airportId, firstBucket + i);
+            }
+            return result;
+        });
+
+        List<CapacityHeatmapResponse.Bucket> buckets = new ArrayList<>(BUCKETS_PER_DAY);
+        int departures = 0;
+        int arrivals = 0;
+        int peak15 = 0;
+        int peak60 = 0;
+        int overloaded = 0;
+        for (int i = 0; i < BUCKETS_PER_DAY; i++) {
+            int movements = counts[i][0] + counts[i][1];
+            int rollingHour = 0;
+            for (int k = i; k < i + BUCKETS_PER_HOUR; k++) {
+                rollingHour += counts[k][0] + counts[k][1];
+            }
+            departures += counts[i][0];
+            arrivals += counts[i][1];
+            peak15 = Math.max(peak15, movements);
+            peak60 = Math.max(peak60, rollingHour);
+
+            Double utilization15 = capacity != null && capacity.per15Min != null ? ratio(movements, capacity.per15Min) : null;
+            Double utilization60 = capacity != null && capacity.per60Min != null ? ratio(rollingHour, capacity.per60Min) : null;
+            boolean over = (utilization15 != null && utilization15 > 1.0) || (utilization60 != null && utilization60 > 1.0);
+            overloaded += over ? 1 : 0;
+
+            buckets.add(CapacityHeatmapResponse.Bucket.builder()
+                    .start(bucketStart(firstBucket + i).toLocalTime())
+                    .departures(counts[i][0])
+                    .arrivals(counts[i][1])
+                    .movements(movements)
+                    .rollingHourMovements(rollingHour)
+                    .utilization15Min(utilization15)
+                    .utilization60Min(utilization60)
+                    .overloaded(capacity != null ? over : null)
+                    .build());
+        }
+
+        return CapacityHeatmapResponse.builder()
+                .airportId(airportId)
+                .date(date)
+                .movementsPer15Min(capacity != null ? capacity.per15Min : null)
+                .movementsPer60Min(capacity != null ? capacity.per60Min : null)
+                .enforcement(capacity != null ? capacity.enforcement : null)
+                .departures(departures)
+                .arrivals(arrivals)
+                .peak15Min(peak15)
+                .peak60Min(peak60)
+                .overloadedBuckets(capacity != null ? overloaded : null)
+                .buckets(buckets)
+                .build();
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            status.put("windowStart", index.windowStart);
+            status.put("windowEnd", index.windowEnd);
+            status.put("flights", index.byFlight.size());
+            status.put("airports", index.byAirport.size());
+            status.put("occupiedBuckets", index.byAirport.values().stream().mapToInt(Map::size).sum());
+        } finally {
+            lock.readLock().unlock();
+        }
+        status.put("declaredAirports", currentCapacities().byAirport.size());
+        status.put("lastRebuildAt", lastRebuildAt);
+        return status;
+    }
+
+    private static double ratio(int movements, int limit) {
+        return Math.round(movements * 1000.0 / limit) / 1000.0;
+    }
+
+    // ===============================
+    // CAPACITY DECLARATIONS
+    // ===============================
+
+    /**
+     * Replika versiyonu değişmedikçe aynı tablo kullanılır
+     */
+    private CapacityTable currentCapacities() {
+        CapacityTable current = capacities;
+        long version = referenceDataReplica.getVersion();
+        if (current != null && current.version == version) {
+            return current;
+        }
+        synchronized (this) {
+            if (capacities == null || capacities.version != version) {
+                Map<Long, Capacity> byAirport = new HashMap<>();
+                Map<Long, AirportCapacityCache> declarations = referenceDataReplica.getAll(ReferenceDataReplica.CAPACITY);
+                for (AirportCapacityCache declaration : declarations.values()) {
+                    if (Boolean.TRUE.equals(declaration.getActive()) && declaration.getAirportId() != null
+                            && (declaration.getMovementsPer15Min() != null || declaration.getMovementsPer60Min() != null)) {
+                        byAirport.put(declaration.getAirportId(), new Capacity(declaration));
+                    }
+                }
+                capacities = new CapacityTable(version, byAirport);
+                log.debug("Loaded capacity declarations for {} airports at reference version {}", byAirport.size(), version);
+            }
+            return capacities;
+        }
+    }
+
+    // ===============================
+    // INDEX MAINTENANCE
+    // ===============================
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFlightChanged(FlightChangedEvent event) {
+        Flight flight = event.getFlight();
+        if (flight == null || flight.getId() == null) {
+            return;
+        }
+
+        try {
+            if (event.isConnectingParent()) {
+                // Hareketleri segment'ler taşır; segment'ler kendi event'leri olmadan yeniden yaratılmış olabilir
+                List<FlightMovements> segments = event.isDeleted()
+                        ? List.of() : activeFlights.loadSegments(flight.getId(), this::toMovements);
+                replaceSegments(flight.getId(), segments);
+                return;
+            }
+            apply(flight.getId(), event.isDeleted() ? null : toMovements(flight, activeFlights.routeOf(flight)));
+        } catch (Exception e) {
+            log.warn("Could not apply flight {} change to slot counters: {}", flight.getId(), e.getMessage());
+        }
+    }
+
+    @Scheduled(initialDelayString = "${slot-capacity.initial-delay-ms:10000}",
+            fixedDelayString = "${slot-capacity.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        LocalDate windowStart = LocalDate.now().minusDays(daysBack);
+        LocalDate windowEnd = LocalDate.now().plusDays(daysAhead);
+
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild.begin();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        CounterIndex built;
+        try {
+            built = load(windowStart, windowEnd);
+        } catch (Exception e) {
+            log.error("Slot counter rebuild failed, keeping previous counters: {}", e.getMessage());
+            built = null;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (built != null) {
+                CounterIndex target = built;
+                changesDuringRebuild.replay(target::remove, movements -> {
+                    target.remove(movements.flightId);
+                    if (target.covers(movements.flightDate)) {
+                        target.add(movements);
+                    }
+                });
+                index = built;
+                lastRebuildAt = LocalDateTime.now();
+                log.info("Slot counters rebuilt: {} flights at {} airports for {} - {} in {} ms",
+                        built.byFlight.size(), built.byAirport.size(), windowStart, windowEnd,
+                        System.currentTimeMillis() - started);
+            }
+        } finally {
+            changesDuringRebuild.end();
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(Long flightId, FlightMovements movements) {
+        lock.writeLock().lock();
+        try {
+            index.remove(flightId);
+            if (movements != null && index.covers(movements.flightDate)) {
+                index.add(movements);
+            }
+            changesDuringRebuild.track(flightId, movements);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void replaceSegments(Long parentFlightId, List<FlightMovements> segments) {
+        lock.writeLock().lock();
+        try {
+            for (Long segmentId : new ArrayList<>(index.segmentsByParent.getOrDefault(parentFlightId, Set.of()))) {
+                index.remove(segmentId);
+                changesDuringRebuild.track(segmentId, null);
+            }
+            for (FlightMovements segment : segments) {
+                index.remove(segment.flightId);
+                if (index.covers(segment.flightDate)) {
+                    index.add(segment);
+                }
+                changesDuringRebuild.track(segment.flightId, segment);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Aralık canlı pencerede ise okuma kilidi altında, değilse o günler için ayrıca yüklenen sayaçlar üzerinde
+     */
+    private <T> T read(LocalDate from, LocalDate to, Function<CounterIndex, T> query) {
+        lock.readLock().lock();
+        try {
+            if (index.covers(from) && index.covers(to)) {
+                return query.apply(index);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return query.apply(load(from, to));
+    }
+
+    private CounterIndex load(LocalDate from, LocalDate to) {
+        CounterIndex loaded = new CounterIndex(from, to);
+        activeFlights.loadWindow(from, to, this::toMovements).forEach(loaded::add);
+        return loaded;
+    }
+
+    /**
+     * Slot kullanmayan uçuşlar için null: iptal/pasif, havalimanları bilinmeyen ya da aktarmalı uçuşun ana kaydı
+     */
+    private FlightMovements toMovements(Flight flight, RouteCache route) {
+        if (!Boolean.TRUE.equals(flight.getActive()) || FlightStatus.CANCELLED.equals(flight.getStatus())
+                || flight.getFlightDate() == null || flight.getScheduledDeparture() == null
+                || flight.getScheduledArrival() == null || route == null
+                || (route.getOriginAirportId() == null && route.getDestinationAirportId() == null)) {
+            return null;
+        }
+        if (Boolean.TRUE.equals(flight.getIsConnectingFlight()) && flight.getParentFlightId() == null) {
+            return null;
+        }
+        return new FlightMovements(flight.getId(), flight.getParentFlightId(), flight.getFlightDate(),
+                route.getOriginAirportId(), bucketOf(flight.getScheduledDeparture()),
+                route.getDestinationAirportId(), bucketOf(flight.getScheduledArrival()));
+    }
+
+    static long bucketOf(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), BUCKET_MINUTES * 60L);
+    }
+
+    static LocalDateTime bucketStart(long bucket) {
+        return LocalDateTime.ofEpochSecond(bucket * BUCKET_MINUTES * 60L, 0, ZoneOffset.UTC);
+    }
+
+    // ===============================
+    // INDEX STRUCTURES
+    // ===============================
+
+    static final class FlightMovements {
+        final long flightId;
+        final Long parentFlightId;
+        final LocalDate flightDate;
+        final Long originAirportId;
+        final long departureBucket;
+        final Long destinationAirportId;
+        final long arrivalBucket;
+
+        FlightMovements(long flightId, Long parentFlightId, LocalDate flightDate, Long originAirportId, long departureBucket,
+                        Long destinationAirportId, long arrivalBucket) {
+            this.flightId = flightId;
+            this.parentFlightId = parentFlightId;
+            this.flightDate = flightDate;
+            this.originAirportId = originAirportId;
+            this.departureBucket = departureBucket;
+            this.destinationAirportId = destinationAirportId;
+            this.arrivalBucket = arrivalBucket;
+        }
+    }
+
+    static final class Capacity {
+        final Integer per15Min;
+        final Integer per60Min;
+        final String enforcement;
+
+        Capacity(AirportCapacityCache declaration) {
+            this.per15Min = declaration.getMovementsPer15Min();
+            this.per60Min = declaration.getMovementsPer60Min();
+            this.enforcement = "REJECT".equals(declaration.getEnforcement()) ? "REJECT" : "WARN";
+        }
+    }
+
+    static final class CapacityTable {
+        final long version;
+        final Map<Long, Capacity> byAirport;
+
+        CapacityTable(long version, Map<Long, Capacity> byAirport) {
+            this.version = version;
+            this.byAirport = byAirport;
+        }
+    }
+
+    /**
+     * Havalimanı başına dilim -> {kalkış, varış}. Thread-safe değildir, servis read/write lock ile korur
+     */
+    static final class CounterIndex {
+        private static final int[] EMPTY = new int[2];
+
+        final LocalDate windowStart;
+        final LocalDate windowEnd;
+        final Map<Long, FlightMovements> byFlight = new HashMap<>();
+        final Map<Long, Map<Long, int[]>> byAirport = new HashMap<>();
+        final Map<Long, Set<Long>> segmentsByParent = new HashMap<>();
+
+        CounterIndex(LocalDate windowStart, LocalDate windowEnd) {
+            this.windowStart = windowStart;
+            this.windowEnd = windowEnd;
+        }
+
+        boolean covers(LocalDate date) {
+            return !date.isBefore(windowStart) && !date.isAfter(windowEnd);
+        }
+
+        void add(FlightMovements movements) {
+            byFlight.put(movements.flightId, movements);
+            if (movements.parentFlightId != null) {
+                segmentsByParent.computeIfAbsent(movements.parentFlightId, id -> new HashSet<>()).add(movements.flightId);
+            }
+            increment(movements.originAirportId, movements.departureBucket, 0, 1);
+            increment(movements.destinationAirportId, movements.arrivalBucket, 1, 1);
+        }
+
+        void remove(Long flightId) {
+            FlightMovements old = byFlight.remove(flightId);
+            if (old == null) {
+                return;
+            }
+            if (old.parentFlightId != null) {
+                Set<Long> segments = segmentsByParent.get(old.parentFlightId);
+                if (segments != null && segments.remove(flightId) && segments.isEmpty()) {
+                    segmentsByParent.remove(old.parentFlightId);
+                }
+            }
+            increment(old.originAirportId, old.departureBucket, 0, -1);
+            increment(old.destinationAirportId, old.arrivalBucket, 1, -1);
+        }
+
+        int movements(Long airportId, long bucket) {
+            int[] counts = counts(airportId, bucket);
+            return counts[0] + counts[1];
+        }
+
+        int[] counts(Long airportId, long bucket) {
+            Map<Long, int[]> buckets = byAirport.get(airportId);
+            int[] counts = buckets != null ? buckets.get(bucket) : null;
+            return counts != null ? counts : EMPTY;
+        }
+
+        private void increment(Long airportId, long bucket, int slot, int delta) {
+            if (airportId == null) {
+                return;
+            }
+            Map<Long, int[]> buckets = byAirport.computeIfAbsent(airportId, id -> new HashMap<>());
+            int[] counts = buckets.computeIfAbsent(bucket, b -> new int[2]);
+            counts[slot] += delta;
+            if (counts[0] == 0 && counts[1] == 0) {
+                buckets.remove(bucket);
+                if (buckets.isEmpty()) {
+                    byAirport.remove(airportId);
+                }
+            }
+        }
+    }
+}
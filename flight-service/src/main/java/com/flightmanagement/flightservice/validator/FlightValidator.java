@@ -1,17 +1,31 @@
 package com.flightmanagement.flightservice.validator;
 
+import com.flightmanagement.flightservice.dto.cache.AircraftCache;
+import com.flightmanagement.flightservice.dto.cache.AirlineCache;
 import com.flightmanagement.flightservice.dto.cache.RouteCache;
 import com.flightmanagement.flightservice.dto.request.AirportSegmentRequest;
 import com.flightmanagement.flightservice.dto.request.FlightRequest;
+import com.flightmanagement.flightservice.dto.request.FlightSegmentRequest;
+import com.flightmanagement.flightservice.dto.request.SlotCheckRequest;
+import com.flightmanagement.flightservice.dto.response.SlotCheckResponse;
 import com.flightmanagement.flightservice.entity.Flight;
+import com.flightmanagement.flightservice.entity.enums.FlightStatus;
 import com.flightmanagement.flightservice.exception.BusinessException;
+import com.flightmanagement.flightservice.service.GateAssignmentService;
 import com.flightmanagement.flightservice.service.ReferenceDataService;
+import com.flightmanagement.flightservice.service.SlotCapacityService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Component
 @RequiredArgsConstructor
@@ -19,28 +33,70 @@ import java.util.List;
 public class FlightValidator {
 
     private final ReferenceDataService referenceDataService;
+    private final GateAssignmentService gateAssignmentService;
+    private final SlotCapacityService slotCapacityService;
 
     public void validateFlightRequest(FlightRequest request) {
+        validateFlightRequest(request, new References());
+    }
+
+    /**
+     * Toplu doğrulama (CSV import) için: reference data dosya başına bir kez prefetch edilmiş References'tan okunur
+     */
+    public void validateFlightRequest(FlightRequest request, References references) {
         validateBasicRules(request);
 
         if (request.isRouteBasedCreation()) {
-            validateRouteData(request);
+            validateRouteData(request, references);
         }
 
         if (request.isMultiSegmentAirportCreation()) {
             validateMultiSegmentAirportData(request);
         }
 
-        validateReferenceData(request);
-        validateBusinessRules(request);
+        validateReferenceData(request, references);
+        validateBusinessRules(request, references);
+        validateGateAssignment(null, request, references);
+        validateSlotCapacity(null, request, references);
     }
 
     public void validateFlightUpdate(Flight existingFlight, FlightRequest request) {
+        References references = new References();
         validateBasicRules(request);
-        validateRouteData(request);
-        validateReferenceData(request);
-        validateBusinessRules(request);
+        validateRouteData(request, references);
+        validateReferenceData(request, references);
+        validateBusinessRules(request, references);
         validateUpdateRules(existingFlight, request);
+        validateGateAssignment(existingFlight.getId(), request, references);
+        validateSlotCapacity(existingFlight.getId(), request, references);
+    }
+
+    /**
+     * İsteklerin airline, aircraft ve route'larını toplu çeker (replika, Redis MGET, batch HTTP).
+     * Toplu çekim başarısız olursa References tekil lookup'a düşer.
+     */
+    public References prefetch(Collection<FlightRequest> requests) {
+        References references = new References();
+        Set<Long> airlineIds = new HashSet<>();
+        Set<Long> aircraftIds = new HashSet<>();
+        Set<Long> routeIds = new HashSet<>();
+        for (FlightRequest request : requests) {
+            airlineIds.add(request.getAirlineId());
+            aircraftIds.add(request.getAircraftId());
+            routeIds.add(request.getRouteId());
+        }
+        airlineIds.remove(null);
+        aircraftIds.remove(null);
+        routeIds.remove(null);
+
+        try {
+            references.airlines.putAll(referenceDataService.getAirlines(airlineIds));
+            references.aircrafts.putAll(referenceDataService.getAircrafts(aircraftIds));
+            references.routes.putAll(referenceDataService.getRoutes(routeIds));
+        } catch (Exception e) {
+            log.warn("Bulk reference prefetch for validation failed, falling back to single lookups: {}", e.getMessage());
+        }
+        return references;
     }
 
     private void validateBasicRules(FlightRequest request) {
@@ -62,11 +118,11 @@ public class FlightValidator {
         }
     }
 
-    private void validateRouteData(FlightRequest request) {
+    private void validateRouteData(FlightRequest request, References references) {
         log.debug("Validating route-based flight with route ID: {}", request.getRouteId());
 
         try {
-            RouteCache route = referenceDataService.getRoute(request.getRouteId());
+            RouteCache route = references.route(request.getRouteId());
             if (route == null) {
                 throw new BusinessException("Route not found with ID: " + request.getRouteId());
             }
@@ -90,10 +146,10 @@ public class FlightValidator {
         }
     }
 
-    private void validateReferenceData(FlightRequest request) {
+    private void validateReferenceData(FlightRequest request, References references) {
         // Airline validation
         try {
-            var airline = referenceDataService.getAirline(request.getAirlineId());
+            var airline = references.airline(request.getAirlineId());
             if (airline == null) {
                 throw new BusinessException("Airline not found with ID: " + request.getAirlineId());
             }
@@ -109,7 +165,7 @@ public class FlightValidator {
 
         // Aircraft validation
         try {
-            var aircraft = referenceDataService.getAircraft(request.getAircraftId());
+            var aircraft = references.aircraft(request.getAircraftId());
             if (aircraft == null) {
                 throw new BusinessException("Aircraft not found with ID: " + request.getAircraftId());
             }
@@ -124,7 +180,7 @@ public class FlightValidator {
         }
     }
 
-    private void validateBusinessRules(FlightRequest request) {
+    private void validateBusinessRules(FlightRequest request, References references) {
         // Flight number format kontrolü
         if (request.getFlightNumber() != null &&
                 !request.getFlightNumber().matches("^[A-Z]{2}\\d{1,4}$")) {
@@ -133,7 +189,7 @@ public class FlightValidator {
 
         // Passenger count vs aircraft capacity kontrolü
         try {
-            var aircraft = referenceDataService.getAircraft(request.getAircraftId());
+            var aircraft = references.aircraft(request.getAircraftId());
             if (request.getPassengerCount() != null && aircraft.getPassengerCapacity() != null) {
                 if (request.getPassengerCount() > aircraft.getPassengerCapacity()) {
                     throw new BusinessException(
@@ -266,6 +322,159 @@ public class FlightValidator {
         }
     }
 
+    /**
+     * Kalkış gate'i origin havalimanında aynı saatlerde başka bir uçuşa atanmış mı.
+     * Aktarmalı uçuşta ana kayıt gate kullanmaz; her segment kendi gate'i ve kalkışıyla kontrol edilir.
+     */
+    private void validateGateAssignment(Long flightId, FlightRequest request, References references) {
+        if (request.isConnectingFlightRequest()) {
+            validateSegmentGates(flightId, request.getSegments());
+            return;
+        }
+        if (request.getGateNumber() == null || request.getGateNumber().isBlank()
+                || request.getScheduledDeparture() == null) {
+            return;
+        }
+
+        Long originAirportId = request.getFirstOriginAirportId();
+        if (originAirportId == null && request.getRouteId() != null) {
+            RouteCache route = references.route(request.getRouteId());
+            originAirportId = route != null ? route.getOriginAirportId() : null;
+        }
+        LocalDateTime departure = request.getActualDeparture() != null
+                ? request.getActualDeparture() : request.getScheduledDeparture();
+        gateAssignmentService.validateAssignment(flightId, originAirportId, request.getGateNumber(), departure);
+    }
+
+    /**
+     * Aktarmalı uçuş segment'lerinin gate ve slot kontrolü (ConnectingFlightService create/update)
+     *
+     * @param parentFlightId güncellenen ana kayıt (yeni uçuş için null) - mevcut segment'leri yeniden
+     *                       yaratılacağından çakışma/kapasite hesabında sayılmaz
+     */
+    public void validateConnectingSegments(Long parentFlightId, String flightNumber, List<FlightSegmentRequest> segments) {
+        validateSegmentGates(parentFlightId, segments);
+        checkSlotCapacity(toPlannedSegments(parentFlightId, flightNumber, segments));
+    }
+
+    private void validateSegmentGates(Long parentFlightId, List<FlightSegmentRequest> segments) {
+        for (FlightSegmentRequest segment : segments) {
+            gateAssignmentService.validateSegmentAssignment(parentFlightId, segment.getOriginAirportId(),
+                    segment.getGateNumber(), segment.getScheduledDeparture());
+        }
+    }
+
+    /**
+     * Kalkış ve varışın havalimanlarının deklare kapasitesine sığıp sığmadığı; REJECT deklarasyonunda
+     * BusinessException, WARN'da yalnızca log. Aktarmalı uçuşta her segment ayrı hareket olarak kontrol edilir.
+     */
+    private void validateSlotCapacity(Long flightId, FlightRequest request, References references) {
+        checkSlotCapacity(toPlannedFlights(flightId, request, references));
+    }
+
+    private void checkSlotCapacity(List<SlotCheckRequest.PlannedFlight> planned) {
+        if (planned.isEmpty()) {
+            return;
+        }
+        // Segment'ler birbirinin slotunu da tüketir - sırayla değerlendirilir
+        for (SlotCheckResponse.SlotViolation violation : slotCapacityService.checkBatch(planned).getViolations()) {
+            if (violation.isRejected()) {
+                throw new BusinessException(violation.describe());
+            }
+            log.warn("Flight {}: {}", violation.getFlightNumber(), violation.describe());
+        }
+    }
+
+    /**
+     * Toplu slot kontrolü (CSV import): istekler sırayla değerlendirilir, her biri listede kendisinden
+     * önce gelen ve reddedilmeyen uçuşları da sayar. Violation index'i isteğin listedeki sırasıdır.
+     */
+    public SlotCheckResponse validateSlotCapacity(List<FlightRequest> requests) {
+        return validateSlotCapacity(requests, new References());
+    }
+
+    public SlotCheckResponse validateSlotCapacity(List<FlightRequest> requests, References references) {
+        List<SlotCheckRequest.PlannedFlight> planned = new ArrayList<>(requests.size());
+        List<Integer> requestIndexes = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            for (SlotCheckRequest.PlannedFlight flight : toPlannedFlights(null, requests.get(i), references)) {
+                planned.add(flight);
+                requestIndexes.add(i);
+            }
+        }
+        SlotCheckResponse response = slotCapacityService.checkBatch(planned);
+        for (SlotCheckResponse.SlotViolation violation : response.getViolations()) {
+            violation.setIndex(requestIndexes.get(violation.getIndex()));
+        }
+        return response;
+    }
+
+    /**
+     * İsteğin havalimanı hareketleri: aktarmalı uçuşta segment başına bir kayıt (ana kayıt sayılmaz),
+     * diğer modlarda ilk kalkış ve son varış. MULTI_AIRPORTS ara durakları için istekte saat yoktur;
+     * kaydedilen uçuş da index'te route'un origin/destination'ı ile sayılır.
+     */
+    private List<SlotCheckRequest.PlannedFlight> toPlannedFlights(Long flightId, FlightRequest request,
+                                                                  References references) {
+        if (FlightStatus.CANCELLED.equals(request.getStatus())) {
+            return List.of();
+        }
+
+        if (request.isConnectingFlightRequest()) {
+            return toPlannedSegments(flightId, request.getFlightNumber(), request.getSegments());
+        }
+
+        if (request.getScheduledDeparture() == null || request.getScheduledArrival() == null) {
+            return List.of();
+        }
+        Long originAirportId = request.getFirstOriginAirportId();
+        Long destinationAirportId = request.getLastDestinationAirportId();
+        if ((originAirportId == null || destinationAirportId == null) && request.getRouteId() != null) {
+            RouteCache route = references.route(request.getRouteId());
+            if (route != null) {
+                originAirportId = route.getOriginAirportId();
+                destinationAirportId = route.getDestinationAirportId();
+            }
+        }
+        if (originAirportId == null && destinationAirportId == null) {
+            return List.of();
+        }
+        return List.of(plannedFlight(flightId, request.getFlightNumber(), originAirportId, destinationAirportId,
+                request.getScheduledDeparture(), request.getScheduledArrival()));
+    }
+
+    private static List<SlotCheckRequest.PlannedFlight> toPlannedSegments(Long parentFlightId, String flightNumber,
+                                                                          List<FlightSegmentRequest> segments) {
+        List<SlotCheckRequest.PlannedFlight> planned = new ArrayList<>(segments.size());
+        for (int i = 0; i < segments.size(); i++) {
+            FlightSegmentRequest segment = segments.get(i);
+            if (segment.getScheduledDeparture() == null || segment.getScheduledArrival() == null
+                    || (segment.getOriginAirportId() == null && segment.getDestinationAirportId() == null)) {
+                continue;
+            }
+            // Segment uçuş numaraları ConnectingFlightService ile aynı şekilde türetilir
+            SlotCheckRequest.PlannedFlight flight = plannedFlight(null, flightNumber + "-S" + (i + 1),
+                    segment.getOriginAirportId(), segment.getDestinationAirportId(),
+                    segment.getScheduledDeparture(), segment.getScheduledArrival());
+            flight.setParentFlightId(parentFlightId);
+            planned.add(flight);
+        }
+        return planned;
+    }
+
+    private static SlotCheckRequest.PlannedFlight plannedFlight(Long flightId, String flightNumber,
+                                                                Long originAirportId, Long destinationAirportId,
+                                                                LocalDateTime departure, LocalDateTime arrival) {
+        SlotCheckRequest.PlannedFlight planned = new SlotCheckRequest.PlannedFlight();
+        planned.setFlightId(flightId);
+        planned.setFlightNumber(flightNumber);
+        planned.setOriginAirportId(originAirportId);
+        planned.setDestinationAirportId(destinationAirportId);
+        planned.setScheduledDeparture(departure);
+        planned.setScheduledArrival(arrival);
+        return planned;
+    }
+
     // Route availability validation
     public void validateRouteAvailability(Long routeId, LocalDateTime departure, LocalDateTime arrival) {
         try {
@@ -396,4 +605,26 @@ public class FlightValidator {
             }
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Bir doğrulama (ya da bir CSV dosyası) süresince reference data'yı tutar.
+     * Prefetch edilmeyen id'ler için tekil lookup'a düşer; aynı id ikinci kez çekilmez.
+     */
+    public class References {
+        private final Map<Long, AirlineCache> airlines = new HashMap<>();
+        private final Map<Long, AircraftCache> aircrafts = new HashMap<>();
+        private final Map<Long, RouteCache> routes = new HashMap<>();
+
+        AirlineCache airline(Long id) {
+            return id != null ? airlines.computeIfAbsent(id, referenceDataService::getAirline) : null;
+        }
+
+        AircraftCache aircraft(Long id) {
+            return id != null ? aircrafts.computeIfAbsent(id, referenceDataService::getAircraft) : null;
+        }
+
+        RouteCache route(Long id) {
+            return id != null ? routes.computeIfAbsent(id, referenceDataService::getRoute) : null;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.flightmanagement.flightservice.config;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.flightmanagement.flightservice.dto.cache.AircraftCache;
+import com.flightmanagement.flightservice.dto.cache.AirlineCache;
+import com.flightmanagement.flightservice.dto.cache.AirportCache;
+import com.flightmanagement.flightservice.dto.cache.RouteCache;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Mevcut JSON serializer ile CompactCacheValueSerializer'ı boyut ve encode/decode süresi açısından karşılaştırır.
+ * Test olarak çalışmaz, elle çalıştırılır:
+ *
+ * mvn -q test-compile && java -cp "target/classes:target/test-classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *     com.flightmanagement.flightservice.config.CacheCodecBenchmark
+ */
+public class CacheCodecBenchmark {
+
+    private static final int WARMUP_ROUNDS = 50_000;
+    private static final int MEASURED_ROUNDS = 200_000;
+
+    public static void main(String[] args) {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        objectMapper.enableDefaultTyping(ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
+        GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer(objectMapper);
+        CompactCacheValueSerializer compact = new CompactCacheValueSerializer(json, true, 512);
+
+        List<Object> samples = List.of(sampleAirline(), sampleAirport(), sampleAircraft(), sampleRoute());
+
+        System.out.printf("%-14s %10s %10s %12s %12s %12s %12s%n",
+                "type", "json B", "compact B", "json enc ns", "cmp enc ns", "json dec ns", "cmp dec ns");
+        for (Object sample : samples) {
+            byte[] jsonBytes = json.serialize(sample);
+            byte[] compactBytes = compact.serialize(sample);
+            if (!sample.equals(compact.deserialize(compactBytes))) {
+                throw new IllegalStateException("Round trip mismatch for " + sample.getClass().getSimpleName());
+            }
+
+            System.out.printf("%-14s %10d %10d %12.0f %12.0f %12.0f %12.0f%n",
+                    sample.getClass().getSimpleName(), jsonBytes.length, compactBytes.length,
+                    encodeNanos(json, sample), encodeNanos(compact, sample),
+                    decodeNanos(json, jsonBytes), decodeNanos(compact, compactBytes));
+        }
+    }
+
+    private static double encodeNanos(RedisSerializer<Object> serializer, Object value) {
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink += serializer.serialize(value).length;
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            sink += serializer.serialize(value).length;
+        }
+        long elapsed = System.nanoTime() - start;
+        return sink == 0 ? -1 : (double) elapsed / MEASURED_ROUNDS;
+    }
+
+    private static double decodeNanos(RedisSerializer<Object> serializer, byte[] bytes) {
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink += serializer.deserialize(bytes).hashCode();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            sink += serializer.deserialize(bytes).hashCode();
+        }
+        long elapsed = System.nanoTime() - start;
+        return sink == 42 ? -1 : (double) elapsed / MEASURED_ROUNDS;
+    }
+
+    private static AirlineCache sampleAirline() {
+        return new AirlineCache(1L, "TK", "THY", "Turkish Airlines", "Turkey", "FULL_SERVICE", true);
+    }
+
+    private static AirportCache sampleAirport() {
+        return new AirportCache(10L, "IST", "LTFM", "Istanbul Airport", "Istanbul", "Turkey",
+                "Europe/Istanbul", 41.2753, 28.7519, "INTERNATIONAL", true);
+    }
+
+    private static AircraftCache sampleAircraft() {
+        AircraftCache aircraft = new AircraftCache();
+        aircraft.setId(100L);
+        aircraft.setRegistrationNumber("TC-JJA");
+        aircraft.setAircraftType("WIDE_BODY");
+        aircraft.setManufacturer("Boeing");
+        aircraft.setModel("777-300ER");
+        aircraft.setSeatCapacity(349);
+        aircraft.setCargoCapacity(20000);
+        aircraft.setMaxRange(13650);
+        aircraft.setManufactureDate(LocalDate.of(2016, 3, 1));
+        aircraft.setLastMaintenance(LocalDate.of(2025, 1, 15));
+        aircraft.setStatus("ACTIVE");
+        aircraft.setAirlineId(1L);
+        return aircraft;
+    }
+
+    private static RouteCache sampleRoute() {
+        RouteCache route = new RouteCache();
+        route.setId(1000L);
+        route.setRouteCode("IST-ESB-001");
+        route.setRouteName("Istanbul-Ankara Route");
+        route.setRoutePath("IST → ESB");
+        route.setRouteType("DOMESTIC");
+        route.setDistance(351);
+        route.setEstimatedFlightTime(70);
+        route.setIsMultiSegment(false);
+        route.setSegmentCount(1);
+        route.setActive(true);
+        route.setOriginAirportId(10L);
+        route.setOriginAirportCode("IST");
+        route.setOriginAirportName("Istanbul Airport");
+        route.setDestinationAirportId(11L);
+        route.setDestinationAirportCode("ESB");
+        route.setDestinationAirportName("Ankara Esenboga Airport");
+        route.setVisibility("PUBLIC");
+        route.setAirlineId(1L);
+        route.setCreatedByUserId(5L);
+        return route;
+    }
+}
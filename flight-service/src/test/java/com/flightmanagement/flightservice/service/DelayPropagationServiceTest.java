@@ -0,0 +1,113 @@
+package com.flightmanagement.flightservice.service;
+
+import com.flightmanagement.flightservice.dto.cache.RouteCache;
+import com.flightmanagement.flightservice.entity.Flight;
+import com.flightmanagement.flightservice.service.RotationGraph.FlightNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DelayPropagationServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2030, 1, 10);
+
+    private DelayPropagationService service;
+    private RotationGraph graph;
+
+    @BeforeEach
+    void setUp() {
+        service = new DelayPropagationService(null, null, null, null, null, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "minTurnaroundMinutes", 30);
+        graph = new RotationGraph(DAY.minusDays(1), DAY.plusDays(1));
+    }
+
+    @Test
+    void recordedDelayPropagatesAlongChainedRotation() {
+        // A 08:00-10:00 recorded +60 (stored shifted to 09:00-11:00), B 10:45-12:00, C 12:40-14:00
+        FlightNode a = put(1, "08:00", "10:00", 60, false);
+        FlightNode b = put(2, "10:45", "12:00", 0, false);
+        FlightNode c = put(3, "12:40", "14:00", 0, false);
+
+        DelayPropagationService.Propagation propagation = service.propagate(graph, Map.of(a.id, a.delayMinutes));
+
+        // B: 60 + 30 - 45 = 45, C: 45 + 30 - 40 = 35
+        assertThat(propagation.delayOf(b)).isEqualTo(45);
+        assertThat(propagation.delayOf(c)).isEqualTo(35);
+        assertThat(propagation.causedBy).containsEntry(b.id, a.id).containsEntry(c.id, b.id);
+        assertThat(propagation.departureOf(c)).isEqualTo(at("13:15"));
+    }
+
+    @Test
+    void delayLongerThanGapKeepsPreDelayRotationPosition() {
+        // +180 moves A's stored departure (11:00) past B; rotation order must still use the planned 08:00
+        FlightNode a = put(1, "08:00", "10:00", 180, false);
+        FlightNode b = put(2, "10:45", "12:00", 0, false);
+
+        assertThat(graph.nextInRotation(a)).isSameAs(b);
+        DelayPropagationService.Propagation propagation = service.propagate(graph, Map.of(a.id, a.delayMinutes));
+
+        assertThat(propagation.addedDelayOf(b)).isEqualTo(165);
+    }
+
+    @Test
+    void slackAbsorbsSmallDelay() {
+        FlightNode a = put(1, "08:00", "10:00", 10, false);
+        FlightNode b = put(2, "10:45", "12:00", 0, false);
+
+        DelayPropagationService.Propagation propagation = service.propagate(graph, Map.of(a.id, a.delayMinutes));
+
+        assertThat(propagation.delays).doesNotContainKey(b.id);
+        assertThat(propagation.addedDelayOf(b)).isZero();
+    }
+
+    @Test
+    void departedNextLegStopsChain() {
+        FlightNode a = put(1, "08:00", "10:00", 90, false);
+        FlightNode b = put(2, "10:45", "12:00", 0, true);
+        FlightNode c = put(3, "12:40", "14:00", 0, false);
+
+        DelayPropagationService.Propagation propagation = service.propagate(graph, Map.of(a.id, a.delayMinutes));
+
+        assertThat(propagation.delays).doesNotContainKeys(b.id, c.id);
+    }
+
+    @Test
+    void existingRecordedDelayOnNextLegIsNotReportedAgain() {
+        FlightNode a = put(1, "08:00", "10:00", 60, false);
+        FlightNode b = put(2, "10:45", "12:00", 50, false);
+
+        DelayPropagationService.Propagation propagation = service.propagate(graph, Map.of(a.id, a.delayMinutes));
+
+        // Knock-on 45 is already covered by B's own recorded 50 minutes
+        assertThat(propagation.addedDelayOf(b)).isZero();
+    }
+
+    private FlightNode put(long id, String plannedDeparture, String plannedArrival, int delayMinutes, boolean departed) {
+        Flight flight = new Flight();
+        flight.setId(id);
+        flight.setFlightNumber("TK" + id);
+        flight.setAircraftId(100L);
+        flight.setFlightDate(DAY);
+        flight.setScheduledDeparture(at(plannedDeparture).plusMinutes(delayMinutes));
+        flight.setScheduledArrival(at(plannedArrival).plusMinutes(delayMinutes));
+        flight.setDelayMinutes(delayMinutes);
+        if (departed) {
+            flight.setActualDeparture(flight.getScheduledDeparture());
+        }
+        FlightNode node = new FlightNode(flight, new RouteCache());
+        graph.put(node);
+        return node;
+    }
+
+    private static LocalDateTime at(String time) {
+        return LocalDateTime.of(DAY, LocalTime.parse(time));
+    }
+}
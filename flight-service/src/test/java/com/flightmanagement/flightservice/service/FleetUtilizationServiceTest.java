@@ -0,0 +1,138 @@
+package com.flightmanagement.flightservice.service;
+
+import com.flightmanagement.flightservice.dto.response.AircraftUtilizationResponse;
+import com.flightmanagement.flightservice.dto.response.AirlineUtilizationResponse;
+import com.flightmanagement.flightservice.entity.Flight;
+import com.flightmanagement.flightservice.entity.enums.FlightStatus;
+import com.flightmanagement.flightservice.event.FlightChangedEvent;
+import com.flightmanagement.flightservice.repository.FlightRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FleetUtilizationServiceTest {
+
+    // Index penceresi bugüne göre kurulur
+    private static final LocalDate DAY = LocalDate.now().plusDays(1);
+    private static final long AIRLINE = 1L;
+    private static final long TAIL = 10L;
+
+    private FleetUtilizationService service;
+    private FlightRepository flightRepository;
+    private final List<Flight> scheduled = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        flightRepository = mock(FlightRepository.class);
+        when(flightRepository.findActiveFlightColumnsByDateRange(anySet(), any(), any()))
+                .thenAnswer(invocation -> new ArrayList<>(scheduled));
+
+        service = new FleetUtilizationService(flightRepository, mock(ReferenceDataService.class),
+                mock(ReferenceDataReplica.class));
+        ReflectionTestUtils.setField(service, "daysBack", 1);
+        ReflectionTestUtils.setField(service, "daysAhead", 7);
+        ReflectionTestUtils.setField(service, "turnaroundBufferMinutes", 30);
+    }
+
+    @Test
+    void updatesReplaceTheOldContributionAndDeletesSubtractIt() {
+        Flight first = schedule(1, "08:00", "10:00");
+        Flight second = schedule(2, "12:00", "13:30");
+        service.rebuild();
+
+        assertTail(2, 210);
+
+        // Rötar: eski 90 dk çıkarılır, yeni 120 dk eklenir - cycle sayısı değişmez
+        second.setScheduledArrival(at("14:00"));
+        service.onFlightChanged(new FlightChangedEvent("FLIGHT_UPDATED", second));
+        assertTail(2, 240);
+
+        service.onFlightChanged(new FlightChangedEvent("FLIGHT_DELETED", first));
+        assertTail(1, 120);
+        AirlineUtilizationResponse airline = service.getAirlineUtilization(AIRLINE, DAY);
+        assertThat(airline.getActiveTails()).isEqualTo(1);
+        assertThat(airline.getCycles()).isEqualTo(1);
+        assertThat(airline.getBlockMinutes()).isEqualTo(120);
+
+        service.onFlightChanged(new FlightChangedEvent("FLIGHT_DELETED", second));
+        assertTail(0, 0);
+        assertThat(service.getAirlineUtilization(AIRLINE, DAY).getActiveTails()).isZero();
+    }
+
+    @Test
+    void cancellationAndTailSwapMoveTheCounters() {
+        Flight flight = schedule(1, "08:00", "10:00");
+        schedule(2, "12:00", "13:00");
+        service.rebuild();
+
+        flight.setAircraftId(TAIL + 1);
+        service.onFlightChanged(new FlightChangedEvent("FLIGHT_UPDATED", flight));
+        assertTail(1, 60);
+        assertThat(service.getAirlineUtilization(AIRLINE, DAY).getActiveTails()).isEqualTo(2);
+
+        flight.setStatus(FlightStatus.CANCELLED);
+        service.onFlightChanged(new FlightChangedEvent("FLIGHT_CANCELLED", flight));
+        AirlineUtilizationResponse airline = service.getAirlineUtilization(AIRLINE, DAY);
+        assertThat(airline.getActiveTails()).isEqualTo(1);
+        assertThat(airline.getCycles()).isEqualTo(1);
+    }
+
+    @Test
+    void changesDuringRebuildAreReplayedOntoTheNewIndex() {
+        schedule(1, "08:00", "10:00");
+        service.rebuild();
+
+        // DB okuması eski anlık görüntüyü dönerken yeni uçuş commit edilir
+        Flight added = flight(2, "12:00", "13:00");
+        List<Flight> snapshot = new ArrayList<>(scheduled);
+        when(flightRepository.findActiveFlightColumnsByDateRange(anySet(), any(), any())).thenAnswer(invocation -> {
+            service.onFlightChanged(new FlightChangedEvent("FLIGHT_CREATED", added));
+            return snapshot;
+        });
+        service.rebuild();
+
+        assertTail(2, 180);
+    }
+
+    private void assertTail(int cycles, int blockMinutes) {
+        AircraftUtilizationResponse utilization = service.getAircraftUtilization(TAIL, DAY, DAY);
+        assertThat(utilization.getTotalCycles()).isEqualTo(cycles);
+        assertThat(utilization.getTotalBlockMinutes()).isEqualTo(blockMinutes);
+    }
+
+    private Flight schedule(long id, String departure, String arrival) {
+        Flight flight = flight(id, departure, arrival);
+        scheduled.add(flight);
+        return flight;
+    }
+
+    private static Flight flight(long id, String departure, String arrival) {
+        Flight flight = new Flight();
+        flight.setId(id);
+        flight.setFlightNumber("TK" + id);
+        flight.setAirlineId(AIRLINE);
+        flight.setAircraftId(TAIL);
+        flight.setFlightDate(DAY);
+        flight.setScheduledDeparture(at(departure));
+        flight.setScheduledArrival(at(arrival));
+        flight.setStatus(FlightStatus.SCHEDULED);
+        flight.setActive(true);
+        return flight;
+    }
+
+    private static LocalDateTime at(String time) {
+        return LocalDateTime.of(DAY, LocalTime.parse(time));
+    }
+}
@@ -0,0 +1,121 @@
+package com.flightmanagement.flightservice.service;
+
+import com.flightmanagement.flightservice.dto.cache.RouteCache;
+import com.flightmanagement.flightservice.dto.request.GateAutoAssignRequest;
+import com.flightmanagement.flightservice.dto.response.GateAssignmentResponse;
+import com.flightmanagement.flightservice.entity.Flight;
+import com.flightmanagement.flightservice.entity.enums.FlightStatus;
+import com.flightmanagement.flightservice.repository.FlightRepository;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Hub ölçeğinde bir günün otomatik gate atamasını (dryRun, reassignExisting) index'ten ölçer.
+ * Kalkışlar 05:00-24:00 arasına rastgele dağılır, komşu günlerde de aynı yoğunluk vardır.
+ * Test olarak çalışmaz, elle çalıştırılır:
+ *
+ * mvn -q test-compile && java -cp "target/classes:target/test-classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *     com.flightmanagement.flightservice.service.GateAssignmentBenchmark
+ */
+public class GateAssignmentBenchmark {
+
+    private static final long AIRPORT = 100L;
+    private static final long ROUTE_ID = 1L;
+    private static final int WARMUP_ROUNDS = 200;
+    private static final int MEASURED_ROUNDS = 100;
+
+    // {günlük kalkış, gate sayısı} - 1500/80 gate'lerin yetmediği durum: atanamayan uçuş tüm boş gate'leri tarar
+    private static final int[][] SCENARIOS = {{250, 30}, {500, 50}, {1_000, 90}, {1_500, 130}, {1_500, 80}, {3_000, 250}};
+
+    public static void main(String[] args) {
+        System.out.printf("%10s %6s %10s %10s %12s %12s%n",
+                "departures", "gates", "assigned", "unassigned", "avg ms", "max ms");
+        for (int[] scenario : SCENARIOS) {
+            run(scenario[0], scenario[1]);
+        }
+    }
+
+    private static void run(int departuresPerDay, int gateCount) {
+        LocalDate day = LocalDate.now().plusDays(1);
+        List<Flight> flights = new ArrayList<>();
+        Random random = new Random(42);
+        long id = 1;
+        for (LocalDate date = day.minusDays(1); !date.isAfter(day.plusDays(1)); date = date.plusDays(1)) {
+            for (int i = 0; i < departuresPerDay; i++) {
+                flights.add(flight(id++, date, date.atTime(5, 0).plusMinutes(random.nextInt(19 * 60)),
+                        random.nextInt(3) == 0 ? "G" + (1 + random.nextInt(gateCount)) : null));
+            }
+        }
+
+        GateAssignmentService service = service(flights);
+        String[] gates = new String[gateCount];
+        Arrays.setAll(gates, i -> "G" + (i + 1));
+        GateAutoAssignRequest request = new GateAutoAssignRequest();
+        request.setDate(day);
+        request.setGates(List.of(gates));
+        request.setReassignExisting(true);
+        request.setDryRun(true);
+
+        GateAssignmentResponse response = null;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            response = service.autoAssign(AIRPORT, request);
+        }
+        long total = 0;
+        long max = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            response = service.autoAssign(AIRPORT, request);
+            total += response.getComputeMicros();
+            max = Math.max(max, response.getComputeMicros());
+        }
+        System.out.printf("%10d %6d %10d %10d %12.2f %12.2f%n", departuresPerDay, gateCount,
+                response.getNewAssignments(), response.getUnassigned().size(),
+                total / 1000.0 / MEASURED_ROUNDS, max / 1000.0);
+    }
+
+    private static GateAssignmentService service(List<Flight> flights) {
+        FlightRepository flightRepository = mock(FlightRepository.class);
+        ReferenceDataService referenceDataService = mock(ReferenceDataService.class);
+        RouteCache route = new RouteCache();
+        route.setId(ROUTE_ID);
+        route.setOriginAirportId(AIRPORT);
+        route.setDestinationAirportId(200L);
+        when(flightRepository.findActiveFlightColumnsByDateRange(anySet(), any(), any())).thenReturn(flights);
+        when(referenceDataService.getRoutes(anyCollection())).thenReturn(Map.of(ROUTE_ID, route));
+
+        // Uygulamadaki varsayılanlar: kalkış -45 dk .. +15 dk; gün index'in canlı penceresinde
+        GateAssignmentService service = new GateAssignmentService(flightRepository, referenceDataService, null, null);
+        ReflectionTestUtils.setField(service, "preDepartureBufferMinutes", 45);
+        ReflectionTestUtils.setField(service, "postDepartureBufferMinutes", 15);
+        ReflectionTestUtils.setField(service, "daysBack", 1);
+        ReflectionTestUtils.setField(service, "daysAhead", 3);
+        service.rebuild();
+        return service;
+    }
+
+    private static Flight flight(long id, LocalDate date, LocalDateTime departure, String gate) {
+        Flight flight = new Flight();
+        flight.setId(id);
+        flight.setFlightNumber("TK" + id);
+        flight.setRouteId(ROUTE_ID);
+        flight.setFlightDate(date);
+        flight.setScheduledDeparture(departure);
+        flight.setScheduledArrival(departure.plusHours(2));
+        flight.setGateNumber(gate);
+        flight.setStatus(FlightStatus.SCHEDULED);
+        flight.setActive(true);
+        return flight;
+    }
+}
@@ -0,0 +1,200 @@
+package com.flightmanagement.flightservice.service;
+
+import com.flightmanagement.flightservice.dto.cache.RouteCache;
+import com.flightmanagement.flightservice.dto.request.GateAutoAssignRequest;
+import com.flightmanagement.flightservice.dto.response.GateAssignmentResponse;
+import com.flightmanagement.flightservice.dto.response.GateOccupancyResponse;
+import com.flightmanagement.flightservice.entity.Flight;
+import com.flightmanagement.flightservice.entity.enums.FlightStatus;
+import com.flightmanagement.flightservice.event.FlightChangedEvent;
+import com.flightmanagement.flightservice.exception.BusinessException;
+import com.flightmanagement.flightservice.repository.FlightRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class GateAssignmentServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2030, 1, 10);
+    private static final long AIRPORT = 100L;
+    private static final long ROUTE_ID = 1L;
+
+    private GateAssignmentService service;
+    private FlightRepository flightRepository;
+    private final List<Flight> scheduled = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        flightRepository = mock(FlightRepository.class);
+        ReferenceDataService referenceDataService = mock(ReferenceDataService.class);
+
+        RouteCache route = new RouteCache();
+        route.setId(ROUTE_ID);
+        route.setOriginAirportId(AIRPORT);
+        route.setDestinationAirportId(200L);
+        when(flightRepository.findActiveFlightColumnsByDateRange(anySet(), any(), any())).thenReturn(scheduled);
+        when(referenceDataService.getRoutes(anyCollection())).thenReturn(Map.of(ROUTE_ID, route));
+        when(referenceDataService.getRoute(ROUTE_ID)).thenReturn(route);
+
+        // dryRun planlar DB'ye yazmaz, Kafka/WebSocket kullanılmaz
+        service = new GateAssignmentService(flightRepository, referenceDataService, null, null);
+        // Gate doluluğu: kalkış -45 dk .. kalkış +15 dk
+        ReflectionTestUtils.setField(service, "preDepartureBufferMinutes", 45);
+        ReflectionTestUtils.setField(service, "postDepartureBufferMinutes", 15);
+    }
+
+    @Test
+    void greedyBestFitLeavesFlightsWithoutFreeGateUnassigned() {
+        schedule(1, DAY, "08:00", null);     // 07:15-08:15
+        schedule(2, DAY, "08:30", null);     // 07:45-08:45
+        schedule(3, DAY, "09:10", null);     // 08:25-09:25
+        schedule(4, DAY, "08:20", null);     // 07:35-08:35
+
+        GateAssignmentResponse response = service.autoAssign(AIRPORT, request(false, "A1", "A2"));
+
+        assertThat(response.getNewAssignments()).isEqualTo(3);
+        assertThat(response.getUnassigned()).extracting(GateOccupancyResponse.GateSlot::getFlightId).containsExactly(2L);
+        // 3 numaralı uçuş, 08:15'te boşalan gate'e yerleşir (08:35'te boşalan değil)
+        Map<Long, String> gates = gatesByFlight(response);
+        assertThat(gates.get(3L)).isEqualTo(gates.get(1L));
+        assertThat(gates.get(4L)).isNotEqualTo(gates.get(1L));
+    }
+
+    @Test
+    void existingGatesStayFixedUnlessReassigning() {
+        schedule(1, DAY, "08:00", "A1");
+        schedule(2, DAY, "08:10", null);
+
+        GateAssignmentResponse kept = service.autoAssign(AIRPORT, request(false, "A1", "A2"));
+        assertThat(kept.getKeptAssignments()).isEqualTo(1);
+        assertThat(gatesByFlight(kept)).containsOnly(Map.entry(2L, "A2"));
+
+        GateAssignmentResponse reassigned = service.autoAssign(AIRPORT, request(true, "A1", "A2"));
+        assertThat(reassigned.getKeptAssignments()).isZero();
+        assertThat(reassigned.getNewAssignments()).isEqualTo(2);
+        assertThat(gatesByFlight(reassigned).values()).containsExactlyInAnyOrder("A1", "A2");
+    }
+
+    @Test
+    void departedFlightKeepsItsGateWhenReassigning() {
+        schedule(1, DAY, "08:00", "A1").setActualDeparture(at(DAY, "08:00"));
+        schedule(2, DAY, "08:10", null);
+
+        GateAssignmentResponse response = service.autoAssign(AIRPORT, request(true, "A1", "A2"));
+
+        assertThat(response.getKeptAssignments()).isEqualTo(1);
+        assertThat(gatesByFlight(response)).containsOnly(Map.entry(2L, "A2"));
+    }
+
+    @Test
+    void previousDayOccupancyAcrossMidnightIsRespected() {
+        schedule(1, DAY.minusDays(1), "23:50", "A1");   // DAY 00:05'e kadar A1'de
+        schedule(2, DAY, "00:30", null);                 // 23:45'ten itibaren gate ister
+
+        GateAssignmentResponse singleGate = service.autoAssign(AIRPORT, request(false, "A1"));
+        assertThat(singleGate.getDepartures()).isEqualTo(1);
+        assertThat(singleGate.getUnassigned()).extracting(GateOccupancyResponse.GateSlot::getFlightId).containsExactly(2L);
+
+        GateAssignmentResponse twoGates = service.autoAssign(AIRPORT, request(false, "A1", "A2"));
+        assertThat(gatesByFlight(twoGates)).containsOnly(Map.entry(2L, "A2"));
+    }
+
+    @Test
+    void connectingParentEventsReloadSegmentGates() {
+        // Canlı pencere bugüne göre kurulur
+        LocalDate day = LocalDate.now().plusDays(1);
+        ReflectionTestUtils.setField(service, "daysBack", 1);
+        ReflectionTestUtils.setField(service, "daysAhead", 7);
+        service.rebuild();
+
+        Flight parent = flight(10, day, "08:00", null);
+        parent.setIsConnectingFlight(true);
+        // Segment'ler yalnızca ana kaydın event'iyle bildirilir
+        when(flightRepository.findFlightColumnsByParentFlightId(anySet(), eq(10L)))
+                .thenReturn(List.of(segment(11, parent, day, "08:00", "A1")));
+        service.onFlightChanged(new FlightChangedEvent("CONNECTING_FLIGHT_CREATED", parent));
+
+        assertThatThrownBy(() -> service.validateAssignment(null, AIRPORT, "A1", at(day, "08:30")))
+                .isInstanceOf(BusinessException.class);
+        // Ana kaydın güncellemesinde kendi segment'leri yeniden yaratılır - çakışma sayılmaz
+        assertThatCode(() -> service.validateSegmentAssignment(10L, AIRPORT, "A1", at(day, "08:30")))
+                .doesNotThrowAnyException();
+        assertThatThrownBy(() -> service.validateSegmentAssignment(20L, AIRPORT, "A1", at(day, "08:30")))
+                .isInstanceOf(BusinessException.class);
+
+        // Güncelleme segment'leri silip yeni id'lerle yeniden yaratır
+        when(flightRepository.findFlightColumnsByParentFlightId(anySet(), eq(10L)))
+                .thenReturn(List.of(segment(12, parent, day, "08:00", "A2")));
+        service.onFlightChanged(new FlightChangedEvent("CONNECTING_FLIGHT_UPDATED", parent));
+
+        assertThatCode(() -> service.validateAssignment(null, AIRPORT, "A1", at(day, "08:30"))).doesNotThrowAnyException();
+        assertThatThrownBy(() -> service.validateAssignment(null, AIRPORT, "A2", at(day, "08:30")))
+                .isInstanceOf(BusinessException.class);
+
+        service.onFlightChanged(new FlightChangedEvent("CONNECTING_FLIGHT_DELETED", parent));
+        assertThatCode(() -> service.validateAssignment(null, AIRPORT, "A2", at(day, "08:30"))).doesNotThrowAnyException();
+    }
+
+    private Flight schedule(long id, LocalDate date, String departure, String gate) {
+        Flight flight = flight(id, date, departure, gate);
+        scheduled.add(flight);
+        return flight;
+    }
+
+    private static Flight segment(long id, Flight parent, LocalDate date, String departure, String gate) {
+        Flight segment = flight(id, date, departure, gate);
+        segment.setIsConnectingFlight(true);
+        segment.setParentFlightId(parent.getId());
+        return segment;
+    }
+
+    private static Flight flight(long id, LocalDate date, String departure, String gate) {
+        Flight flight = new Flight();
+        flight.setId(id);
+        flight.setFlightNumber("TK" + id);
+        flight.setRouteId(ROUTE_ID);
+        flight.setFlightDate(date);
+        flight.setScheduledDeparture(at(date, departure));
+        flight.setScheduledArrival(at(date, departure).plusHours(2));
+        flight.setGateNumber(gate);
+        flight.setStatus(FlightStatus.SCHEDULED);
+        flight.setActive(true);
+        return flight;
+    }
+
+    private static GateAutoAssignRequest request(boolean reassignExisting, String... gates) {
+        GateAutoAssignRequest request = new GateAutoAssignRequest();
+        request.setDate(DAY);
+        request.setGates(List.of(gates));
+        request.setReassignExisting(reassignExisting);
+        request.setDryRun(true);
+        return request;
+    }
+
+    private static Map<Long, String> gatesByFlight(GateAssignmentResponse response) {
+        return response.getAssignments().stream()
+                .collect(Collectors.toMap(GateOccupancyResponse.GateSlot::getFlightId, GateOccupancyResponse.GateSlot::getGate));
+    }
+
+    private static LocalDateTime at(LocalDate date, String time) {
+        return LocalDateTime.of(date, LocalTime.parse(time));
+    }
+}
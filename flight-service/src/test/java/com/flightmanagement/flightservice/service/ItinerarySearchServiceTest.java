@@ -0,0 +1,180 @@
+package com.flightmanagement.flightservice.service;
+
+import com.flightmanagement.flightservice.dto.cache.AirportCache;
+import com.flightmanagement.flightservice.dto.cache.RouteCache;
+import com.flightmanagement.flightservice.dto.response.ItineraryResponse;
+import com.flightmanagement.flightservice.dto.response.ItinerarySearchResponse;
+import com.flightmanagement.flightservice.entity.Flight;
+import com.flightmanagement.flightservice.entity.enums.FlightStatus;
+import com.flightmanagement.flightservice.event.FlightChangedEvent;
+import com.flightmanagement.flightservice.repository.FlightRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ItinerarySearchServiceTest {
+
+    // Timetable penceresi bugüne göre kurulur
+    private static final LocalDate DAY = LocalDate.now().plusDays(1);
+    private static final List<String> AIRPORTS = List.of("IST", "ESB", "ADB", "AYT");
+
+    private ItinerarySearchService service;
+    private FlightRepository flightRepository;
+    private final List<Flight> scheduled = new ArrayList<>();
+    private final Map<Long, RouteCache> routes = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        flightRepository = mock(FlightRepository.class);
+        ReferenceDataService referenceDataService = mock(ReferenceDataService.class);
+        MinimumConnectionTimeService minimumConnectionTimeService = mock(MinimumConnectionTimeService.class);
+
+        when(referenceDataService.getAirportByIataCode(anyString())).thenAnswer(invocation -> {
+            String code = invocation.getArgument(0);
+            return new AirportCache(airportId(code), code, null, code, null, null, null, null, null, null, true);
+        });
+        when(referenceDataService.getRoutes(anyCollection())).thenReturn(routes);
+        when(referenceDataService.getRoute(anyLong())).thenAnswer(invocation -> routes.get(invocation.<Long>getArgument(0)));
+        when(flightRepository.findActiveFlightColumnsByDateRange(anySet(), any(), any()))
+                .thenAnswer(invocation -> new ArrayList<>(scheduled));
+
+        service = new ItinerarySearchService(flightRepository, referenceDataService,
+                minimumConnectionTimeService, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "horizonDays", 7);
+    }
+
+    @Test
+    void laterDepartureWithMoreStopsIsNotHiddenBehindFewerLegs() {
+        schedule(1, "IST", "ESB", "06:00", "07:00");
+        schedule(2, "IST", "ADB", "09:00", "10:00");
+        schedule(3, "ADB", "ESB", "10:30", "11:30");
+        schedule(4, "ESB", "AYT", "12:00", "13:00");
+
+        List<ItineraryResponse> itineraries = search("IST", "AYT", 360, 2).getItineraries();
+
+        // Aynı son bacağa (4) iki Pareto etiketiyle ulaşılır: 06:00'da 1 aktarma, 09:00'da 2 aktarma
+        assertThat(itineraries).extracting(this::flightIds)
+                .containsExactlyInAnyOrder(List.of(1L, 4L), List.of(2L, 3L, 4L));
+    }
+
+    @Test
+    void maxStopsLimitsLegCount() {
+        schedule(1, "IST", "ADB", "09:00", "10:00");
+        schedule(2, "ADB", "ESB", "10:30", "11:30");
+        schedule(3, "ESB", "AYT", "12:00", "13:00");
+        schedule(4, "IST", "AYT", "15:00", "16:30");
+
+        assertThat(search("IST", "AYT", 360, 2).getItineraries()).extracting(this::flightIds)
+                .containsExactlyInAnyOrder(List.of(1L, 2L, 3L), List.of(4L));
+        assertThat(search("IST", "AYT", 360, 1).getItineraries()).extracting(this::flightIds)
+                .containsExactly(List.of(4L));
+    }
+
+    @Test
+    void connectionWindowBoundsLayover() {
+        schedule(1, "IST", "ESB", "06:00", "07:00");
+        schedule(2, "ESB", "AYT", "07:20", "08:20");   // 20 dk aktarma
+        schedule(3, "ESB", "AYT", "10:00", "11:00");   // 180 dk aktarma
+
+        assertThat(search("IST", "AYT", 30, 120, 1).getItineraries()).isEmpty();
+        assertThat(search("IST", "AYT", 30, 240, 1).getItineraries()).extracting(this::flightIds)
+                .containsExactly(List.of(1L, 3L));
+        assertThat(search("IST", "AYT", 15, 240, 1).getItineraries()).extracting(ItineraryResponse::getStops)
+                .containsExactly(1, 1);
+    }
+
+    @Test
+    void firstSearchBuildsTheTimetableInsteadOfRejecting() {
+        schedule(1, "IST", "AYT", "09:00", "10:30");
+
+        ItinerarySearchResponse response = search("IST", "AYT", 360, 0);
+
+        assertThat(response.getItineraries()).extracting(this::flightIds).containsExactly(List.of(1L));
+        assertThat(service.getStatus()).containsEntry("built", true);
+    }
+
+    @Test
+    void changesMergedDuringRebuildAreReplayedOntoTheNewTimetable() {
+        schedule(1, "IST", "AYT", "09:00", "10:30");
+        service.rebuild();
+
+        // DB okuması eski anlık görüntüyü dönerken yeni uçuş commit edilir ve bir arama bunu eski tabloya birleştirir
+        Flight added = flight(2, "IST", "AYT", "11:00", "12:30");
+        List<Flight> snapshot = new ArrayList<>(scheduled);
+        when(flightRepository.findActiveFlightColumnsByDateRange(anySet(), any(), any())).thenAnswer(invocation -> {
+            service.onFlightChanged(new FlightChangedEvent("FLIGHT_CREATED", added));
+            search("IST", "AYT", 360, 0);
+            return snapshot;
+        });
+        service.rebuild();
+
+        assertThat(search("IST", "AYT", 360, 0).getItineraries()).extracting(this::flightIds)
+                .containsExactlyInAnyOrder(List.of(1L), List.of(2L));
+    }
+
+    private ItinerarySearchResponse search(String origin, String destination, int maxConnection, int maxStops) {
+        return search(origin, destination, 0, maxConnection, maxStops);
+    }
+
+    private ItinerarySearchResponse search(String origin, String destination, int minConnection, int maxConnection,
+                                           int maxStops) {
+        return service.search(origin, destination, DAY, LocalTime.MIDNIGHT, minConnection, maxConnection,
+                maxStops, 20, false);
+    }
+
+    private List<Long> flightIds(ItineraryResponse itinerary) {
+        return itinerary.getLegs().stream().map(ItineraryResponse.Leg::getFlightId).toList();
+    }
+
+    private void schedule(long id, String from, String to, String departure, String arrival) {
+        scheduled.add(flight(id, from, to, departure, arrival));
+    }
+
+    private Flight flight(long id, String from, String to, String departure, String arrival) {
+        RouteCache route = new RouteCache();
+        route.setId(id);
+        route.setOriginAirportId(airportId(from));
+        route.setDestinationAirportId(airportId(to));
+        route.setOriginAirportCode(from);
+        route.setDestinationAirportCode(to);
+        routes.put(id, route);
+
+        Flight flight = new Flight();
+        flight.setId(id);
+        flight.setFlightNumber("TK" + id);
+        flight.setAirlineId(1L);
+        flight.setRouteId(id);
+        flight.setFlightDate(DAY);
+        flight.setScheduledDeparture(at(departure));
+        flight.setScheduledArrival(at(arrival));
+        flight.setStatus(FlightStatus.SCHEDULED);
+        flight.setActive(true);
+        return flight;
+    }
+
+    private static long airportId(String code) {
+        return AIRPORTS.indexOf(code) + 1L;
+    }
+
+    private static LocalDateTime at(String time) {
+        return LocalDateTime.of(DAY, LocalTime.parse(time));
+    }
+}
@@ -0,0 +1,94 @@
+package com.flightmanagement.flightservice.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LastKnownGoodStoreTest {
+
+    private MeterRegistry meterRegistry;
+    private LastKnownGoodStore store;
+    private final AtomicInteger fetches = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        store = new LastKnownGoodStore(meterRegistry);
+        ReflectionTestUtils.setField(store, "maxConcurrentRefreshes", 1);
+        ReflectionTestUtils.setField(store, "refreshQueueSize", 10);
+        ReflectionTestUtils.setField(store, "maxEntries", 2);
+        ReflectionTestUtils.setField(store, "maxAgeMinutes", 60L);
+        ReflectionTestUtils.setField(store, "refreshIntervalMs", 60_000L);
+        store.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.shutdown();
+    }
+
+    @Test
+    void successfulFetchIsNeverCountedAsStale() {
+        assertThat(store.load("ROUTE", 1L, () -> fetch("v1"))).isEqualTo("v1");
+        assertThat(store.load("ROUTE", 1L, () -> fetch("v2"))).isEqualTo("v2");
+
+        assertThat(fetches.get()).isEqualTo(2);
+        assertThat(staleServed()).isZero();
+    }
+
+    @Test
+    void failedFetchServesLastKnownGoodAndBacksOffPerKey() {
+        store.load("AIRLINE", 1L, () -> fetch("v1"));
+
+        assertThat(store.load("AIRLINE", 1L, this::failingFetch)).isEqualTo("v1");
+        int afterFailure = fetches.get();
+
+        // Yeniden deneme aralığı dolmadan reference-manager'a gidilmez
+        assertThat(store.load("AIRLINE", 1L, this::failingFetch)).isEqualTo("v1");
+        assertThat(store.load("AIRLINE", 1L, this::failingFetch)).isEqualTo("v1");
+
+        assertThat(fetches.get()).isLessThanOrEqualTo(afterFailure + 1);
+        assertThat(staleServed()).isEqualTo(3);
+    }
+
+    @Test
+    void failureWithoutLastKnownGoodPropagates() {
+        assertThatThrownBy(() -> store.load("AIRPORT", 7L, this::failingFetch))
+                .isInstanceOf(RuntimeException.class);
+    }
+
+    @Test
+    void entriesAreBoundedAndDeletesAreNeverServed() {
+        store.remember("AIRCRAFT", 1L, "a1");
+        store.remember("AIRCRAFT", 2L, "a2");
+        store.remember("AIRCRAFT", 3L, "a3");
+        assertThat((Object) store.peek("AIRCRAFT", 1L)).isNull();
+        assertThat((String) store.peek("AIRCRAFT", 3L)).isEqualTo("a3");
+
+        store.refresh("AIRCRAFT", 3L, null);
+        assertThatThrownBy(() -> store.load("AIRCRAFT", 3L, this::failingFetch))
+                .isInstanceOf(RuntimeException.class);
+    }
+
+    private String fetch(String value) {
+        fetches.incrementAndGet();
+        return value;
+    }
+
+    private String failingFetch() {
+        fetches.incrementAndGet();
+        throw new RuntimeException("reference-manager unavailable");
+    }
+
+    private double staleServed() {
+        return meterRegistry.get("reference.data.stale.served").counter().count();
+    }
+}
@@ -0,0 +1,86 @@
+package com.flightmanagement.flightservice.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.flightmanagement.flightservice.dto.cache.RouteCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReferenceDataReplicaTest {
+
+    // Uygulamadaki Spring ObjectMapper'ı gibi bilinmeyen alanları (changeVersion) yok sayar
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private ReferenceDataReplica replica;
+
+    @BeforeEach
+    void setUp() {
+        replica = new ReferenceDataReplica(null, null, objectMapper);
+        ReflectionTestUtils.setField(replica, "enabled", true);
+        ReflectionTestUtils.setField(replica, "maxSyncLagMs", 300_000L);
+        ReflectionTestUtils.setField(replica, "bootstrapped", true);
+        ReflectionTestUtils.setField(replica, "lastSyncAt", LocalDateTime.now());
+    }
+
+    @Test
+    void airportChangeRewritesDenormalizedRouteFields() {
+        replica.applyEvent(ReferenceDataReplica.AIRPORT, "AIRPORT_CREATED", 1L, airport(1L, "IST", "Istanbul Airport", 1));
+        replica.applyEvent(ReferenceDataReplica.AIRPORT, "AIRPORT_CREATED", 2L, airport(2L, "ESB", "Esenboga", 2));
+        RouteCache before = route(10L, 1L, "IST", "Istanbul Airport", 2L, "ESB", "Esenboga");
+
+        replica.applyEvent(ReferenceDataReplica.AIRPORT, "AIRPORT_UPDATED", 1L, airport(1L, "ISL", "Istanbul Ataturk", 4));
+
+        RouteCache after = replica.getRoute(10L);
+        assertThat(after.getOriginAirportCode()).isEqualTo("ISL");
+        assertThat(after.getOriginAirportName()).isEqualTo("Istanbul Ataturk");
+        assertThat(after.getDestinationAirportCode()).isEqualTo("ESB");
+        // Okuyucunun elindeki eski nesne değişmez
+        assertThat(before.getOriginAirportCode()).isEqualTo("IST");
+        assertThat(replica.getAirportByIataCode("ISL").getId()).isEqualTo(1L);
+    }
+
+    @Test
+    void entityReadsFallThroughOnceSyncLags() {
+        replica.applyEvent(ReferenceDataReplica.AIRPORT, "AIRPORT_CREATED", 1L, airport(1L, "IST", "Istanbul Airport", 1));
+        assertThat(replica.getAirport(1L)).isNotNull();
+
+        ReflectionTestUtils.setField(replica, "lastSyncAt", LocalDateTime.now().minusMinutes(10));
+
+        assertThat(replica.getAirport(1L)).isNull();
+        assertThat(replica.getAirportByIataCode("IST")).isNull();
+        // Toplu okuma MCT/kapasite için gecikmede de döner
+        assertThat(replica.getAll(ReferenceDataReplica.AIRPORT)).containsKey(1L);
+    }
+
+    private RouteCache route(Long id, Long originId, String originCode, String originName,
+                             Long destinationId, String destinationCode, String destinationName) {
+        ObjectNode payload = objectMapper.createObjectNode()
+                .put("id", id)
+                .put("routeCode", originCode + "-" + destinationCode)
+                .put("originAirportId", originId)
+                .put("originAirportCode", originCode)
+                .put("originAirportName", originName)
+                .put("destinationAirportId", destinationId)
+                .put("destinationAirportCode", destinationCode)
+                .put("destinationAirportName", destinationName)
+                .put("active", true)
+                .put("changeVersion", 3);
+        replica.applyEvent(ReferenceDataReplica.ROUTE, "ROUTE_CREATED", id, payload);
+        return replica.getRoute(id);
+    }
+
+    private ObjectNode airport(Long id, String iataCode, String name, long version) {
+        return objectMapper.createObjectNode()
+                .put("id", id)
+                .put("iataCode", iataCode)
+                .put("name", name)
+                .put("active", true)
+                .put("changeVersion", version);
+    }
+}
@@ -0,0 +1,131 @@
+package com.flightmanagement.flightservice.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReferenceRequestCoalescerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReferenceRequestCoalescer coalescer;
+    private final AtomicInteger singleCalls = new AtomicInteger();
+    private final AtomicInteger batchCalls = new AtomicInteger();
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new ReferenceRequestCoalescer(meterRegistry);
+        ReflectionTestUtils.setField(coalescer, "batchEnabled", true);
+        // Lider yalnızca batch dolunca çalışır; pencere testin hiçbir adımında dolmaz
+        ReflectionTestUtils.setField(coalescer, "batchWindowMs", 60_000L);
+        ReflectionTestUtils.setField(coalescer, "maxBatchSize", 3);
+        ReflectionTestUtils.setField(coalescer, "awaitTimeoutMs", 60_000L);
+    }
+
+    @Test
+    void everyFullBatchIsExecutedUnderContention() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(33);
+        // Uçuşta tutulan başka bir istek: her lider batch'i dolana kadar bekler
+        CountDownLatch blockerStarted = new CountDownLatch(1);
+        CountDownLatch releaseBlocker = new CountDownLatch(1);
+        Future<Long> blocker = executor.submit(() -> coalescer.load("AIRLINE", 0L, () -> {
+            blockerStarted.countDown();
+            awaitQuietly(releaseBlocker);
+            return 0L;
+        }));
+        blockerStarted.await();
+
+        int callers = 198;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            long id = i;
+            results.add(executor.submit(() -> {
+                start.await();
+                return load(id);
+            }));
+        }
+        start.countDown();
+
+        for (int i = 0; i < callers; i++) {
+            assertThat(results.get(i).get(30, TimeUnit.SECONDS)).isEqualTo(i * 10L);
+        }
+        // Hiçbir batch yarım kapanmaz ya da çalıştırılmadan kalmaz, hiçbir çağıran kendisi yüklemez
+        assertThat(batchCalls.get()).isEqualTo(callers / 3);
+        assertThat(batchSizes).containsOnly(3);
+        assertThat(singleCalls.get()).isZero();
+
+        releaseBlocker.countDown();
+        assertThat(blocker.get(30, TimeUnit.SECONDS)).isZero();
+        executor.shutdown();
+        assertThat(coalescer.getInFlightCount()).isZero();
+    }
+
+    @Test
+    void concurrentCallersForSameIdShareOneFetch() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<Long>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> coalescer.load("AIRLINE", 7L, () -> {
+                singleCalls.incrementAndGet();
+                // Yükleme, diğer yedi çağıran uçuştaki isteğe katılana kadar sürer
+                awaitQuietly(release);
+                return 70L;
+            })));
+        }
+        while (meterRegistry.counter("reference.requests.coalesced", "service", "flight-service").count() < 7) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        for (Future<Long> result : results) {
+            assertThat(result.get(30, TimeUnit.SECONDS)).isEqualTo(70L);
+        }
+        executor.shutdown();
+        assertThat(singleCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void loneCallerSkipsBatchWindow() {
+        // Pencere beklenseydi çağrı 60 sn sürerdi; başka istek uçuşta olmadığından doğrudan tekil yüklenir
+        assertThat(load(42L)).isEqualTo(420L);
+        assertThat(singleCalls.get()).isEqualTo(1);
+        assertThat(batchCalls.get()).isZero();
+    }
+
+    private Long load(long id) {
+        return coalescer.loadBatched("ROUTE", id,
+                single -> {
+                    singleCalls.incrementAndGet();
+                    return single * 10;
+                },
+                ids -> {
+                    batchCalls.incrementAndGet();
+                    batchSizes.add(ids.length);
+                    Long[] values = new Long[ids.length];
+                    for (int i = 0; i < ids.length; i++) {
+                        values[i] = ids[i] * 10;
+                    }
+                    return values;
+                },
+                value -> value / 10);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
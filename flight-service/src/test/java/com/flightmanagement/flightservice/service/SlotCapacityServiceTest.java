@@ -0,0 +1,222 @@
+package com.flightmanagement.flightservice.service;
+
+import com.flightmanagement.flightservice.dto.cache.AirportCapacityCache;
+import com.flightmanagement.flightservice.dto.cache.RouteCache;
+import com.flightmanagement.flightservice.dto.request.SlotCheckRequest;
+import com.flightmanagement.flightservice.dto.response.SlotCheckResponse;
+import com.flightmanagement.flightservice.entity.Flight;
+import com.flightmanagement.flightservice.entity.enums.FlightStatus;
+import com.flightmanagement.flightservice.event.FlightChangedEvent;
+import com.flightmanagement.flightservice.repository.FlightRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SlotCapacityServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2030, 1, 10);
+    private static final long HUB = 100L;
+    private static final long OUTSTATION = 300L;
+    private static final long ROUTE_ID = 1L;
+
+    private SlotCapacityService service;
+    private FlightRepository flightRepository;
+    private final List<Flight> scheduled = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        flightRepository = mock(FlightRepository.class);
+        ReferenceDataService referenceDataService = mock(ReferenceDataService.class);
+        ReferenceDataReplica referenceDataReplica = mock(ReferenceDataReplica.class);
+
+        RouteCache route = new RouteCache();
+        route.setId(ROUTE_ID);
+        route.setOriginAirportId(HUB);
+        route.setDestinationAirportId(OUTSTATION);
+
+        // HUB: en fazla 2 hareket / 15 dk, 3 hareket / saat, aşımda reddet
+        AirportCapacityCache capacity = new AirportCapacityCache(1L, HUB, 2, 3, "REJECT", true);
+        when(referenceDataReplica.getVersion()).thenReturn(1L);
+        when(referenceDataReplica.<AirportCapacityCache>getAll(ReferenceDataReplica.CAPACITY))
+                .thenReturn(Map.of(1L, capacity));
+        when(flightRepository.findActiveFlightColumnsByDateRange(anySet(), any(), any())).thenReturn(scheduled);
+        when(referenceDataService.getRoutes(anyCollection())).thenReturn(Map.of(ROUTE_ID, route));
+        when(referenceDataService.getRoute(ROUTE_ID)).thenReturn(route);
+
+        service = new SlotCapacityService(flightRepository, referenceDataService, referenceDataReplica);
+    }
+
+    @Test
+    void fifteenMinuteWindowRejectsThirdDepartureInSameSlot() {
+        schedule(1, "08:00");
+        schedule(2, "08:10");
+
+        SlotCheckResponse response = service.checkBatch(List.of(planned(null, "08:05")));
+
+        assertThat(response.getRejected()).isEqualTo(1);
+        assertThat(response.getViolations()).singleElement().satisfies(violation -> {
+            assertThat(violation.getWindowMinutes()).isEqualTo(15);
+            assertThat(violation.getMovement()).isEqualTo("DEPARTURE");
+            assertThat(violation.getMovements()).isEqualTo(3);
+            assertThat(violation.getWindowStart()).isEqualTo(at("08:00"));
+        });
+    }
+
+    @Test
+    void rollingHourUsesBusiestWindowContainingTheSlot() {
+        schedule(1, "08:20");
+        schedule(2, "08:35");
+        schedule(3, "08:50");
+
+        SlotCheckResponse response = service.checkBatch(List.of(planned(null, "09:05")));
+
+        // 09:00 dilimi tek başına 15 dk limitinin altında; 08:15-09:15 penceresi 4 hareket
+        assertThat(response.getViolations()).singleElement().satisfies(violation -> {
+            assertThat(violation.getWindowMinutes()).isEqualTo(60);
+            assertThat(violation.getMovements()).isEqualTo(4);
+            assertThat(violation.getLimit()).isEqualTo(3);
+            assertThat(violation.getWindowStart()).isEqualTo(at("08:15"));
+        });
+
+        // Bir saat sonrası pencerelerin hiçbirinde değil
+        assertThat(service.checkBatch(List.of(planned(null, "09:50"))).getViolations()).isEmpty();
+    }
+
+    @Test
+    void rescheduledFlightDoesNotCountItsOwnOldMovement() {
+        schedule(1, "08:00");
+        schedule(2, "08:10");
+
+        assertThat(service.checkBatch(List.of(planned(1L, "08:05"))).getViolations()).isEmpty();
+    }
+
+    @Test
+    void batchOverlayCountsEarlierAcceptedFlightsOnly() {
+        List<SlotCheckRequest.PlannedFlight> batch = List.of(
+                planned(null, "08:00"),
+                planned(null, "08:05"),
+                planned(null, "08:10"),
+                planned(null, "08:12"));
+
+        SlotCheckResponse response = service.checkBatch(batch);
+
+        // Üçüncü reddedilir ve sayaca eklenmez - dördüncü de aynı 3 hareketle reddedilir
+        assertThat(response.getChecked()).isEqualTo(4);
+        assertThat(response.getRejected()).isEqualTo(2);
+        assertThat(response.getViolations())
+                .extracting(SlotCheckResponse.SlotViolation::getIndex)
+                .containsExactly(2, 3);
+        assertThat(response.getViolations())
+                .extracting(SlotCheckResponse.SlotViolation::getMovements)
+                .containsExactly(3, 3);
+    }
+
+    @Test
+    void cancelledFlightsDoNotUseSlots() {
+        schedule(1, "08:00").setStatus(FlightStatus.CANCELLED);
+        schedule(2, "08:10");
+
+        assertThat(service.checkBatch(List.of(planned(null, "08:05"))).getViolations()).isEmpty();
+    }
+
+    @Test
+    void connectingParentEventsReloadSegmentMovements() {
+        // Canlı pencere bugüne göre kurulur
+        LocalDate day = LocalDate.now().plusDays(1);
+        ReflectionTestUtils.setField(service, "daysBack", 1);
+        ReflectionTestUtils.setField(service, "daysAhead", 7);
+        service.rebuild();
+
+        Flight parent = flight(10, day, "08:00");
+        parent.setIsConnectingFlight(true);
+        // Segment'ler yalnızca ana kaydın event'iyle bildirilir
+        when(flightRepository.findFlightColumnsByParentFlightId(anySet(), eq(10L)))
+                .thenReturn(List.of(segment(11, parent, day, "08:00"), segment(12, parent, day, "12:00")));
+        service.onFlightChanged(new FlightChangedEvent("CONNECTING_FLIGHT_CREATED", parent));
+        assertThat(service.getHeatmap(HUB, day).getDepartures()).isEqualTo(2);
+
+        // Ana kaydın güncellemesinde mevcut segment'ler yeniden yaratılacağı için sayılmaz
+        List<SlotCheckRequest.PlannedFlight> replanned = List.of(
+                plannedSegment(10L, day, "08:00"), plannedSegment(10L, day, "08:05"));
+        assertThat(service.checkBatch(replanned).getViolations()).isEmpty();
+        assertThat(service.checkBatch(List.of(planned(null, day, "08:05"), planned(null, day, "08:10")))
+                .getRejected()).isEqualTo(1);
+
+        // Güncelleme segment'leri silip yeni id'lerle yeniden yaratır
+        when(flightRepository.findFlightColumnsByParentFlightId(anySet(), eq(10L)))
+                .thenReturn(List.of(segment(13, parent, day, "09:00")));
+        service.onFlightChanged(new FlightChangedEvent("CONNECTING_FLIGHT_UPDATED", parent));
+        assertThat(service.getHeatmap(HUB, day).getDepartures()).isEqualTo(1);
+        assertThat(service.getHeatmap(HUB, day).getBuckets().get(36).getDepartures()).isEqualTo(1);
+
+        service.onFlightChanged(new FlightChangedEvent("CONNECTING_FLIGHT_DELETED", parent));
+        assertThat(service.getHeatmap(HUB, day).getDepartures()).isZero();
+    }
+
+    private Flight schedule(long id, String departure) {
+        Flight flight = flight(id, DAY, departure);
+        scheduled.add(flight);
+        return flight;
+    }
+
+    private static Flight segment(long id, Flight parent, LocalDate date, String departure) {
+        Flight segment = flight(id, date, departure);
+        segment.setIsConnectingFlight(true);
+        segment.setParentFlightId(parent.getId());
+        return segment;
+    }
+
+    private static Flight flight(long id, LocalDate date, String departure) {
+        Flight flight = new Flight();
+        flight.setId(id);
+        flight.setFlightNumber("TK" + id);
+        flight.setRouteId(ROUTE_ID);
+        flight.setFlightDate(date);
+        flight.setScheduledDeparture(LocalDateTime.of(date, LocalTime.parse(departure)));
+        flight.setScheduledArrival(LocalDateTime.of(date, LocalTime.parse(departure)).plusHours(2));
+        flight.setStatus(FlightStatus.SCHEDULED);
+        flight.setActive(true);
+        return flight;
+    }
+
+    private static SlotCheckRequest.PlannedFlight planned(Long flightId, String departure) {
+        return planned(flightId, DAY, departure);
+    }
+
+    private static SlotCheckRequest.PlannedFlight planned(Long flightId, LocalDate date, String departure) {
+        LocalDateTime scheduledDeparture = LocalDateTime.of(date, LocalTime.parse(departure));
+        SlotCheckRequest.PlannedFlight flight = new SlotCheckRequest.PlannedFlight();
+        flight.setFlightId(flightId);
+        flight.setFlightNumber("TK9" + departure.replace(":", ""));
+        flight.setOriginAirportId(HUB);
+        flight.setDestinationAirportId(OUTSTATION);
+        flight.setScheduledDeparture(scheduledDeparture);
+        flight.setScheduledArrival(scheduledDeparture.plusHours(2));
+        return flight;
+    }
+
+    private static SlotCheckRequest.PlannedFlight plannedSegment(Long parentFlightId, LocalDate date, String departure) {
+        SlotCheckRequest.PlannedFlight flight = planned(null, date, departure);
+        flight.setParentFlightId(parentFlightId);
+        return flight;
+    }
+
+    private static LocalDateTime at(String time) {
+        return LocalDateTime.of(DAY, LocalTime.parse(time));
+    }
+}
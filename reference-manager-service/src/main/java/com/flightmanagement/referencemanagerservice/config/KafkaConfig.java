@@ -1,11 +1,14 @@
 package com.flightmanagement.referencemanagerservice.config;
 
 import com.flightmanagement.referencemanagerservice.event.ReferenceEvent;
+import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.config.TopicConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
@@ -20,12 +23,18 @@ public class KafkaConfig {
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
+    @Value("${reference.kafka.partitions:3}")
+    private int referenceTopicPartitions;
+
     @Bean
     public ProducerFactory<String, ReferenceEvent> producerFactory() {
         Map<String, Object> configs = new HashMap<>();
         configs.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configs.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
         configs.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        // Key bazlı sıralamanın retry'larda bozulmaması için idempotent producer
+        configs.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        configs.put(ProducerConfig.ACKS_CONFIG, "all");
         return new DefaultKafkaProducerFactory<>(configs);
     }
 
@@ -33,4 +42,24 @@ public class KafkaConfig {
     public KafkaTemplate<String, ReferenceEvent> kafkaTemplate() {
         return new KafkaTemplate<>(producerFactory());
     }
+
+    @Bean
+    public NewTopic referenceEventsTopic() {
+        return TopicBuilder.name("reference.events")
+                .partitions(referenceTopicPartitions)
+                .replicas(1)
+                .build();
+    }
+
+    // Entity başına son durum - consumer'lar REST yerine bu topic'i baştan okuyarak bootstrap edebilir
+    @Bean
+    public NewTopic referenceStateTopic() {
+        return TopicBuilder.name("reference.state")
+                .partitions(referenceTopicPartitions)
+                .replicas(1)
+                .compact()
+                .config(TopicConfig.MIN_CLEANABLE_DIRTY_RATIO_CONFIG, "0.1")
+                .config(TopicConfig.DELETE_RETENTION_MS_CONFIG, "86400000")
+                .build();
+    }
 }
\ No newline at end of file
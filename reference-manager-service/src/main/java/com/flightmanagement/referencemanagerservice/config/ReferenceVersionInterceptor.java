@@ -0,0 +1,52 @@
+package com.flightmanagement.referencemanagerservice.config;
+
+import com.flightmanagement.referencemanagerservice.service.ChangeVersionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Reference okuma endpoint'leri için conditional GET.
+ * Her create/update/delete global change sequence'ı artırdığından, sequence değeri tüm reference
+ * response'larının versiyonudur; If-None-Match eşleşirse controller ve DB sorgusu hiç çalışmaz.
+ * Route listeleri kullanıcıya göre filtrelendiği için ETag'e kullanıcı da katılır.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReferenceVersionInterceptor implements HandlerInterceptor {
+
+    private final ChangeVersionService changeVersionService;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"GET".equals(request.getMethod())) {
+            return true;
+        }
+
+        long version;
+        try {
+            version = changeVersionService.currentVersion();
+        } catch (Exception e) {
+            // Versiyon okunamazsa normal akışa devam et, sadece ETag üretme
+            log.warn("Could not read reference change version for conditional GET: {}", e.getMessage());
+            return true;
+        }
+
+        String etag = "\"ref-" + Long.toHexString(version) + "-" + Integer.toHexString(principalName().hashCode()) + "\"";
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.AUTHORIZATION);
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+
+    private String principalName() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getName() != null ? authentication.getName() : "";
+    }
+}
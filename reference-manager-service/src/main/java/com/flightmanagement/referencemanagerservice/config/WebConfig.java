@@ -1,12 +1,17 @@
 package com.flightmanagement.referencemanagerservice.config;
 
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
+    private final ReferenceVersionInterceptor referenceVersionInterceptor;
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**")
@@ -16,4 +21,15 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowCredentials(true)
                 .maxAge(3600);
     }
-}
\ No newline at end of file
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Yalnızca reference entity okumaları - deletion-check crew sayılarına da bakıyor, crew değişiklikleri sequence'ı artırmaz
+        registry.addInterceptor(referenceVersionInterceptor)
+                .addPathPatterns("/api/v1/airlines/**", "/api/v1/airports/**",
+                        "/api/v1/aircrafts/**", "/api/v1/routes/**",
+                        "/api/v1/minimum-connection-times/**", "/api/v1/airport-capacities/**")
+                .excludePathPatterns("/api/v1/*/*/deletion-check", "/api/v1/routes/generate-code",
+                        "/api/v1/routes/admin/stats/**");
+    }
+}
@@ -31,6 +31,11 @@ public class AircraftController {
         return ResponseEntity.ok(aircraftService.getAircraftById(id));
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<AircraftResponse>> getAircraftsByIds(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(aircraftService.getAircraftsByIds(ids));
+    }
+
     @GetMapping("/airline/{airlineId}")
     public ResponseEntity<List<AircraftResponse>> getAircraftsByAirline(@PathVariable Long airlineId) {
         return ResponseEntity.ok(aircraftService.getAircraftsByAirline(airlineId));
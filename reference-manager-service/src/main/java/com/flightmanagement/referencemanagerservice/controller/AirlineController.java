@@ -32,6 +32,11 @@ public class AirlineController {
         return ResponseEntity.ok(airlineService.getAirlineById(id));
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<AirlineResponse>> getAirlinesByIds(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(airlineService.getAirlinesByIds(ids));
+    }
+
     @GetMapping("/iata/{iataCode}")
     public ResponseEntity<AirlineResponse> getAirlineByIataCode(@PathVariable String iataCode) {
         return ResponseEntity.ok(airlineService.getAirlineByIataCode(iataCode));
@@ -0,0 +1,56 @@
+package com.flightmanagement.referencemanagerservice.controller;
+
+import com.flightmanagement.referencemanagerservice.dto.request.AirportCapacityRequest;
+import com.flightmanagement.referencemanagerservice.dto.response.AirportCapacityResponse;
+import com.flightmanagement.referencemanagerservice.service.AirportCapacityService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/airport-capacities")
+@RequiredArgsConstructor
+public class AirportCapacityController {
+
+    private final AirportCapacityService airportCapacityService;
+
+    @GetMapping
+    public ResponseEntity<Page<AirportCapacityResponse>> getAllAirportCapacities(Pageable pageable) {
+        return ResponseEntity.ok(airportCapacityService.getAllAirportCapacities(pageable));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<AirportCapacityResponse> getAirportCapacityById(@PathVariable Long id) {
+        return ResponseEntity.ok(airportCapacityService.getAirportCapacityById(id));
+    }
+
+    @GetMapping("/airport/{airportId}")
+    public ResponseEntity<AirportCapacityResponse> getAirportCapacityByAirport(@PathVariable Long airportId) {
+        return ResponseEntity.ok(airportCapacityService.getAirportCapacityByAirport(airportId));
+    }
+
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<AirportCapacityResponse> createAirportCapacity(@Valid @RequestBody AirportCapacityRequest request) {
+        return new ResponseEntity<>(airportCapacityService.createAirportCapacity(request), HttpStatus.CREATED);
+    }
+
+    @PutMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<AirportCapacityResponse> updateAirportCapacity(
+            @PathVariable Long id, @Valid @RequestBody AirportCapacityRequest request) {
+        return ResponseEntity.ok(airportCapacityService.updateAirportCapacity(id, request));
+    }
+
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> deleteAirportCapacity(@PathVariable Long id) {
+        airportCapacityService.deleteAirportCapacity(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -32,6 +32,11 @@ public class AirportController {
         return ResponseEntity.ok(airportService.getAirportById(id));
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<AirportResponse>> getAirportsByIds(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(airportService.getAirportsByIds(ids));
+    }
+
     @GetMapping("/iata/{iataCode}")
     public ResponseEntity<AirportResponse> getAirportByIataCode(@PathVariable String iataCode) {
         return ResponseEntity.ok(airportService.getAirportByIataCode(iataCode));
@@ -0,0 +1,59 @@
+package com.flightmanagement.referencemanagerservice.controller;
+
+import com.flightmanagement.referencemanagerservice.dto.request.MinimumConnectionTimeRequest;
+import com.flightmanagement.referencemanagerservice.dto.response.MinimumConnectionTimeResponse;
+import com.flightmanagement.referencemanagerservice.service.MinimumConnectionTimeService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/minimum-connection-times")
+@RequiredArgsConstructor
+public class MinimumConnectionTimeController {
+
+    private final MinimumConnectionTimeService minimumConnectionTimeService;
+
+    @GetMapping
+    public ResponseEntity<Page<MinimumConnectionTimeResponse>> getAllMinimumConnectionTimes(Pageable pageable) {
+        return ResponseEntity.ok(minimumConnectionTimeService.getAllMinimumConnectionTimes(pageable));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<MinimumConnectionTimeResponse> getMinimumConnectionTimeById(@PathVariable Long id) {
+        return ResponseEntity.ok(minimumConnectionTimeService.getMinimumConnectionTimeById(id));
+    }
+
+    @GetMapping("/airport/{airportId}")
+    public ResponseEntity<List<MinimumConnectionTimeResponse>> getMinimumConnectionTimesByAirport(@PathVariable Long airportId) {
+        return ResponseEntity.ok(minimumConnectionTimeService.getMinimumConnectionTimesByAirport(airportId));
+    }
+
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<MinimumConnectionTimeResponse> createMinimumConnectionTime(
+            @Valid @RequestBody MinimumConnectionTimeRequest request) {
+        return new ResponseEntity<>(minimumConnectionTimeService.createMinimumConnectionTime(request), HttpStatus.CREATED);
+    }
+
+    @PutMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<MinimumConnectionTimeResponse> updateMinimumConnectionTime(
+            @PathVariable Long id, @Valid @RequestBody MinimumConnectionTimeRequest request) {
+        return ResponseEntity.ok(minimumConnectionTimeService.updateMinimumConnectionTime(id, request));
+    }
+
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> deleteMinimumConnectionTime(@PathVariable Long id) {
+        minimumConnectionTimeService.deleteMinimumConnectionTime(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,88 @@
+package com.flightmanagement.referencemanagerservice.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flightmanagement.referencemanagerservice.dto.response.ReferenceChangeResponse;
+import com.flightmanagement.referencemanagerservice.dto.response.ReferenceSnapshotResponse;
+import com.flightmanagement.referencemanagerservice.service.ReferenceSyncService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Downstream replikalar için toplu senkronizasyon endpoint'leri.
+ * Cevaplar NDJSON (satır başına bir entity), istemci kabul ediyorsa gzip ile sıkıştırılır.
+ */
+@RestController
+@RequestMapping("/api/v1/reference")
+@RequiredArgsConstructor
+public class ReferenceSyncController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final ReferenceSyncService referenceSyncService;
+    private final ObjectMapper objectMapper;
+
+    @GetMapping("/snapshot")
+    public ResponseEntity<StreamingResponseBody> getSnapshot(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        // Değişiklik yoksa tüm tabloları okumadan 304 dön
+        String etag = "\"v" + referenceSyncService.getCurrentVersion() + "\"";
+        if (etag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        ReferenceSnapshotResponse snapshot = referenceSyncService.getSnapshot();
+        return ndjson(snapshot, "\"v" + snapshot.getVersion() + "\"", acceptEncoding);
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<StreamingResponseBody> getChangesSince(
+            @RequestParam(defaultValue = "0") long sinceVersion,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        ReferenceSnapshotResponse changes = referenceSyncService.getChangesSince(sinceVersion);
+        return ndjson(changes, "\"v" + changes.getVersion() + "\"", acceptEncoding);
+    }
+
+    @GetMapping("/version")
+    public ResponseEntity<Long> getCurrentVersion() {
+        return ResponseEntity.ok(referenceSyncService.getCurrentVersion());
+    }
+
+    private ResponseEntity<StreamingResponseBody> ndjson(ReferenceSnapshotResponse snapshot, String etag, String acceptEncoding) {
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+        List<ReferenceChangeResponse> lines = snapshot.getChanges();
+
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = gzip ? new GZIPOutputStream(outputStream, 8192) : outputStream;
+            for (ReferenceChangeResponse line : lines) {
+                out.write(objectMapper.writeValueAsBytes(line));
+                out.write('\n');
+            }
+            if (out instanceof GZIPOutputStream) {
+                ((GZIPOutputStream) out).finish();
+            }
+            out.flush();
+        };
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(new MediaType(NDJSON, StandardCharsets.UTF_8))
+                .eTag(etag)
+                .header("X-Reference-Version", String.valueOf(snapshot.getVersion()));
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return builder.body(body);
+    }
+}
@@ -69,6 +69,14 @@ public class RouteController {
         return ResponseEntity.ok(routeService.getRouteById(id));
     }
 
+    /**
+     * ID listesine göre route'lar (servisler arası batch lookup)
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<RouteResponse>> getRoutesByIds(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(routeService.getRoutesByIds(ids));
+    }
+
     /**
      * Route silme kontrolü
      */
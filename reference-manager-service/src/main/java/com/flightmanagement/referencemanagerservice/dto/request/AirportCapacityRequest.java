@@ -0,0 +1,25 @@
+package com.flightmanagement.referencemanagerservice.dto.request;
+
+import com.flightmanagement.referencemanagerservice.entity.enums.CapacityEnforcement;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class AirportCapacityRequest {
+    @NotNull(message = "Airport ID is required")
+    private Long airportId;
+
+    @Min(value = 1, message = "Movements per 15 minutes must be at least 1")
+    @Max(value = 1000, message = "Movements per 15 minutes cannot exceed 1000")
+    private Integer movementsPer15Min;
+
+    @Min(value = 1, message = "Movements per 60 minutes must be at least 1")
+    @Max(value = 4000, message = "Movements per 60 minutes cannot exceed 4000")
+    private Integer movementsPer60Min;
+
+    private CapacityEnforcement enforcement = CapacityEnforcement.WARN;
+
+    private Boolean active = true;
+}
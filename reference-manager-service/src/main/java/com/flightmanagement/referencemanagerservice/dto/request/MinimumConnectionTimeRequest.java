@@ -0,0 +1,26 @@
+package com.flightmanagement.referencemanagerservice.dto.request;
+
+import com.flightmanagement.referencemanagerservice.entity.enums.ConnectionType;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class MinimumConnectionTimeRequest {
+    @NotNull(message = "Airport ID is required")
+    private Long airportId;
+
+    private Long arrivingAirlineId;
+
+    private Long departingAirlineId;
+
+    private ConnectionType connectionType;
+
+    @NotNull(message = "Minutes is required")
+    @Min(value = 0, message = "Minimum connection time cannot be negative")
+    @Max(value = 1440, message = "Minimum connection time cannot exceed 24 hours (1440 minutes)")
+    private Integer minutes;
+
+    private Boolean active = true;
+}
@@ -0,0 +1,18 @@
+package com.flightmanagement.referencemanagerservice.dto.response;
+
+import com.flightmanagement.referencemanagerservice.entity.enums.CapacityEnforcement;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class AirportCapacityResponse {
+    private Long id;
+    private Long airportId;
+    private Integer movementsPer15Min;
+    private Integer movementsPer60Min;
+    private CapacityEnforcement enforcement;
+    private Boolean active;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
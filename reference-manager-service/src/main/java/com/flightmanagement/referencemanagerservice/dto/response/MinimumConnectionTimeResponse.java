@@ -0,0 +1,19 @@
+package com.flightmanagement.referencemanagerservice.dto.response;
+
+import com.flightmanagement.referencemanagerservice.entity.enums.ConnectionType;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class MinimumConnectionTimeResponse {
+    private Long id;
+    private Long airportId;
+    private Long arrivingAirlineId;
+    private Long departingAirlineId;
+    private ConnectionType connectionType;
+    private Integer minutes;
+    private Boolean active;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,23 @@
+package com.flightmanagement.referencemanagerservice.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Snapshot/delta NDJSON satırı - her satır tek bir entity'nin son halini (ya da silindiğini) taşır
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReferenceChangeResponse {
+    private String entityType;      // AIRLINE, AIRPORT, AIRCRAFT, ROUTE, MCT, CAPACITY
+    private Long id;
+    private Long changeVersion;
+    private boolean deleted;
+    private Object payload;         // Tekil GET endpoint'lerinin döndüğü response ile aynı şekil
+}
@@ -0,0 +1,15 @@
+package com.flightmanagement.referencemanagerservice.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReferenceSnapshotResponse {
+    private long version;           // Snapshot alındığı andaki global change version
+    private List<ReferenceChangeResponse> changes;
+}
@@ -44,6 +44,10 @@ public class Aircraft {
     @JoinColumn(name = "airline_id")
     private Airline airline;
 
+    // Tüm reference entity'ler arasında global, monoton artan değişiklik versiyonu (snapshot/delta için)
+    @Column(name = "change_version", nullable = false)
+    private Long changeVersion = 0L;
+
     @CreationTimestamp
     private LocalDateTime createdAt;
 
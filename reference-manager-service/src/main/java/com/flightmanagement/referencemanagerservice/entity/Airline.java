@@ -42,6 +42,10 @@ public class Airline {
     @Column
     private Boolean active = true;  // Aktif/Pasif durum
 
+    // Tüm reference entity'ler arasında global, monoton artan değişiklik versiyonu (snapshot/delta için)
+    @Column(name = "change_version", nullable = false)
+    private Long changeVersion = 0L;
+
     @CreationTimestamp
     private LocalDateTime createdAt;
 
@@ -45,6 +45,10 @@ public class Airport {
     @Column
     private Boolean active = true;
 
+    // Tüm reference entity'ler arasında global, monoton artan değişiklik versiyonu (snapshot/delta için)
+    @Column(name = "change_version", nullable = false)
+    private Long changeVersion = 0L;
+
     @CreationTimestamp
     private LocalDateTime createdAt;
 
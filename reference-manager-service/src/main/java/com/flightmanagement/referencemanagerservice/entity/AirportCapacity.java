@@ -0,0 +1,51 @@
+package com.flightmanagement.referencemanagerservice.entity;
+
+import com.flightmanagement.referencemanagerservice.entity.enums.CapacityEnforcement;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Havalimanının deklare edilmiş saatlik/15 dakikalık hareket (kalkış + iniş) kapasitesi.
+ * Havalimanı başına tek kayıt; limitlerden biri boşsa o pencere kontrol edilmez.
+ */
+@Entity
+@Table(name = "airport_capacities")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AirportCapacity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "airport_id", nullable = false, unique = true)
+    private Long airportId;
+
+    @Column(name = "movements_per_15_min")
+    private Integer movementsPer15Min;
+
+    @Column(name = "movements_per_60_min")
+    private Integer movementsPer60Min;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private CapacityEnforcement enforcement = CapacityEnforcement.WARN;
+
+    @Column
+    private Boolean active = true;
+
+    @Column(name = "change_version", nullable = false)
+    private Long changeVersion = 0L;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+}
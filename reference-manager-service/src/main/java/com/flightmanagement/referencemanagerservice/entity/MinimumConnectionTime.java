@@ -0,0 +1,54 @@
+package com.flightmanagement.referencemanagerservice.entity;
+
+import com.flightmanagement.referencemanagerservice.entity.enums.ConnectionType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Havalimanı bazlı minimum aktarma süresi kuralı.
+ * Airline ve connectionType alanları boşsa kural hepsine uyar; en spesifik eşleşen kural geçerlidir.
+ */
+@Entity
+@Table(name = "minimum_connection_times")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MinimumConnectionTime {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "airport_id", nullable = false)
+    private Long airportId;
+
+    @Column(name = "arriving_airline_id")
+    private Long arrivingAirlineId;     // null => tüm havayolları
+
+    @Column(name = "departing_airline_id")
+    private Long departingAirlineId;    // null => tüm havayolları
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "connection_type")
+    private ConnectionType connectionType;  // null => tüm aktarma tipleri
+
+    @Column(nullable = false)
+    private Integer minutes;
+
+    @Column
+    private Boolean active = true;
+
+    @Column(name = "change_version", nullable = false)
+    private Long changeVersion = 0L;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,32 @@
+package com.flightmanagement.referencemanagerservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "reference_deletions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReferenceDeletion {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "entity_type", nullable = false, length = 30)
+    private String entityType;      // AIRLINE, AIRPORT, AIRCRAFT, ROUTE
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "change_version", nullable = false)
+    private Long changeVersion;
+
+    @CreationTimestamp
+    private LocalDateTime deletedAt;
+}
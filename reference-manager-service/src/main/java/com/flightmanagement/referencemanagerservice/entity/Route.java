@@ -67,6 +67,10 @@ public class Route {
     @OneToMany(mappedBy = "route", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private List<RouteSegment> segments = new ArrayList<>();
 
+    // Tüm reference entity'ler arasında global, monoton artan değişiklik versiyonu (snapshot/delta için)
+    @Column(name = "change_version", nullable = false)
+    private Long changeVersion = 0L;
+
     @CreationTimestamp
     private LocalDateTime createdAt;
 
@@ -0,0 +1,9 @@
+package com.flightmanagement.referencemanagerservice.entity.enums;
+
+/**
+ * Kapasite aşımında flight-service davranışı
+ */
+public enum CapacityEnforcement {
+    WARN,       // Uçuş kaydedilir, uyarı döner
+    REJECT      // Uçuş reddedilir
+}
@@ -0,0 +1,11 @@
+package com.flightmanagement.referencemanagerservice.entity.enums;
+
+/**
+ * Aktarma tipi - gelen ve giden bacağın aktarma havalimanına göre iç/dış hat olması
+ */
+public enum ConnectionType {
+    DOMESTIC_DOMESTIC,
+    DOMESTIC_INTERNATIONAL,
+    INTERNATIONAL_DOMESTIC,
+    INTERNATIONAL_INTERNATIONAL
+}
@@ -10,11 +10,13 @@ import org.mapstruct.MappingTarget;
 @Mapper(componentModel = "spring", uses = {AirlineMapper.class})
 public interface AircraftMapper {
     @Mapping(target = "airline", ignore = true)
+    @Mapping(target = "changeVersion", ignore = true)
     Aircraft toEntity(AircraftRequest request);
 
     AircraftResponse toResponse(Aircraft aircraft);
 
     @Mapping(target = "airline", ignore = true)
+    @Mapping(target = "changeVersion", ignore = true)
     void updateEntity(@MappingTarget Aircraft aircraft, AircraftRequest request);
 }
 
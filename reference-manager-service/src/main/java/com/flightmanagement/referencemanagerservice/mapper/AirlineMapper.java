@@ -4,11 +4,14 @@ import com.flightmanagement.referencemanagerservice.dto.request.AirlineRequest;
 import com.flightmanagement.referencemanagerservice.dto.response.AirlineResponse;
 import com.flightmanagement.referencemanagerservice.entity.Airline;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 
 @Mapper(componentModel = "spring")
 public interface AirlineMapper {
+    @Mapping(target = "changeVersion", ignore = true)
     Airline toEntity(AirlineRequest request);
     AirlineResponse toResponse(Airline airline);
+    @Mapping(target = "changeVersion", ignore = true)
     void updateEntity(@MappingTarget Airline airline, AirlineRequest request);
 }
\ No newline at end of file
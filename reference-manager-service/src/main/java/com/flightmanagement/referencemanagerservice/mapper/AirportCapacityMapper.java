@@ -0,0 +1,25 @@
+package com.flightmanagement.referencemanagerservice.mapper;
+
+import com.flightmanagement.referencemanagerservice.dto.request.AirportCapacityRequest;
+import com.flightmanagement.referencemanagerservice.dto.response.AirportCapacityResponse;
+import com.flightmanagement.referencemanagerservice.entity.AirportCapacity;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+
+@Mapper(componentModel = "spring")
+public interface AirportCapacityMapper {
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "changeVersion", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    AirportCapacity toEntity(AirportCapacityRequest request);
+
+    AirportCapacityResponse toResponse(AirportCapacity airportCapacity);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "changeVersion", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    void updateEntity(@MappingTarget AirportCapacity airportCapacity, AirportCapacityRequest request);
+}
@@ -9,9 +9,11 @@ import org.mapstruct.MappingTarget;
 
 @Mapper(componentModel = "spring")
 public interface AirportMapper {
+    @Mapping(target = "changeVersion", ignore = true)
     Airport toEntity(AirportRequest request);
 
     AirportResponse toResponse(Airport airport);
 
+    @Mapping(target = "changeVersion", ignore = true)
     void updateEntity(@MappingTarget Airport airport, AirportRequest request);
 }
\ No newline at end of file
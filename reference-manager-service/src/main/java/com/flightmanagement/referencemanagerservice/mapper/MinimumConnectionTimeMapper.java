@@ -0,0 +1,25 @@
+package com.flightmanagement.referencemanagerservice.mapper;
+
+import com.flightmanagement.referencemanagerservice.dto.request.MinimumConnectionTimeRequest;
+import com.flightmanagement.referencemanagerservice.dto.response.MinimumConnectionTimeResponse;
+import com.flightmanagement.referencemanagerservice.entity.MinimumConnectionTime;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+
+@Mapper(componentModel = "spring")
+public interface MinimumConnectionTimeMapper {
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "changeVersion", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    MinimumConnectionTime toEntity(MinimumConnectionTimeRequest request);
+
+    MinimumConnectionTimeResponse toResponse(MinimumConnectionTime minimumConnectionTime);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "changeVersion", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    void updateEntity(@MappingTarget MinimumConnectionTime minimumConnectionTime, MinimumConnectionTimeRequest request);
+}
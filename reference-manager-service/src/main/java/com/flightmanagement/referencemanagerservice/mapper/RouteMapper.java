@@ -18,6 +18,7 @@ public interface RouteMapper {
     @Mapping(target = "segments", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "changeVersion", ignore = true)
     Route toEntity(RouteRequest request);
 
     @Mapping(target = "segments", source = "segments")
@@ -33,6 +34,7 @@ public interface RouteMapper {
     @Mapping(target = "segments", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "changeVersion", ignore = true)
     void updateEntity(@MappingTarget Route route, RouteRequest request);
 
     // RouteSegment mapping
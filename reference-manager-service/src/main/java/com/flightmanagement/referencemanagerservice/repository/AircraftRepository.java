@@ -2,8 +2,11 @@ package com.flightmanagement.referencemanagerservice.repository;
 
 import com.flightmanagement.referencemanagerservice.entity.Aircraft;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,4 +17,14 @@ public interface AircraftRepository extends JpaRepository<Aircraft, Long> {
     List<Aircraft> findByAircraftType(String aircraftType);
     boolean existsByRegistrationNumber(String registrationNumber);
     long countByAirlineId(Long airlineId);
-}
\ No newline at end of file
+
+    // Batch ve delta sorguları - airline tek sorguda fetch edilir
+    @Query("SELECT a FROM Aircraft a LEFT JOIN FETCH a.airline WHERE a.id IN :ids")
+    List<Aircraft> findAllWithAirlineByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT a FROM Aircraft a LEFT JOIN FETCH a.airline")
+    List<Aircraft> findAllWithAirline();
+
+    @Query("SELECT a FROM Aircraft a LEFT JOIN FETCH a.airline WHERE a.changeVersion > :changeVersion ORDER BY a.changeVersion")
+    List<Aircraft> findChangedSinceWithAirline(@Param("changeVersion") Long changeVersion);
+}
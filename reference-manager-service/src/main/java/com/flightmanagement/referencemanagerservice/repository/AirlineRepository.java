@@ -2,8 +2,12 @@ package com.flightmanagement.referencemanagerservice.repository;
 
 import com.flightmanagement.referencemanagerservice.entity.Airline;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +16,10 @@ public interface AirlineRepository extends JpaRepository<Airline, Long> {
     Optional<Airline> findByIcaoCode(String icaoCode);
     boolean existsByIataCode(String iataCode);
     boolean existsByIcaoCode(String icaoCode);
-}
\ No newline at end of file
+
+    // Batch ve delta sorguları
+    @Query("SELECT a FROM Airline a WHERE a.id IN :ids")
+    List<Airline> findAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    List<Airline> findByChangeVersionGreaterThanOrderByChangeVersion(Long changeVersion);
+}
@@ -0,0 +1,19 @@
+package com.flightmanagement.referencemanagerservice.repository;
+
+import com.flightmanagement.referencemanagerservice.entity.AirportCapacity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AirportCapacityRepository extends JpaRepository<AirportCapacity, Long> {
+    Optional<AirportCapacity> findByAirportId(Long airportId);
+
+    boolean existsByAirportId(Long airportId);
+
+    boolean existsByAirportIdAndIdNot(Long airportId, Long id);
+
+    List<AirportCapacity> findByChangeVersionGreaterThanOrderByChangeVersion(Long changeVersion);
+}
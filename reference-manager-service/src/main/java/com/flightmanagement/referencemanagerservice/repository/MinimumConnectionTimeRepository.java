@@ -0,0 +1,33 @@
+package com.flightmanagement.referencemanagerservice.repository;
+
+import com.flightmanagement.referencemanagerservice.entity.MinimumConnectionTime;
+import com.flightmanagement.referencemanagerservice.entity.enums.ConnectionType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface MinimumConnectionTimeRepository extends JpaRepository<MinimumConnectionTime, Long> {
+    List<MinimumConnectionTime> findByAirportIdOrderById(Long airportId);
+
+    @Query("SELECT m FROM MinimumConnectionTime m WHERE m.arrivingAirlineId = :airlineId " +
+            "OR m.departingAirlineId = :airlineId ORDER BY m.id")
+    List<MinimumConnectionTime> findByAirlineId(@Param("airlineId") Long airlineId);
+
+    // Nullable kolonlar için IS NULL eşleşmesi - aynı kapsamda ikinci kural açılmasın
+    @Query("SELECT COUNT(m) > 0 FROM MinimumConnectionTime m WHERE m.airportId = :airportId " +
+            "AND ((:arrivingAirlineId IS NULL AND m.arrivingAirlineId IS NULL) OR m.arrivingAirlineId = :arrivingAirlineId) " +
+            "AND ((:departingAirlineId IS NULL AND m.departingAirlineId IS NULL) OR m.departingAirlineId = :departingAirlineId) " +
+            "AND ((:connectionType IS NULL AND m.connectionType IS NULL) OR m.connectionType = :connectionType) " +
+            "AND (:excludeId IS NULL OR m.id <> :excludeId)")
+    boolean existsRule(@Param("airportId") Long airportId,
+                       @Param("arrivingAirlineId") Long arrivingAirlineId,
+                       @Param("departingAirlineId") Long departingAirlineId,
+                       @Param("connectionType") ConnectionType connectionType,
+                       @Param("excludeId") Long excludeId);
+
+    List<MinimumConnectionTime> findByChangeVersionGreaterThanOrderByChangeVersion(Long changeVersion);
+}
@@ -0,0 +1,12 @@
+package com.flightmanagement.referencemanagerservice.repository;
+
+import com.flightmanagement.referencemanagerservice.entity.ReferenceDeletion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ReferenceDeletionRepository extends JpaRepository<ReferenceDeletion, Long> {
+    List<ReferenceDeletion> findByChangeVersionGreaterThanOrderByChangeVersion(Long changeVersion);
+}
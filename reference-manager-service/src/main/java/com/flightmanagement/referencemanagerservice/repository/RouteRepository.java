@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,17 +17,6 @@ import java.util.Optional;
 public interface RouteRepository extends JpaRepository<Route, Long> {
 
     // YENİ: Paginated metodlar
-    @Query("SELECT r FROM Route r")
-    Page<Route> findAllForAdmin(Pageable pageable);
-
-    @Query("SELECT r FROM Route r WHERE r.visibility = 'PUBLIC' OR r.createdByUserId = :userId")
-    Page<Route> findVisibleRoutesForUser(@Param("userId") Long userId, Pageable pageable);
-
-    Page<Route> findByCreatedByUserId(Long userId, Pageable pageable);
-
-    @Query("SELECT r FROM Route r WHERE r.airlineId = :airlineId AND (r.visibility = 'SHARED' OR r.visibility = 'PUBLIC')")
-    Page<Route> findSharedRoutesForAirline(@Param("airlineId") Long airlineId, Pageable pageable);
-
     @Query("SELECT r FROM Route r WHERE r.createdByUserId = :userId AND r.airlineId = :airlineId")
     Page<Route> findByCreatedByUserIdAndAirlineId(@Param("userId") Long userId, @Param("airlineId") Long airlineId, Pageable pageable);
 
@@ -38,25 +28,11 @@ public interface RouteRepository extends JpaRepository<Route, Long> {
     Page<Route> findByCreatedByUserIdAndActive(Long userId, Boolean active, Pageable pageable);
 
     // User-specific methodlar
-    List<Route> findByCreatedByUserId(Long userId);
-
     List<Route> findByCreatedByUserIdAndActive(Long userId, Boolean active);
 
     @Query("SELECT r FROM Route r WHERE r.createdByUserId = :userId AND r.airlineId = :airlineId")
     List<Route> findByCreatedByUserIdAndAirlineId(@Param("userId") Long userId, @Param("airlineId") Long airlineId);
 
-    // Admin için tüm route'ları görme
-    @Query("SELECT r FROM Route r WHERE r.visibility = 'PUBLIC' OR r.createdByUserId = :userId")
-    List<Route> findVisibleRoutesForUser(@Param("userId") Long userId);
-
-    // Admin tüm route'ları görebilir
-    @Query("SELECT r FROM Route r")
-    List<Route> findAllForAdmin();
-
-    // Airline bazlı route'lar (shared visibility için)
-    @Query("SELECT r FROM Route r WHERE r.airlineId = :airlineId AND (r.visibility = 'SHARED' OR r.visibility = 'PUBLIC')")
-    List<Route> findSharedRoutesForAirline(@Param("airlineId") Long airlineId);
-
     // Route code unique kontrolü
     Optional<Route> findByRouteCode(String routeCode);
 
@@ -68,4 +44,54 @@ public interface RouteRepository extends JpaRepository<Route, Long> {
     // Kullanıcı ve visibility kombinasyonu
     @Query("SELECT r FROM Route r WHERE r.createdByUserId = :userId AND r.visibility = :visibility")
     List<Route> findByCreatedByUserIdAndVisibility(@Param("userId") Long userId, @Param("visibility") RouteVisibility visibility);
-}
\ No newline at end of file
+
+    // Batch ve delta sorguları - segment'ler ve airport'ları tek sorguda fetch edilir
+    @Query("SELECT DISTINCT r FROM Route r LEFT JOIN FETCH r.segments s " +
+            "LEFT JOIN FETCH s.originAirport LEFT JOIN FETCH s.destinationAirport WHERE r.id IN :ids")
+    List<Route> findAllWithSegmentsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT DISTINCT r FROM Route r LEFT JOIN FETCH r.segments s " +
+            "LEFT JOIN FETCH s.originAirport LEFT JOIN FETCH s.destinationAirport")
+    List<Route> findAllWithSegments();
+
+    @Query("SELECT DISTINCT r FROM Route r LEFT JOIN FETCH r.segments s " +
+            "LEFT JOIN FETCH s.originAirport LEFT JOIN FETCH s.destinationAirport " +
+            "WHERE r.changeVersion > :changeVersion ORDER BY r.changeVersion")
+    List<Route> findChangedSinceWithSegments(@Param("changeVersion") Long changeVersion);
+
+    // İki aşamalı sayfalama: önce sadece ID sayfası, sonra o ID'ler için fetch-join
+    @Query(value = "SELECT r.id FROM Route r",
+            countQuery = "SELECT COUNT(r) FROM Route r")
+    Page<Long> findRouteIdsForAdmin(Pageable pageable);
+
+    @Query(value = "SELECT r.id FROM Route r WHERE r.visibility = 'PUBLIC' OR r.createdByUserId = :userId",
+            countQuery = "SELECT COUNT(r) FROM Route r WHERE r.visibility = 'PUBLIC' OR r.createdByUserId = :userId")
+    Page<Long> findVisibleRouteIdsForUser(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(value = "SELECT r.id FROM Route r WHERE r.createdByUserId = :userId",
+            countQuery = "SELECT COUNT(r) FROM Route r WHERE r.createdByUserId = :userId")
+    Page<Long> findRouteIdsByCreatedByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(value = "SELECT r.id FROM Route r WHERE r.airlineId = :airlineId AND (r.visibility = 'SHARED' OR r.visibility = 'PUBLIC')",
+            countQuery = "SELECT COUNT(r) FROM Route r WHERE r.airlineId = :airlineId AND (r.visibility = 'SHARED' OR r.visibility = 'PUBLIC')")
+    Page<Long> findSharedRouteIdsForAirline(@Param("airlineId") Long airlineId, Pageable pageable);
+
+    @Query("SELECT DISTINCT r FROM Route r LEFT JOIN FETCH r.segments s " +
+            "LEFT JOIN FETCH s.originAirport LEFT JOIN FETCH s.destinationAirport " +
+            "WHERE r.visibility = 'PUBLIC' OR r.createdByUserId = :userId")
+    List<Route> findVisibleRoutesForUserWithSegments(@Param("userId") Long userId);
+
+    @Query("SELECT DISTINCT r FROM Route r LEFT JOIN FETCH r.segments s " +
+            "LEFT JOIN FETCH s.originAirport LEFT JOIN FETCH s.destinationAirport " +
+            "WHERE r.createdByUserId = :userId")
+    List<Route> findByCreatedByUserIdWithSegments(@Param("userId") Long userId);
+
+    @Query("SELECT DISTINCT r FROM Route r LEFT JOIN FETCH r.segments s " +
+            "LEFT JOIN FETCH s.originAirport LEFT JOIN FETCH s.destinationAirport " +
+            "WHERE r.airlineId = :airlineId AND (r.visibility = 'SHARED' OR r.visibility = 'PUBLIC')")
+    List<Route> findSharedRoutesForAirlineWithSegments(@Param("airlineId") Long airlineId);
+
+    @Query("SELECT DISTINCT r FROM Route r LEFT JOIN FETCH r.segments s " +
+            "LEFT JOIN FETCH s.originAirport LEFT JOIN FETCH s.destinationAirport WHERE r.id = :id")
+    Optional<Route> findWithSegmentsById(@Param("id") Long id);
+}
@@ -4,6 +4,7 @@ import com.flightmanagement.referencemanagerservice.dto.request.AircraftRequest;
 import com.flightmanagement.referencemanagerservice.dto.response.AircraftResponse;
 import com.flightmanagement.referencemanagerservice.entity.Aircraft;
 import com.flightmanagement.referencemanagerservice.entity.Airline;
+import com.flightmanagement.referencemanagerservice.exception.BusinessException;
 import com.flightmanagement.referencemanagerservice.exception.ResourceNotFoundException;
 import com.flightmanagement.referencemanagerservice.exception.DuplicateResourceException;
 import com.flightmanagement.referencemanagerservice.mapper.AircraftMapper;
@@ -24,10 +25,13 @@ import java.util.stream.Collectors;
 @Slf4j
 @Transactional
 public class AircraftService {
+    private static final int MAX_BATCH_SIZE = 500;
+
     private final AircraftRepository aircraftRepository;
     private final AirlineRepository airlineRepository;
     private final AircraftMapper aircraftMapper;
     private final KafkaProducerService kafkaProducerService;
+    private final ChangeVersionService changeVersionService;
 
     private final WebSocketMessageService webSocketMessageService;
 
@@ -45,6 +49,16 @@ public class AircraftService {
         return aircraftMapper.toResponse(aircraft);
     }
 
+    public List<AircraftResponse> getAircraftsByIds(List<Long> ids) {
+        log.debug("Fetching aircrafts by ids: {}", ids.size());
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new BusinessException("Batch size cannot exceed " + MAX_BATCH_SIZE);
+        }
+        return aircraftRepository.findAllWithAirlineByIdIn(ids).stream()
+                .map(aircraftMapper::toResponse)
+                .collect(Collectors.toList());
+    }
+
     public List<AircraftResponse> getAircraftsByAirline(Long airlineId) {
         log.debug("Fetching aircrafts for airline: {}", airlineId);
         return aircraftRepository.findByAirlineId(airlineId).stream()
@@ -64,6 +78,7 @@ public class AircraftService {
 
         Aircraft aircraft = aircraftMapper.toEntity(request);
         aircraft.setAirline(airline);
+        aircraft.setChangeVersion(changeVersionService.nextVersion());
         aircraft = aircraftRepository.save(aircraft);
 
         kafkaProducerService.sendAircraftEvent("AIRCRAFT_CREATED", aircraft);
@@ -90,6 +105,7 @@ public class AircraftService {
         }
 
         aircraftMapper.updateEntity(aircraft, request);
+        aircraft.setChangeVersion(changeVersionService.nextVersion());
         aircraft = aircraftRepository.save(aircraft);
 
         kafkaProducerService.sendAircraftEvent("AIRCRAFT_UPDATED", aircraft);
@@ -107,6 +123,7 @@ public class AircraftService {
 
 
         aircraftRepository.delete(aircraft);
+        aircraft.setChangeVersion(changeVersionService.recordDeletion("AIRCRAFT", id));
 
         kafkaProducerService.sendAircraftEvent("AIRCRAFT_DELETED", aircraft);
         webSocketMessageService.sendAircraftUpdate("DELETE", null, id);
@@ -120,6 +137,7 @@ public class AircraftService {
                 .orElseThrow(() -> new ResourceNotFoundException("Aircraft not found with id: " + id));
 
         aircraftRepository.delete(aircraft);
+        aircraft.setChangeVersion(changeVersionService.recordDeletion("AIRCRAFT", id));
 
         kafkaProducerService.sendAircraftEvent("AIRCRAFT_FORCE_DELETED", aircraft);
     }
@@ -6,6 +6,7 @@ import com.flightmanagement.referencemanagerservice.dto.response.DeletionCheckRe
 import com.flightmanagement.referencemanagerservice.entity.Airline;
 import com.flightmanagement.referencemanagerservice.entity.Aircraft;
 import com.flightmanagement.referencemanagerservice.entity.CrewMember;
+import com.flightmanagement.referencemanagerservice.exception.BusinessException;
 import com.flightmanagement.referencemanagerservice.exception.ResourceNotFoundException;
 import com.flightmanagement.referencemanagerservice.exception.DuplicateResourceException;
 import com.flightmanagement.referencemanagerservice.mapper.AirlineMapper;
@@ -28,14 +29,18 @@ import java.util.stream.Collectors;
 @Slf4j
 @Transactional
 public class AirlineService {
+    private static final int MAX_BATCH_SIZE = 500;
+
     private final AirlineRepository airlineRepository;
     private final AircraftRepository aircraftRepository;
     private final CrewMemberRepository crewMemberRepository;
     private final AirlineMapper airlineMapper;
     private final KafkaProducerService kafkaProducerService;
+    private final ChangeVersionService changeVersionService;
     private final AirlineDeletionValidator deletionValidator;
     private final AircraftService aircraftService;
     private final CrewMemberService crewMemberService;
+    private final MinimumConnectionTimeService minimumConnectionTimeService;
     private final WebSocketMessageService webSocketMessageService;
 
 
@@ -52,6 +57,16 @@ public class AirlineService {
         return airlineMapper.toResponse(airline);
     }
 
+    public List<AirlineResponse> getAirlinesByIds(List<Long> ids) {
+        log.debug("Fetching airlines by ids: {}", ids.size());
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new BusinessException("Batch size cannot exceed " + MAX_BATCH_SIZE);
+        }
+        return airlineRepository.findAllByIdIn(ids).stream()
+                .map(airlineMapper::toResponse)
+                .collect(Collectors.toList());
+    }
+
     public AirlineResponse getAirlineByIataCode(String iataCode) {
         log.debug("Fetching airline with IATA code: {}", iataCode);
         Airline airline = airlineRepository.findByIataCode(iataCode)
@@ -71,6 +86,7 @@ public class AirlineService {
         }
 
         Airline airline = airlineMapper.toEntity(request);
+        airline.setChangeVersion(changeVersionService.nextVersion());
         airline = airlineRepository.save(airline);
 
         // Kafka event publish
@@ -99,6 +115,7 @@ public class AirlineService {
         }
 
         airlineMapper.updateEntity(airline, request);
+        airline.setChangeVersion(changeVersionService.nextVersion());
         airline = airlineRepository.save(airline);
 
         // Kafka event publish
@@ -128,7 +145,10 @@ public class AirlineService {
         // Dependency validation
         deletionValidator.validateDeletion(id);
 
+        // Airline'a özel MCT kuralları havayolu konfigürasyonu, silmeyi engellemez
+        minimumConnectionTimeService.deleteByAirline(id);
         airlineRepository.delete(airline);
+        airline.setChangeVersion(changeVersionService.recordDeletion("AIRLINE", id));
 
         // Kafka event publish
         kafkaProducerService.sendAirlineEvent("AIRLINE_DELETED", airline);
@@ -153,7 +173,9 @@ public class AirlineService {
             crewMemberService.deleteCrewMember(crew.getId());
         }
 
+        minimumConnectionTimeService.deleteByAirline(id);
         airlineRepository.delete(airline);
+        airline.setChangeVersion(changeVersionService.recordDeletion("AIRLINE", id));
 
         // Kafka event publish
         kafkaProducerService.sendAirlineEvent("AIRLINE_FORCE_DELETED", airline);
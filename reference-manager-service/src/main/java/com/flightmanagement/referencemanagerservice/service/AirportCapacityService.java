@@ -0,0 +1,124 @@
+package com.flightmanagement.referencemanagerservice.service;
+
+import com.flightmanagement.referencemanagerservice.dto.request.AirportCapacityRequest;
+import com.flightmanagement.referencemanagerservice.dto.response.AirportCapacityResponse;
+import com.flightmanagement.referencemanagerservice.entity.AirportCapacity;
+import com.flightmanagement.referencemanagerservice.entity.enums.CapacityEnforcement;
+import com.flightmanagement.referencemanagerservice.exception.BusinessException;
+import com.flightmanagement.referencemanagerservice.exception.DuplicateResourceException;
+import com.flightmanagement.referencemanagerservice.exception.ResourceNotFoundException;
+import com.flightmanagement.referencemanagerservice.mapper.AirportCapacityMapper;
+import com.flightmanagement.referencemanagerservice.repository.AirportCapacityRepository;
+import com.flightmanagement.referencemanagerservice.repository.AirportRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class AirportCapacityService {
+
+    public static final String ENTITY_TYPE = "CAPACITY";
+
+    private final AirportCapacityRepository airportCapacityRepository;
+    private final AirportRepository airportRepository;
+    private final AirportCapacityMapper airportCapacityMapper;
+    private final KafkaProducerService kafkaProducerService;
+    private final ChangeVersionService changeVersionService;
+
+    public Page<AirportCapacityResponse> getAllAirportCapacities(Pageable pageable) {
+        log.debug("Fetching all airport capacities with pagination");
+        return airportCapacityRepository.findAll(pageable).map(airportCapacityMapper::toResponse);
+    }
+
+    public AirportCapacityResponse getAirportCapacityById(Long id) {
+        log.debug("Fetching airport capacity with id: {}", id);
+        return airportCapacityMapper.toResponse(findById(id));
+    }
+
+    public AirportCapacityResponse getAirportCapacityByAirport(Long airportId) {
+        log.debug("Fetching capacity of airport: {}", airportId);
+        return airportCapacityRepository.findByAirportId(airportId)
+                .map(airportCapacityMapper::toResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("Capacity not declared for airport: " + airportId));
+    }
+
+    public AirportCapacityResponse createAirportCapacity(AirportCapacityRequest request) {
+        log.debug("Creating capacity declaration for airport: {}", request.getAirportId());
+        validateRequest(request);
+        if (airportCapacityRepository.existsByAirportId(request.getAirportId())) {
+            throw new DuplicateResourceException("Capacity already declared for airport: " + request.getAirportId());
+        }
+
+        AirportCapacity capacity = airportCapacityMapper.toEntity(request);
+        capacity.setChangeVersion(changeVersionService.nextVersion());
+        capacity = airportCapacityRepository.save(capacity);
+
+        kafkaProducerService.sendAirportCapacityEvent("CAPACITY_CREATED", capacity);
+        return airportCapacityMapper.toResponse(capacity);
+    }
+
+    public AirportCapacityResponse updateAirportCapacity(Long id, AirportCapacityRequest request) {
+        log.debug("Updating airport capacity with id: {}", id);
+        AirportCapacity capacity = findById(id);
+        validateRequest(request);
+        if (airportCapacityRepository.existsByAirportIdAndIdNot(request.getAirportId(), id)) {
+            throw new DuplicateResourceException("Capacity already declared for airport: " + request.getAirportId());
+        }
+
+        airportCapacityMapper.updateEntity(capacity, request);
+        capacity.setChangeVersion(changeVersionService.nextVersion());
+        capacity = airportCapacityRepository.save(capacity);
+
+        kafkaProducerService.sendAirportCapacityEvent("CAPACITY_UPDATED", capacity);
+        return airportCapacityMapper.toResponse(capacity);
+    }
+
+    public void deleteAirportCapacity(Long id) {
+        log.debug("Deleting airport capacity with id: {}", id);
+        delete(findById(id));
+    }
+
+    /**
+     * Havalimanı silinirken kapasite deklarasyonunu da siler
+     */
+    public void deleteByAirport(Long airportId) {
+        airportCapacityRepository.findByAirportId(airportId).ifPresent(capacity -> {
+            delete(capacity);
+            log.info("Deleted capacity declaration of airport {}", airportId);
+        });
+    }
+
+    private void delete(AirportCapacity capacity) {
+        airportCapacityRepository.delete(capacity);
+        capacity.setChangeVersion(changeVersionService.recordDeletion(ENTITY_TYPE, capacity.getId()));
+        kafkaProducerService.sendAirportCapacityEvent("CAPACITY_DELETED", capacity);
+    }
+
+    private void validateRequest(AirportCapacityRequest request) {
+        // Açıkça null gönderilen enforcement NOT NULL kolonda 500'e dönmesin
+        if (request.getEnforcement() == null) {
+            request.setEnforcement(CapacityEnforcement.WARN);
+        }
+        if (!airportRepository.existsById(request.getAirportId())) {
+            throw new ResourceNotFoundException("Airport not found with id: " + request.getAirportId());
+        }
+        if (request.getMovementsPer15Min() == null && request.getMovementsPer60Min() == null) {
+            throw new BusinessException("At least one of movementsPer15Min and movementsPer60Min is required");
+        }
+        if (request.getMovementsPer15Min() != null && request.getMovementsPer60Min() != null
+                && request.getMovementsPer15Min() > request.getMovementsPer60Min()) {
+            throw new BusinessException("Movements per 15 minutes cannot exceed movements per 60 minutes");
+        }
+    }
+
+    private AirportCapacity findById(Long id) {
+        return airportCapacityRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Airport capacity not found with id: " + id));
+    }
+}
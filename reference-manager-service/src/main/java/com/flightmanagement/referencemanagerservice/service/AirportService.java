@@ -6,6 +6,7 @@ import com.flightmanagement.referencemanagerservice.dto.response.DeletionCheckRe
 import com.flightmanagement.referencemanagerservice.entity.Airport;
 import com.flightmanagement.referencemanagerservice.entity.Route;
 import com.flightmanagement.referencemanagerservice.entity.RouteSegment;
+import com.flightmanagement.referencemanagerservice.exception.BusinessException;
 import com.flightmanagement.referencemanagerservice.exception.ResourceNotFoundException;
 import com.flightmanagement.referencemanagerservice.exception.DuplicateResourceException;
 import com.flightmanagement.referencemanagerservice.mapper.AirportMapper;
@@ -23,19 +24,25 @@ import org.springframework.data.domain.Pageable;
 import java.util.List;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 @Transactional
 public class AirportService {
+    private static final int MAX_BATCH_SIZE = 500;
+
     private final AirportRepository airportRepository;
     private final RouteRepository routeRepository;
     private final RouteSegmentRepository routeSegmentRepository;
     private final AirportMapper airportMapper;
     private final KafkaProducerService kafkaProducerService;
+    private final ChangeVersionService changeVersionService;
     private final AirportDeletionValidator deletionValidator;
     private final RouteService routeService;
+    private final MinimumConnectionTimeService minimumConnectionTimeService;
+    private final AirportCapacityService airportCapacityService;
     private final WebSocketMessageService webSocketMessageService;
 
 
@@ -52,6 +59,16 @@ public class AirportService {
         return airportMapper.toResponse(airport);
     }
 
+    public List<AirportResponse> getAirportsByIds(List<Long> ids) {
+        log.debug("Fetching airports by ids: {}", ids.size());
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new BusinessException("Batch size cannot exceed " + MAX_BATCH_SIZE);
+        }
+        return airportRepository.findAllByIdIn(ids).stream()
+                .map(airportMapper::toResponse)
+                .collect(Collectors.toList());
+    }
+
     public AirportResponse getAirportByIataCode(String iataCode) {
         log.debug("Fetching airport with IATA code: {}", iataCode);
         Airport airport = airportRepository.findByIataCode(iataCode)
@@ -73,6 +90,7 @@ public class AirportService {
         Airport airport = airportMapper.toEntity(request);
 
 
+        airport.setChangeVersion(changeVersionService.nextVersion());
         airport = airportRepository.save(airport);
 
         // Kafka event publish
@@ -102,6 +120,7 @@ public class AirportService {
 
         airportMapper.updateEntity(airport, request);
 
+        airport.setChangeVersion(changeVersionService.nextVersion());
         airport = airportRepository.save(airport);
 
         // Kafka event publish
@@ -131,7 +150,11 @@ public class AirportService {
         // Dependency validation
         deletionValidator.validateDeletion(id);
 
+        // MCT kuralları ve kapasite deklarasyonu havalimanına ait konfigürasyon, silmeyi engellemez
+        minimumConnectionTimeService.deleteByAirport(id);
+        airportCapacityService.deleteByAirport(id);
         airportRepository.delete(airport);
+        airport.setChangeVersion(changeVersionService.recordDeletion("AIRPORT", id));
 
         // Kafka event publish
         kafkaProducerService.sendAirportEvent("AIRPORT_DELETED", airport);
@@ -156,7 +179,10 @@ public class AirportService {
         for (Long routeId : routeIds) {
             routeService.deleteRoute(routeId, systemUserId, isAdmin);
         }
+        minimumConnectionTimeService.deleteByAirport(id);
+        airportCapacityService.deleteByAirport(id);
         airportRepository.delete(airport);
+        airport.setChangeVersion(changeVersionService.recordDeletion("AIRPORT", id));
         kafkaProducerService.sendAirportEvent("AIRPORT_FORCE_DELETED", airport);
     }
 }
\ No newline at end of file
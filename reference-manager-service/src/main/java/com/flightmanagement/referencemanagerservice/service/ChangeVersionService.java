@@ -0,0 +1,58 @@
+package com.flightmanagement.referencemanagerservice.service;
+
+import com.flightmanagement.referencemanagerservice.entity.ReferenceDeletion;
+import com.flightmanagement.referencemanagerservice.repository.ReferenceDeletionRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Reference entity'ler için global change version üretir.
+ * Sayaç satırı transaction sonuna kadar kilitli kaldığı için versiyonlar commit sırasıyla artar,
+ * böylece "since N" delta sorguları araya kaçan bir değişikliği atlamaz.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChangeVersionService {
+
+    private final ReferenceDeletionRepository referenceDeletionRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional
+    public long nextVersion() {
+        entityManager.createNativeQuery(
+                        "UPDATE reference_change_sequence SET current_value = LAST_INSERT_ID(current_value + 1) WHERE id = 1")
+                .executeUpdate();
+        Number value = (Number) entityManager.createNativeQuery("SELECT LAST_INSERT_ID()").getSingleResult();
+        return value.longValue();
+    }
+
+    @Transactional(readOnly = true)
+    public long currentVersion() {
+        Number value = (Number) entityManager.createNativeQuery(
+                        "SELECT current_value FROM reference_change_sequence WHERE id = 1")
+                .getSingleResult();
+        return value.longValue();
+    }
+
+    /**
+     * Silinen entity için tombstone yazar ve silme versiyonunu döner
+     */
+    @Transactional
+    public long recordDeletion(String entityType, Long entityId) {
+        long version = nextVersion();
+        ReferenceDeletion deletion = new ReferenceDeletion();
+        deletion.setEntityType(entityType);
+        deletion.setEntityId(entityId);
+        deletion.setChangeVersion(version);
+        referenceDeletionRepository.save(deletion);
+        log.debug("Recorded deletion of {} {} at version {}", entityType, entityId, version);
+        return version;
+    }
+}
@@ -1,7 +1,10 @@
 package com.flightmanagement.referencemanagerservice.service;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.flightmanagement.referencemanagerservice.entity.*;
 import com.flightmanagement.referencemanagerservice.event.ReferenceEvent;
+import com.flightmanagement.referencemanagerservice.mapper.RouteMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
@@ -18,7 +21,11 @@ import java.util.UUID;
 public class KafkaProducerService {
 
     private final KafkaTemplate<String, ReferenceEvent> kafkaTemplate;
+    private final RouteMapper routeMapper;
+    private final ObjectMapper objectMapper;
     private static final String TOPIC = "reference.events";
+    // Log-compacted: her entity için sadece son durum tutulur, silmeler tombstone (null value) olarak yazılır
+    private static final String STATE_TOPIC = "reference.state";
 
     public void sendAirlineEvent(String eventType, Airline airline) {
         Map<String, Object> payload = new HashMap<>();
@@ -29,6 +36,7 @@ public class KafkaProducerService {
         payload.put("country", airline.getCountry());
         payload.put("type", airline.getType());
         payload.put("active", airline.getActive());
+        payload.put("changeVersion", airline.getChangeVersion());
 
         ReferenceEvent event = ReferenceEvent.builder()
                 .eventId(UUID.randomUUID().toString())
@@ -41,7 +49,7 @@ public class KafkaProducerService {
                 .build();
 
         log.info("Sending airline event: {} for airline: {}", eventType, airline.getIataCode());
-        kafkaTemplate.send(TOPIC, event);
+        publish(event);
     }
 
     public void sendAirportEvent(String eventType, Airport airport) {
@@ -54,6 +62,7 @@ public class KafkaProducerService {
         payload.put("country", airport.getCountry());
         payload.put("type", airport.getType());
         payload.put("active", airport.getActive());
+        payload.put("changeVersion", airport.getChangeVersion());
 
         ReferenceEvent event = ReferenceEvent.builder()
                 .eventId(UUID.randomUUID().toString())
@@ -66,7 +75,7 @@ public class KafkaProducerService {
                 .build();
 
         log.info("Sending airport event: {} for airport: {}", eventType, airport.getIataCode());
-        kafkaTemplate.send(TOPIC, event);
+        publish(event);
     }
 
     public void sendAircraftEvent(String eventType, Aircraft aircraft) {
@@ -78,6 +87,7 @@ public class KafkaProducerService {
         payload.put("model", aircraft.getModel());
         payload.put("seatCapacity", aircraft.getSeatCapacity());
         payload.put("status", aircraft.getStatus());
+        payload.put("changeVersion", aircraft.getChangeVersion());
 
         // Airline bilgisi için sadece ID ve IATA code gönder
         if (aircraft.getAirline() != null) {
@@ -99,16 +109,20 @@ public class KafkaProducerService {
                 .build();
 
         log.info("Sending aircraft event: {} for aircraft: {}", eventType, aircraft.getRegistrationNumber());
-        kafkaTemplate.send(TOPIC, event);
+        publish(event);
     }
 
     public void sendRouteEvent(String eventType, Route route) {
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("id", route.getId());
-        payload.put("distance", route.getDistance());
-        payload.put("estimatedFlightTime", route.getEstimatedFlightTime());
-        payload.put("routeType", route.getRouteType());
-        payload.put("active", route.getActive());
+        // Snapshot/delta ile aynı payload (segment ve airport'lar dahil) - compacted state topic'ten
+        // beslenen replikalar route'un tam halini görür
+        Map<String, Object> payload;
+        if (eventType != null && eventType.endsWith("DELETED")) {
+            payload = new HashMap<>();
+            payload.put("id", route.getId());
+        } else {
+            payload = objectMapper.convertValue(routeMapper.toResponse(route), new TypeReference<Map<String, Object>>() {});
+        }
+        payload.put("changeVersion", route.getChangeVersion());
 
         ReferenceEvent event = ReferenceEvent.builder()
                 .eventId(UUID.randomUUID().toString())
@@ -121,7 +135,56 @@ public class KafkaProducerService {
                 .build();
 
         log.info("Sending route event: {} for route: {}", eventType, route.getId());
-        kafkaTemplate.send(TOPIC, event);
+        publish(event);
+    }
+
+    public void sendMinimumConnectionTimeEvent(String eventType, MinimumConnectionTime rule) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("id", rule.getId());
+        payload.put("airportId", rule.getAirportId());
+        payload.put("arrivingAirlineId", rule.getArrivingAirlineId());
+        payload.put("departingAirlineId", rule.getDepartingAirlineId());
+        payload.put("connectionType", rule.getConnectionType());
+        payload.put("minutes", rule.getMinutes());
+        payload.put("active", rule.getActive());
+        payload.put("changeVersion", rule.getChangeVersion());
+
+        ReferenceEvent event = ReferenceEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .eventType(eventType)
+                .eventTime(LocalDateTime.now())
+                .entityType("MCT")
+                .entityId(rule.getId().toString())
+                .payload(payload)
+                .version("1.0")
+                .build();
+
+        log.info("Sending minimum connection time event: {} for airport: {}", eventType, rule.getAirportId());
+        publish(event);
+    }
+
+    public void sendAirportCapacityEvent(String eventType, AirportCapacity capacity) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("id", capacity.getId());
+        payload.put("airportId", capacity.getAirportId());
+        payload.put("movementsPer15Min", capacity.getMovementsPer15Min());
+        payload.put("movementsPer60Min", capacity.getMovementsPer60Min());
+        payload.put("enforcement", capacity.getEnforcement());
+        payload.put("active", capacity.getActive());
+        payload.put("changeVersion", capacity.getChangeVersion());
+
+        ReferenceEvent event = ReferenceEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .eventType(eventType)
+                .eventTime(LocalDateTime.now())
+                .entityType("CAPACITY")
+                .entityId(capacity.getId().toString())
+                .payload(payload)
+                .version("1.0")
+                .build();
+
+        log.info("Sending airport capacity event: {} for airport: {}", eventType, capacity.getAirportId());
+        publish(event);
     }
 
     public void sendCrewMemberEvent(String eventType, CrewMember crewMember) {
@@ -153,6 +216,18 @@ public class KafkaProducerService {
                 .build();
 
         log.info("Sending crew member event: {} for crew: {}", eventType, crewMember.getEmployeeNumber());
-        kafkaTemplate.send(TOPIC, event);
+        publish(event);
+    }
+
+    /**
+     * Event'i entityType:entityId key'i ile yayınlar - aynı entity'nin event'leri hep aynı partition'a düşer
+     * ve sıralı tüketilir. Son durum ayrıca compacted state topic'ine yazılır.
+     */
+    private void publish(ReferenceEvent event) {
+        String key = event.getEntityType() + ":" + event.getEntityId();
+        kafkaTemplate.send(TOPIC, key, event);
+
+        boolean deleted = event.getEventType() != null && event.getEventType().endsWith("DELETED");
+        kafkaTemplate.send(STATE_TOPIC, key, deleted ? null : event);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,133 @@
+package com.flightmanagement.referencemanagerservice.service;
+
+import com.flightmanagement.referencemanagerservice.dto.request.MinimumConnectionTimeRequest;
+import com.flightmanagement.referencemanagerservice.dto.response.MinimumConnectionTimeResponse;
+import com.flightmanagement.referencemanagerservice.entity.MinimumConnectionTime;
+import com.flightmanagement.referencemanagerservice.exception.DuplicateResourceException;
+import com.flightmanagement.referencemanagerservice.exception.ResourceNotFoundException;
+import com.flightmanagement.referencemanagerservice.mapper.MinimumConnectionTimeMapper;
+import com.flightmanagement.referencemanagerservice.repository.AirlineRepository;
+import com.flightmanagement.referencemanagerservice.repository.AirportRepository;
+import com.flightmanagement.referencemanagerservice.repository.MinimumConnectionTimeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class MinimumConnectionTimeService {
+
+    public static final String ENTITY_TYPE = "MCT";
+
+    private final MinimumConnectionTimeRepository minimumConnectionTimeRepository;
+    private final AirportRepository airportRepository;
+    private final AirlineRepository airlineRepository;
+    private final MinimumConnectionTimeMapper minimumConnectionTimeMapper;
+    private final KafkaProducerService kafkaProducerService;
+    private final ChangeVersionService changeVersionService;
+
+    public Page<MinimumConnectionTimeResponse> getAllMinimumConnectionTimes(Pageable pageable) {
+        log.debug("Fetching all minimum connection times with pagination");
+        return minimumConnectionTimeRepository.findAll(pageable).map(minimumConnectionTimeMapper::toResponse);
+    }
+
+    public List<MinimumConnectionTimeResponse> getMinimumConnectionTimesByAirport(Long airportId) {
+        log.debug("Fetching minimum connection times for airport: {}", airportId);
+        return minimumConnectionTimeRepository.findByAirportIdOrderById(airportId).stream()
+                .map(minimumConnectionTimeMapper::toResponse)
+                .collect(Collectors.toList());
+    }
+
+    public MinimumConnectionTimeResponse getMinimumConnectionTimeById(Long id) {
+        log.debug("Fetching minimum connection time with id: {}", id);
+        return minimumConnectionTimeMapper.toResponse(findById(id));
+    }
+
+    public MinimumConnectionTimeResponse createMinimumConnectionTime(MinimumConnectionTimeRequest request) {
+        log.debug("Creating minimum connection time for airport: {}", request.getAirportId());
+        validateRequest(request, null);
+
+        MinimumConnectionTime rule = minimumConnectionTimeMapper.toEntity(request);
+        rule.setChangeVersion(changeVersionService.nextVersion());
+        rule = minimumConnectionTimeRepository.save(rule);
+
+        kafkaProducerService.sendMinimumConnectionTimeEvent("MCT_CREATED", rule);
+        return minimumConnectionTimeMapper.toResponse(rule);
+    }
+
+    public MinimumConnectionTimeResponse updateMinimumConnectionTime(Long id, MinimumConnectionTimeRequest request) {
+        log.debug("Updating minimum connection time with id: {}", id);
+        MinimumConnectionTime rule = findById(id);
+        validateRequest(request, id);
+
+        minimumConnectionTimeMapper.updateEntity(rule, request);
+        rule.setChangeVersion(changeVersionService.nextVersion());
+        rule = minimumConnectionTimeRepository.save(rule);
+
+        kafkaProducerService.sendMinimumConnectionTimeEvent("MCT_UPDATED", rule);
+        return minimumConnectionTimeMapper.toResponse(rule);
+    }
+
+    public void deleteMinimumConnectionTime(Long id) {
+        log.debug("Deleting minimum connection time with id: {}", id);
+        delete(findById(id));
+    }
+
+    /**
+     * Havalimanı silinirken kurallarını da siler - replikalar tombstone ile haberdar olur
+     */
+    public void deleteByAirport(Long airportId) {
+        List<MinimumConnectionTime> rules = minimumConnectionTimeRepository.findByAirportIdOrderById(airportId);
+        rules.forEach(this::delete);
+        if (!rules.isEmpty()) {
+            log.info("Deleted {} minimum connection time rule(s) of airport {}", rules.size(), airportId);
+        }
+    }
+
+    /**
+     * Havayolu silinirken ona özel kuralları da siler - aksi halde kural var olmayan airline'a işaret eder
+     */
+    public void deleteByAirline(Long airlineId) {
+        List<MinimumConnectionTime> rules = minimumConnectionTimeRepository.findByAirlineId(airlineId);
+        rules.forEach(this::delete);
+        if (!rules.isEmpty()) {
+            log.info("Deleted {} minimum connection time rule(s) of airline {}", rules.size(), airlineId);
+        }
+    }
+
+    private void delete(MinimumConnectionTime rule) {
+        minimumConnectionTimeRepository.delete(rule);
+        rule.setChangeVersion(changeVersionService.recordDeletion(ENTITY_TYPE, rule.getId()));
+        kafkaProducerService.sendMinimumConnectionTimeEvent("MCT_DELETED", rule);
+    }
+
+    private void validateRequest(MinimumConnectionTimeRequest request, Long excludeId) {
+        if (!airportRepository.existsById(request.getAirportId())) {
+            throw new ResourceNotFoundException("Airport not found with id: " + request.getAirportId());
+        }
+        if (request.getArrivingAirlineId() != null && !airlineRepository.existsById(request.getArrivingAirlineId())) {
+            throw new ResourceNotFoundException("Airline not found with id: " + request.getArrivingAirlineId());
+        }
+        if (request.getDepartingAirlineId() != null && !airlineRepository.existsById(request.getDepartingAirlineId())) {
+            throw new ResourceNotFoundException("Airline not found with id: " + request.getDepartingAirlineId());
+        }
+        if (minimumConnectionTimeRepository.existsRule(request.getAirportId(), request.getArrivingAirlineId(),
+                request.getDepartingAirlineId(), request.getConnectionType(), excludeId)) {
+            throw new DuplicateResourceException("Minimum connection time rule already exists for airport "
+                    + request.getAirportId() + " with the same airline pair and connection type");
+        }
+    }
+
+    private MinimumConnectionTime findById(Long id) {
+        return minimumConnectionTimeRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Minimum connection time not found with id: " + id));
+    }
+}
@@ -0,0 +1,169 @@
+package com.flightmanagement.referencemanagerservice.service;
+
+import com.flightmanagement.referencemanagerservice.dto.response.ReferenceChangeResponse;
+import com.flightmanagement.referencemanagerservice.dto.response.ReferenceSnapshotResponse;
+import com.flightmanagement.referencemanagerservice.entity.Aircraft;
+import com.flightmanagement.referencemanagerservice.entity.Airline;
+import com.flightmanagement.referencemanagerservice.entity.Airport;
+import com.flightmanagement.referencemanagerservice.entity.AirportCapacity;
+import com.flightmanagement.referencemanagerservice.entity.MinimumConnectionTime;
+import com.flightmanagement.referencemanagerservice.entity.ReferenceDeletion;
+import com.flightmanagement.referencemanagerservice.entity.Route;
+import com.flightmanagement.referencemanagerservice.mapper.AircraftMapper;
+import com.flightmanagement.referencemanagerservice.mapper.AirlineMapper;
+import com.flightmanagement.referencemanagerservice.mapper.AirportCapacityMapper;
+import com.flightmanagement.referencemanagerservice.mapper.AirportMapper;
+import com.flightmanagement.referencemanagerservice.mapper.MinimumConnectionTimeMapper;
+import com.flightmanagement.referencemanagerservice.mapper.RouteMapper;
+import com.flightmanagement.referencemanagerservice.repository.AircraftRepository;
+import com.flightmanagement.referencemanagerservice.repository.AirlineRepository;
+import com.flightmanagement.referencemanagerservice.repository.AirportCapacityRepository;
+import com.flightmanagement.referencemanagerservice.repository.AirportRepository;
+import com.flightmanagement.referencemanagerservice.repository.MinimumConnectionTimeRepository;
+import com.flightmanagement.referencemanagerservice.repository.ReferenceDeletionRepository;
+import com.flightmanagement.referencemanagerservice.repository.RouteRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Downstream servislerin lokal replikaları için snapshot ve delta üretir
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class ReferenceSyncService {
+
+    private final AirlineRepository airlineRepository;
+    private final AirportRepository airportRepository;
+    private final AircraftRepository aircraftRepository;
+    private final RouteRepository routeRepository;
+    private final MinimumConnectionTimeRepository minimumConnectionTimeRepository;
+    private final AirportCapacityRepository airportCapacityRepository;
+    private final ReferenceDeletionRepository referenceDeletionRepository;
+    private final AirlineMapper airlineMapper;
+    private final AirportMapper airportMapper;
+    private final AircraftMapper aircraftMapper;
+    private final RouteMapper routeMapper;
+    private final MinimumConnectionTimeMapper minimumConnectionTimeMapper;
+    private final AirportCapacityMapper airportCapacityMapper;
+    private final ChangeVersionService changeVersionService;
+
+    public long getCurrentVersion() {
+        return changeVersionService.currentVersion();
+    }
+
+    /**
+     * Tüm reference data - tek read-only transaction içinde tutarlı bir görüntü
+     */
+    public ReferenceSnapshotResponse getSnapshot() {
+        long version = changeVersionService.currentVersion();
+        List<ReferenceChangeResponse> changes = new ArrayList<>();
+
+        airlineRepository.findAll().forEach(airline -> changes.add(toChange(airline)));
+        airportRepository.findAll().forEach(airport -> changes.add(toChange(airport)));
+        aircraftRepository.findAllWithAirline().forEach(aircraft -> changes.add(toChange(aircraft)));
+        routeRepository.findAllWithSegments().forEach(route -> changes.add(toChange(route)));
+        minimumConnectionTimeRepository.findAll().forEach(rule -> changes.add(toChange(rule)));
+        airportCapacityRepository.findAll().forEach(capacity -> changes.add(toChange(capacity)));
+
+        log.debug("Built reference snapshot with {} entities at version {}", changes.size(), version);
+        return new ReferenceSnapshotResponse(version, changes);
+    }
+
+    /**
+     * Verilen versiyondan sonraki değişiklikler (silmeler dahil), versiyon sırasıyla
+     */
+    public ReferenceSnapshotResponse getChangesSince(long sinceVersion) {
+        long version = changeVersionService.currentVersion();
+        List<ReferenceChangeResponse> changes = new ArrayList<>();
+
+        airlineRepository.findByChangeVersionGreaterThanOrderByChangeVersion(sinceVersion)
+                .forEach(airline -> changes.add(toChange(airline)));
+        airportRepository.findByChangeVersionGreaterThanOrderByChangeVersion(sinceVersion)
+                .forEach(airport -> changes.add(toChange(airport)));
+        aircraftRepository.findChangedSinceWithAirline(sinceVersion)
+                .forEach(aircraft -> changes.add(toChange(aircraft)));
+        routeRepository.findChangedSinceWithSegments(sinceVersion)
+                .forEach(route -> changes.add(toChange(route)));
+        minimumConnectionTimeRepository.findByChangeVersionGreaterThanOrderByChangeVersion(sinceVersion)
+                .forEach(rule -> changes.add(toChange(rule)));
+        airportCapacityRepository.findByChangeVersionGreaterThanOrderByChangeVersion(sinceVersion)
+                .forEach(capacity -> changes.add(toChange(capacity)));
+        referenceDeletionRepository.findByChangeVersionGreaterThanOrderByChangeVersion(sinceVersion)
+                .forEach(deletion -> changes.add(toChange(deletion)));
+
+        changes.sort(Comparator.comparing(ReferenceChangeResponse::getChangeVersion));
+        log.debug("Found {} reference changes since version {}", changes.size(), sinceVersion);
+        return new ReferenceSnapshotResponse(version, changes);
+    }
+
+    private ReferenceChangeResponse toChange(Airline airline) {
+        return ReferenceChangeResponse.builder()
+                .entityType("AIRLINE")
+                .id(airline.getId())
+                .changeVersion(airline.getChangeVersion())
+                .payload(airlineMapper.toResponse(airline))
+                .build();
+    }
+
+    private ReferenceChangeResponse toChange(Airport airport) {
+        return ReferenceChangeResponse.builder()
+                .entityType("AIRPORT")
+                .id(airport.getId())
+                .changeVersion(airport.getChangeVersion())
+                .payload(airportMapper.toResponse(airport))
+                .build();
+    }
+
+    private ReferenceChangeResponse toChange(Aircraft aircraft) {
+        return ReferenceChangeResponse.builder()
+                .entityType("AIRCRAFT")
+                .id(aircraft.getId())
+                .changeVersion(aircraft.getChangeVersion())
+                .payload(aircraftMapper.toResponse(aircraft))
+                .build();
+    }
+
+    private ReferenceChangeResponse toChange(Route route) {
+        return ReferenceChangeResponse.builder()
+                .entityType("ROUTE")
+                .id(route.getId())
+                .changeVersion(route.getChangeVersion())
+                .payload(routeMapper.toResponse(route))
+                .build();
+    }
+
+    private ReferenceChangeResponse toChange(MinimumConnectionTime rule) {
+        return ReferenceChangeResponse.builder()
+                .entityType(MinimumConnectionTimeService.ENTITY_TYPE)
+                .id(rule.getId())
+                .changeVersion(rule.getChangeVersion())
+                .payload(minimumConnectionTimeMapper.toResponse(rule))
+                .build();
+    }
+
+    private ReferenceChangeResponse toChange(AirportCapacity capacity) {
+        return ReferenceChangeResponse.builder()
+                .entityType(AirportCapacityService.ENTITY_TYPE)
+                .id(capacity.getId())
+                .changeVersion(capacity.getChangeVersion())
+                .payload(airportCapacityMapper.toResponse(capacity))
+                .build();
+    }
+
+    private ReferenceChangeResponse toChange(ReferenceDeletion deletion) {
+        return ReferenceChangeResponse.builder()
+                .entityType(deletion.getEntityType())
+                .id(deletion.getEntityId())
+                .changeVersion(deletion.getChangeVersion())
+                .deleted(true)
+                .build();
+    }
+}
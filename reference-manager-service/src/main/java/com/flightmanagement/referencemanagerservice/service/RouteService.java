@@ -19,11 +19,16 @@ import com.flightmanagement.referencemanagerservice.validator.RouteDeletionValid
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,53 +36,53 @@ import java.util.stream.Collectors;
 @Slf4j
 @Transactional
 public class RouteService {
+    private static final int MAX_BATCH_SIZE = 500;
+
     private final RouteRepository routeRepository;
     private final RouteSegmentRepository routeSegmentRepository;
     private final AirportRepository airportRepository;
     private final RouteMapper routeMapper;
     private final KafkaProducerService kafkaProducerService;
+    private final ChangeVersionService changeVersionService;
     private final RouteDeletionValidator deletionValidator;
 
     // YENİ: Paginated metodlar
     public Page<RouteResponse> getAllRoutes(Pageable pageable) {
         log.debug("Admin fetching all routes with pagination: page={}, size={}",
                 pageable.getPageNumber(), pageable.getPageSize());
-        Page<Route> routePage = routeRepository.findAllForAdmin(pageable);
-        return routePage.map(routeMapper::toResponse);
+        return fetchRoutePage(routeRepository.findRouteIdsForAdmin(pageable));
     }
 
     public Page<RouteResponse> getRoutesForUser(Long userId, boolean isAdmin, Pageable pageable) {
         log.debug("Fetching routes for user: {}, isAdmin: {}, page={}, size={}",
                 userId, isAdmin, pageable.getPageNumber(), pageable.getPageSize());
 
-        Page<Route> routePage;
+        Page<Long> idPage;
         if (isAdmin) {
-            routePage = routeRepository.findAllForAdmin(pageable);
+            idPage = routeRepository.findRouteIdsForAdmin(pageable);
         } else {
-            routePage = routeRepository.findVisibleRoutesForUser(userId, pageable);
+            idPage = routeRepository.findVisibleRouteIdsForUser(userId, pageable);
         }
 
-        return routePage.map(routeMapper::toResponse);
+        return fetchRoutePage(idPage);
     }
 
     public Page<RouteResponse> getUserRoutes(Long userId, Pageable pageable) {
         log.debug("Fetching user's own routes for user: {}, page={}, size={}",
                 userId, pageable.getPageNumber(), pageable.getPageSize());
-        Page<Route> routePage = routeRepository.findByCreatedByUserId(userId, pageable);
-        return routePage.map(routeMapper::toResponse);
+        return fetchRoutePage(routeRepository.findRouteIdsByCreatedByUserId(userId, pageable));
     }
 
     public Page<RouteResponse> getSharedRoutesForAirline(Long airlineId, Pageable pageable) {
         log.debug("Fetching shared routes for airline: {}, page={}, size={}",
                 airlineId, pageable.getPageNumber(), pageable.getPageSize());
-        Page<Route> routePage = routeRepository.findSharedRoutesForAirline(airlineId, pageable);
-        return routePage.map(routeMapper::toResponse);
+        return fetchRoutePage(routeRepository.findSharedRouteIdsForAirline(airlineId, pageable));
     }
 
     // ESKİ: Non-paginated metodlar (backward compatibility için)
     public List<RouteResponse> getAllRoutes() {
         log.debug("Admin fetching all routes");
-        return routeRepository.findAllForAdmin().stream()
+        return routeRepository.findAllWithSegments().stream()
                 .map(routeMapper::toResponse)
                 .collect(Collectors.toList());
     }
@@ -87,9 +92,9 @@ public class RouteService {
 
         List<Route> routes;
         if (isAdmin) {
-            routes = routeRepository.findAllForAdmin();
+            routes = routeRepository.findAllWithSegments();
         } else {
-            routes = routeRepository.findVisibleRoutesForUser(userId);
+            routes = routeRepository.findVisibleRoutesForUserWithSegments(userId);
         }
 
         return routes.stream()
@@ -99,25 +104,38 @@ public class RouteService {
 
     public List<RouteResponse> getUserRoutes(Long userId) {
         log.debug("Fetching user's own routes for user: {}", userId);
-        return routeRepository.findByCreatedByUserId(userId).stream()
+        return routeRepository.findByCreatedByUserIdWithSegments(userId).stream()
                 .map(routeMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
     public List<RouteResponse> getSharedRoutesForAirline(Long airlineId) {
         log.debug("Fetching shared routes for airline: {}", airlineId);
-        return routeRepository.findSharedRoutesForAirline(airlineId).stream()
+        return routeRepository.findSharedRoutesForAirlineWithSegments(airlineId).stream()
                 .map(routeMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
     public RouteResponse getRouteById(Long id) {
         log.debug("Fetching route with id: {}", id);
-        Route route = routeRepository.findById(id)
+        Route route = routeRepository.findWithSegmentsById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Route not found with id: " + id));
         return routeMapper.toResponse(route);
     }
 
+    /**
+     * ID listesine göre route'lar - segment ve airport'lar tek sorguda fetch edilir
+     */
+    public List<RouteResponse> getRoutesByIds(List<Long> ids) {
+        log.debug("Fetching routes by ids: {}", ids.size());
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new BusinessException("Batch size cannot exceed " + MAX_BATCH_SIZE);
+        }
+        return routeRepository.findAllWithSegmentsByIdIn(ids).stream()
+                .map(routeMapper::toResponse)
+                .collect(Collectors.toList());
+    }
+
     public DeletionCheckResult checkRouteDeletion(Long id) {
         log.debug("Checking deletion dependencies for route with id: {}", id);
 
@@ -161,6 +179,7 @@ public class RouteService {
         route.setDistance(totalDistance);
         route.setEstimatedFlightTime(totalTime);
 
+        route.setChangeVersion(changeVersionService.nextVersion());
         route = routeRepository.save(route);
         kafkaProducerService.sendRouteEvent("ROUTE_CREATED", route);
         return routeMapper.toResponse(route);
@@ -214,6 +233,7 @@ public class RouteService {
         recalculateRouteMetrics(route);
 
         // 5. Route'u kaydet (aynı ID ile)
+        route.setChangeVersion(changeVersionService.nextVersion());
         route = routeRepository.save(route);
 
         // 6. Event gönder
@@ -241,6 +261,7 @@ public class RouteService {
         }
 
         routeRepository.delete(route);
+        route.setChangeVersion(changeVersionService.recordDeletion("ROUTE", id));
 
         kafkaProducerService.sendRouteEvent("ROUTE_DELETED", route);
     }
@@ -264,6 +285,28 @@ public class RouteService {
     }
 
     // Private helper methods
+
+    /**
+     * ID sayfasındaki route'ları segment ve airport'larıyla tek sorguda yükler, sayfa sırasını korur.
+     * Böylece sayfa boyutundan bağımsız olarak sabit sayıda sorgu çalışır (ID + count + fetch).
+     */
+    private Page<RouteResponse> fetchRoutePage(Page<Long> idPage) {
+        if (idPage.isEmpty()) {
+            return new PageImpl<>(Collections.emptyList(), idPage.getPageable(), idPage.getTotalElements());
+        }
+
+        Map<Long, Route> routesById = routeRepository.findAllWithSegmentsByIdIn(idPage.getContent()).stream()
+                .collect(Collectors.toMap(Route::getId, Function.identity(), (first, second) -> first));
+
+        List<RouteResponse> content = idPage.getContent().stream()
+                .map(routesById::get)
+                .filter(Objects::nonNull)
+                .map(routeMapper::toResponse)
+                .collect(Collectors.toList());
+
+        return new PageImpl<>(content, idPage.getPageable(), idPage.getTotalElements());
+    }
+
     private void validateRouteRequest(RouteRequest request) {
         if (request.getSegments() == null || request.getSegments().size() < 1) {
             throw new BusinessException("Route must have at least 1 segment");